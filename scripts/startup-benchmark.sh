@@ -0,0 +1,82 @@
+#!/usr/bin/env bash
+# Measures time-to-first-successful-request (GET /api/ping) for the plain boot jar (the baseline) and for the
+# extracted jar produced by `./gradlew cdsTrainingRun` alone, with AOT, with CDS and with both, so the effect of each
+# optimization shows on its own. Every round runs all variants in turn. Usually run through
+# `./gradlew startupBenchmark`.
+#
+# Usage: startup-benchmark.sh <boot-jar> <cds-dir> <jar-name-in-cds-dir> [rounds]
+set -euo pipefail
+
+BOOT_JAR="$(cd "$(dirname "$1")" && pwd)/$(basename "$1")"
+CDS_DIR="$2"
+CDS_JAR="$3"
+ROUNDS="${4:-${ROUNDS:-5}}"
+JAVA_CMD="${JAVA_CMD:-java}"
+PORT="${PORT:-18080}"
+TIMEOUT_SECONDS="${TIMEOUT_SECONDS:-120}"
+
+VARIANTS=(baseline extracted aot cds aot+cds)
+
+now_ms() {
+    date +%s%3N
+}
+
+# Starts the application with the given arguments and prints the milliseconds until /api/ping answers 200.
+measure() {
+    local start pid elapsed
+    start=$(now_ms)
+    "$JAVA_CMD" "$@" --server.port="$PORT" > /dev/null 2>&1 &
+    pid=$!
+    until curl -sf "http://localhost:${PORT}/api/ping" > /dev/null 2>&1; do
+        if ! kill -0 "$pid" 2> /dev/null; then
+            echo "application exited before answering" >&2
+            exit 1
+        fi
+        if (( $(now_ms) - start > TIMEOUT_SECONDS * 1000 )); then
+            kill "$pid"
+            echo "no successful request within ${TIMEOUT_SECONDS}s" >&2
+            exit 1
+        fi
+        sleep 0.05
+    done
+    elapsed=$(( $(now_ms) - start ))
+    kill "$pid"
+    wait "$pid" 2> /dev/null || true
+    echo "$elapsed"
+}
+
+# Measures one variant once; every variant runs from the extracted directory so only the flags differ.
+measure_variant() {
+    case "$1" in
+        baseline) measure -jar "$BOOT_JAR" ;;
+        extracted) measure -jar "$CDS_JAR" ;;
+        aot) measure -Dspring.aot.enabled=true -jar "$CDS_JAR" ;;
+        cds) measure -XX:SharedArchiveFile=application.jsa -jar "$CDS_JAR" ;;
+        aot+cds) measure -XX:SharedArchiveFile=application-aot.jsa -Dspring.aot.enabled=true -jar "$CDS_JAR" ;;
+    esac
+}
+
+declare -A total best
+for variant in "${VARIANTS[@]}"; do
+    total[$variant]=0
+    best[$variant]=0
+done
+
+cd "$CDS_DIR"
+for ((i = 1; i <= ROUNDS; i++)); do
+    for variant in "${VARIANTS[@]}"; do
+        result=$(measure_variant "$variant")
+        total[$variant]=$(( ${total[$variant]} + result ))
+        if (( ${best[$variant]} == 0 || result < ${best[$variant]} )); then
+            best[$variant]=$result
+        fi
+    done
+done
+
+echo "Time to first successful request (GET /api/ping), ${ROUNDS} rounds"
+baseline_avg=$(( ${total[baseline]} / ROUNDS ))
+for variant in "${VARIANTS[@]}"; do
+    avg=$(( ${total[$variant]} / ROUNDS ))
+    printf "%-10s avg %6d ms   best %6d ms   vs baseline %+6d ms (%+d%%)\n" "$variant" "$avg" "${best[$variant]}" \
+        $(( avg - baseline_avg )) $(( (avg - baseline_avg) * 100 / baseline_avg ))
+done
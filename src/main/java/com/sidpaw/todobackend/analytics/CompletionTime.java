@@ -0,0 +1,9 @@
+package com.sidpaw.todobackend.analytics;
+
+import java.time.LocalDateTime;
+
+/**
+ * Creation and completion time of a DONE item, as read when rebuilding the completion histograms.
+ */
+public record CompletionTime(Long itemId, LocalDateTime creationDatetime, LocalDateTime doneDatetime) {
+}
@@ -0,0 +1,188 @@
+package com.sidpaw.todobackend.analytics;
+
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+
+/**
+ * Log-linear histogram of non-negative values (HDR style). Values below 32 are counted exactly; above that every
+ * power of two is split into 32 equal sub-buckets, so any reported value is within about 3% of a recorded one.
+ * <p>
+ * Histograms with the same layout merge by adding bucket counts, which is what makes per-day histograms cheap to
+ * combine into any date range. Not thread-safe; callers synchronise on the instance.
+ */
+public final class LatencyHistogram {
+
+    private static final int SUB_BUCKET_BITS = 5;
+    private static final int SUB_BUCKETS = 1 << SUB_BUCKET_BITS;
+    private static final byte FORMAT_VERSION = 1;
+
+    private long[] counts = new long[2 * SUB_BUCKETS];
+    private long totalCount;
+    private long sum;
+    private long min = Long.MAX_VALUE;
+    private long max;
+
+    public void record(long value) {
+        if (value < 0) {
+            throw new IllegalArgumentException("Histogram values must not be negative: " + value);
+        }
+        int index = indexOf(value);
+        ensureCapacity(index + 1);
+        counts[index]++;
+        totalCount++;
+        sum += value;
+        min = Math.min(min, value);
+        max = Math.max(max, value);
+    }
+
+    /**
+     * Takes back one recorded {@code value}. When that empties the bucket of the minimum or maximum, it falls back
+     * to the bound of the nearest bucket still counted.
+     */
+    public void remove(long value) {
+        int index = indexOf(value);
+        if (index >= counts.length || counts[index] == 0) {
+            throw new IllegalArgumentException("Histogram value was not recorded: " + value);
+        }
+        counts[index]--;
+        totalCount--;
+        sum -= value;
+        if (totalCount == 0) {
+            min = Long.MAX_VALUE;
+            max = 0;
+            return;
+        }
+        if (counts[index] == 0 && index == indexOf(min)) {
+            int first = index;
+            while (counts[first] == 0) {
+                first++;
+            }
+            min = lowestValueOf(first);
+        }
+        if (counts[index] == 0 && index == indexOf(max)) {
+            int last = index;
+            while (counts[last] == 0) {
+                last--;
+            }
+            max = highestValueOf(last);
+        }
+    }
+
+    public void merge(LatencyHistogram other) {
+        ensureCapacity(other.counts.length);
+        for (int i = 0; i < other.counts.length; i++) {
+            counts[i] += other.counts[i];
+        }
+        totalCount += other.totalCount;
+        sum += other.sum;
+        min = Math.min(min, other.min);
+        max = Math.max(max, other.max);
+    }
+
+    public LatencyHistogram copy() {
+        LatencyHistogram copy = new LatencyHistogram();
+        copy.merge(this);
+        return copy;
+    }
+
+    public long getTotalCount() {
+        return totalCount;
+    }
+
+    public long getMin() {
+        return totalCount == 0 ? 0 : min;
+    }
+
+    public long getMax() {
+        return max;
+    }
+
+    public double getMean() {
+        return totalCount == 0 ? 0 : (double) sum / totalCount;
+    }
+
+    /**
+     * Smallest recorded value (up to bucket precision) that at least {@code percentile}% of the values are less
+     * than or equal to. Returns 0 for an empty histogram.
+     */
+    public long valueAtPercentile(double percentile) {
+        if (totalCount == 0) {
+            return 0;
+        }
+        double clamped = Math.min(Math.max(percentile, 0), 100);
+        long target = Math.max(1, (long) Math.ceil(clamped / 100 * totalCount));
+        long seen = 0;
+        for (int i = 0; i < counts.length; i++) {
+            seen += counts[i];
+            if (seen >= target) {
+                return Math.min(highestValueOf(i), max);
+            }
+        }
+        return max;
+    }
+
+    /**
+     * Compact binary form: only non-empty buckets are written.
+     */
+    public byte[] toBytes() {
+        int nonEmpty = (int) Arrays.stream(counts).filter(c -> c != 0).count();
+        ByteBuffer buffer = ByteBuffer.allocate(1 + 4 * Long.BYTES + Integer.BYTES + nonEmpty * (Integer.BYTES + Long.BYTES));
+        buffer.put(FORMAT_VERSION).putLong(totalCount).putLong(sum).putLong(min).putLong(max).putInt(nonEmpty);
+        for (int i = 0; i < counts.length; i++) {
+            if (counts[i] != 0) {
+                buffer.putInt(i).putLong(counts[i]);
+            }
+        }
+        return buffer.array();
+    }
+
+    public static LatencyHistogram fromBytes(byte[] bytes) {
+        ByteBuffer buffer = ByteBuffer.wrap(bytes);
+        byte version = buffer.get();
+        if (version != FORMAT_VERSION) {
+            throw new IllegalArgumentException("Unsupported histogram format version: " + version);
+        }
+        LatencyHistogram histogram = new LatencyHistogram();
+        histogram.totalCount = buffer.getLong();
+        histogram.sum = buffer.getLong();
+        histogram.min = buffer.getLong();
+        histogram.max = buffer.getLong();
+        int nonEmpty = buffer.getInt();
+        for (int i = 0; i < nonEmpty; i++) {
+            int index = buffer.getInt();
+            histogram.ensureCapacity(index + 1);
+            histogram.counts[index] = buffer.getLong();
+        }
+        return histogram;
+    }
+
+    static int indexOf(long value) {
+        if (value < SUB_BUCKETS) {
+            return (int) value;
+        }
+        int exponent = 63 - Long.numberOfLeadingZeros(value);
+        int shift = exponent - SUB_BUCKET_BITS;
+        int subBucket = (int) ((value >>> shift) & (SUB_BUCKETS - 1));
+        return (shift + 1) * SUB_BUCKETS + subBucket;
+    }
+
+    static long lowestValueOf(int index) {
+        if (index < SUB_BUCKETS) {
+            return index;
+        }
+        int block = index / SUB_BUCKETS;
+        long subBucket = index % SUB_BUCKETS;
+        return (SUB_BUCKETS + subBucket) << (block - 1);
+    }
+
+    static long highestValueOf(int index) {
+        long next = lowestValueOf(index + 1);
+        return next > 0 ? next - 1 : Long.MAX_VALUE;
+    }
+
+    private void ensureCapacity(int length) {
+        if (length > counts.length) {
+            counts = Arrays.copyOf(counts, Math.max(length, counts.length * 2));
+        }
+    }
+}
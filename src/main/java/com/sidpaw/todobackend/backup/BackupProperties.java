@@ -0,0 +1,27 @@
+package com.sidpaw.todobackend.backup;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * Settings for the snapshot backup and restore of the todo items.
+ */
+@Data
+@ConfigurationProperties(prefix = "todo.backup")
+public class BackupProperties {
+
+    /**
+     * Where snapshot files are written and restored from. Only files in this directory can be restored.
+     */
+    private String directory = "data/backups";
+
+    /**
+     * Rows the JDBC driver fetches per round trip while a snapshot is written.
+     */
+    private int fetchSize = 1000;
+
+    /**
+     * Rows per batched insert, each committed in its own transaction, while a snapshot is restored.
+     */
+    private int batchSize = 5000;
+}
@@ -0,0 +1,12 @@
+package com.sidpaw.todobackend.backup;
+
+/**
+ * Outcome of a backup or restore: the snapshot file, the rows and bytes it holds, and the throughput.
+ */
+public record BackupReport(String operation, String file, long rows, long bytes, long millis, long rowsPerSecond) {
+
+    static BackupReport of(String operation, String file, long rows, long bytes, long nanos) {
+        long millis = nanos / 1_000_000;
+        return new BackupReport(operation, file, rows, bytes, millis, nanos > 0 ? rows * 1_000_000_000L / nanos : 0);
+    }
+}
@@ -0,0 +1,48 @@
+package com.sidpaw.todobackend.backup;
+
+import org.springframework.boot.actuate.endpoint.InvalidEndpointRequestException;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.boot.actuate.endpoint.annotation.Selector;
+import org.springframework.boot.actuate.endpoint.annotation.WriteOperation;
+import org.springframework.lang.Nullable;
+
+import java.io.IOException;
+import java.nio.file.NoSuchFileException;
+import java.util.List;
+
+/**
+ * Actuator endpoint for {@link TodoBackupService}: {@code GET /actuator/todobackup} lists the snapshots,
+ * {@code POST /actuator/todobackup/backup} writes one (optional {@code name} in the body) and
+ * {@code POST /actuator/todobackup/restore} with {@code {"name": ...}} restores one. Invalid names, missing or
+ * corrupted files and concurrent runs are reported as 400.
+ */
+@Endpoint(id = "todobackup")
+public class TodoBackupEndpoint {
+
+    private final TodoBackupService todoBackupService;
+
+    public TodoBackupEndpoint(TodoBackupService todoBackupService) {
+        this.todoBackupService = todoBackupService;
+    }
+
+    @ReadOperation
+    public List<String> snapshots() throws IOException {
+        return todoBackupService.listSnapshots();
+    }
+
+    @WriteOperation
+    public BackupReport run(@Selector String operation, @Nullable String name) throws IOException {
+        try {
+            return switch (operation) {
+                case "backup" -> todoBackupService.backup(name);
+                case "restore" -> todoBackupService.restore(name);
+                default -> throw new IllegalArgumentException("Unknown operation: " + operation);
+            };
+        } catch (IllegalArgumentException | IllegalStateException e) {
+            throw new InvalidEndpointRequestException(e.getMessage(), e.getMessage());
+        } catch (NoSuchFileException e) {
+            throw new InvalidEndpointRequestException("No such snapshot: " + name, "No such snapshot");
+        }
+    }
+}
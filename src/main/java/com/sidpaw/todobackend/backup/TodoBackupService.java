@@ -0,0 +1,261 @@
+package com.sidpaw.todobackend.backup;
+
+import com.sidpaw.todobackend.entity.TodoItemEntity;
+import com.sidpaw.todobackend.event.TodoItemsRestoredEvent;
+import com.sidpaw.todobackend.model.TodoStatus;
+import com.sidpaw.todobackend.snapshot.ResponseSnapshotCache;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.persistence.Index;
+import jakarta.persistence.Table;
+import org.hibernate.Cache;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.sql.PreparedStatement;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+
+/**
+ * Writes the live todo items to a {@link TodoSnapshotFile} and restores them from one, for the {@code jpa} engine.
+ * <p>
+ * A backup streams the rows in id order with a bounded fetch size and writes them to a temporary file that is
+ * moved into place once complete, so a snapshot in the directory is always whole. Soft-deleted rows and the
+ * status history are not part of a snapshot.
+ * <p>
+ * A restore verifies the checksum of the whole file first and only then replaces the table: it empties
+ * {@code todo_items} and {@code todo_status_history}, drops the indexes declared on {@link TodoItemEntity},
+ * inserts the rows with their ids in batches of {@code todo.backup.batch-size}, recreates the indexes and moves
+ * the id sequence past the highest restored id. The DDL commits on its own, so a restore that fails halfway
+ * leaves the rows loaded so far; running it again starts over. Requests that write during a restore race it,
+ * like with any bulk load; restore into an idle instance.
+ * <p>
+ * Metrics: {@code todo.backup} timer per {@code operation} ({@code backup} or {@code restore}).
+ */
+public class TodoBackupService {
+
+    private static final Logger logger = LoggerFactory.getLogger(TodoBackupService.class);
+
+    static final String FILE_EXTENSION = ".tsnap";
+    private static final Pattern FILE_NAME = Pattern.compile("[A-Za-z0-9._-]+");
+    private static final DateTimeFormatter DEFAULT_NAME_FORMAT = DateTimeFormatter.ofPattern("yyyyMMdd-HHmmss");
+
+    static final String SELECT_SQL = "SELECT id, description, status, creation_datetime, due_datetime, done_datetime "
+            + "FROM todo_items WHERE deleted_datetime IS NULL ORDER BY id";
+    static final String INSERT_SQL = "INSERT INTO todo_items "
+            + "(id, description, status, creation_datetime, due_datetime, done_datetime) VALUES (?, ?, ?, ?, ?, ?)";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final Cache cache;
+    private final ResponseSnapshotCache responseSnapshotCache;
+    private final ApplicationEventPublisher eventPublisher;
+    private final BackupProperties properties;
+    private final MeterRegistry meterRegistry;
+    private final ReentrantLock running = new ReentrantLock();
+
+    public TodoBackupService(JdbcTemplate jdbcTemplate,
+                             TransactionTemplate transactionTemplate,
+                             Cache cache,
+                             ResponseSnapshotCache responseSnapshotCache,
+                             ApplicationEventPublisher eventPublisher,
+                             BackupProperties properties,
+                             MeterRegistry meterRegistry) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = transactionTemplate;
+        this.cache = cache;
+        this.responseSnapshotCache = responseSnapshotCache;
+        this.eventPublisher = eventPublisher;
+        this.properties = properties;
+        this.meterRegistry = meterRegistry;
+    }
+
+    /**
+     * Lists the snapshot files in the backup directory, oldest name first.
+     */
+    public List<String> listSnapshots() throws IOException {
+        Path directory = directory();
+        if (!Files.isDirectory(directory)) {
+            return List.of();
+        }
+        try (Stream<Path> files = Files.list(directory)) {
+            return files.map(file -> file.getFileName().toString())
+                    .filter(name -> name.endsWith(FILE_EXTENSION))
+                    .sorted()
+                    .toList();
+        }
+    }
+
+    /**
+     * Writes the live todo items to a new snapshot file.
+     *
+     * @param name file name in the backup directory, or null for a name with the current time
+     * @throws IllegalArgumentException if the name is not a plain file name
+     * @throws IllegalStateException if another backup or restore is running
+     */
+    public BackupReport backup(String name) throws IOException {
+        String fileName = name != null ? name : "todos-" + LocalDateTime.now().format(DEFAULT_NAME_FORMAT)
+                + FILE_EXTENSION;
+        Path file = resolve(fileName);
+        lock();
+        try {
+            Files.createDirectories(file.getParent());
+            if (Files.exists(file)) {
+                throw new IllegalArgumentException("Snapshot " + fileName + " already exists");
+            }
+            Path temporary = file.resolveSibling(fileName + ".tmp");
+            Files.deleteIfExists(temporary);
+            long start = System.nanoTime();
+            long bytes;
+            long rows;
+            try (TodoSnapshotFile.Writer writer = new TodoSnapshotFile.Writer(temporary)) {
+                jdbcTemplate.query(connection -> {
+                    PreparedStatement statement = connection.prepareStatement(SELECT_SQL);
+                    statement.setFetchSize(properties.getFetchSize());
+                    return statement;
+                }, resultSet -> {
+                    try {
+                        writer.append(new TodoItemEntity(resultSet.getLong(1), resultSet.getString(2),
+                                TodoStatus.valueOf(resultSet.getString(3)),
+                                resultSet.getObject(4, LocalDateTime.class),
+                                resultSet.getObject(5, LocalDateTime.class),
+                                resultSet.getObject(6, LocalDateTime.class)));
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                });
+                bytes = writer.finish();
+                rows = writer.records();
+            } catch (UncheckedIOException e) {
+                Files.deleteIfExists(temporary);
+                throw e.getCause();
+            } catch (IOException | RuntimeException e) {
+                Files.deleteIfExists(temporary);
+                throw e;
+            }
+            Files.move(temporary, file, StandardCopyOption.ATOMIC_MOVE);
+            return report("backup", fileName, rows, bytes, System.nanoTime() - start);
+        } finally {
+            running.unlock();
+        }
+    }
+
+    /**
+     * Replaces the todo items with the contents of a snapshot file.
+     *
+     * @param name file name in the backup directory
+     * @throws IllegalArgumentException if the name is not a plain file name
+     * @throws IllegalStateException if another backup or restore is running, or the file is not a valid snapshot;
+     *                               the todo items are untouched then
+     * @throws NoSuchFileException if there is no such snapshot
+     */
+    public BackupReport restore(String name) throws IOException {
+        Path file = resolve(name);
+        lock();
+        try (TodoSnapshotFile.Reader reader = new TodoSnapshotFile.Reader(file)) {
+            long start = System.nanoTime();
+            transactionTemplate.executeWithoutResult(status -> {
+                jdbcTemplate.update("DELETE FROM todo_status_history");
+                jdbcTemplate.update("DELETE FROM todo_items");
+            });
+            Index[] indexes = TodoItemEntity.class.getAnnotation(Table.class).indexes();
+            for (Index index : indexes) {
+                jdbcTemplate.execute("DROP INDEX IF EXISTS " + index.name());
+            }
+            long highestId = 0;
+            try {
+                highestId = load(reader);
+            } finally {
+                // The indexes come back even after a failed load, or every query on the table would scan it
+                for (Index index : indexes) {
+                    jdbcTemplate.execute("CREATE INDEX " + index.name() + " ON todo_items (" + index.columnList()
+                            + ")");
+                }
+                cache.evictAllRegions();
+                responseSnapshotCache.invalidate();
+                eventPublisher.publishEvent(new TodoItemsRestoredEvent(reader.records()));
+            }
+            jdbcTemplate.execute("ALTER TABLE todo_items ALTER COLUMN id RESTART WITH " + (highestId + 1));
+            return report("restore", name, reader.records(), Files.size(file), System.nanoTime() - start);
+        } finally {
+            running.unlock();
+        }
+    }
+
+    /**
+     * Inserts the records of the snapshot in batches. Returns the highest id.
+     */
+    private long load(TodoSnapshotFile.Reader reader) throws IOException {
+        List<TodoItemEntity> batch = new ArrayList<>(properties.getBatchSize());
+        long[] highestId = {0};
+        reader.forEach(item -> {
+            batch.add(item);
+            highestId[0] = Math.max(highestId[0], item.getId());
+            if (batch.size() == properties.getBatchSize()) {
+                insert(batch);
+            }
+        });
+        insert(batch);
+        return highestId[0];
+    }
+
+    private void insert(List<TodoItemEntity> batch) {
+        if (batch.isEmpty()) {
+            return;
+        }
+        transactionTemplate.executeWithoutResult(status -> jdbcTemplate.batchUpdate(INSERT_SQL, batch, batch.size(),
+                (statement, item) -> {
+                    statement.setLong(1, item.getId());
+                    statement.setString(2, item.getDescription());
+                    statement.setString(3, item.getStatus().name());
+                    statement.setTimestamp(4, Timestamp.valueOf(item.getCreationDatetime()));
+                    statement.setTimestamp(5, timestamp(item.getDueDatetime()));
+                    statement.setTimestamp(6, timestamp(item.getDoneDatetime()));
+                }));
+        batch.clear();
+    }
+
+    private BackupReport report(String operation, String fileName, long rows, long bytes, long nanos) {
+        meterRegistry.timer("todo.backup", "operation", operation).record(nanos, TimeUnit.NANOSECONDS);
+        BackupReport report = BackupReport.of(operation, fileName, rows, bytes, nanos);
+        logger.info("{} of {}: {} rows, {} bytes in {} ms ({} rows/s)", operation, fileName, rows, bytes,
+                report.millis(), report.rowsPerSecond());
+        return report;
+    }
+
+    private void lock() {
+        if (!running.tryLock()) {
+            throw new IllegalStateException("A backup or restore is already running");
+        }
+    }
+
+    private Path directory() {
+        return Path.of(properties.getDirectory()).toAbsolutePath().normalize();
+    }
+
+    private Path resolve(String name) {
+        if (name == null || !FILE_NAME.matcher(name).matches() || name.startsWith(".")) {
+            throw new IllegalArgumentException("Invalid snapshot name: " + name);
+        }
+        return directory().resolve(name);
+    }
+
+    private static Timestamp timestamp(LocalDateTime value) {
+        return value != null ? Timestamp.valueOf(value) : null;
+    }
+}
@@ -0,0 +1,249 @@
+package com.sidpaw.todobackend.backup;
+
+import com.sidpaw.todobackend.entity.TodoItemEntity;
+import com.sidpaw.todobackend.model.TodoStatus;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.function.Consumer;
+import java.util.zip.CRC32C;
+
+/**
+ * Binary snapshot of the todo items.
+ * <p>
+ * Layout: a header (magic, format version, creation time in epoch milliseconds), the records, and a trailer with
+ * the record count and the CRC32C of everything between the header and the checksum itself. A record is
+ * {@code [id][status][flags][creation][due if flagged][done if flagged][description length][description]}:
+ * datetimes are epoch microseconds in UTC (the precision of the timestamp columns), the description is UTF-8
+ * behind an unsigned 16-bit length.
+ * <p>
+ * Written sequentially through a file channel; read through memory-mapped windows of up to 1GB, so files larger
+ * than one mapping are supported.
+ */
+final class TodoSnapshotFile {
+
+    private static final int MAGIC = 0x5444534E;
+    private static final int FORMAT_VERSION = 1;
+    static final int HEADER_SIZE = 4 + 4 + 8;
+    static final int TRAILER_SIZE = 8 + 4;
+    private static final byte HAS_DUE = 1;
+    private static final byte HAS_DONE = 2;
+    // Id, status, flags, three datetimes, description length and a description of 1000 chars of up to 4 bytes
+    private static final int MAX_RECORD_SIZE = 8 + 1 + 1 + 3 * 8 + 2 + 4000;
+    private static final int WRITE_BUFFER_SIZE = 1 << 20;
+    private static final long READ_WINDOW_SIZE = 1L << 30;
+    private static final TodoStatus[] STATUSES = TodoStatus.values();
+
+    private TodoSnapshotFile() {
+    }
+
+    /**
+     * Appends records to a new snapshot file. {@link #finish()} writes the trailer and forces the file to disk;
+     * a file closed without it has no trailer and does not restore.
+     */
+    static final class Writer implements Closeable {
+
+        private final FileChannel channel;
+        private final ByteBuffer buffer = ByteBuffer.allocateDirect(WRITE_BUFFER_SIZE);
+        private final CRC32C crc = new CRC32C();
+        private long records;
+        private long bytes;
+
+        Writer(Path file) throws IOException {
+            this.channel = FileChannel.open(file, StandardOpenOption.CREATE_NEW, StandardOpenOption.WRITE);
+            buffer.putInt(MAGIC).putInt(FORMAT_VERSION).putLong(System.currentTimeMillis());
+            drain(false);
+        }
+
+        void append(TodoItemEntity item) throws IOException {
+            if (buffer.remaining() < MAX_RECORD_SIZE) {
+                drain(true);
+            }
+            byte[] description = item.getDescription().getBytes(StandardCharsets.UTF_8);
+            byte flags = (byte) ((item.getDueDatetime() != null ? HAS_DUE : 0)
+                    | (item.getDoneDatetime() != null ? HAS_DONE : 0));
+            buffer.putLong(item.getId())
+                    .put((byte) item.getStatus().ordinal())
+                    .put(flags)
+                    .putLong(toEpochMicros(item.getCreationDatetime()));
+            if (item.getDueDatetime() != null) {
+                buffer.putLong(toEpochMicros(item.getDueDatetime()));
+            }
+            if (item.getDoneDatetime() != null) {
+                buffer.putLong(toEpochMicros(item.getDoneDatetime()));
+            }
+            buffer.putShort((short) description.length).put(description);
+            records++;
+        }
+
+        /**
+         * Writes the trailer and forces the file to disk. Returns the file size.
+         */
+        long finish() throws IOException {
+            buffer.putLong(records);
+            drain(true);
+            buffer.putInt((int) crc.getValue());
+            drain(false);
+            channel.force(true);
+            return bytes;
+        }
+
+        long records() {
+            return records;
+        }
+
+        private void drain(boolean checksummed) throws IOException {
+            buffer.flip();
+            if (checksummed) {
+                crc.update(buffer.duplicate());
+            }
+            while (buffer.hasRemaining()) {
+                bytes += channel.write(buffer);
+            }
+            buffer.clear();
+        }
+
+        @Override
+        public void close() throws IOException {
+            channel.close();
+        }
+    }
+
+    /**
+     * An open snapshot whose checksum has been verified. {@link #forEach(Consumer)} decodes the records.
+     */
+    static final class Reader implements Closeable {
+
+        private final Path file;
+        private final FileChannel channel;
+        private final long records;
+        private final long end;
+
+        /**
+         * Opens {@code file} and verifies the checksum of the whole file before anything is decoded.
+         *
+         * @throws IOException if the file cannot be read
+         * @throws IllegalStateException if the file is not a snapshot or is corrupted
+         */
+        Reader(Path file) throws IOException {
+            this.file = file;
+            this.channel = FileChannel.open(file, StandardOpenOption.READ);
+            try {
+                long size = channel.size();
+                if (size < HEADER_SIZE + TRAILER_SIZE) {
+                    throw new IllegalStateException("Not a todo snapshot: " + file);
+                }
+                ByteBuffer header = channel.map(FileChannel.MapMode.READ_ONLY, 0, HEADER_SIZE);
+                if (header.getInt(0) != MAGIC || header.getInt(4) != FORMAT_VERSION) {
+                    throw new IllegalStateException("Not a todo snapshot or an unsupported version: " + file);
+                }
+                ByteBuffer trailer = channel.map(FileChannel.MapMode.READ_ONLY, size - TRAILER_SIZE, TRAILER_SIZE);
+                this.records = trailer.getLong(0);
+                this.end = size - TRAILER_SIZE;
+
+                // Covers the record count too, so a damaged count cannot send decoding past the records
+                long checksummedEnd = size - 4;
+                CRC32C crc = new CRC32C();
+                for (long position = HEADER_SIZE; position < checksummedEnd; position += READ_WINDOW_SIZE) {
+                    crc.update(channel.map(FileChannel.MapMode.READ_ONLY, position,
+                            Math.min(READ_WINDOW_SIZE, checksummedEnd - position)));
+                }
+                if ((int) crc.getValue() != trailer.getInt(8)) {
+                    throw new IllegalStateException("Todo snapshot " + file + " fails its checksum");
+                }
+            } catch (IOException | RuntimeException e) {
+                channel.close();
+                throw e;
+            }
+        }
+
+        long records() {
+            return records;
+        }
+
+        /**
+         * Passes every record to {@code sink} in file order.
+         */
+        void forEach(Consumer<TodoItemEntity> sink) throws IOException {
+            Window window = new Window(channel, end);
+            long position = HEADER_SIZE;
+            for (long record = 0; record < records; record++) {
+                position = window.decode(position, sink);
+            }
+            if (position != end) {
+                throw new IllegalStateException("Todo snapshot " + file + " does not hold " + records + " records");
+            }
+        }
+
+        @Override
+        public void close() throws IOException {
+            channel.close();
+        }
+    }
+
+    /**
+     * A read-only mapping of part of the records, moved forward when the next record may not fit in it.
+     */
+    private static final class Window {
+
+        private final FileChannel channel;
+        private final long end;
+        private MappedByteBuffer buffer;
+        private long start;
+
+        Window(FileChannel channel, long end) {
+            this.channel = channel;
+            this.end = end;
+        }
+
+        /**
+         * Decodes the record at file offset {@code position} and returns the offset of the next one.
+         */
+        long decode(long position, Consumer<TodoItemEntity> sink) throws IOException {
+            if (buffer == null || position + MAX_RECORD_SIZE > start + buffer.capacity()
+                    && start + buffer.capacity() < end) {
+                start = position;
+                buffer = channel.map(FileChannel.MapMode.READ_ONLY, start, Math.min(READ_WINDOW_SIZE, end - start));
+            }
+            int offset = (int) (position - start);
+            long id = buffer.getLong(offset);
+            TodoStatus status = STATUSES[buffer.get(offset + 8)];
+            byte flags = buffer.get(offset + 9);
+            LocalDateTime creation = fromEpochMicros(buffer.getLong(offset + 10));
+            offset += 18;
+            LocalDateTime due = null;
+            if ((flags & HAS_DUE) != 0) {
+                due = fromEpochMicros(buffer.getLong(offset));
+                offset += 8;
+            }
+            LocalDateTime done = null;
+            if ((flags & HAS_DONE) != 0) {
+                done = fromEpochMicros(buffer.getLong(offset));
+                offset += 8;
+            }
+            byte[] description = new byte[Short.toUnsignedInt(buffer.getShort(offset))];
+            buffer.get(offset + 2, description);
+            offset += 2 + description.length;
+            sink.accept(new TodoItemEntity(id, new String(description, StandardCharsets.UTF_8), status, creation,
+                    due, done));
+            return start + offset;
+        }
+    }
+
+    private static long toEpochMicros(LocalDateTime value) {
+        return value.toEpochSecond(ZoneOffset.UTC) * 1_000_000 + value.getNano() / 1000;
+    }
+
+    private static LocalDateTime fromEpochMicros(long micros) {
+        int nanos = (int) Math.floorMod(micros, 1_000_000L) * 1000;
+        return LocalDateTime.ofEpochSecond(Math.floorDiv(micros, 1_000_000L), nanos, ZoneOffset.UTC);
+    }
+}
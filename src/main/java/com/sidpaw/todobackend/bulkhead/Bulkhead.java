@@ -0,0 +1,113 @@
+package com.sidpaw.todobackend.bulkhead;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+import java.time.Duration;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Semaphore bulkhead: at most {@code maxConcurrent} holders, at most {@code maxQueued} waiters, and no waiter
+ * waits longer than {@code timeout}. Every successful {@link #tryAcquire()} must be paired with {@link #release()}.
+ */
+public class Bulkhead {
+
+    private final String name;
+    private final int maxConcurrent;
+    private final int maxQueued;
+    private final long timeoutNanos;
+    private final Semaphore permits;
+    private final AtomicInteger queued = new AtomicInteger();
+    private final Counter queueFullRejections;
+    private final Counter timeoutRejections;
+    private final Timer waitTimer;
+
+    public Bulkhead(String name, BulkheadProperties.Pool pool, MeterRegistry meterRegistry) {
+        this(name, pool.getMaxConcurrent(), pool.getMaxQueued(), pool.getTimeout(), meterRegistry);
+    }
+
+    public Bulkhead(String name, int maxConcurrent, int maxQueued, Duration timeout, MeterRegistry meterRegistry) {
+        this.name = name;
+        this.maxConcurrent = maxConcurrent;
+        this.maxQueued = maxQueued;
+        this.timeoutNanos = timeout.toNanos();
+        this.permits = new Semaphore(maxConcurrent, true);
+        this.queueFullRejections = rejectionCounter(meterRegistry, "queue_full");
+        this.timeoutRejections = rejectionCounter(meterRegistry, "timeout");
+        this.waitTimer = Timer.builder("todo.bulkhead.wait")
+                .description("Time spent waiting for a bulkhead permit")
+                .tag("pool", name)
+                .register(meterRegistry);
+        Gauge.builder("todo.bulkhead.active", this, Bulkhead::activeCount)
+                .description("Permits currently held")
+                .tag("pool", name)
+                .register(meterRegistry);
+        Gauge.builder("todo.bulkhead.queued", queued, AtomicInteger::get)
+                .description("Callers waiting for a permit")
+                .tag("pool", name)
+                .register(meterRegistry);
+    }
+
+    /**
+     * Takes a permit, waiting up to the timeout if none is free and the queue has room.
+     *
+     * @return false if the caller was rejected (queue full, timed out or interrupted)
+     */
+    public boolean tryAcquire() {
+        if (permits.tryAcquire()) {
+            return true;
+        }
+        if (queued.incrementAndGet() > maxQueued) {
+            queued.decrementAndGet();
+            queueFullRejections.increment();
+            return false;
+        }
+        long start = System.nanoTime();
+        try {
+            boolean acquired = permits.tryAcquire(timeoutNanos, TimeUnit.NANOSECONDS);
+            if (!acquired) {
+                timeoutRejections.increment();
+            }
+            return acquired;
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            timeoutRejections.increment();
+            return false;
+        } finally {
+            queued.decrementAndGet();
+            waitTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    public void release() {
+        permits.release();
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public int getMaxConcurrent() {
+        return maxConcurrent;
+    }
+
+    int activeCount() {
+        return maxConcurrent - permits.availablePermits();
+    }
+
+    int queuedCount() {
+        return queued.get();
+    }
+
+    private Counter rejectionCounter(MeterRegistry meterRegistry, String reason) {
+        return Counter.builder("todo.bulkhead.rejected")
+                .description("Work rejected by a bulkhead")
+                .tag("pool", name)
+                .tag("reason", reason)
+                .register(meterRegistry);
+    }
+}
@@ -0,0 +1,78 @@
+package com.sidpaw.todobackend.bulkhead;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sidpaw.todobackend.exception.ErrorResponse;
+import com.sidpaw.todobackend.ratelimit.ReadOperations;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.HandlerInterceptor;
+
+import java.io.IOException;
+
+/**
+ * Runs reads and writes in separate bulkheads, so a burst of one kind cannot take every database connection
+ * from the other. Handlers marked {@link StreamingOperation} run in a third one: they hold their permit for the
+ * whole transfer, which would otherwise keep short reads and writes waiting behind a slow client. Requests that
+ * cannot get a permit in time are rejected with 503.
+ */
+@Slf4j
+public class BulkheadInterceptor implements HandlerInterceptor {
+
+    private static final String BULKHEAD_ATTRIBUTE = BulkheadInterceptor.class.getName() + ".bulkhead";
+
+    private final Bulkhead readBulkhead;
+    private final Bulkhead writeBulkhead;
+    private final Bulkhead streamingBulkhead;
+    private final ObjectMapper objectMapper;
+
+    public BulkheadInterceptor(Bulkhead readBulkhead, Bulkhead writeBulkhead, Bulkhead streamingBulkhead,
+                               ObjectMapper objectMapper) {
+        this.readBulkhead = readBulkhead;
+        this.writeBulkhead = writeBulkhead;
+        this.streamingBulkhead = streamingBulkhead;
+        this.objectMapper = objectMapper;
+    }
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) throws IOException {
+        Bulkhead bulkhead = bulkheadFor(request, handler);
+        if (!bulkhead.tryAcquire()) {
+            reject(response, bulkhead);
+            return false;
+        }
+        request.setAttribute(BULKHEAD_ATTRIBUTE, bulkhead);
+        return true;
+    }
+
+    @Override
+    public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler, Exception ex) {
+        Object bulkhead = request.getAttribute(BULKHEAD_ATTRIBUTE);
+        if (bulkhead instanceof Bulkhead acquired) {
+            request.removeAttribute(BULKHEAD_ATTRIBUTE);
+            acquired.release();
+        }
+    }
+
+    private Bulkhead bulkheadFor(HttpServletRequest request, Object handler) {
+        if (handler instanceof HandlerMethod handlerMethod && handlerMethod.hasMethodAnnotation(StreamingOperation.class)) {
+            return streamingBulkhead;
+        }
+        return ReadOperations.isRead(request, handler) ? readBulkhead : writeBulkhead;
+    }
+
+    private void reject(HttpServletResponse response, Bulkhead bulkhead) throws IOException {
+        log.debug("Rejecting request: {} bulkhead is full", bulkhead.getName());
+        response.setStatus(HttpStatus.SERVICE_UNAVAILABLE.value());
+        response.setHeader(HttpHeaders.RETRY_AFTER, "1");
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        objectMapper.writeValue(response.getOutputStream(), new ErrorResponse(
+                HttpStatus.SERVICE_UNAVAILABLE.value(),
+                HttpStatus.SERVICE_UNAVAILABLE.getReasonPhrase(),
+                "Too many " + bulkhead.getName() + " requests in progress, retry later"));
+    }
+}
@@ -0,0 +1,62 @@
+package com.sidpaw.todobackend.bulkhead;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * Concurrency and connection budgets per class of work. Every request or job holds at most one database
+ * connection, so {@code maxConcurrent} is also the share of the connection pool the class can take.
+ */
+@Data
+@ConfigurationProperties(prefix = "todo.bulkhead")
+public class BulkheadProperties {
+
+    private boolean enabled = true;
+
+    private Pool read = new Pool(6, 100, Duration.ofMillis(500));
+
+    private Pool write = new Pool(4, 50, Duration.ofSeconds(1));
+
+    /**
+     * Imports and exports, which hold their permit for the whole transfer.
+     */
+    private Pool streaming = new Pool(2, 10, Duration.ofSeconds(1));
+
+    private Background background = new Background();
+
+    @Data
+    public static class Pool {
+        private int maxConcurrent;
+        /**
+         * Requests allowed to wait for a permit; further requests are rejected immediately.
+         */
+        private int maxQueued;
+        /**
+         * Longest a request waits for a permit before it is rejected.
+         */
+        private Duration timeout;
+
+        public Pool() {
+        }
+
+        public Pool(int maxConcurrent, int maxQueued, Duration timeout) {
+            this.maxConcurrent = maxConcurrent;
+            this.maxQueued = maxQueued;
+            this.timeout = timeout;
+        }
+    }
+
+    @Data
+    public static class Background {
+        /**
+         * Threads of the scheduler that runs all background jobs.
+         */
+        private int threads = 2;
+        /**
+         * Transaction timeout of the PAST_DUE bulk update.
+         */
+        private int timeoutSeconds = 30;
+    }
+}
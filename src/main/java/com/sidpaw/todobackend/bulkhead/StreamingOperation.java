@@ -0,0 +1,17 @@
+package com.sidpaw.todobackend.bulkhead;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Marks a handler that streams a whole upload or download (import, export), so it holds its permit for as long as
+ * the transfer takes. It runs in the streaming bulkhead instead of the read or write one.
+ */
+@Documented
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.RUNTIME)
+public @interface StreamingOperation {
+}
@@ -0,0 +1,44 @@
+package com.sidpaw.todobackend.config;
+
+import com.sidpaw.todobackend.backup.BackupProperties;
+import com.sidpaw.todobackend.backup.TodoBackupEndpoint;
+import com.sidpaw.todobackend.backup.TodoBackupService;
+import com.sidpaw.todobackend.snapshot.ResponseSnapshotCache;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnExpression;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Snapshot backup and restore of the todo items, exposed as the {@code todobackup} actuator endpoint. Only the
+ * {@code jpa} engine has it; the {@code log} engine already keeps its data in a file.
+ */
+@Configuration
+@EnableConfigurationProperties(BackupProperties.class)
+@ConditionalOnExpression("'${todo.storage.engine:jpa}' == 'jpa'")
+public class BackupConfig {
+
+    @Bean
+    public TodoBackupService todoBackupService(JdbcTemplate jdbcTemplate,
+                                               TransactionTemplate transactionTemplate,
+                                               EntityManagerFactory entityManagerFactory,
+                                               ResponseSnapshotCache responseSnapshotCache,
+                                               ApplicationEventPublisher eventPublisher,
+                                               BackupProperties properties,
+                                               MeterRegistry meterRegistry) {
+        return new TodoBackupService(jdbcTemplate, transactionTemplate,
+                entityManagerFactory.unwrap(SessionFactory.class).getCache(), responseSnapshotCache, eventPublisher,
+                properties, meterRegistry);
+    }
+
+    @Bean
+    public TodoBackupEndpoint todoBackupEndpoint(TodoBackupService todoBackupService) {
+        return new TodoBackupEndpoint(todoBackupService);
+    }
+}
@@ -0,0 +1,94 @@
+package com.sidpaw.todobackend.config;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sidpaw.todobackend.bulkhead.Bulkhead;
+import com.sidpaw.todobackend.bulkhead.BulkheadInterceptor;
+import com.sidpaw.todobackend.bulkhead.BulkheadProperties;
+import com.sidpaw.todobackend.scheduler.ShardedPastDueUpdater;
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskScheduler;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+import javax.sql.DataSource;
+
+/**
+ * Read, write, streaming and background bulkheads. Requests are limited by {@link BulkheadInterceptor};
+ * background jobs run on their own bounded scheduler pool (its {@code executor.*} metrics are published under
+ * {@code name=taskScheduler}).
+ */
+@Slf4j
+@Configuration
+@EnableConfigurationProperties(BulkheadProperties.class)
+@ConditionalOnProperty(prefix = "todo.bulkhead", name = "enabled", havingValue = "true", matchIfMissing = true)
+public class BulkheadConfig {
+
+    @Bean
+    public Bulkhead readBulkhead(BulkheadProperties properties, MeterRegistry meterRegistry) {
+        return new Bulkhead("read", properties.getRead(), meterRegistry);
+    }
+
+    @Bean
+    public Bulkhead writeBulkhead(BulkheadProperties properties, MeterRegistry meterRegistry) {
+        return new Bulkhead("write", properties.getWrite(), meterRegistry);
+    }
+
+    @Bean
+    public Bulkhead streamingBulkhead(BulkheadProperties properties, MeterRegistry meterRegistry) {
+        return new Bulkhead("streaming", properties.getStreaming(), meterRegistry);
+    }
+
+    @Bean
+    public BulkheadInterceptor bulkheadInterceptor(Bulkhead readBulkhead, Bulkhead writeBulkhead,
+                                                   Bulkhead streamingBulkhead, ObjectMapper objectMapper) {
+        return new BulkheadInterceptor(readBulkhead, writeBulkhead, streamingBulkhead, objectMapper);
+    }
+
+    @Bean
+    public WebMvcConfigurer bulkheadWebMvcConfigurer(BulkheadInterceptor bulkheadInterceptor) {
+        return new WebMvcConfigurer() {
+            @Override
+            public void addInterceptors(InterceptorRegistry registry) {
+                // After the rate limiter, so rate-limited requests never occupy a bulkhead slot
+                registry.addInterceptor(bulkheadInterceptor)
+                        .addPathPatterns("/api/todos", "/api/todos/**", "/api/analytics/**")
+                        .order(1);
+            }
+        };
+    }
+
+    @Bean
+    public ThreadPoolTaskScheduler taskScheduler(BulkheadProperties properties) {
+        ThreadPoolTaskScheduler scheduler = new ThreadPoolTaskScheduler();
+        scheduler.setPoolSize(properties.getBackground().getThreads());
+        scheduler.setThreadNamePrefix("todo-background-");
+        return scheduler;
+    }
+
+    @Bean
+    public SmartInitializingSingleton connectionBudgetCheck(BulkheadProperties properties,
+                                                            ObjectProvider<DataSource> dataSource,
+                                                            ObjectProvider<ShardedPastDueUpdater> shardedUpdater) {
+        return () -> {
+            ShardedPastDueUpdater sharded = shardedUpdater.getIfAvailable();
+            // The past-due workers take connections on top of the scheduler thread that waits for them
+            int budget = properties.getRead().getMaxConcurrent()
+                    + properties.getWrite().getMaxConcurrent()
+                    + properties.getStreaming().getMaxConcurrent()
+                    + properties.getBackground().getThreads()
+                    + (sharded != null ? sharded.getWorkerThreads() : 0);
+            if (dataSource.getIfAvailable() instanceof HikariDataSource hikari && hikari.getMaximumPoolSize() < budget) {
+                log.warn("Connection pool size {} is smaller than the bulkhead budgets ({}); "
+                        + "one class of work can still starve another", hikari.getMaximumPoolSize(), budget);
+            }
+        };
+    }
+}
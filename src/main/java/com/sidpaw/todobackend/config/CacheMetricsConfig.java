@@ -0,0 +1,65 @@
+package com.sidpaw.todobackend.config;
+
+import com.sidpaw.todobackend.entity.TodoItemEntity;
+import com.sidpaw.todobackend.repository.TodoItemRepository;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.CacheRegionStatistics;
+import org.hibernate.stat.Statistics;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.List;
+import java.util.function.ToLongFunction;
+
+/**
+ * Publishes the Hibernate statistics of the second-level cache regions: {@code todo.cache.requests} per
+ * {@code region} with {@code result} {@code hit} or {@code miss}, and {@code todo.cache.hit.ratio}.
+ * Requires {@code hibernate.generate_statistics}.
+ */
+@Configuration
+public class CacheMetricsConfig {
+
+    private static final List<String> REGIONS = List.of(
+            TodoItemEntity.CACHE_REGION, TodoItemRepository.LIST_QUERY_CACHE_REGION);
+
+    @Bean
+    public MeterBinder secondLevelCacheMetrics(EntityManagerFactory entityManagerFactory) {
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        return registry -> {
+            for (String region : REGIONS) {
+                FunctionCounter.builder("todo.cache.requests", statistics,
+                                stats -> count(stats, region, CacheRegionStatistics::getHitCount))
+                        .description("Second-level cache lookups by result")
+                        .tag("region", region)
+                        .tag("result", "hit")
+                        .register(registry);
+                FunctionCounter.builder("todo.cache.requests", statistics,
+                                stats -> count(stats, region, CacheRegionStatistics::getMissCount))
+                        .description("Second-level cache lookups by result")
+                        .tag("region", region)
+                        .tag("result", "miss")
+                        .register(registry);
+                Gauge.builder("todo.cache.hit.ratio", statistics, stats -> hitRatio(stats, region))
+                        .description("Share of second-level cache lookups answered from the cache")
+                        .tag("region", region)
+                        .register(registry);
+            }
+        };
+    }
+
+    // Regions are created on first use, until then they have no statistics
+    private static long count(Statistics statistics, String region, ToLongFunction<CacheRegionStatistics> counter) {
+        CacheRegionStatistics regionStatistics = statistics.getCacheRegionStatistics(region);
+        return regionStatistics != null ? counter.applyAsLong(regionStatistics) : 0;
+    }
+
+    private static double hitRatio(Statistics statistics, String region) {
+        long hits = count(statistics, region, CacheRegionStatistics::getHitCount);
+        long lookups = hits + count(statistics, region, CacheRegionStatistics::getMissCount);
+        return lookups > 0 ? (double) hits / lookups : 0;
+    }
+}
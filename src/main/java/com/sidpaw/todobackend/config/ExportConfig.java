@@ -0,0 +1,28 @@
+package com.sidpaw.todobackend.config;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sidpaw.todobackend.export.ExportProperties;
+import com.sidpaw.todobackend.export.TodoExporter;
+import com.sidpaw.todobackend.service.TodoItemService;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.persistence.EntityManagerFactory;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.orm.jpa.SharedEntityManagerCreator;
+
+@Configuration
+@EnableConfigurationProperties(ExportProperties.class)
+public class ExportConfig {
+
+    @Bean
+    public TodoExporter todoExporter(TodoItemService todoItemService,
+                                     EntityManagerFactory entityManagerFactory,
+                                     ObjectMapper objectMapper,
+                                     ExportProperties properties,
+                                     MeterRegistry meterRegistry) {
+        return new TodoExporter(todoItemService,
+                SharedEntityManagerCreator.createSharedEntityManager(entityManagerFactory),
+                objectMapper, properties, meterRegistry);
+    }
+}
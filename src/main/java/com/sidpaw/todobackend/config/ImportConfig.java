@@ -0,0 +1,25 @@
+package com.sidpaw.todobackend.config;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sidpaw.todobackend.importer.ImportProperties;
+import com.sidpaw.todobackend.importer.TodoImporter;
+import com.sidpaw.todobackend.service.TodoItemService;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.validation.Validator;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+@EnableConfigurationProperties(ImportProperties.class)
+public class ImportConfig {
+
+    @Bean
+    public TodoImporter todoImporter(TodoItemService todoItemService,
+                                     Validator validator,
+                                     ObjectMapper objectMapper,
+                                     ImportProperties properties,
+                                     MeterRegistry meterRegistry) {
+        return new TodoImporter(todoItemService, validator, objectMapper, properties, meterRegistry);
+    }
+}
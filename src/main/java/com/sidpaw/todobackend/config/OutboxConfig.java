@@ -0,0 +1,41 @@
+package com.sidpaw.todobackend.config;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sidpaw.todobackend.outbox.NdjsonFileOutboxSink;
+import com.sidpaw.todobackend.outbox.OutboxProperties;
+import com.sidpaw.todobackend.outbox.OutboxSink;
+import com.sidpaw.todobackend.repository.OutboxEventRepository;
+import com.sidpaw.todobackend.scheduler.OutboxRelay;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.nio.file.Path;
+
+/**
+ * Outbox relay wiring. Define another {@link OutboxSink} bean to replace the default NDJSON file sink.
+ */
+@Configuration
+@EnableConfigurationProperties(OutboxProperties.class)
+public class OutboxConfig {
+
+    @Bean
+    @ConditionalOnMissingBean(OutboxSink.class)
+    public OutboxSink ndjsonFileOutboxSink(OutboxProperties properties, ObjectMapper objectMapper) {
+        return new NdjsonFileOutboxSink(Path.of(properties.getFile()), objectMapper);
+    }
+
+    @Bean
+    @ConditionalOnProperty(prefix = "todo.outbox.relay", name = "enabled", havingValue = "true", matchIfMissing = true)
+    public OutboxRelay outboxRelay(OutboxEventRepository outboxEventRepository,
+                                   OutboxSink outboxSink,
+                                   TransactionTemplate transactionTemplate,
+                                   OutboxProperties properties,
+                                   MeterRegistry meterRegistry) {
+        return new OutboxRelay(outboxEventRepository, outboxSink, transactionTemplate, properties, meterRegistry);
+    }
+}
@@ -0,0 +1,66 @@
+package com.sidpaw.todobackend.config;
+
+import com.sidpaw.todobackend.scheduler.AdaptivePastDueScheduler;
+import com.sidpaw.todobackend.scheduler.PastDueSchedulerProperties;
+import com.sidpaw.todobackend.scheduler.ShardedPastDueUpdater;
+import com.sidpaw.todobackend.scheduler.TodoItemScheduler;
+import com.sidpaw.todobackend.service.TodoItemService;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnExpression;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.scheduling.TaskScheduler;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Runs the past-due update of {@code stored} mode when items become due, unless
+ * {@code todo.past-due.scheduler.enabled=false}. With the {@code jpa} engine and
+ * {@code todo.past-due.scheduler.sharding.enabled=true} the update is split into id ranges updated in parallel.
+ */
+@Configuration
+@EnableConfigurationProperties(PastDueSchedulerProperties.class)
+public class PastDueSchedulerConfig {
+
+    @Bean
+    @ConditionalOnExpression("'${todo.storage.engine:jpa}' == 'jpa' and '${todo.past-due.mode:stored}' == 'stored' "
+            + "and ${todo.past-due.scheduler.sharding.enabled:false}")
+    public ShardedPastDueUpdater shardedPastDueUpdater(NamedParameterJdbcTemplate jdbcTemplate,
+                                                       PlatformTransactionManager transactionManager,
+                                                       EntityManagerFactory entityManagerFactory,
+                                                       ApplicationEventPublisher eventPublisher,
+                                                       PastDueSchedulerProperties properties,
+                                                       MeterRegistry meterRegistry,
+                                                       @Value("${todo.bulkhead.background.timeout-seconds:30}")
+                                                       int timeoutSeconds,
+                                                       @Value("${todo.bulkhead.background.threads:2}")
+                                                       int backgroundThreads) {
+        // Every range gets the timeout the single statement has
+        TransactionTemplate rangeTransaction = new TransactionTemplate(transactionManager);
+        rangeTransaction.setTimeout(timeoutSeconds);
+        return new ShardedPastDueUpdater(jdbcTemplate, rangeTransaction,
+                entityManagerFactory.unwrap(SessionFactory.class).getCache(), eventPublisher, properties,
+                backgroundThreads, meterRegistry);
+    }
+
+    @Bean
+    @ConditionalOnExpression("'${todo.past-due.mode:stored}' == 'stored' and ${todo.past-due.scheduler.enabled:true}")
+    public AdaptivePastDueScheduler adaptivePastDueScheduler(TodoItemScheduler todoItemScheduler,
+                                                             ObjectProvider<ShardedPastDueUpdater> shardedUpdater,
+                                                             TodoItemService todoItemService,
+                                                             TaskScheduler taskScheduler,
+                                                             PastDueSchedulerProperties properties,
+                                                             MeterRegistry meterRegistry) {
+        ShardedPastDueUpdater sharded = shardedUpdater.getIfAvailable();
+        return new AdaptivePastDueScheduler(
+                sharded != null ? sharded::updatePastDueItems : todoItemScheduler::updatePastDueItems,
+                todoItemService, taskScheduler, properties, meterRegistry);
+    }
+}
@@ -0,0 +1,42 @@
+package com.sidpaw.todobackend.config;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sidpaw.todobackend.ratelimit.ClientRateLimiter;
+import com.sidpaw.todobackend.ratelimit.RateLimitInterceptor;
+import com.sidpaw.todobackend.ratelimit.RateLimitProperties;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+@Configuration
+@EnableConfigurationProperties(RateLimitProperties.class)
+@ConditionalOnProperty(prefix = "todo.rate-limit", name = "enabled", havingValue = "true", matchIfMissing = true)
+public class RateLimitConfig {
+
+    @Bean
+    public ClientRateLimiter clientRateLimiter(RateLimitProperties properties) {
+        return new ClientRateLimiter(properties);
+    }
+
+    @Bean
+    public RateLimitInterceptor rateLimitInterceptor(RateLimitProperties properties,
+                                                     ClientRateLimiter clientRateLimiter,
+                                                     ObjectMapper objectMapper,
+                                                     MeterRegistry meterRegistry) {
+        return new RateLimitInterceptor(properties, clientRateLimiter, objectMapper, meterRegistry);
+    }
+
+    @Bean
+    public WebMvcConfigurer rateLimitWebMvcConfigurer(RateLimitInterceptor rateLimitInterceptor) {
+        return new WebMvcConfigurer() {
+            @Override
+            public void addInterceptors(InterceptorRegistry registry) {
+                registry.addInterceptor(rateLimitInterceptor).addPathPatterns("/api/todos", "/api/todos/**");
+            }
+        };
+    }
+}
@@ -0,0 +1,27 @@
+package com.sidpaw.todobackend.config;
+
+import com.sidpaw.todobackend.readmodel.ReadModelProperties;
+import com.sidpaw.todobackend.readmodel.TodoReadModel;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnExpression;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+/**
+ * In-memory read model of the todo items for the {@code jpa} engine, when {@code todo.read-model.enabled=true}.
+ * {@link StorageConfig} puts it in front of the database store.
+ */
+@Configuration
+@EnableConfigurationProperties(ReadModelProperties.class)
+public class ReadModelConfig {
+
+    @Bean
+    @ConditionalOnExpression("'${todo.storage.engine:jpa}' == 'jpa' and ${todo.read-model.enabled:false}")
+    public TodoReadModel todoReadModel(JdbcTemplate jdbcTemplate,
+                                       ReadModelProperties properties,
+                                       MeterRegistry meterRegistry) {
+        return new TodoReadModel(jdbcTemplate, properties, meterRegistry);
+    }
+}
@@ -0,0 +1,23 @@
+package com.sidpaw.todobackend.config;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sidpaw.todobackend.service.TodoItemService;
+import com.sidpaw.todobackend.snapshot.ResponseSnapshotCache;
+import com.sidpaw.todobackend.snapshot.SnapshotProperties;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+@EnableConfigurationProperties(SnapshotProperties.class)
+public class SnapshotConfig {
+
+    @Bean
+    public ResponseSnapshotCache responseSnapshotCache(TodoItemService todoItemService,
+                                                       ObjectMapper objectMapper,
+                                                       SnapshotProperties properties,
+                                                       MeterRegistry meterRegistry) {
+        return new ResponseSnapshotCache(todoItemService, objectMapper, properties, meterRegistry);
+    }
+}
@@ -0,0 +1,84 @@
+package com.sidpaw.todobackend.config;
+
+import com.sidpaw.todobackend.readmodel.ReadModelTodoStore;
+import com.sidpaw.todobackend.readmodel.TodoReadModel;
+import com.sidpaw.todobackend.history.StatusHistoryRecorder;
+import com.sidpaw.todobackend.repository.TodoItemRepository;
+import com.sidpaw.todobackend.repository.TodoStatusHistoryRepository;
+import com.sidpaw.todobackend.scheduler.TodoCompactor;
+import com.sidpaw.todobackend.store.BufferedTodoStore;
+import com.sidpaw.todobackend.store.ColumnarTodoStore;
+import com.sidpaw.todobackend.store.IdAllocatingTodoStore;
+import com.sidpaw.todobackend.store.JpaTodoStore;
+import com.sidpaw.todobackend.store.LogTodoStore;
+import com.sidpaw.todobackend.store.StorageProperties;
+import com.sidpaw.todobackend.store.TodoStore;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnExpression;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.orm.jpa.SharedEntityManagerCreator;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Selects the {@link TodoStore} with {@code todo.storage.engine}. The {@code jpa} engine also gets the
+ * {@link TodoCompactor} that removes soft-deleted rows, unless {@code todo.storage.compaction.enabled=false}, and
+ * serves its reads from the {@link TodoReadModel} when there is one. The other engines are used through a
+ * {@link BufferedTodoStore}, which applies their writes once the transaction commits.
+ */
+@Configuration
+@EnableConfigurationProperties(StorageProperties.class)
+public class StorageConfig {
+
+    @Bean
+    @ConditionalOnProperty(prefix = "todo.storage", name = "engine", havingValue = "jpa", matchIfMissing = true)
+    public TodoStore jpaTodoStore(TodoItemRepository todoItemRepository,
+                                  TodoStatusHistoryRepository historyRepository,
+                                  EntityManagerFactory entityManagerFactory,
+                                  ObjectProvider<TodoReadModel> readModel) {
+        TodoStore database = new JpaTodoStore(todoItemRepository, historyRepository,
+                SharedEntityManagerCreator.createSharedEntityManager(entityManagerFactory),
+                entityManagerFactory.unwrap(SessionFactory.class).getCache());
+        TodoReadModel model = readModel.getIfAvailable();
+        return model != null ? new ReadModelTodoStore(database, model) : database;
+    }
+
+    @Bean
+    @ConditionalOnProperty(prefix = "todo.storage", name = "engine", havingValue = "log")
+    public LogTodoStore logTodoStore(StorageProperties properties, MeterRegistry meterRegistry) {
+        return new LogTodoStore(properties.getLog(), meterRegistry);
+    }
+
+    @Bean
+    @ConditionalOnProperty(prefix = "todo.storage", name = "engine", havingValue = "memory")
+    public ColumnarTodoStore columnarTodoStore(StorageProperties properties, MeterRegistry meterRegistry) {
+        return new ColumnarTodoStore(properties.getMemory(), meterRegistry);
+    }
+
+    @Bean
+    @Primary
+    @ConditionalOnExpression("'${todo.storage.engine:jpa}' != 'jpa'")
+    public BufferedTodoStore bufferedTodoStore(ObjectProvider<LogTodoStore> logTodoStore,
+                                               ObjectProvider<ColumnarTodoStore> columnarTodoStore,
+                                               StatusHistoryRecorder statusHistoryRecorder) {
+        IdAllocatingTodoStore engine = logTodoStore.getIfAvailable();
+        return new BufferedTodoStore(engine != null ? engine : columnarTodoStore.getObject(),
+                statusHistoryRecorder);
+    }
+
+    @Bean
+    @ConditionalOnExpression("'${todo.storage.engine:jpa}' == 'jpa' and ${todo.storage.compaction.enabled:true}")
+    public TodoCompactor todoCompactor(NamedParameterJdbcTemplate jdbcTemplate,
+                                       TransactionTemplate transactionTemplate,
+                                       StorageProperties properties,
+                                       MeterRegistry meterRegistry) {
+        return new TodoCompactor(jdbcTemplate, transactionTemplate, properties, meterRegistry);
+    }
+}
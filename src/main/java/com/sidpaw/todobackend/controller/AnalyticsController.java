@@ -0,0 +1,46 @@
+package com.sidpaw.todobackend.controller;
+
+import com.sidpaw.todobackend.dto.CompletionAnalyticsDTO;
+import com.sidpaw.todobackend.service.CompletionAnalyticsService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.time.LocalDate;
+
+/**
+ * REST controller for todo analytics.
+ */
+@RestController
+@RequestMapping("/api/analytics")
+@RequiredArgsConstructor
+@Tag(name = "Analytics", description = "Aggregated statistics about todo items")
+public class AnalyticsController {
+
+    private final CompletionAnalyticsService completionAnalyticsService;
+
+    @GetMapping("/completion")
+    @Operation(summary = "Get completion latency statistics", description = "Time from creation to done, in seconds, per completion day and merged over [from, to]. Defaults to the last 30 days.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Successfully retrieved statistics"),
+            @ApiResponse(responseCode = "400", description = "Invalid date range")
+    })
+    public ResponseEntity<CompletionAnalyticsDTO> getCompletionAnalytics(
+            @Parameter(description = "First completion day (inclusive), defaults to 29 days before to")
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @Parameter(description = "Last completion day (inclusive), defaults to today")
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to) {
+        LocalDate end = to != null ? to : LocalDate.now();
+        LocalDate start = from != null ? from : end.minusDays(29);
+        return ResponseEntity.ok(completionAnalyticsService.getCompletionAnalytics(start, end));
+    }
+}
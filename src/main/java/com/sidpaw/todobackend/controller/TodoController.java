@@ -1,25 +1,59 @@
 package com.sidpaw.todobackend.controller;
 
 
+import com.sidpaw.todobackend.bulkhead.StreamingOperation;
+import com.sidpaw.todobackend.dto.TodoBatchDeleteResponseDTO;
+import com.sidpaw.todobackend.dto.TodoBatchResponseDTO;
+import com.sidpaw.todobackend.dto.TodoIdsRequestDTO;
+import com.sidpaw.todobackend.dto.TodoImportReportDTO;
+import com.sidpaw.todobackend.dto.TodoPageDTO;
 import com.sidpaw.todobackend.dto.TodoPatchDTO;
 import com.sidpaw.todobackend.dto.TodoRequestDTO;
 import com.sidpaw.todobackend.dto.TodoResponseDTO;
+import com.sidpaw.todobackend.dto.TodoStatusHistoryDTO;
+import com.sidpaw.todobackend.exception.ErrorResponse;
+import com.sidpaw.todobackend.exception.InvalidQueryException;
+import com.sidpaw.todobackend.export.TodoExporter;
+import com.sidpaw.todobackend.importer.TodoImporter;
+import com.sidpaw.todobackend.model.RecordFormat;
+import com.sidpaw.todobackend.model.TodoField;
+import com.sidpaw.todobackend.model.TodoSort;
+import com.sidpaw.todobackend.ratelimit.ReadOperation;
+import com.sidpaw.todobackend.service.PatchOutcome;
 import com.sidpaw.todobackend.service.TodoItemService;
+import com.sidpaw.todobackend.snapshot.ResponseSnapshotCache;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.servlet.http.HttpServletResponse;
 import jakarta.validation.Valid;
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
-import io.vavr.control.Try;
 
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Locale;
+import java.util.Map;
 import java.util.Optional;
+import java.util.zip.GZIPOutputStream;
 
 /**
  * REST controller for managing todo items.
@@ -31,7 +65,12 @@ import java.util.Optional;
 @Tag(name = "Todo Management", description = "Operations for managing todo items")
 public class TodoController {
 
+    private static final int GZIP_BUFFER_SIZE = 8192;
+
     private final TodoItemService todoItemService;
+    private final ResponseSnapshotCache responseSnapshotCache;
+    private final TodoImporter todoImporter;
+    private final TodoExporter todoExporter;
 
     @PostMapping
     @Operation(summary = "Create a new todo item", description = "Creates a new todo item with the provided description and optional due date")
@@ -47,6 +86,18 @@ public class TodoController {
         return new ResponseEntity<>(todoResponse, HttpStatus.CREATED);
     }
 
+    @PostMapping(value = "/import", consumes = {RecordFormat.NDJSON_VALUE, RecordFormat.CSV_VALUE})
+    @StreamingOperation
+    @Operation(summary = "Import many todo items", description = "Creates a todo item per record of an NDJSON upload (one create request per line) or a CSV upload (header row with description and dueDatetime columns). The upload is read as it arrives and stored in committed batches; invalid records are skipped and listed with their line. completed is false when the import stopped early, the items stored until then are kept.")
+    @ApiResponse(responseCode = "200", description = "Import report")
+    public ResponseEntity<TodoImportReportDTO> importTodoItems(
+            @RequestHeader(HttpHeaders.CONTENT_TYPE) String contentType,
+            InputStream body) {
+        log.info("Received request to import todo items as {}", contentType);
+        RecordFormat format = RecordFormat.from(MediaType.parseMediaType(contentType));
+        return ResponseEntity.ok(todoImporter.importTodoItems(body, format));
+    }
+
     @GetMapping
     @Operation(summary = "Get all todo items", description = "Retrieves all todo items ordered by creation date (newest first)")
     @ApiResponse(responseCode = "200", description = "Successfully retrieved todo items")
@@ -59,6 +110,158 @@ public class TodoController {
         return ResponseEntity.ok(todoItemService.getTodoItemsByStatus(status));
     }
 
+    /**
+     * JSON form of {@link #getAllTodoItems(String)}, answered from the pre-serialized list snapshots.
+     * The method above still serves the binary formats.
+     */
+    @GetMapping(produces = MediaType.APPLICATION_JSON_VALUE)
+    @Operation(hidden = true)
+    public ResponseEntity<byte[]> getAllTodoItemsJson(@RequestParam(required = false) String status) {
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(responseSnapshotCache.getList(status));
+    }
+
+    @GetMapping(params = {"sort", "!ids", "!fields"})
+    @Operation(summary = "Get todo items in a chosen order", description = "Retrieves todo items, optionally filtered by status, one keyset page at a time. Supported orders: created, -created, due, -due (a leading '-' means descending). Items without a due date come last when sorting by due date.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Successfully retrieved todo items"),
+            @ApiResponse(responseCode = "400", description = "Unsupported sort, invalid status, limit or cursor")
+    })
+    public ResponseEntity<TodoPageDTO> getSortedTodoItems(
+            @Parameter(description = "Optional status filter ('done' or 'not done')")
+            @RequestParam(required = false) String status,
+            @Parameter(description = "Order of the items: created, -created, due or -due")
+            @RequestParam String sort,
+            @Parameter(description = "Cursor returned as nextCursor by the previous page")
+            @RequestParam(required = false) String cursor,
+            @Parameter(description = "Page size")
+            @RequestParam(defaultValue = "100") @Min(1) @Max(1000) int limit) {
+        return ResponseEntity.ok(todoItemService.getSortedTodoItems(status, TodoSort.from(sort), cursor, limit));
+    }
+
+    @GetMapping("/due")
+    @Operation(summary = "Get not done todo items due in a time window", description = "Retrieves NOT_DONE items due in [dueFrom, dueTo) ordered by due date, one page at a time. Pass either dueTo or hours (window starting now when dueFrom is omitted).")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Successfully retrieved todo items"),
+            @ApiResponse(responseCode = "400", description = "Invalid window, limit or cursor")
+    })
+    public ResponseEntity<TodoPageDTO> getTodoItemsDueBetween(
+            @Parameter(description = "Start of the window (inclusive), defaults to now")
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime dueFrom,
+            @Parameter(description = "End of the window (exclusive)")
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime dueTo,
+            @Parameter(description = "Window length in hours, alternative to dueTo")
+            @RequestParam(required = false) @Min(1) Integer hours,
+            @Parameter(description = "Cursor returned as nextCursor by the previous page; it keeps the window of the first page")
+            @RequestParam(required = false) String cursor,
+            @Parameter(description = "Page size")
+            @RequestParam(defaultValue = "100") @Min(1) @Max(1000) int limit) {
+        LocalDateTime from = dueFrom != null ? dueFrom : LocalDateTime.now();
+        LocalDateTime to = dueWindowEnd(from, dueTo, hours);
+        return ResponseEntity.ok(todoItemService.getTodoItemsDueBetween(from, to, cursor, limit));
+    }
+
+    @GetMapping("/export")
+    @StreamingOperation
+    @Operation(summary = "Export todo items", description = "Streams todo items as NDJSON or CSV, read one keyset page at a time, gzip-compressed when the client accepts it. Filters as in the list endpoints: status and sort (default -created) as in GET /api/todos?sort=..., or a due window (dueFrom, dueTo or hours) as in GET /api/todos/due.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Todo items, one per line"),
+            @ApiResponse(responseCode = "400", description = "Invalid status, sort, format or window")
+    })
+    public void exportTodoItems(
+            @Parameter(description = "Output format: ndjson or csv")
+            @RequestParam(defaultValue = "ndjson") String format,
+            @Parameter(description = "Optional status filter ('done' or 'not done')")
+            @RequestParam(required = false) String status,
+            @Parameter(description = "Order of the items: created, -created, due or -due")
+            @RequestParam(required = false) String sort,
+            @Parameter(description = "Start of a due window (inclusive), defaults to now")
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime dueFrom,
+            @Parameter(description = "End of a due window (exclusive)")
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime dueTo,
+            @Parameter(description = "Due window length in hours, alternative to dueTo")
+            @RequestParam(required = false) @Min(1) Integer hours,
+            @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding,
+            HttpServletResponse response) throws IOException {
+        RecordFormat recordFormat = switch (format.trim().toLowerCase()) {
+            case "ndjson" -> RecordFormat.NDJSON;
+            case "csv" -> RecordFormat.CSV;
+            default -> throw new InvalidQueryException("Unsupported format: " + format + ". Supported: ndjson, csv");
+        };
+        boolean gzip = acceptsGzip(acceptEncoding);
+        TodoExporter.ExportTarget target = () -> openExport(response, recordFormat, gzip);
+
+        if (dueFrom == null && dueTo == null && hours == null) {
+            log.info("Received request to export todo items with status {} as {}", status, recordFormat);
+            TodoSort order = sort != null ? TodoSort.from(sort) : TodoSort.CREATED_DESC;
+            todoExporter.exportList(status, order, recordFormat, target);
+            return;
+        }
+        if (status != null || sort != null) {
+            throw new InvalidQueryException("A due window lists not done items by due date; "
+                    + "it cannot be combined with status or sort");
+        }
+        LocalDateTime from = dueFrom != null ? dueFrom : LocalDateTime.now();
+        log.info("Received request to export todo items due from {} as {}", from, recordFormat);
+        todoExporter.exportDueWindow(from, dueWindowEnd(from, dueTo, hours), recordFormat, target);
+    }
+
+    @GetMapping(params = "ids")
+    @Operation(summary = "Get many todo items by ID", description = "Retrieves the todo items with the given IDs in the requested order and lists the IDs that were not found")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Successfully retrieved todo items"),
+            @ApiResponse(responseCode = "400", description = "Too many or invalid IDs")
+    })
+    public ResponseEntity<TodoBatchResponseDTO> getTodoItemsByIds(
+            @Parameter(description = "Comma separated IDs of the todo items to retrieve")
+            @RequestParam @NotEmpty @Size(max = TodoIdsRequestDTO.MAX_IDS) List<@NotNull Long> ids) {
+        return ResponseEntity.ok(todoItemService.getTodoItemsByIds(ids));
+    }
+
+    @PostMapping("/lookup")
+    @ReadOperation
+    @Operation(summary = "Get many todo items by ID (POST form)", description = "Same as GET /api/todos?ids=..., for ID lists too long for a query string")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Successfully retrieved todo items"),
+            @ApiResponse(responseCode = "400", description = "Too many or invalid IDs")
+    })
+    public ResponseEntity<TodoBatchResponseDTO> lookupTodoItems(
+            @Valid @RequestBody TodoIdsRequestDTO request) {
+        return ResponseEntity.ok(todoItemService.getTodoItemsByIds(request.getIds()));
+    }
+
+    @GetMapping(params = {"fields", "!ids"})
+    @Operation(summary = "Get selected fields of all todo items", description = "Retrieves only the requested fields of the todo items, ordered by creation date (newest first)")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Successfully retrieved todo items"),
+            @ApiResponse(responseCode = "400", description = "Invalid status or field name")
+    })
+    public ResponseEntity<List<Map<String, Object>>> getTodoItemFields(
+            @Parameter(description = "Optional status filter ('done' or 'not done')")
+            @RequestParam(required = false) String status,
+            @Parameter(description = "Comma separated fields to return, e.g. 'id,description,status'")
+            @RequestParam String fields) {
+        return ResponseEntity.ok(todoItemService.getTodoItemFields(status, TodoField.parseList(fields)));
+    }
+
+    @GetMapping(value = "/{id}", params = "fields")
+    @Operation(summary = "Get selected fields of a todo item", description = "Retrieves only the requested fields of a specific todo item")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Todo item found"),
+            @ApiResponse(responseCode = "400", description = "Invalid field name"),
+            @ApiResponse(responseCode = "404", description = "Todo item not found")
+    })
+    public ResponseEntity<Map<String, Object>> getTodoItemFieldsById(
+            @Parameter(description = "ID of the todo item to retrieve")
+            @PathVariable Long id,
+            @Parameter(description = "Comma separated fields to return, e.g. 'id,description,status'")
+            @RequestParam String fields) {
+        return todoItemService.getTodoItemFieldsById(id, TodoField.parseList(fields))
+                .map(ResponseEntity::ok)
+                .orElse(ResponseEntity.notFound().build());
+    }
+
     @GetMapping("/{id}")
     @Operation(summary = "Get todo item by ID", description = "Retrieves a specific todo item by its ID")
     @ApiResponses(value = {
@@ -76,6 +279,20 @@ public class TodoController {
                       .orElse(ResponseEntity.notFound().build());
     }
 
+    @GetMapping("/{id}/history")
+    @Operation(summary = "Get status history of a todo item", description = "Retrieves the status transitions of a todo item, oldest first")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Todo item found"),
+            @ApiResponse(responseCode = "404", description = "Todo item not found")
+    })
+    public ResponseEntity<List<TodoStatusHistoryDTO>> getTodoItemHistory(
+            @Parameter(description = "ID of the todo item")
+            @PathVariable Long id) {
+        return todoItemService.getTodoItemHistory(id)
+                .map(ResponseEntity::ok)
+                .orElse(ResponseEntity.notFound().build());
+    }
+
     @PatchMapping("/{id}")
     @Operation(summary = "Partially update a todo item", description = "Updates specified fields of a todo item")
     @ApiResponses(value = {
@@ -83,17 +300,105 @@ public class TodoController {
             @ApiResponse(responseCode = "404", description = "Todo item not found"),
             @ApiResponse(responseCode = "400", description = "Bad request - cannot update past due item or invalid status")
     })
-    public ResponseEntity<TodoResponseDTO> patchTodoItem(
+    public ResponseEntity<?> patchTodoItem(
             @Parameter(description = "ID of the todo item to update") 
             @PathVariable Long id, 
             @Valid @RequestBody TodoPatchDTO patchRequest) {
         
         log.info("Received request to patch todo item with ID: {}", id);
-        return Try.of(() -> todoItemService.patchTodo(id, patchRequest))
-                .map(opt -> opt.map(ResponseEntity::ok)
-                        .orElse(ResponseEntity.notFound().build()))
-                .recover(IllegalStateException.class, ResponseEntity.badRequest().build())
-                .get();
+        return switch (todoItemService.patchTodo(id, patchRequest)) {
+            case PatchOutcome.Updated updated -> ResponseEntity.ok(updated.item());
+            case PatchOutcome.NotFound notFound -> ResponseEntity.notFound().build();
+            case PatchOutcome.PastDue pastDue -> ResponseEntity.badRequest().build();
+            case PatchOutcome.InvalidStatus invalid -> ResponseEntity.badRequest()
+                    .body(new ErrorResponse(HttpStatus.BAD_REQUEST.value(), "Invalid Status", invalid.message()));
+        };
     }
 
+    @DeleteMapping("/{id}")
+    @Operation(summary = "Delete a todo item", description = "Deletes a todo item; it is no longer returned by any endpoint")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "204", description = "Todo item deleted"),
+            @ApiResponse(responseCode = "404", description = "Todo item not found")
+    })
+    public ResponseEntity<Void> deleteTodoItem(
+            @Parameter(description = "ID of the todo item to delete")
+            @PathVariable Long id) {
+        log.info("Received request to delete todo item with ID: {}", id);
+        return todoItemService.deleteTodoItem(id)
+                ? ResponseEntity.noContent().build()
+                : ResponseEntity.notFound().build();
+    }
+
+    @PostMapping("/delete")
+    @Operation(summary = "Delete many todo items", description = "Deletes the todo items with the given IDs and lists the IDs that were not found")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Todo items deleted"),
+            @ApiResponse(responseCode = "400", description = "Too many or invalid IDs")
+    })
+    public ResponseEntity<TodoBatchDeleteResponseDTO> deleteTodoItems(
+            @Valid @RequestBody TodoIdsRequestDTO request) {
+        return ResponseEntity.ok(todoItemService.deleteTodoItems(request.getIds()));
+    }
+
+    /**
+     * Sets the export headers and returns the body stream, compressed when {@code gzip} is set.
+     */
+    private static OutputStream openExport(HttpServletResponse response, RecordFormat format, boolean gzip)
+            throws IOException {
+        response.setContentType(format.getMediaType().toString());
+        response.setCharacterEncoding(StandardCharsets.UTF_8.name());
+        response.setHeader(HttpHeaders.CONTENT_DISPOSITION, ContentDisposition.attachment()
+                .filename("todos." + format.getFileExtension())
+                .build()
+                .toString());
+        response.setHeader(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING);
+        if (!gzip) {
+            return response.getOutputStream();
+        }
+        response.setHeader(HttpHeaders.CONTENT_ENCODING, "gzip");
+        // Sync flush, so every page is sent as soon as it is written
+        return new GZIPOutputStream(response.getOutputStream(), GZIP_BUFFER_SIZE, true);
+    }
+
+    /**
+     * Whether {@code Accept-Encoding} allows gzip: a {@code gzip} (or {@code x-gzip}) coding with a q-value above 0,
+     * or else a {@code *} with one. {@code gzip;q=0} refuses it, and other codings that merely contain the word do
+     * not count.
+     */
+    static boolean acceptsGzip(String acceptEncoding) {
+        if (acceptEncoding == null) {
+            return false;
+        }
+        Double gzipQuality = null;
+        Double anyQuality = null;
+        for (String element : acceptEncoding.split(",")) {
+            String[] parts = element.split(";");
+            String coding = parts[0].trim().toLowerCase(Locale.ROOT);
+            double quality = 1.0;
+            for (int i = 1; i < parts.length; i++) {
+                String parameter = parts[i].trim().toLowerCase(Locale.ROOT);
+                if (parameter.startsWith("q=")) {
+                    try {
+                        quality = Double.parseDouble(parameter.substring(2).trim());
+                    } catch (NumberFormatException e) {
+                        quality = 0;
+                    }
+                }
+            }
+            if (coding.equals("gzip") || coding.equals("x-gzip")) {
+                gzipQuality = gzipQuality == null ? quality : Math.max(gzipQuality, quality);
+            } else if (coding.equals("*")) {
+                anyQuality = quality;
+            }
+        }
+        Double effective = gzipQuality != null ? gzipQuality : anyQuality;
+        return effective != null && effective > 0;
+    }
+
+    private static LocalDateTime dueWindowEnd(LocalDateTime from, LocalDateTime dueTo, Integer hours) {
+        return dueTo != null ? dueTo : Optional.ofNullable(hours)
+                .map(from::plusHours)
+                .orElseThrow(() -> new InvalidQueryException("Either dueTo or hours is required"));
+    }
 }
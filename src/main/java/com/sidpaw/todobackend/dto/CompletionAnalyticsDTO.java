@@ -0,0 +1,25 @@
+package com.sidpaw.todobackend.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * Completion latency for a date range: the merged total plus one entry per day that had completions.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class CompletionAnalyticsDTO {
+
+    private LocalDate from;
+
+    private LocalDate to;
+
+    private CompletionStatsDTO total;
+
+    private List<CompletionStatsDTO> days;
+}
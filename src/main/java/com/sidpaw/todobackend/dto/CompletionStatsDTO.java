@@ -0,0 +1,34 @@
+package com.sidpaw.todobackend.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+
+/**
+ * Time-to-done statistics (in seconds) for one day, or for a whole range when {@code date} is null.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class CompletionStatsDTO {
+
+    private LocalDate date;
+
+    private long count;
+
+    private double meanSeconds;
+
+    private long minSeconds;
+
+    private long p50Seconds;
+
+    private long p90Seconds;
+
+    private long p95Seconds;
+
+    private long p99Seconds;
+
+    private long maxSeconds;
+}
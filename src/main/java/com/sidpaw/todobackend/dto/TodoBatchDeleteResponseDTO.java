@@ -0,0 +1,20 @@
+package com.sidpaw.todobackend.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * Response DTO for a bulk delete: the ids that were deleted, in the requested order, and the ids that do not exist.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class TodoBatchDeleteResponseDTO {
+
+    private List<Long> deletedIds;
+
+    private List<Long> missingIds;
+}
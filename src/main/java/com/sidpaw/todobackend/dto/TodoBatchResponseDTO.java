@@ -0,0 +1,20 @@
+package com.sidpaw.todobackend.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * Response DTO for a multi-get: the items found, in the requested order, and the ids that do not exist.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class TodoBatchResponseDTO {
+
+    private List<TodoResponseDTO> items;
+
+    private List<Long> missingIds;
+}
@@ -0,0 +1,28 @@
+package com.sidpaw.todobackend.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * Request DTO for fetching or deleting many todo items by id in one request.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Schema(description = "Request object for fetching or deleting todo items by id")
+public class TodoIdsRequestDTO {
+
+    public static final int MAX_IDS = 1000;
+
+    @NotEmpty(message = "At least one id is required")
+    @Size(max = MAX_IDS, message = "At most " + MAX_IDS + " ids can be requested at once")
+    @Schema(description = "Ids of the todo items", example = "[1, 2, 3]")
+    private List<@NotNull Long> ids;
+}
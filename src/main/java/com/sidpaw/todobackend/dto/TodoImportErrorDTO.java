@@ -0,0 +1,18 @@
+package com.sidpaw.todobackend.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * A record of a bulk import that was skipped or stopped the import, with the line it starts on.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class TodoImportErrorDTO {
+
+    private long line;
+
+    private String message;
+}
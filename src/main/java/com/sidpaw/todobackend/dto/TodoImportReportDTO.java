@@ -0,0 +1,26 @@
+package com.sidpaw.todobackend.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * Response DTO for a bulk import: how many records were imported and rejected, and the first errors.
+ * {@code completed} is false when the import stopped before the end of the upload; the items imported until then
+ * are kept.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class TodoImportReportDTO {
+
+    private long imported;
+
+    private long rejected;
+
+    private boolean completed;
+
+    private List<TodoImportErrorDTO> errors;
+}
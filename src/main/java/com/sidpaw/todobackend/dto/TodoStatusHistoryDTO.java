@@ -0,0 +1,24 @@
+package com.sidpaw.todobackend.dto;
+
+import com.fasterxml.jackson.annotation.JsonFormat;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * Response DTO for one status transition of a todo item. {@code fromStatus} is null for the creation entry.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class TodoStatusHistoryDTO {
+
+    private String fromStatus;
+
+    private String toStatus;
+
+    @JsonFormat(pattern = "yyyy-MM-dd'T'HH:mm:ss")
+    private LocalDateTime changedAt;
+}
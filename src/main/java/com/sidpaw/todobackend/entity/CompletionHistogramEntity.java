@@ -0,0 +1,30 @@
+package com.sidpaw.todobackend.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+/**
+ * Persisted snapshot of the time-to-done histogram of one day (see {@code LatencyHistogram#toBytes}).
+ */
+@Entity
+@Table(name = "todo_completion_histogram")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class CompletionHistogramEntity {
+
+    @Id
+    @Column(name = "completion_day")
+    private LocalDate day;
+
+    @Column(nullable = false, length = 65536)
+    private byte[] histogram;
+
+    @Column(name = "updated_at", nullable = false)
+    private LocalDateTime updatedAt;
+}
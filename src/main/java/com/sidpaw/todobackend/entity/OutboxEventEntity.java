@@ -0,0 +1,50 @@
+package com.sidpaw.todobackend.entity;
+
+import com.sidpaw.todobackend.model.OutboxEventType;
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * Change record written in the same transaction as the change itself and relayed to downstream systems.
+ */
+@Entity
+@Table(name = "todo_outbox")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class OutboxEventEntity {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "event_type", nullable = false, length = 40)
+    private OutboxEventType eventType;
+
+    @Column(name = "todo_id")
+    private Long todoId;
+
+    @Column(nullable = false, length = 8000)
+    private String payload;
+
+    @Column(name = "created_at", nullable = false)
+    private LocalDateTime createdAt;
+
+    /**
+     * Until when a relay run has claimed the event; null when unclaimed.
+     */
+    @Column(name = "claimed_until")
+    private LocalDateTime claimedUntil;
+
+    public OutboxEventEntity(OutboxEventType eventType, Long todoId, String payload) {
+        this.eventType = eventType;
+        this.todoId = todoId;
+        this.payload = payload;
+        this.createdAt = LocalDateTime.now();
+    }
+}
@@ -6,19 +6,43 @@ import jakarta.persistence.*;
 import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+import org.hibernate.annotations.SQLRestriction;
 
 import java.time.LocalDateTime;
 
 /**
  * Entity representing a todo item in the database.
+ * <p>
+ * Deleting an item only sets {@code deletedDatetime}. Queries and lookups of the entity skip such rows through
+ * the {@link SQLRestriction} (bulk statements spell the condition out), and the compactor removes them later.
  */
 @Entity
-@Table(name = "todo_items")
+@Table(name = "todo_items", indexes = {
+        // deleted_datetime follows status so the IS NULL restriction is part of the equality prefix.
+        // Backs the due-window query and the status lists sorted by due datetime: status equality, then a range
+        // and keyset order on (due_datetime, id)
+        @Index(name = "idx_todo_items_status_due", columnList = "status, deleted_datetime, due_datetime, id"),
+        // Backs the status lists, newest first, and their keyset pages in either creation order
+        @Index(name = "idx_todo_items_status_created", columnList = "status, deleted_datetime, creation_datetime, id"),
+        // Back the unfiltered sorted lists (see TodoSort). The leading deleted_datetime also serves the compactor's
+        // scan for rows deleted before its cutoff
+        @Index(name = "idx_todo_items_created", columnList = "deleted_datetime, creation_datetime, id"),
+        @Index(name = "idx_todo_items_due", columnList = "deleted_datetime, due_datetime, id")
+})
+@SQLRestriction("deleted_datetime IS NULL")
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = TodoItemEntity.CACHE_REGION)
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
 public class TodoItemEntity {
 
+    /**
+     * Second-level cache region of the entity, configured in {@code ehcache.xml}.
+     */
+    public static final String CACHE_REGION = "todoItems";
+
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     private Long id;
@@ -39,6 +63,14 @@ public class TodoItemEntity {
     @Column(name = "done_datetime")
     private LocalDateTime doneDatetime;
 
+    @Column(name = "deleted_datetime")
+    private LocalDateTime deletedDatetime;
+
+    public TodoItemEntity(Long id, String description, TodoStatus status, LocalDateTime creationDatetime,
+                          LocalDateTime dueDatetime, LocalDateTime doneDatetime) {
+        this(id, description, status, creationDatetime, dueDatetime, doneDatetime, null);
+    }
+
     public TodoItemEntity(String description, LocalDateTime dueDatetime) {
         this.description = description;
         this.status = TodoStatus.NOT_DONE;
@@ -0,0 +1,43 @@
+package com.sidpaw.todobackend.entity;
+
+import com.sidpaw.todobackend.model.TodoStatus;
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.hibernate.annotations.Immutable;
+
+import java.time.LocalDateTime;
+
+/**
+ * One status transition of a todo item. Rows are only ever appended; {@code fromStatus} is null for the row
+ * written when the item is created.
+ */
+@Entity
+@Immutable
+@Table(name = "todo_status_history", indexes = {
+        @Index(name = "idx_todo_status_history_todo", columnList = "todo_id, id")
+})
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class TodoStatusHistoryEntity {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "todo_id", nullable = false)
+    private Long todoId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "from_status")
+    private TodoStatus fromStatus;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "to_status", nullable = false)
+    private TodoStatus toStatus;
+
+    @Column(name = "changed_at", nullable = false)
+    private LocalDateTime changedAt;
+}
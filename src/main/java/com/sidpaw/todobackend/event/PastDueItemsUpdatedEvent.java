@@ -0,0 +1,10 @@
+package com.sidpaw.todobackend.event;
+
+import java.time.LocalDateTime;
+
+/**
+ * Published by the scheduler when a run (or one range of a sharded run) has moved {@code count} items due before
+ * {@code cutoff} to PAST_DUE, inside the bulk update transaction.
+ */
+public record PastDueItemsUpdatedEvent(int count, LocalDateTime cutoff) {
+}
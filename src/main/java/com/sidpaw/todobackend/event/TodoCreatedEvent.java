@@ -0,0 +1,9 @@
+package com.sidpaw.todobackend.event;
+
+import com.sidpaw.todobackend.entity.TodoItemEntity;
+
+/**
+ * Published by the service after a todo item has been saved, inside the creating transaction.
+ */
+public record TodoCreatedEvent(TodoItemEntity item) {
+}
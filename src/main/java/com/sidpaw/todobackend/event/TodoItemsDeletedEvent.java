@@ -0,0 +1,10 @@
+package com.sidpaw.todobackend.event;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Published by the service after the items with {@code ids} have been deleted, inside the deleting transaction.
+ */
+public record TodoItemsDeletedEvent(List<Long> ids, LocalDateTime deletedAt) {
+}
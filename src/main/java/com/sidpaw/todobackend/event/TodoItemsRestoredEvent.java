@@ -0,0 +1,8 @@
+package com.sidpaw.todobackend.event;
+
+/**
+ * Published by the backup service when a restore has replaced the todo items with the {@code rows} of a snapshot,
+ * or stopped partway through after emptying the table. Not tied to a transaction.
+ */
+public record TodoItemsRestoredEvent(long rows) {
+}
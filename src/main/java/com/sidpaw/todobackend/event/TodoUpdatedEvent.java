@@ -0,0 +1,14 @@
+package com.sidpaw.todobackend.event;
+
+import com.sidpaw.todobackend.entity.TodoItemEntity;
+import com.sidpaw.todobackend.model.TodoStatus;
+
+/**
+ * Published by the service after a todo item has been patched, inside the updating transaction.
+ */
+public record TodoUpdatedEvent(TodoItemEntity item, TodoStatus previousStatus) {
+
+    public boolean statusChanged() {
+        return item.getStatus() != previousStatus;
+    }
+}
@@ -1,7 +1,11 @@
 package com.sidpaw.todobackend.exception;
 
+/**
+ * An unknown status in a request, answered with 400. Created without a stack trace: filling it in is most of the
+ * cost of throwing, and for a client error it says nothing useful.
+ */
 public class InvalidStatusException extends RuntimeException {
     public InvalidStatusException(String message) {
-        super(message);
+        super(message, null, false, false);
     }
-}
\ No newline at end of file
+}
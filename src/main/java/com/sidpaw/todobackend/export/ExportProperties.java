@@ -0,0 +1,17 @@
+package com.sidpaw.todobackend.export;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * Settings for the export endpoint.
+ */
+@Data
+@ConfigurationProperties(prefix = "todo.export")
+public class ExportProperties {
+
+    /**
+     * Items read per keyset query. The export holds one page in memory at a time.
+     */
+    private int pageSize = 1000;
+}
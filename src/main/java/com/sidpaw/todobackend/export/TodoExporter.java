@@ -0,0 +1,144 @@
+package com.sidpaw.todobackend.export;
+
+import com.fasterxml.jackson.core.StreamWriteFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SequenceWriter;
+import com.fasterxml.jackson.dataformat.csv.CsvMapper;
+import com.fasterxml.jackson.dataformat.csv.CsvSchema;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.sidpaw.todobackend.dto.TodoPageDTO;
+import com.sidpaw.todobackend.dto.TodoResponseDTO;
+import com.sidpaw.todobackend.model.RecordFormat;
+import com.sidpaw.todobackend.model.TodoSort;
+import com.sidpaw.todobackend.service.TodoItemService;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.persistence.EntityManager;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.time.LocalDateTime;
+import java.util.function.Function;
+
+/**
+ * Writes todo items as NDJSON or CSV straight to an output stream, one keyset page at a time. Each page is read
+ * with the sorted list or due window queries of {@link TodoItemService} in its own short read-only transaction, so
+ * filters behave as in the list API and memory use is bounded by {@code todo.export.page-size}, whatever the table
+ * size. With open-in-view the persistence context spans the whole request and would keep every page's entities
+ * until the response is finished, so it is cleared once a page has been mapped.
+ * <p>
+ * The export is not a snapshot: an item changed while the export runs can appear with its old or new values, and
+ * an item that moves behind the current keyset position is missed, as with any keyset pagination.
+ * <p>
+ * Metrics: {@code todo.export.items} per {@code format}.
+ */
+public class TodoExporter {
+
+    private static final Logger logger = LoggerFactory.getLogger(TodoExporter.class);
+
+    private static final CsvSchema CSV_SCHEMA = CsvSchema.builder()
+            .addColumn("id")
+            .addColumn("description")
+            .addColumn("status")
+            .addColumn("creationDatetime")
+            .addColumn("dueDatetime")
+            .addColumn("doneDatetime")
+            .setUseHeader(true)
+            .build();
+
+    private final TodoItemService todoItemService;
+    private final EntityManager entityManager;
+    private final ExportProperties properties;
+    private final ObjectWriter jsonWriter;
+    private final ObjectWriter csvWriter;
+    private final MeterRegistry meterRegistry;
+
+    /**
+     * Opens the stream the export is written to. Called once the first page has been read, so invalid filters
+     * are reported before anything is sent. The exporter closes the stream.
+     */
+    @FunctionalInterface
+    public interface ExportTarget {
+        OutputStream open() throws IOException;
+    }
+
+    public TodoExporter(TodoItemService todoItemService,
+                        EntityManager entityManager,
+                        ObjectMapper objectMapper,
+                        ExportProperties properties,
+                        MeterRegistry meterRegistry) {
+        this.todoItemService = todoItemService;
+        this.entityManager = entityManager;
+        this.properties = properties;
+        this.meterRegistry = meterRegistry;
+        this.jsonWriter = objectMapper.writerFor(TodoResponseDTO.class)
+                .withRootValueSeparator("\n")
+                .without(StreamWriteFeature.AUTO_CLOSE_TARGET);
+        this.csvWriter = CsvMapper.builder().addModule(new JavaTimeModule()).build()
+                .writerFor(TodoResponseDTO.class)
+                .with(CSV_SCHEMA)
+                .without(StreamWriteFeature.AUTO_CLOSE_TARGET);
+    }
+
+    /**
+     * Exports the items with {@code status} (all when null) in {@code sort} order, like the sorted list.
+     *
+     * @return the number of items written
+     */
+    public long exportList(String status, TodoSort sort, RecordFormat format, ExportTarget target) throws IOException {
+        return export(cursor -> todoItemService.getSortedTodoItems(status, sort, cursor, properties.getPageSize()),
+                format, target);
+    }
+
+    /**
+     * Exports the NOT_DONE items due in [dueFrom, dueTo), soonest first, like the due window list.
+     *
+     * @return the number of items written
+     */
+    public long exportDueWindow(LocalDateTime dueFrom, LocalDateTime dueTo, RecordFormat format, ExportTarget target)
+            throws IOException {
+        return export(cursor -> todoItemService.getTodoItemsDueBetween(dueFrom, dueTo, cursor,
+                properties.getPageSize()), format, target);
+    }
+
+    private long export(Function<String, TodoPageDTO> pages, RecordFormat format, ExportTarget target)
+            throws IOException {
+        TodoPageDTO page = readPage(pages, null);
+        long written = 0;
+        try (OutputStream out = target.open()) {
+            SequenceWriter sequence = (format == RecordFormat.CSV ? csvWriter : jsonWriter).writeValues(out);
+            while (true) {
+                for (TodoResponseDTO item : page.getItems()) {
+                    sequence.write(item);
+                }
+                written += page.getItems().size();
+                // Every page leaves the process before the next one is read
+                sequence.flush();
+                if (page.getNextCursor() == null) {
+                    break;
+                }
+                page = readPage(pages, page.getNextCursor());
+            }
+            sequence.close();
+            if (format == RecordFormat.NDJSON && written > 0) {
+                out.write('\n');
+            }
+        } finally {
+            meterRegistry.counter("todo.export.items", "format", format.name().toLowerCase()).increment(written);
+        }
+        logger.info("Exported {} todo items as {}", written, format);
+        return written;
+    }
+
+    private TodoPageDTO readPage(Function<String, TodoPageDTO> pages, String cursor) {
+        try {
+            return pages.apply(cursor);
+        } finally {
+            // The page is mapped to DTOs already; its entities would otherwise stay managed until the request ends
+            entityManager.clear();
+        }
+    }
+}
@@ -0,0 +1,90 @@
+package com.sidpaw.todobackend.history;
+
+import com.sidpaw.todobackend.event.TodoCreatedEvent;
+import com.sidpaw.todobackend.event.TodoUpdatedEvent;
+import com.sidpaw.todobackend.model.TodoStatus;
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Appends status transitions to {@code todo_status_history}.
+ * <p>
+ * Single-item transitions are buffered per transaction and written with one JDBC batch just before commit, so a
+ * request that changes several items costs one extra statement rather than one per transition. The scheduler's
+ * bulk PAST_DUE transition is recorded by the store that makes it: set-based with an INSERT ... SELECT for the
+ * {@code jpa} engine, with {@link #recordPastDueTransitions(List, LocalDateTime)} for the in-memory engines.
+ */
+@Component
+@RequiredArgsConstructor
+public class StatusHistoryRecorder {
+
+    static final String INSERT_SQL =
+            "INSERT INTO todo_status_history (todo_id, from_status, to_status, changed_at) VALUES (?, ?, ?, ?)";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @EventListener
+    public void onCreated(TodoCreatedEvent event) {
+        append(event.item().getId(), null, event.item().getStatus());
+    }
+
+    @EventListener
+    public void onUpdated(TodoUpdatedEvent event) {
+        if (event.statusChanged()) {
+            append(event.item().getId(), event.previousStatus(), event.item().getStatus());
+        }
+    }
+
+    /**
+     * Records the NOT_DONE to PAST_DUE transition of the items with {@code ids} at {@code now}, with one JDBC
+     * batch, in the current transaction. For engines that hold the moved items in memory anyway.
+     */
+    public void recordPastDueTransitions(List<Long> ids, LocalDateTime now) {
+        if (ids.isEmpty()) {
+            return;
+        }
+        Timestamp changedAt = Timestamp.valueOf(now);
+        jdbcTemplate.batchUpdate(INSERT_SQL, ids.stream()
+                .map(id -> new Object[]{id, TodoStatus.NOT_DONE.name(), TodoStatus.PAST_DUE.name(), changedAt})
+                .toList());
+    }
+
+    private void append(Long todoId, TodoStatus from, TodoStatus to) {
+        Object[] row = {todoId, from != null ? from.name() : null, to.name(), Timestamp.valueOf(LocalDateTime.now())};
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            jdbcTemplate.update(INSERT_SQL, row);
+            return;
+        }
+        PendingTransitions pending = (PendingTransitions) TransactionSynchronizationManager.getResource(this);
+        if (pending == null) {
+            pending = new PendingTransitions();
+            TransactionSynchronizationManager.bindResource(this, pending);
+            TransactionSynchronizationManager.registerSynchronization(pending);
+        }
+        pending.rows.add(row);
+    }
+
+    private final class PendingTransitions implements TransactionSynchronization {
+
+        private final List<Object[]> rows = new ArrayList<>();
+
+        @Override
+        public void beforeCommit(boolean readOnly) {
+            jdbcTemplate.batchUpdate(INSERT_SQL, rows);
+        }
+
+        @Override
+        public void afterCompletion(int status) {
+            TransactionSynchronizationManager.unbindResourceIfPossible(StatusHistoryRecorder.this);
+        }
+    }
+}
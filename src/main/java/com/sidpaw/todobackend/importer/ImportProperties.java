@@ -0,0 +1,32 @@
+package com.sidpaw.todobackend.importer;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * Settings for the bulk import endpoint.
+ */
+@Data
+@ConfigurationProperties(prefix = "todo.import")
+public class ImportProperties {
+
+    /**
+     * Records inserted and committed per transaction.
+     */
+    private int batchSize = 1000;
+
+    /**
+     * Errors listed in the report; further rejected records are only counted.
+     */
+    private int maxErrors = 100;
+
+    /**
+     * Longest NDJSON line accepted, in characters. Longer lines are skipped without being buffered.
+     */
+    private int maxLineLength = 16384;
+
+    /**
+     * Imported records between two progress log lines.
+     */
+    private long progressInterval = 100_000;
+}
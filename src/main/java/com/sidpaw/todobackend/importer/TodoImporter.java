@@ -0,0 +1,346 @@
+package com.sidpaw.todobackend.importer;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.StreamReadFeature;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.dataformat.csv.CsvMapper;
+import com.fasterxml.jackson.dataformat.csv.CsvParser;
+import com.fasterxml.jackson.dataformat.csv.CsvSchema;
+import com.sidpaw.todobackend.dto.TodoImportErrorDTO;
+import com.sidpaw.todobackend.dto.TodoImportReportDTO;
+import com.sidpaw.todobackend.dto.TodoRequestDTO;
+import com.sidpaw.todobackend.model.RecordFormat;
+import com.sidpaw.todobackend.service.TodoItemService;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Imports todo items from an NDJSON or CSV upload as it arrives. Records are parsed one at a time with Jackson's
+ * streaming parsers, validated with the rules of {@link TodoRequestDTO} and created in batches of
+ * {@code todo.import.batch-size}, each committed in its own transaction. Memory use depends on the batch size,
+ * the line length limit and the error limit, not on the size of the upload.
+ * <p>
+ * Invalid records are skipped and reported with their line. Unreadable input (a broken CSV quote, a dropped
+ * connection) or a batch that cannot be stored stops the import; the items stored before it are kept.
+ * <p>
+ * Metrics: {@code todo.import.records} per {@code result} ({@code imported} or {@code rejected}) and
+ * {@code todo.import.batch} for the time to store one batch.
+ */
+public class TodoImporter {
+
+    private static final Logger logger = LoggerFactory.getLogger(TodoImporter.class);
+
+    private static final String DESCRIPTION_COLUMN = "description";
+    private static final String DUE_DATETIME_COLUMN = "dueDatetime";
+
+    private final TodoItemService todoItemService;
+    private final Validator validator;
+    private final ImportProperties properties;
+    private final ObjectReader jsonReader;
+    private final ObjectReader csvReader;
+    private final Counter importedRecords;
+    private final Counter rejectedRecords;
+    private final Timer batchTimer;
+
+    public TodoImporter(TodoItemService todoItemService,
+                        Validator validator,
+                        ObjectMapper objectMapper,
+                        ImportProperties properties,
+                        MeterRegistry meterRegistry) {
+        this.todoItemService = todoItemService;
+        this.validator = validator;
+        this.properties = properties;
+        // Same deserialization as the create endpoint, but a line holds exactly one value
+        this.jsonReader = objectMapper.readerFor(TodoRequestDTO.class)
+                .with(DeserializationFeature.FAIL_ON_TRAILING_TOKENS);
+        this.csvReader = CsvMapper.builder().disable(StreamReadFeature.AUTO_CLOSE_SOURCE).build()
+                .readerForMapOf(String.class)
+                .with(CsvSchema.emptySchema().withHeader())
+                .with(CsvParser.Feature.SKIP_EMPTY_LINES)
+                .with(CsvParser.Feature.IGNORE_TRAILING_UNMAPPABLE);
+        this.importedRecords = Counter.builder("todo.import.records")
+                .description("Records read by the bulk import")
+                .tag("result", "imported")
+                .register(meterRegistry);
+        this.rejectedRecords = Counter.builder("todo.import.records")
+                .description("Records read by the bulk import")
+                .tag("result", "rejected")
+                .register(meterRegistry);
+        this.batchTimer = Timer.builder("todo.import.batch")
+                .description("Time to store one batch of imported todo items")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Reads the upload to the end, or until it cannot go on, and reports the outcome. Does not close {@code body}.
+     */
+    public TodoImportReportDTO importTodoItems(InputStream body, RecordFormat format) {
+        ImportRun run = new ImportRun();
+        List<TodoRequestDTO> batch = new ArrayList<>(properties.getBatchSize());
+        try (RecordSource records = format == RecordFormat.CSV ? new CsvRecords(body) : new NdjsonRecords(body)) {
+            for (ParsedRecord record = records.next(); record != null; record = records.next()) {
+                run.line = record.line();
+                String error = record.error() != null ? record.error() : validate(record.request());
+                if (error != null) {
+                    run.reject(record.line(), error);
+                } else {
+                    batch.add(record.request());
+                    if (batch.size() == properties.getBatchSize() && !store(batch, run)) {
+                        return run.report(false);
+                    }
+                }
+            }
+        } catch (IOException e) {
+            logger.warn("Stopping import after line {}: {}", run.line, e.getMessage());
+            run.error(run.line + 1, "Could not read the upload: " + message(e));
+            store(batch, run);
+            return run.report(false);
+        }
+        boolean completed = store(batch, run);
+        logger.info("Import {}: {} items imported, {} records rejected", completed ? "completed" : "stopped",
+                run.imported, run.rejected);
+        return run.report(completed);
+    }
+
+    /**
+     * Creates the batch in its own transaction and empties it.
+     *
+     * @return false if the batch could not be stored
+     */
+    private boolean store(List<TodoRequestDTO> batch, ImportRun run) {
+        if (batch.isEmpty()) {
+            return true;
+        }
+        try {
+            Timer.Sample sample = Timer.start();
+            int created = todoItemService.createTodoItems(batch);
+            sample.stop(batchTimer);
+            importedRecords.increment(created);
+            if ((run.imported + created) / properties.getProgressInterval()
+                    > run.imported / properties.getProgressInterval()) {
+                logger.info("Import in progress: {} items imported, {} records rejected, at line {}",
+                        run.imported + created, run.rejected, run.line);
+            }
+            run.imported += created;
+            return true;
+        } catch (RuntimeException e) {
+            logger.error("Stopping import: could not store the batch ending at line {}", run.line, e);
+            run.error(run.line, "Could not store the " + batch.size() + " records up to this line");
+            return false;
+        } finally {
+            batch.clear();
+        }
+    }
+
+    private String validate(TodoRequestDTO request) {
+        Set<ConstraintViolation<TodoRequestDTO>> violations = validator.validate(request);
+        if (violations.isEmpty()) {
+            return null;
+        }
+        return violations.stream()
+                .map(ConstraintViolation::getMessage)
+                .sorted()
+                .collect(Collectors.joining("; "));
+    }
+
+    private static String message(JsonProcessingException e) {
+        return e.getOriginalMessage().lines().findFirst().orElse("");
+    }
+
+    private static String message(IOException e) {
+        return e instanceof JsonProcessingException json
+                ? message(json)
+                : Objects.toString(e.getMessage(), e.getClass().getSimpleName());
+    }
+
+    /**
+     * A parsed record: the request, or the reason it could not be read.
+     */
+    private record ParsedRecord(long line, TodoRequestDTO request, String error) {
+
+        static ParsedRecord invalid(long line, String error) {
+            return new ParsedRecord(line, null, error);
+        }
+    }
+
+    private interface RecordSource extends Closeable {
+
+        /**
+         * Returns the next record, null at the end of the upload.
+         *
+         * @throws IOException if the upload cannot be read any further
+         */
+        ParsedRecord next() throws IOException;
+    }
+
+    /**
+     * Counts of one import and the errors kept for the report.
+     */
+    private final class ImportRun {
+
+        private final List<TodoImportErrorDTO> errors = new ArrayList<>();
+        private long imported;
+        private long rejected;
+        private long line;
+
+        void reject(long line, String message) {
+            rejected++;
+            rejectedRecords.increment();
+            error(line, message);
+        }
+
+        void error(long line, String message) {
+            if (errors.size() < properties.getMaxErrors()) {
+                errors.add(new TodoImportErrorDTO(line, message));
+            }
+        }
+
+        TodoImportReportDTO report(boolean completed) {
+            return new TodoImportReportDTO(imported, rejected, completed, errors);
+        }
+    }
+
+    /**
+     * Reads NDJSON line by line through a fixed buffer. A line is parsed on its own, so a malformed line only
+     * rejects that record; lines longer than the limit are skipped without being kept.
+     */
+    private final class NdjsonRecords implements RecordSource {
+
+        private final Reader reader;
+        private final char[] buffer = new char[8192];
+        private final StringBuilder text = new StringBuilder();
+        private int position;
+        private int limit;
+        private long lineNumber;
+        private boolean truncated;
+
+        NdjsonRecords(InputStream body) {
+            this.reader = new InputStreamReader(body, StandardCharsets.UTF_8);
+        }
+
+        @Override
+        public ParsedRecord next() throws IOException {
+            while (readLine()) {
+                if (truncated) {
+                    return ParsedRecord.invalid(lineNumber,
+                            "Line exceeds " + properties.getMaxLineLength() + " characters");
+                }
+                String line = text.toString();
+                if (line.isBlank()) {
+                    continue;
+                }
+                try {
+                    TodoRequestDTO request = jsonReader.readValue(line);
+                    return request != null
+                            ? new ParsedRecord(lineNumber, request, null)
+                            : ParsedRecord.invalid(lineNumber, "Expected a JSON object");
+                } catch (JsonProcessingException e) {
+                    return ParsedRecord.invalid(lineNumber, "Malformed record: " + message(e));
+                }
+            }
+            return null;
+        }
+
+        /**
+         * Reads the next line into {@code text}, without its line terminator. Returns false at the end of the input.
+         */
+        private boolean readLine() throws IOException {
+            text.setLength(0);
+            truncated = false;
+            int c = read();
+            if (c == -1) {
+                return false;
+            }
+            while (c != -1 && c != '\n') {
+                if (text.length() < properties.getMaxLineLength()) {
+                    text.append((char) c);
+                } else {
+                    truncated = true;
+                }
+                c = read();
+            }
+            if (!text.isEmpty() && text.charAt(text.length() - 1) == '\r') {
+                text.setLength(text.length() - 1);
+            }
+            lineNumber++;
+            return true;
+        }
+
+        private int read() throws IOException {
+            if (position == limit) {
+                int read = reader.read(buffer, 0, buffer.length);
+                position = 0;
+                limit = Math.max(read, 0);
+                if (read <= 0) {
+                    return -1;
+                }
+            }
+            return buffer[position++];
+        }
+
+        @Override
+        public void close() {
+            // The servlet container owns the request body
+        }
+    }
+
+    /**
+     * Reads CSV rows as column maps keyed by the header. Values are strings, so only the due datetime can fail to
+     * convert; that rejects the row. A broken quote makes the rest of the file unreadable and stops the import.
+     */
+    private final class CsvRecords implements RecordSource {
+
+        private final MappingIterator<Map<String, String>> rows;
+
+        CsvRecords(InputStream body) throws IOException {
+            this.rows = csvReader.readValues(body);
+        }
+
+        @Override
+        public ParsedRecord next() throws IOException {
+            if (!rows.hasNextValue()) {
+                return null;
+            }
+            long line = rows.getParser().currentTokenLocation().getLineNr();
+            Map<String, String> row = rows.nextValue();
+            String dueDatetime = row.get(DUE_DATETIME_COLUMN);
+            if (dueDatetime == null || dueDatetime.isBlank()) {
+                return new ParsedRecord(line, new TodoRequestDTO(row.get(DESCRIPTION_COLUMN), null), null);
+            }
+            try {
+                LocalDateTime due = LocalDateTime.parse(dueDatetime.trim());
+                return new ParsedRecord(line, new TodoRequestDTO(row.get(DESCRIPTION_COLUMN), due), null);
+            } catch (DateTimeParseException e) {
+                return ParsedRecord.invalid(line, "Invalid dueDatetime: " + dueDatetime);
+            }
+        }
+
+        @Override
+        public void close() throws IOException {
+            rows.close();
+        }
+    }
+}
@@ -3,13 +3,27 @@ package com.sidpaw.todobackend.mapper;
 
 import com.sidpaw.todobackend.dto.TodoRequestDTO;
 import com.sidpaw.todobackend.dto.TodoResponseDTO;
+import com.sidpaw.todobackend.dto.TodoStatusHistoryDTO;
 import com.sidpaw.todobackend.entity.TodoItemEntity;
+import com.sidpaw.todobackend.entity.TodoStatusHistoryEntity;
+import com.sidpaw.todobackend.model.TodoField;
 import com.sidpaw.todobackend.model.TodoStatus;
+import com.sidpaw.todobackend.repository.TodoItemRepositoryCustom;
+import com.sidpaw.todobackend.service.PastDuePolicy;
+import jakarta.persistence.Tuple;
+import org.mapstruct.AfterMapping;
 import org.mapstruct.Mapper;
 import org.mapstruct.Mapping;
+import org.mapstruct.MappingTarget;
 import org.mapstruct.Named;
+import org.springframework.beans.factory.annotation.Autowired;
 
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 
 /**
  * MapStruct mapper for converting between TodoItem entities and DTOs.
@@ -17,17 +31,68 @@ import java.util.List;
 @Mapper(componentModel = "spring")
 public abstract class TodoItemMapper {
 
+    /**
+     * Null when the mapper is created outside Spring, which behaves like the stored PAST_DUE mode.
+     */
+    @Autowired(required = false)
+    protected PastDuePolicy pastDuePolicy;
+
     @Mapping(target = "id", ignore = true)
     @Mapping(target = "status", expression = "java(com.sidpaw.todobackend.model.TodoStatus.NOT_DONE)")
     @Mapping(target = "creationDatetime", expression = "java(java.time.LocalDateTime.now())")
     @Mapping(target = "doneDatetime", ignore = true)
+    @Mapping(target = "deletedDatetime", ignore = true)
     public abstract TodoItemEntity toEntity(TodoRequestDTO todoRequestDTO);
 
+    public abstract List<TodoItemEntity> toEntityList(List<TodoRequestDTO> todoRequestDTOs);
+
     @Mapping(target = "status", source = "status", qualifiedByName = "mapStatus")
     public abstract TodoResponseDTO toResponseDTO(TodoItemEntity todoItemEntity);
 
     public abstract List<TodoResponseDTO> toResponseDTOList(List<TodoItemEntity> todoItemEntities);
 
+    @AfterMapping
+    protected void applyVirtualPastDue(TodoItemEntity todoItemEntity, @MappingTarget TodoResponseDTO todoResponseDTO) {
+        if (isVirtualPastDue()) {
+            todoResponseDTO.setStatus(mapStatus(pastDuePolicy.effectiveStatus(todoItemEntity)));
+        }
+    }
+
+    @Mapping(target = "fromStatus", source = "fromStatus", qualifiedByName = "mapStatus")
+    @Mapping(target = "toStatus", source = "toStatus", qualifiedByName = "mapStatus")
+    public abstract TodoStatusHistoryDTO toHistoryDTO(TodoStatusHistoryEntity historyEntity);
+
+    public abstract List<TodoStatusHistoryDTO> toHistoryDTOList(List<TodoStatusHistoryEntity> historyEntities);
+
+    /**
+     * Maps a projected row (see {@code TodoItemRepositoryCustom}) to the requested response fields only.
+     * Datetimes are truncated to seconds, matching the format of {@link TodoResponseDTO}.
+     */
+    public Map<String, Object> toFieldMap(Tuple tuple, Set<TodoField> fields) {
+        Map<String, Object> values = new LinkedHashMap<>();
+        for (TodoField field : fields) {
+            Object value = tuple.get(field.getPropertyName());
+            values.put(field.getPropertyName(), switch (field) {
+                case STATUS -> mapStatus(isVirtualPastDue()
+                        ? pastDuePolicy.effectiveStatus((TodoStatus) value,
+                                tuple.get(TodoItemRepositoryCustom.DUE_FOR_STATUS_ALIAS, LocalDateTime.class),
+                                LocalDateTime.now())
+                        : (TodoStatus) value);
+                case CREATION_DATETIME, DUE_DATETIME, DONE_DATETIME -> truncateToSeconds((LocalDateTime) value);
+                default -> value;
+            });
+        }
+        return values;
+    }
+
+    private boolean isVirtualPastDue() {
+        return pastDuePolicy != null && pastDuePolicy.isVirtual();
+    }
+
+    private static LocalDateTime truncateToSeconds(LocalDateTime value) {
+        return value != null ? value.truncatedTo(ChronoUnit.SECONDS) : null;
+    }
+
     @Named("mapStatus")
     protected String mapStatus(TodoStatus status) {
         return status != null ? status.getDisplayName() : null;
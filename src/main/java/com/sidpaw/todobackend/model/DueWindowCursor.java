@@ -0,0 +1,38 @@
+package com.sidpaw.todobackend.model;
+
+import com.sidpaw.todobackend.exception.InvalidQueryException;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+
+/**
+ * Opaque cursor of the due window pages: the window resolved for the first page and the keyset position of the last
+ * item. Later pages read the window from the cursor, so a window that defaulted to "now" does not slide between pages.
+ */
+public record DueWindowCursor(LocalDateTime dueFrom, LocalDateTime dueTo, PageCursor after) {
+
+    private static final String SEPARATOR = "|";
+
+    public String encode() {
+        String raw = dueFrom + SEPARATOR + dueTo + SEPARATOR + after.datetime() + SEPARATOR + after.id();
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public static DueWindowCursor decode(final String cursor) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            String[] parts = raw.split("\\" + SEPARATOR, -1);
+            if (parts.length != 4) {
+                throw new InvalidQueryException("Invalid cursor: " + cursor);
+            }
+            return new DueWindowCursor(
+                    LocalDateTime.parse(parts[0]),
+                    LocalDateTime.parse(parts[1]),
+                    new PageCursor(LocalDateTime.parse(parts[2]), Long.parseLong(parts[3])));
+        } catch (IllegalArgumentException | DateTimeParseException ex) {
+            throw new InvalidQueryException("Invalid cursor: " + cursor);
+        }
+    }
+}
@@ -0,0 +1,11 @@
+package com.sidpaw.todobackend.model;
+
+/**
+ * Types of change records written to the outbox.
+ */
+public enum OutboxEventType {
+    TODO_CREATED,
+    TODO_STATUS_CHANGED,
+    TODO_PAST_DUE_BULK_UPDATED,
+    TODO_DELETED
+}
@@ -0,0 +1,35 @@
+package com.sidpaw.todobackend.model;
+
+import com.sidpaw.todobackend.exception.InvalidQueryException;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+
+/**
+ * Opaque keyset pagination cursor: the sort key and id of the last item of a page.
+ * The next page starts strictly after this position. A null sort key stands for an item without one.
+ */
+public record PageCursor(LocalDateTime datetime, long id) {
+
+    private static final String SEPARATOR = "|";
+
+    public String encode() {
+        String raw = (datetime != null ? datetime : "") + SEPARATOR + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public static PageCursor decode(final String cursor) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            int separator = raw.lastIndexOf(SEPARATOR);
+            String datetime = raw.substring(0, separator);
+            return new PageCursor(
+                    datetime.isEmpty() ? null : LocalDateTime.parse(datetime),
+                    Long.parseLong(raw.substring(separator + 1)));
+        } catch (IllegalArgumentException | DateTimeParseException | IndexOutOfBoundsException ex) {
+            throw new InvalidQueryException("Invalid cursor: " + cursor);
+        }
+    }
+}
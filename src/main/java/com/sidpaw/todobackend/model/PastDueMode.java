@@ -0,0 +1,15 @@
+package com.sidpaw.todobackend.model;
+
+/**
+ * How the PAST_DUE status is obtained.
+ */
+public enum PastDueMode {
+    /**
+     * The scheduler rewrites overdue NOT_DONE rows to PAST_DUE.
+     */
+    STORED,
+    /**
+     * Overdue NOT_DONE rows are reported as PAST_DUE at read time; nothing is rewritten.
+     */
+    VIRTUAL
+}
@@ -0,0 +1,32 @@
+package com.sidpaw.todobackend.model;
+
+import org.springframework.http.MediaType;
+
+/**
+ * Record-per-line formats of the bulk import and export, chosen by the request or accepted content type.
+ */
+public enum RecordFormat {
+    /**
+     * One JSON object per line.
+     */
+    NDJSON,
+    /**
+     * A header row naming the columns followed by one row per item.
+     */
+    CSV;
+
+    public static final String NDJSON_VALUE = "application/x-ndjson";
+    public static final String CSV_VALUE = "text/csv";
+
+    public MediaType getMediaType() {
+        return MediaType.parseMediaType(this == CSV ? CSV_VALUE : NDJSON_VALUE);
+    }
+
+    public String getFileExtension() {
+        return this == CSV ? "csv" : "ndjson";
+    }
+
+    public static RecordFormat from(MediaType contentType) {
+        return CSV.getMediaType().isCompatibleWith(contentType) ? CSV : NDJSON;
+    }
+}
@@ -0,0 +1,55 @@
+package com.sidpaw.todobackend.model;
+
+import com.sidpaw.todobackend.exception.InvalidFieldsException;
+
+import java.util.Arrays;
+import java.util.EnumSet;
+import java.util.Set;
+
+/**
+ * Fields of a todo item that can be requested individually through a sparse fieldset ({@code ?fields=}).
+ * The property name is shared by the entity attribute and the response field.
+ */
+public enum TodoField {
+    ID("id"),
+    DESCRIPTION("description"),
+    STATUS("status"),
+    CREATION_DATETIME("creationDatetime"),
+    DUE_DATETIME("dueDatetime"),
+    DONE_DATETIME("doneDatetime");
+
+    private final String propertyName;
+
+    TodoField(String propertyName) {
+        this.propertyName = propertyName;
+    }
+
+    public String getPropertyName() {
+        return propertyName;
+    }
+
+    public static TodoField from(final String value) {
+        return Arrays.stream(values())
+            .filter(f -> f.propertyName.equalsIgnoreCase(value))
+            .findFirst()
+            .orElseThrow(() -> new InvalidFieldsException("Invalid field: " + value));
+    }
+
+    /**
+     * Parses a comma separated field list such as {@code "id,description,status"}.
+     */
+    public static Set<TodoField> parseList(final String value) {
+        Set<TodoField> fields = EnumSet.noneOf(TodoField.class);
+        if (value != null) {
+            Arrays.stream(value.split(","))
+                .map(String::trim)
+                .filter(name -> !name.isEmpty())
+                .map(TodoField::from)
+                .forEach(fields::add);
+        }
+        if (fields.isEmpty()) {
+            throw new InvalidFieldsException("At least one field must be requested");
+        }
+        return fields;
+    }
+}
@@ -0,0 +1,83 @@
+package com.sidpaw.todobackend.model;
+
+import com.sidpaw.todobackend.entity.TodoItemEntity;
+import com.sidpaw.todobackend.exception.InvalidQueryException;
+
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.stream.Collectors;
+
+/**
+ * Orderings accepted by the sorted list ({@code ?sort=}), a leading {@code -} meaning descending. Each one reads
+ * an index on (status, deleted_datetime, key, id), or on (deleted_datetime, key, id) without a status filter, in
+ * index order, so a page never sorts the table. Other orderings are rejected rather than served with a filesort.
+ * <p>
+ * Ties on the key are broken by id in the same direction, which makes (key, id) a keyset position.
+ */
+public enum TodoSort {
+    CREATED_ASC("created", TodoField.CREATION_DATETIME, true),
+    CREATED_DESC("-created", TodoField.CREATION_DATETIME, false),
+    DUE_ASC("due", TodoField.DUE_DATETIME, true),
+    DUE_DESC("-due", TodoField.DUE_DATETIME, false);
+
+    private final String parameter;
+    private final TodoField field;
+    private final boolean ascending;
+    private final Comparator<TodoItemEntity> comparator;
+
+    TodoSort(String parameter, TodoField field, boolean ascending) {
+        this.parameter = parameter;
+        this.field = field;
+        this.ascending = ascending;
+        Comparator<TodoItemEntity> byKey = Comparator.comparing(this::keyOf).thenComparing(TodoItemEntity::getId);
+        this.comparator = ascending ? byKey : byKey.reversed();
+    }
+
+    public String getParameter() {
+        return parameter;
+    }
+
+    public TodoField getField() {
+        return field;
+    }
+
+    public boolean isAscending() {
+        return ascending;
+    }
+
+    /**
+     * Whether items can lack the key. Those items come after all the others, ordered by id.
+     */
+    public boolean hasOptionalKey() {
+        return field == TodoField.DUE_DATETIME;
+    }
+
+    public LocalDateTime keyOf(TodoItemEntity item) {
+        return field == TodoField.DUE_DATETIME ? item.getDueDatetime() : item.getCreationDatetime();
+    }
+
+    /**
+     * Orders items that have the key.
+     */
+    public Comparator<TodoItemEntity> comparator() {
+        return comparator;
+    }
+
+    /**
+     * Whether an item that has the key comes strictly after the keyset position {@code cursor}.
+     */
+    public boolean isAfter(TodoItemEntity item, PageCursor cursor) {
+        int byKey = keyOf(item).compareTo(cursor.datetime());
+        int order = byKey != 0 ? byKey : Long.compare(item.getId(), cursor.id());
+        return ascending ? order > 0 : order < 0;
+    }
+
+    public static TodoSort from(final String value) {
+        return Arrays.stream(values())
+            .filter(s -> s.parameter.equalsIgnoreCase(value.trim()))
+            .findFirst()
+            .orElseThrow(() -> new InvalidQueryException("Unsupported sort: " + value + ". Supported: "
+                    + Arrays.stream(values()).map(TodoSort::getParameter).collect(Collectors.joining(", "))));
+    }
+}
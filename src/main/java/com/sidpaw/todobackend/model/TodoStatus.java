@@ -12,6 +12,9 @@ public enum TodoStatus {
     DONE("done"),
     PAST_DUE("past due");
 
+    // Display names bucketed by length, so a lookup compares the input with at most a couple of names
+    private static final TodoStatus[][] BY_LENGTH = byLength();
+
     private final String displayName;
     
     TodoStatus(String displayName) {
@@ -32,9 +35,38 @@ public enum TodoStatus {
     }
 
     public static TodoStatus from(final String value) {
-        return Arrays.stream(values())
-            .filter(s -> s.displayName.equalsIgnoreCase(value))
-            .findFirst()
-            .orElseThrow(() -> new InvalidStatusException("Invalid status: " + value));
+        TodoStatus status = lookup(value);
+        if (status == null) {
+            throw new InvalidStatusException("Invalid status: " + value);
+        }
+        return status;
+    }
+
+    /**
+     * Case-insensitive lookup by display name that allocates nothing. Returns null when {@code value} is not a
+     * status, for callers that report invalid input without throwing.
+     */
+    public static TodoStatus lookup(final String value) {
+        if (value == null || value.length() >= BY_LENGTH.length) {
+            return null;
+        }
+        for (TodoStatus status : BY_LENGTH[value.length()]) {
+            if (status.displayName.equalsIgnoreCase(value)) {
+                return status;
+            }
+        }
+        return null;
+    }
+
+    private static TodoStatus[][] byLength() {
+        int maxLength = Arrays.stream(values()).mapToInt(s -> s.displayName.length()).max().orElse(0);
+        TodoStatus[][] buckets = new TodoStatus[maxLength + 1][];
+        for (int length = 0; length <= maxLength; length++) {
+            int bucket = length;
+            buckets[length] = Arrays.stream(values())
+                .filter(s -> s.displayName.length() == bucket)
+                .toArray(TodoStatus[]::new);
+        }
+        return buckets;
     }
 }
@@ -0,0 +1,88 @@
+package com.sidpaw.todobackend.outbox;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sidpaw.todobackend.entity.OutboxEventEntity;
+import com.sidpaw.todobackend.event.PastDueItemsUpdatedEvent;
+import com.sidpaw.todobackend.event.TodoCreatedEvent;
+import com.sidpaw.todobackend.event.TodoItemsDeletedEvent;
+import com.sidpaw.todobackend.event.TodoUpdatedEvent;
+import com.sidpaw.todobackend.mapper.TodoItemMapper;
+import com.sidpaw.todobackend.model.OutboxEventType;
+import com.sidpaw.todobackend.repository.OutboxEventRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.io.UncheckedIOException;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Writes outbox records for todo changes. The listeners run synchronously, so the record is part of the
+ * transaction that made the change and is committed (or rolled back) with it.
+ */
+@Component
+@RequiredArgsConstructor
+public class OutboxEventRecorder {
+
+    private final OutboxEventRepository outboxEventRepository;
+    private final TodoItemMapper todoItemMapper;
+    private final ObjectMapper objectMapper;
+
+    @EventListener
+    public void onCreated(TodoCreatedEvent event) {
+        record(OutboxEventType.TODO_CREATED, event.item().getId(), todoItemMapper.toResponseDTO(event.item()));
+    }
+
+    @EventListener
+    public void onUpdated(TodoUpdatedEvent event) {
+        if (!event.statusChanged()) {
+            return;
+        }
+        Map<String, Object> payload = new LinkedHashMap<>();
+        payload.put("id", event.item().getId());
+        payload.put("previousStatus", event.previousStatus().name());
+        payload.put("status", event.item().getStatus().name());
+        payload.put("changedAt", LocalDateTime.now().toString());
+        record(OutboxEventType.TODO_STATUS_CHANGED, event.item().getId(), payload);
+    }
+
+    @EventListener
+    public void onPastDueItemsUpdated(PastDueItemsUpdatedEvent event) {
+        Map<String, Object> payload = new LinkedHashMap<>();
+        payload.put("count", event.count());
+        payload.put("cutoff", event.cutoff().toString());
+        record(OutboxEventType.TODO_PAST_DUE_BULK_UPDATED, null, payload);
+    }
+
+    /**
+     * One event per deleted item, all saved in one repository call.
+     */
+    @EventListener
+    public void onDeleted(TodoItemsDeletedEvent event) {
+        List<OutboxEventEntity> events = new ArrayList<>(event.ids().size());
+        for (Long id : event.ids()) {
+            Map<String, Object> payload = new LinkedHashMap<>();
+            payload.put("id", id);
+            payload.put("deletedAt", event.deletedAt().toString());
+            events.add(new OutboxEventEntity(OutboxEventType.TODO_DELETED, id, toJson(payload)));
+        }
+        outboxEventRepository.saveAll(events);
+    }
+
+    private void record(OutboxEventType type, Long todoId, Object payload) {
+        outboxEventRepository.save(new OutboxEventEntity(type, todoId, toJson(payload)));
+    }
+
+    private String toJson(Object payload) {
+        try {
+            return objectMapper.writeValueAsString(payload);
+        } catch (JsonProcessingException ex) {
+            throw new UncheckedIOException(ex);
+        }
+    }
+}
@@ -0,0 +1,34 @@
+package com.sidpaw.todobackend.outbox;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * Settings for the outbox relay and its default NDJSON file sink.
+ */
+@Data
+@ConfigurationProperties(prefix = "todo.outbox")
+public class OutboxProperties {
+
+    /**
+     * File the default sink appends to.
+     */
+    private String file = "data/outbox/todo-events.ndjson";
+
+    private Relay relay = new Relay();
+
+    @Data
+    public static class Relay {
+        private boolean enabled = true;
+        private long intervalMs = 1000;
+        private int batchSize = 500;
+        /**
+         * Upper bound on batches drained per run, so one run cannot monopolise the scheduler thread.
+         */
+        private int maxBatchesPerRun = 20;
+        /**
+         * How long a claimed batch is left to its run before another run may relay it, in milliseconds.
+         */
+        private long claimTimeoutMs = 60_000;
+    }
+}
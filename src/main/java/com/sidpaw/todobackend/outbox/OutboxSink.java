@@ -0,0 +1,15 @@
+package com.sidpaw.todobackend.outbox;
+
+import com.sidpaw.todobackend.entity.OutboxEventEntity;
+
+import java.io.IOException;
+import java.util.List;
+
+/**
+ * Destination of relayed outbox records. A batch is removed from the outbox only after {@link #publish}
+ * returns, so delivery is at-least-once and sinks should tolerate duplicates.
+ */
+public interface OutboxSink {
+
+    void publish(List<OutboxEventEntity> events) throws IOException;
+}
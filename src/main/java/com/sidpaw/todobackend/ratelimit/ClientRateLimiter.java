@@ -0,0 +1,71 @@
+package com.sidpaw.todobackend.ratelimit;
+
+import org.springframework.scheduling.annotation.Scheduled;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Keeps one read and one write {@link TokenBucket} per client.
+ * <p>
+ * At most {@code max-tracked-clients} clients are tracked: a new client beyond that evicts the least recently seen
+ * one, whose next request starts from full buckets. Idle clients are also pruned on a schedule. The map is only held
+ * to find the buckets; tokens are taken outside it.
+ */
+public class ClientRateLimiter {
+
+    private final RateLimitProperties properties;
+    // Access-ordered, guarded by itself
+    private final Map<String, ClientBuckets> buckets;
+
+    public ClientRateLimiter(RateLimitProperties properties) {
+        this.properties = properties;
+        this.buckets = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, ClientBuckets> eldest) {
+                return size() > properties.getMaxTrackedClients();
+            }
+        };
+    }
+
+    /**
+     * Takes a token from the client's read or write budget.
+     *
+     * @return 0 when allowed, otherwise the number of nanoseconds until the client may retry
+     */
+    public long tryAcquire(String clientId, boolean write) {
+        ClientBuckets client;
+        synchronized (buckets) {
+            client = buckets.computeIfAbsent(clientId, id -> newClient());
+        }
+        return (write ? client.write() : client.read()).tryAcquire();
+    }
+
+    int trackedClients() {
+        synchronized (buckets) {
+            return buckets.size();
+        }
+    }
+
+    /**
+     * Drops the clients whose buckets have refilled completely, which changes nothing for them.
+     */
+    @Scheduled(fixedDelayString = "${todo.rate-limit.prune-interval-ms:10000}",
+            initialDelayString = "${todo.rate-limit.prune-interval-ms:10000}")
+    public void pruneIdleClients() {
+        synchronized (buckets) {
+            buckets.values().removeIf(client -> client.read().isIdle() && client.write().isIdle());
+        }
+    }
+
+    private ClientBuckets newClient() {
+        return new ClientBuckets(newBucket(properties.getRead()), newBucket(properties.getWrite()));
+    }
+
+    private static TokenBucket newBucket(RateLimitProperties.Budget budget) {
+        return new TokenBucket(budget.getPermitsPerSecond(), budget.getBurst());
+    }
+
+    private record ClientBuckets(TokenBucket read, TokenBucket write) {
+    }
+}
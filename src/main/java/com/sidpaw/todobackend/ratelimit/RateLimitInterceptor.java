@@ -0,0 +1,121 @@
+package com.sidpaw.todobackend.ratelimit;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sidpaw.todobackend.exception.ErrorResponse;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.web.servlet.HandlerInterceptor;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.io.IOException;
+import java.security.Principal;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Rejects requests with 429 before the controller (and therefore any database work) runs, when either
+ * the client has used up its read/write budget or the endpoint already has too many requests in flight.
+ * <p>
+ * A client is the authenticated principal, or the remote address without one; nothing the caller sends in a header
+ * picks its budget. Requests that match no handler share one endpoint cap.
+ */
+@Slf4j
+public class RateLimitInterceptor implements HandlerInterceptor {
+
+    private static final String PERMIT_ATTRIBUTE = RateLimitInterceptor.class.getName() + ".permit";
+    static final String UNMATCHED_ENDPOINT = "unmatched";
+
+    private final RateLimitProperties properties;
+    private final ClientRateLimiter clientRateLimiter;
+    private final ObjectMapper objectMapper;
+    private final Map<String, Semaphore> endpointPermits = new ConcurrentHashMap<>();
+    private final Counter readRateRejections;
+    private final Counter writeRateRejections;
+    private final Counter concurrencyRejections;
+
+    public RateLimitInterceptor(RateLimitProperties properties,
+                                ClientRateLimiter clientRateLimiter,
+                                ObjectMapper objectMapper,
+                                MeterRegistry meterRegistry) {
+        this.properties = properties;
+        this.clientRateLimiter = clientRateLimiter;
+        this.objectMapper = objectMapper;
+        this.readRateRejections = rejectionCounter(meterRegistry, "rate", "read");
+        this.writeRateRejections = rejectionCounter(meterRegistry, "rate", "write");
+        this.concurrencyRejections = rejectionCounter(meterRegistry, "concurrency", "any");
+    }
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) throws IOException {
+        // The cap is checked first, so a request it rejects does not cost the client a token
+        Semaphore permits = endpointPermits.computeIfAbsent(endpointKey(request),
+                key -> new Semaphore(properties.getMaxConcurrentPerEndpoint()));
+        if (!permits.tryAcquire()) {
+            concurrencyRejections.increment();
+            reject(response, 1, "Too many concurrent requests for this endpoint, retry later");
+            return false;
+        }
+
+        boolean write = !ReadOperations.isRead(request, handler);
+        long waitNanos = clientRateLimiter.tryAcquire(resolveClientId(request), write);
+        if (waitNanos > 0) {
+            permits.release();
+            (write ? writeRateRejections : readRateRejections).increment();
+            reject(response, retryAfterSeconds(waitNanos), "Rate limit exceeded, retry later");
+            return false;
+        }
+        request.setAttribute(PERMIT_ATTRIBUTE, permits);
+        return true;
+    }
+
+    @Override
+    public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler, Exception ex) {
+        Object permits = request.getAttribute(PERMIT_ATTRIBUTE);
+        if (permits instanceof Semaphore semaphore) {
+            request.removeAttribute(PERMIT_ATTRIBUTE);
+            semaphore.release();
+        }
+    }
+
+    private static String resolveClientId(HttpServletRequest request) {
+        Principal principal = request.getUserPrincipal();
+        return principal != null ? "principal:" + principal.getName() : "address:" + request.getRemoteAddr();
+    }
+
+    // Keyed by the matched pattern, never the raw URI, so the number of semaphores stays bounded
+    private static String endpointKey(HttpServletRequest request) {
+        Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        return pattern != null ? request.getMethod() + " " + pattern : UNMATCHED_ENDPOINT;
+    }
+
+    private static long retryAfterSeconds(long waitNanos) {
+        return Math.max(1, (waitNanos + TimeUnit.SECONDS.toNanos(1) - 1) / TimeUnit.SECONDS.toNanos(1));
+    }
+
+    private void reject(HttpServletResponse response, long retryAfterSeconds, String message) throws IOException {
+        log.debug("Rejecting request: {}", message);
+        response.setStatus(HttpStatus.TOO_MANY_REQUESTS.value());
+        response.setHeader(HttpHeaders.RETRY_AFTER, Long.toString(retryAfterSeconds));
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        objectMapper.writeValue(response.getOutputStream(), new ErrorResponse(
+                HttpStatus.TOO_MANY_REQUESTS.value(),
+                HttpStatus.TOO_MANY_REQUESTS.getReasonPhrase(),
+                message));
+    }
+
+    private static Counter rejectionCounter(MeterRegistry meterRegistry, String reason, String kind) {
+        return Counter.builder("todo.ratelimit.rejected")
+                .description("Requests rejected by the todo API rate limiter")
+                .tag("reason", reason)
+                .tag("kind", kind)
+                .register(meterRegistry);
+    }
+}
@@ -0,0 +1,47 @@
+package com.sidpaw.todobackend.ratelimit;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * Settings for per-client rate limiting and per-endpoint concurrency limits on the todo API.
+ */
+@Data
+@ConfigurationProperties(prefix = "todo.rate-limit")
+public class RateLimitProperties {
+
+    private boolean enabled = true;
+
+    private Budget read = new Budget(50, 100);
+
+    private Budget write = new Budget(20, 40);
+
+    /**
+     * Maximum number of in-flight requests per endpoint before new ones are rejected.
+     */
+    private int maxConcurrentPerEndpoint = 32;
+
+    /**
+     * Clients tracked at most; a new client beyond that evicts the least recently seen one.
+     */
+    private int maxTrackedClients = 10_000;
+
+    /**
+     * Delay between prunes of idle clients, in milliseconds.
+     */
+    private long pruneIntervalMs = 10_000;
+
+    @Data
+    public static class Budget {
+        private double permitsPerSecond;
+        private int burst;
+
+        public Budget() {
+        }
+
+        public Budget(double permitsPerSecond, int burst) {
+            this.permitsPerSecond = permitsPerSecond;
+            this.burst = burst;
+        }
+    }
+}
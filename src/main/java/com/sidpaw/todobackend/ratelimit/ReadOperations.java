@@ -0,0 +1,25 @@
+package com.sidpaw.todobackend.ratelimit;
+
+import jakarta.servlet.http.HttpServletRequest;
+import org.springframework.http.HttpMethod;
+import org.springframework.web.method.HandlerMethod;
+
+/**
+ * Classifies a request as a read or a write for the per-kind limits of the todo API.
+ */
+public final class ReadOperations {
+
+    private ReadOperations() {
+    }
+
+    /**
+     * True for safe HTTP methods and for handlers annotated with {@link ReadOperation}.
+     */
+    public static boolean isRead(HttpServletRequest request, Object handler) {
+        if (handler instanceof HandlerMethod handlerMethod && handlerMethod.hasMethodAnnotation(ReadOperation.class)) {
+            return true;
+        }
+        String method = request.getMethod();
+        return HttpMethod.GET.matches(method) || HttpMethod.HEAD.matches(method) || HttpMethod.OPTIONS.matches(method);
+    }
+}
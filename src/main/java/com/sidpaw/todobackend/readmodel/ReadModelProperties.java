@@ -0,0 +1,33 @@
+package com.sidpaw.todobackend.readmodel;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * Settings for the in-memory read model of the {@code jpa} engine.
+ */
+@Data
+@ConfigurationProperties(prefix = "todo.read-model")
+public class ReadModelProperties {
+
+    /**
+     * Serves the reads of the todo items from memory. Off by default: rows written to the table by anything but the
+     * application (SQL scripts, other instances) only show up after the next consistency check.
+     */
+    private boolean enabled = false;
+
+    /**
+     * Delay between consistency checks against the database, in milliseconds.
+     */
+    private long checkIntervalMs = 30000;
+
+    /**
+     * Rows the JDBC driver fetches per round trip while the read model is loaded.
+     */
+    private int fetchSize = 1000;
+
+    /**
+     * Items the read model has room for before its arrays grow.
+     */
+    private int initialCapacity = 1024;
+}
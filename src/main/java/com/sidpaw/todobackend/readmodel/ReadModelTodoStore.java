@@ -0,0 +1,154 @@
+package com.sidpaw.todobackend.readmodel;
+
+import com.sidpaw.todobackend.analytics.CompletionTime;
+import com.sidpaw.todobackend.entity.TodoItemEntity;
+import com.sidpaw.todobackend.model.PageCursor;
+import com.sidpaw.todobackend.model.PastDueMode;
+import com.sidpaw.todobackend.model.TodoField;
+import com.sidpaw.todobackend.model.TodoSort;
+import com.sidpaw.todobackend.model.TodoStatus;
+import com.sidpaw.todobackend.store.TodoStore;
+import jakarta.persistence.Tuple;
+import org.springframework.data.domain.Limit;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Stream;
+
+/**
+ * Store of the {@code jpa} engine when {@code todo.read-model.enabled=true}: writes go to the database and the rows
+ * they touched are read again into the {@link TodoReadModel} once committed, reads are served by the read model.
+ * <p>
+ * Reads inside a read-write transaction still go to the database, so a write sees its own changes and gets managed
+ * entities to modify; so do all reads while the read model is not ready. Items read from the read model are
+ * detached copies.
+ */
+public class ReadModelTodoStore implements TodoStore {
+
+    private final TodoStore database;
+    private final TodoReadModel readModel;
+
+    public ReadModelTodoStore(TodoStore database, TodoReadModel readModel) {
+        this.database = database;
+        this.readModel = readModel;
+    }
+
+    @Override
+    public TodoItemEntity save(TodoItemEntity item) {
+        TodoItemEntity saved = database.save(item);
+        // The committed row is read again, with the changes made to the managed entity later in the transaction
+        readModel.refreshAfterCommit(List.of(saved.getId()));
+        return saved;
+    }
+
+    @Override
+    public List<TodoItemEntity> insertAll(List<TodoItemEntity> items) {
+        List<TodoItemEntity> saved = database.insertAll(items);
+        readModel.refreshAfterCommit(saved.stream().map(TodoItemEntity::getId).toList());
+        return saved;
+    }
+
+    @Override
+    public Optional<TodoItemEntity> findById(Long id) {
+        return reader().findById(id);
+    }
+
+    @Override
+    public boolean existsById(Long id) {
+        return reader().existsById(id);
+    }
+
+    @Override
+    public List<TodoItemEntity> findAllByIdInOrder(List<Long> ids) {
+        return reader().findAllByIdInOrder(ids);
+    }
+
+    @Override
+    public List<TodoItemEntity> findAllByOrderByCreationDatetimeDesc() {
+        return reader().findAllByOrderByCreationDatetimeDesc();
+    }
+
+    @Override
+    public List<TodoItemEntity> findNotDoneItems(LocalDateTime now, TodoStatus status) {
+        return reader().findNotDoneItems(now, status);
+    }
+
+    @Override
+    public List<TodoItemEntity> findPastDueItems(LocalDateTime now, TodoStatus notDoneStatus, TodoStatus pastDueStatus) {
+        return reader().findPastDueItems(now, notDoneStatus, pastDueStatus);
+    }
+
+    @Override
+    public List<TodoItemEntity> findByStatusOrderByCreationDatetimeDesc(TodoStatus status) {
+        return reader().findByStatusOrderByCreationDatetimeDesc(status);
+    }
+
+    @Override
+    public List<TodoItemEntity> findDueWindow(TodoStatus status, LocalDateTime dueFrom, LocalDateTime dueTo,
+                                              LocalDateTime afterDue, Long afterId, Limit limit) {
+        return reader().findDueWindow(status, dueFrom, dueTo, afterDue, afterId, limit);
+    }
+
+    @Override
+    public List<TodoItemEntity> findSortedPage(TodoStatus status, LocalDateTime dueAfter, LocalDateTime dueBefore,
+                                               TodoSort sort, PageCursor after, Limit limit) {
+        return reader().findSortedPage(status, dueAfter, dueBefore, sort, after, limit);
+    }
+
+    @Override
+    public List<TodoItemEntity> findUndatedPage(TodoStatus status, long afterId, Limit limit) {
+        return reader().findUndatedPage(status, afterId, limit);
+    }
+
+    @Override
+    public LocalDateTime findNextDueDatetime(LocalDateTime now, TodoStatus status) {
+        return reader().findNextDueDatetime(now, status);
+    }
+
+    @Override
+    public List<Tuple> findProjected(Set<TodoField> fields, TodoStatus status, LocalDateTime now, PastDueMode mode) {
+        return reader().findProjected(fields, status, now, mode);
+    }
+
+    @Override
+    public Optional<Tuple> findProjectedById(Long id, Set<TodoField> fields, PastDueMode mode) {
+        return reader().findProjectedById(id, fields, mode);
+    }
+
+    @Override
+    public Stream<CompletionTime> streamCompletionTimes(TodoStatus status) {
+        return reader().streamCompletionTimes(status);
+    }
+
+    @Override
+    public int updatePastDueItems(LocalDateTime now, TodoStatus currentStatus, TodoStatus newStatus) {
+        // Applied to the read model from the PastDueItemsUpdatedEvent of the run
+        return database.updatePastDueItems(now, currentStatus, newStatus);
+    }
+
+    @Override
+    public int markDeleted(Collection<Long> ids, LocalDateTime now) {
+        int deleted = database.markDeleted(ids, now);
+        readModel.refreshAfterCommit(ids);
+        return deleted;
+    }
+
+    @Override
+    public void deleteAll() {
+        database.deleteAll();
+        readModel.applyAfterCommit(TodoStore::deleteAll);
+    }
+
+    private TodoStore reader() {
+        if (TransactionSynchronizationManager.isActualTransactionActive()
+                && !TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+            return database;
+        }
+        TodoStore items = readModel.readable();
+        return items != null ? items : database;
+    }
+}
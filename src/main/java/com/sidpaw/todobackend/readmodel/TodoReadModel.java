@@ -0,0 +1,368 @@
+package com.sidpaw.todobackend.readmodel;
+
+import com.sidpaw.todobackend.entity.TodoItemEntity;
+import com.sidpaw.todobackend.event.PastDueItemsUpdatedEvent;
+import com.sidpaw.todobackend.event.TodoItemsRestoredEvent;
+import com.sidpaw.todobackend.model.TodoStatus;
+import com.sidpaw.todobackend.store.ColumnarTodoStore;
+import com.sidpaw.todobackend.store.TodoStore;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.EnumMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+
+/**
+ * Denormalized copy of the live todo items in memory, a {@link ColumnarTodoStore} with microsecond datetimes whose
+ * per-status lists ordered by creation datetime serve the reads of {@link ReadModelTodoStore}.
+ * <p>
+ * It is loaded from {@code todo_items} when the application is ready and then kept current by the committed
+ * writes: {@link ReadModelTodoStore} hands the ids of each write to {@link #refreshAfterCommit(Collection)}, and
+ * the past-due update is applied from its {@link PastDueItemsUpdatedEvent}, which also covers the sharded update
+ * that bypasses the store. After the commit the rows are read again by id, so the model gets what was committed
+ * whatever the order the commits' callbacks run in: the last refresh of a row reads its latest committed version.
+ * The refresh runs ahead of the other after-commit work, such as the response snapshots rebuilt from the model.
+ * Writes committed during a load are queued and replayed on the new copy before it is swapped in.
+ * <p>
+ * Until the first load, after a write could not be applied and after a restore, the read model is not ready and
+ * the reads go to the database. A periodic check compares the item count, id sum and a SHA-256 based checksum of
+ * the projected columns per status with the table; a difference (rows written around the application, a lost or
+ * misordered write) also makes it not ready and reloads it. The check is skipped while writes are in flight: a
+ * write, past-due runs and ranges included, counts from inside its transaction, before the check can see any of
+ * its rows, until it has been applied.
+ * <p>
+ * Metrics: {@code todo.read-model.items}, {@code todo.read-model.ready} (1 or 0), {@code todo.read-model.load}
+ * timer, {@code todo.read-model.mismatches} and {@code todo.read-model.fallbacks} for reads sent to the database.
+ */
+public class TodoReadModel {
+
+    private static final Logger logger = LoggerFactory.getLogger(TodoReadModel.class);
+
+    static final String LOAD_SQL = "SELECT id, description, status, creation_datetime, due_datetime, done_datetime "
+            + "FROM todo_items WHERE deleted_datetime IS NULL";
+    static final String REFRESH_SQL = "SELECT id, description, status, creation_datetime, due_datetime, "
+            + "done_datetime FROM todo_items WHERE deleted_datetime IS NULL AND id IN (:ids)";
+    // XOR of the first 8 bytes of SHA-256 over "id|description|creation|due|done", datetimes in epoch microseconds
+    static final String CHECK_SQL = "SELECT status, COUNT(*), COALESCE(SUM(id), 0), "
+            + "COALESCE(BIT_XOR_AGG(CAST(SUBSTRING(HASH('SHA-256', CONCAT_WS('|', CAST(id AS VARCHAR), "
+            + "COALESCE(description, ''), " + micros("creation_datetime") + ", " + micros("due_datetime") + ", "
+            + micros("done_datetime") + ")), 1, 8) AS BIGINT)), 0) "
+            + "FROM todo_items WHERE deleted_datetime IS NULL GROUP BY status";
+    static final int REFRESH_CHUNK_SIZE = 1_000;
+    private static final LocalDateTime EPOCH = LocalDateTime.of(1970, 1, 1, 0, 0);
+
+    /**
+     * Result of a consistency check.
+     */
+    public enum CheckResult {
+        CONSISTENT,
+        /** Writes were in flight, nothing was compared. */
+        SKIPPED,
+        /** The read model differed from the table, or was not ready, and has been reloaded. */
+        RELOADED
+    }
+
+    private final JdbcTemplate jdbcTemplate;
+    private final NamedParameterJdbcTemplate namedJdbcTemplate;
+    private final ReadModelProperties properties;
+    private final Object applyLock = new Object();
+    private final AtomicLong version = new AtomicLong();
+    private final AtomicInteger pendingWrites = new AtomicInteger();
+    private final Timer loadTimer;
+    private final Counter mismatches;
+    private final Counter fallbacks;
+
+    private volatile ColumnarTodoStore items;
+    private volatile boolean ready;
+
+    // Guarded by applyLock; not null while a load is running
+    private List<Consumer<ColumnarTodoStore>> replay;
+
+    public TodoReadModel(JdbcTemplate jdbcTemplate, ReadModelProperties properties, MeterRegistry meterRegistry) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.namedJdbcTemplate = new NamedParameterJdbcTemplate(jdbcTemplate);
+        this.properties = properties;
+        this.loadTimer = Timer.builder("todo.read-model.load")
+                .description("Time to load the todo read model from the database")
+                .register(meterRegistry);
+        this.mismatches = Counter.builder("todo.read-model.mismatches")
+                .description("Consistency checks that found the todo read model behind the database")
+                .register(meterRegistry);
+        this.fallbacks = Counter.builder("todo.read-model.fallbacks")
+                .description("Todo reads sent to the database because the read model was not ready")
+                .register(meterRegistry);
+        Gauge.builder("todo.read-model.items", this, model -> model.items != null ? model.items.size() : 0)
+                .description("Items in the todo read model")
+                .register(meterRegistry);
+        Gauge.builder("todo.read-model.ready", this, model -> model.ready ? 1 : 0)
+                .description("Whether the todo read model serves reads")
+                .register(meterRegistry);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        reload();
+    }
+
+    /**
+     * Returns the items to read from, or null when the reads have to go to the database.
+     */
+    TodoStore readable() {
+        if (ready) {
+            return items;
+        }
+        fallbacks.increment();
+        return null;
+    }
+
+    public boolean isReady() {
+        return ready;
+    }
+
+    /**
+     * Reads the rows with {@code ids} again once the current transaction commits and saves them to the read model,
+     * removing the ones deleted.
+     */
+    void refreshAfterCommit(Collection<Long> ids) {
+        List<Long> refreshed = List.copyOf(ids);
+        applyAfterCommit(items -> refresh(items, refreshed));
+    }
+
+    /**
+     * Applies {@code write} once the current transaction commits, right away without one. Until then the write
+     * counts as in flight for the consistency check.
+     */
+    void applyAfterCommit(Consumer<ColumnarTodoStore> write) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            apply(write);
+            return;
+        }
+        pendingWrites.incrementAndGet();
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            // Ahead of the after-commit listeners that read the model, such as the response snapshots
+            @Override
+            public int getOrder() {
+                return Ordered.HIGHEST_PRECEDENCE;
+            }
+
+            @Override
+            public void afterCommit() {
+                apply(write);
+            }
+
+            @Override
+            public void afterCompletion(int status) {
+                pendingWrites.decrementAndGet();
+            }
+        });
+    }
+
+    /**
+     * Published inside the run's transaction, so the run is in flight for the check from here until it is applied.
+     * After the commit the items the model has overdue at the cutoff are read again. Ordered first so that, without
+     * a transaction, it also runs before the listeners that read the model.
+     */
+    @EventListener
+    @Order(Ordered.HIGHEST_PRECEDENCE)
+    public void onPastDueItemsUpdated(PastDueItemsUpdatedEvent event) {
+        LocalDateTime cutoff = event.cutoff();
+        applyAfterCommit(items -> refresh(items, items.findIdsDueBefore(TodoStatus.NOT_DONE, cutoff)));
+    }
+
+    @EventListener
+    public void onItemsRestored(TodoItemsRestoredEvent event) {
+        ready = false;
+        reload();
+    }
+
+    private void apply(Consumer<ColumnarTodoStore> write) {
+        synchronized (applyLock) {
+            if (replay != null) {
+                replay.add(write);
+            }
+            ColumnarTodoStore current = items;
+            if (current == null) {
+                return;
+            }
+            try {
+                write.accept(current);
+                version.incrementAndGet();
+            } catch (RuntimeException e) {
+                // The copy may be half-updated; the next check reloads it
+                ready = false;
+                logger.error("Could not apply a write to the todo read model, reading from the database", e);
+            }
+        }
+    }
+
+    private void refresh(ColumnarTodoStore target, List<Long> ids) {
+        Set<Long> missing = new HashSet<>(ids);
+        for (int from = 0; from < ids.size(); from += REFRESH_CHUNK_SIZE) {
+            List<Long> chunk = ids.subList(from, Math.min(from + REFRESH_CHUNK_SIZE, ids.size()));
+            namedJdbcTemplate.query(REFRESH_SQL, Map.of("ids", chunk), resultSet -> {
+                TodoItemEntity item = toItem(resultSet);
+                target.save(item);
+                missing.remove(item.getId());
+            });
+        }
+        target.markDeleted(missing, LocalDateTime.now());
+    }
+
+    /**
+     * Loads the live items into a new copy and swaps it in. Does nothing when a load is already running.
+     *
+     * @return whether a load ran and succeeded
+     */
+    public boolean reload() {
+        synchronized (applyLock) {
+            if (replay != null) {
+                return false;
+            }
+            replay = new ArrayList<>();
+        }
+        ColumnarTodoStore loaded = new ColumnarTodoStore(properties.getInitialCapacity(), ChronoUnit.MICROS);
+        long start = System.nanoTime();
+        try {
+            jdbcTemplate.query(connection -> {
+                PreparedStatement statement = connection.prepareStatement(LOAD_SQL);
+                statement.setFetchSize(properties.getFetchSize());
+                return statement;
+            }, resultSet -> {
+                loaded.save(toItem(resultSet));
+            });
+        } catch (RuntimeException e) {
+            synchronized (applyLock) {
+                replay = null;
+            }
+            logger.error("Could not load the todo read model, reading from the database", e);
+            return false;
+        }
+        synchronized (applyLock) {
+            try {
+                // Writes committed during the load; the ones the load already saw are applied again, harmlessly
+                replay.forEach(write -> write.accept(loaded));
+                items = loaded;
+                version.incrementAndGet();
+                ready = true;
+            } catch (RuntimeException e) {
+                ready = false;
+                logger.error("Could not replay the writes on the todo read model, reading from the database", e);
+                return false;
+            } finally {
+                replay = null;
+            }
+        }
+        loadTimer.record(Duration.ofNanos(System.nanoTime() - start));
+        logger.info("Loaded {} items into the todo read model", loaded.size());
+        return true;
+    }
+
+    /**
+     * Compares the item count, id sum and checksum per status with the table and reloads the read model when they
+     * differ or it is not ready.
+     */
+    @Scheduled(fixedDelayString = "${todo.read-model.check-interval-ms:30000}",
+            initialDelayString = "${todo.read-model.check-interval-ms:30000}")
+    public CheckResult check() {
+        if (!ready) {
+            reload();
+            return CheckResult.RELOADED;
+        }
+        long versionBefore = version.get();
+        if (pendingWrites.get() > 0) {
+            return CheckResult.SKIPPED;
+        }
+        Map<TodoStatus, long[]> database = new EnumMap<>(TodoStatus.class);
+        jdbcTemplate.query(CHECK_SQL, resultSet -> {
+            database.put(TodoStatus.valueOf(resultSet.getString(1)),
+                    new long[]{resultSet.getLong(2), resultSet.getLong(3), resultSet.getLong(4)});
+        });
+        ColumnarTodoStore current = items;
+        MessageDigest digest = sha256();
+        boolean consistent = true;
+        for (TodoStatus status : TodoStatus.values()) {
+            long[] expected = database.getOrDefault(status, new long[]{0, 0, 0});
+            long[] actual = current.summarize(status, item -> rowChecksum(digest, item));
+            consistent &= Arrays.equals(expected, actual);
+        }
+        // A write committed or applied meanwhile can make either side look behind
+        if (pendingWrites.get() > 0 || version.get() != versionBefore) {
+            return CheckResult.SKIPPED;
+        }
+        if (consistent) {
+            return CheckResult.CONSISTENT;
+        }
+        mismatches.increment();
+        logger.warn("The todo read model differs from the database, reloading it");
+        ready = false;
+        reload();
+        return CheckResult.RELOADED;
+    }
+
+    /**
+     * Checksum of one item as {@link #CHECK_SQL} computes it for a row.
+     */
+    static long rowChecksum(MessageDigest digest, TodoItemEntity item) {
+        String row = String.join("|", String.valueOf(item.getId()), Objects.toString(item.getDescription(), ""),
+                micros(item.getCreationDatetime()), micros(item.getDueDatetime()), micros(item.getDoneDatetime()));
+        return ByteBuffer.wrap(digest.digest(row.getBytes(StandardCharsets.UTF_8))).getLong();
+    }
+
+    static MessageDigest sha256() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+
+    private static String micros(String column) {
+        return "COALESCE(CAST(DATEDIFF(MICROSECOND, TIMESTAMP '1970-01-01 00:00:00', " + column
+                + ") AS VARCHAR), '')";
+    }
+
+    private static String micros(LocalDateTime value) {
+        return value != null ? String.valueOf(ChronoUnit.MICROS.between(EPOCH, value)) : "";
+    }
+
+    private static TodoItemEntity toItem(ResultSet resultSet) throws SQLException {
+        return new TodoItemEntity(resultSet.getLong(1), resultSet.getString(2),
+                TodoStatus.valueOf(resultSet.getString(3)),
+                resultSet.getObject(4, LocalDateTime.class),
+                resultSet.getObject(5, LocalDateTime.class),
+                resultSet.getObject(6, LocalDateTime.class));
+    }
+}
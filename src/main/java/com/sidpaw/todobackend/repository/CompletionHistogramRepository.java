@@ -0,0 +1,14 @@
+package com.sidpaw.todobackend.repository;
+
+import com.sidpaw.todobackend.entity.CompletionHistogramEntity;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDate;
+
+/**
+ * Repository interface for CompletionHistogramEntity entities.
+ */
+@Repository
+public interface CompletionHistogramRepository extends JpaRepository<CompletionHistogramEntity, LocalDate> {
+}
@@ -0,0 +1,40 @@
+package com.sidpaw.todobackend.repository;
+
+import com.sidpaw.todobackend.entity.OutboxEventEntity;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Repository interface for OutboxEventEntity entities.
+ */
+@Repository
+public interface OutboxEventRepository extends JpaRepository<OutboxEventEntity, Long> {
+
+    /**
+     * Oldest pending events first (insertion order).
+     */
+    List<OutboxEventEntity> findByOrderByIdAsc(Limit limit);
+
+    Optional<OutboxEventEntity> findFirstByOrderByIdAsc();
+
+    // Oldest events no relay run holds a live claim on, locked until the claiming transaction ends.
+    @Query("SELECT e FROM OutboxEventEntity e WHERE e.claimedUntil IS NULL OR e.claimedUntil < :now ORDER BY e.id")
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    List<OutboxEventEntity> findClaimable(@Param("now") LocalDateTime now, Limit limit);
+
+    // Claims the events for one relay run until :until, or releases them with a null :until.
+    @Query("UPDATE OutboxEventEntity e SET e.claimedUntil = :until WHERE e.id IN :ids")
+    @Modifying
+    int claim(@Param("ids") Collection<Long> ids, @Param("until") LocalDateTime until);
+}
@@ -1,26 +1,43 @@
 package com.sidpaw.todobackend.repository;
 
 
+import com.sidpaw.todobackend.analytics.CompletionTime;
 import com.sidpaw.todobackend.entity.TodoItemEntity;
 import com.sidpaw.todobackend.model.TodoStatus;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 import org.springframework.data.jpa.repository.Modifying;
 
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.stream.Stream;
 
 /**
  * Repository interface for TodoItemEntity entities.
  */
 @Repository
-public interface TodoItemRepository extends JpaRepository<TodoItemEntity, Long> {
+public interface TodoItemRepository extends JpaRepository<TodoItemEntity, Long>, TodoItemRepositoryCustom {
+
+    /**
+     * Query cache region of the list queries, configured in {@code ehcache.xml}. Only queries without a
+     * {@code now} parameter are cached: a key containing the current time would never be hit again.
+     */
+    String LIST_QUERY_CACHE_REGION = "todoListQueries";
 
     /**
      * Find all todo items ordered by creation date (newest first).
      */
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"),
+            @QueryHint(name = HibernateHints.HINT_CACHE_REGION, value = LIST_QUERY_CACHE_REGION)
+    })
     List<TodoItemEntity> findAllByOrderByCreationDatetimeDesc();
 
     // Get NOT_DONE items that are not past due
@@ -29,16 +46,70 @@ public interface TodoItemRepository extends JpaRepository<TodoItemEntity, Long>
            "ORDER BY t.creationDatetime DESC")
     List<TodoItemEntity> findNotDoneItems(@Param("now") LocalDateTime now, @Param("status") TodoStatus status);
 
+    // Get PAST_DUE items including NOT_DONE items whose due date has passed (virtual PAST_DUE mode)
+    @Query("SELECT t FROM TodoItemEntity t WHERE t.status = :pastDueStatus " +
+           "OR (t.status = :notDoneStatus AND t.dueDatetime < :now) " +
+           "ORDER BY t.creationDatetime DESC")
+    List<TodoItemEntity> findPastDueItems(@Param("now") LocalDateTime now,
+                                          @Param("notDoneStatus") TodoStatus notDoneStatus,
+                                          @Param("pastDueStatus") TodoStatus pastDueStatus);
+
+    // Earliest due datetime after now among items with the given status, null if there is none
+    @Query("SELECT MIN(t.dueDatetime) FROM TodoItemEntity t WHERE t.status = :status AND t.dueDatetime > :now")
+    LocalDateTime findNextDueDatetime(@Param("now") LocalDateTime now, @Param("status") TodoStatus status);
+
     // Get items by specific status (for DONE and PAST_DUE)
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"),
+            @QueryHint(name = HibernateHints.HINT_CACHE_REGION, value = LIST_QUERY_CACHE_REGION)
+    })
     List<TodoItemEntity> findByStatusOrderByCreationDatetimeDesc(TodoStatus status);
 
-    // Update items to PAST_DUE status when they are not done and past their due date
+    // Get items with the given status due in [dueFrom, dueTo), after the keyset position (afterDue, afterId).
+    // Uses idx_todo_items_status_due; pass afterDue = dueFrom and afterId = -1 for the first page.
+    @Query("SELECT t FROM TodoItemEntity t WHERE t.status = :status " +
+           "AND t.dueDatetime >= :dueFrom AND t.dueDatetime < :dueTo " +
+           "AND (t.dueDatetime > :afterDue OR (t.dueDatetime = :afterDue AND t.id > :afterId)) " +
+           "ORDER BY t.dueDatetime ASC, t.id ASC")
+    List<TodoItemEntity> findDueWindow(@Param("status") TodoStatus status,
+                                       @Param("dueFrom") LocalDateTime dueFrom,
+                                       @Param("dueTo") LocalDateTime dueTo,
+                                       @Param("afterDue") LocalDateTime afterDue,
+                                       @Param("afterId") Long afterId,
+                                       Limit limit);
+
+    // Stream creation/completion times of finished items, used to rebuild the completion histograms.
+    // Must be consumed inside a transaction.
+    @Query("SELECT new com.sidpaw.todobackend.analytics.CompletionTime(t.id, t.creationDatetime, t.doneDatetime) " +
+           "FROM TodoItemEntity t WHERE t.status = :status AND t.doneDatetime IS NOT NULL")
+    Stream<CompletionTime> streamCompletionTimes(@Param("status") TodoStatus status);
+
+    // Locks the items not done and past their due date until the transaction ends, so that no patch can change
+    // them between their history rows and the status update. Changes nothing: setting a column to itself only
+    // takes the row locks, without bringing the ids back.
+    @Query("UPDATE TodoItemEntity t SET t.status = t.status " +
+           "WHERE t.status = :currentStatus " +
+           "AND t.deletedDatetime IS NULL " +
+           "AND t.dueDatetime IS NOT NULL " +
+           "AND t.dueDatetime < :now ")
+    @Modifying
+    int lockPastDueItems(@Param("now") LocalDateTime now, @Param("currentStatus") TodoStatus currentStatus);
+
+    // Update items to PAST_DUE status when they are not done and past their due date.
+    // A bulk statement does not update cached entities one by one; JpaTodoStore evicts the cache regions around it.
     @Query("UPDATE TodoItemEntity t SET t.status = :newStatus " +
            "WHERE t.status = :currentStatus " +
+           "AND t.deletedDatetime IS NULL " +
            "AND t.dueDatetime IS NOT NULL " +
            "AND t.dueDatetime < :now ")
     @Modifying
-    int updatePastDueItems(@Param("now") LocalDateTime now, 
-                          @Param("currentStatus") TodoStatus currentStatus, 
-                          @Param("newStatus") TodoStatus newStatus);
+    int updatePastDueItems(@Param("now") LocalDateTime now,
+                           @Param("currentStatus") TodoStatus currentStatus,
+                           @Param("newStatus") TodoStatus newStatus);
+
+    // Soft-deletes the given items by primary key; items already deleted are left as they are.
+    // Clears the persistence context so entities loaded earlier in the transaction are not returned afterwards.
+    @Query("UPDATE TodoItemEntity t SET t.deletedDatetime = :now WHERE t.id IN :ids AND t.deletedDatetime IS NULL")
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    int markDeleted(@Param("ids") Collection<Long> ids, @Param("now") LocalDateTime now);
 }
@@ -0,0 +1,58 @@
+package com.sidpaw.todobackend.repository;
+
+import com.sidpaw.todobackend.entity.TodoItemEntity;
+import com.sidpaw.todobackend.model.PageCursor;
+import com.sidpaw.todobackend.model.PastDueMode;
+import com.sidpaw.todobackend.model.TodoField;
+import com.sidpaw.todobackend.model.TodoSort;
+import com.sidpaw.todobackend.model.TodoStatus;
+import jakarta.persistence.Tuple;
+import org.springframework.data.domain.Limit;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+
+/**
+ * Queries built at runtime: the ones that select only the requested columns of {@code todo_items}, where each
+ * tuple element is aliased with {@link TodoField#getPropertyName()}, and the sorted keyset pages.
+ */
+public interface TodoItemRepositoryCustom {
+
+    /**
+     * In {@link PastDueMode#VIRTUAL} mode, tuples that include the status also carry the due datetime under this
+     * alias, so the effective status can be derived from it.
+     */
+    String DUE_FOR_STATUS_ALIAS = "dueForStatus";
+
+    /**
+     * Same filtering and ordering as the list API: all items when {@code status} is null, NOT_DONE items that
+     * are not yet due, or items with the given status, newest first. In {@link PastDueMode#VIRTUAL} mode
+     * PAST_DUE also matches NOT_DONE items due before {@code now}.
+     */
+    List<Tuple> findProjected(Set<TodoField> fields, TodoStatus status, LocalDateTime now, PastDueMode mode);
+
+    Optional<Tuple> findProjectedById(Long id, Set<TodoField> fields, PastDueMode mode);
+
+    /**
+     * One page of items with {@code status} (any status when null) that have a value for the {@code sort} key, in
+     * {@code sort} order and strictly after the keyset position {@code after} (from the start when null).
+     * {@code dueAfter}, when set, drops items due at or before it but keeps the ones without a due datetime;
+     * {@code dueBefore}, when set, keeps only items due before it.
+     */
+    List<TodoItemEntity> findSortedPage(TodoStatus status, LocalDateTime dueAfter, LocalDateTime dueBefore,
+                                        TodoSort sort, PageCursor after, Limit limit);
+
+    /**
+     * Items with {@code status} (any status when null) and no due datetime, with an id above {@code afterId},
+     * by id. The tail of the lists sorted by due datetime.
+     */
+    List<TodoItemEntity> findUndatedPage(TodoStatus status, long afterId, Limit limit);
+
+    /**
+     * Loads many items by id with chunked IN queries. Items already in the persistence context or the
+     * second-level cache are not queried again. The result is aligned with {@code ids}; missing ids yield null.
+     */
+    List<TodoItemEntity> findAllByIdInOrder(List<Long> ids);
+}
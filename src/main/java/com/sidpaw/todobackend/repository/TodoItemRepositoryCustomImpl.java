@@ -0,0 +1,149 @@
+package com.sidpaw.todobackend.repository;
+
+import com.sidpaw.todobackend.entity.TodoItemEntity;
+import com.sidpaw.todobackend.model.PageCursor;
+import com.sidpaw.todobackend.model.PastDueMode;
+import com.sidpaw.todobackend.model.TodoField;
+import com.sidpaw.todobackend.model.TodoSort;
+import com.sidpaw.todobackend.model.TodoStatus;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.Tuple;
+import jakarta.persistence.TypedQuery;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Path;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import jakarta.persistence.criteria.Selection;
+import org.hibernate.Session;
+import org.springframework.data.domain.Limit;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+
+class TodoItemRepositoryCustomImpl implements TodoItemRepositoryCustom {
+
+    static final int MULTI_LOAD_BATCH_SIZE = 100;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public List<Tuple> findProjected(Set<TodoField> fields, TodoStatus status, LocalDateTime now, PastDueMode mode) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Tuple> query = cb.createTupleQuery();
+        Root<TodoItemEntity> root = query.from(TodoItemEntity.class);
+        query.multiselect(selections(root, fields, mode));
+
+        if (status == TodoStatus.NOT_DONE) {
+            query.where(cb.equal(root.get("status"), status),
+                    cb.or(cb.isNull(root.get("dueDatetime")),
+                            cb.greaterThan(root.<LocalDateTime>get("dueDatetime"), now)));
+        } else if (status == TodoStatus.PAST_DUE && mode == PastDueMode.VIRTUAL) {
+            query.where(cb.or(cb.equal(root.get("status"), status),
+                    cb.and(cb.equal(root.get("status"), TodoStatus.NOT_DONE),
+                            cb.lessThan(root.<LocalDateTime>get("dueDatetime"), now))));
+        } else if (status != null) {
+            query.where(cb.equal(root.get("status"), status));
+        }
+        query.orderBy(cb.desc(root.get("creationDatetime")));
+
+        return entityManager.createQuery(query).getResultList();
+    }
+
+    @Override
+    public Optional<Tuple> findProjectedById(Long id, Set<TodoField> fields, PastDueMode mode) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Tuple> query = cb.createTupleQuery();
+        Root<TodoItemEntity> root = query.from(TodoItemEntity.class);
+        Predicate byId = cb.equal(root.get("id"), id);
+        query.multiselect(selections(root, fields, mode)).where(byId);
+
+        return entityManager.createQuery(query).getResultStream().findFirst();
+    }
+
+    @Override
+    public List<TodoItemEntity> findSortedPage(TodoStatus status, LocalDateTime dueAfter, LocalDateTime dueBefore,
+                                               TodoSort sort, PageCursor after, Limit limit) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<TodoItemEntity> query = cb.createQuery(TodoItemEntity.class);
+        Root<TodoItemEntity> root = query.from(TodoItemEntity.class);
+        Path<LocalDateTime> key = root.get(sort.getField().getPropertyName());
+        Path<LocalDateTime> due = root.get("dueDatetime");
+        Path<Long> id = root.get("id");
+
+        List<Predicate> where = new ArrayList<>();
+        if (status != null) {
+            where.add(cb.equal(root.get("status"), status));
+        }
+        if (sort.hasOptionalKey()) {
+            where.add(cb.isNotNull(key));
+        }
+        if (dueAfter != null) {
+            where.add(cb.or(cb.isNull(due), cb.greaterThan(due, dueAfter)));
+        }
+        if (dueBefore != null) {
+            where.add(cb.lessThan(due, dueBefore));
+        }
+        if (after != null) {
+            // Row-value comparison (key, id) > (afterKey, afterId), spelled out for the criteria API
+            where.add(sort.isAscending()
+                    ? cb.or(cb.greaterThan(key, after.datetime()),
+                            cb.and(cb.equal(key, after.datetime()), cb.greaterThan(id, after.id())))
+                    : cb.or(cb.lessThan(key, after.datetime()),
+                            cb.and(cb.equal(key, after.datetime()), cb.lessThan(id, after.id()))));
+        }
+        query.where(where.toArray(Predicate[]::new));
+        query.orderBy(sort.isAscending()
+                ? List.of(cb.asc(key), cb.asc(id))
+                : List.of(cb.desc(key), cb.desc(id)));
+
+        return limited(entityManager.createQuery(query), limit).getResultList();
+    }
+
+    @Override
+    public List<TodoItemEntity> findUndatedPage(TodoStatus status, long afterId, Limit limit) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<TodoItemEntity> query = cb.createQuery(TodoItemEntity.class);
+        Root<TodoItemEntity> root = query.from(TodoItemEntity.class);
+
+        List<Predicate> where = new ArrayList<>();
+        if (status != null) {
+            where.add(cb.equal(root.get("status"), status));
+        }
+        where.add(cb.isNull(root.get("dueDatetime")));
+        where.add(cb.greaterThan(root.<Long>get("id"), afterId));
+        query.where(where.toArray(Predicate[]::new)).orderBy(cb.asc(root.get("id")));
+
+        return limited(entityManager.createQuery(query), limit).getResultList();
+    }
+
+    @Override
+    public List<TodoItemEntity> findAllByIdInOrder(List<Long> ids) {
+        return entityManager.unwrap(Session.class)
+                .byMultipleIds(TodoItemEntity.class)
+                .withBatchSize(MULTI_LOAD_BATCH_SIZE)
+                .enableSessionCheck(true)
+                .enableOrderedReturn(true)
+                .multiLoad(ids);
+    }
+
+    private static <T> TypedQuery<T> limited(TypedQuery<T> query, Limit limit) {
+        return limit.isLimited() ? query.setMaxResults(limit.max()) : query;
+    }
+
+    private static List<Selection<?>> selections(Root<TodoItemEntity> root, Set<TodoField> fields, PastDueMode mode) {
+        List<Selection<?>> selections = new ArrayList<>(fields.size() + 1);
+        for (TodoField field : fields) {
+            selections.add(root.get(field.getPropertyName()).alias(field.getPropertyName()));
+        }
+        if (mode == PastDueMode.VIRTUAL && fields.contains(TodoField.STATUS)) {
+            selections.add(root.get("dueDatetime").alias(DUE_FOR_STATUS_ALIAS));
+        }
+        return selections;
+    }
+}
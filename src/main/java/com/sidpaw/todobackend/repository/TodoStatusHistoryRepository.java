@@ -0,0 +1,37 @@
+package com.sidpaw.todobackend.repository;
+
+import com.sidpaw.todobackend.entity.TodoStatusHistoryEntity;
+import com.sidpaw.todobackend.model.TodoStatus;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Repository interface for TodoStatusHistoryEntity entities.
+ */
+@Repository
+public interface TodoStatusHistoryRepository extends JpaRepository<TodoStatusHistoryEntity, Long> {
+
+    /**
+     * Transitions of one item, oldest first.
+     */
+    List<TodoStatusHistoryEntity> findByTodoIdOrderByIdAsc(Long todoId);
+
+    // Appends a transition row for every item that updatePastDueItems is about to move, in one statement.
+    // Must run after lockPastDueItems and before the update, in the same transaction, with the same arguments.
+    @Query("INSERT INTO TodoStatusHistoryEntity (todoId, fromStatus, toStatus, changedAt) " +
+           "SELECT t.id, t.status, :newStatus, :now FROM TodoItemEntity t " +
+           "WHERE t.status = :currentStatus " +
+           "AND t.deletedDatetime IS NULL " +
+           "AND t.dueDatetime IS NOT NULL " +
+           "AND t.dueDatetime < :now ")
+    @Modifying
+    int insertPastDueTransitions(@Param("now") LocalDateTime now,
+                                 @Param("currentStatus") TodoStatus currentStatus,
+                                 @Param("newStatus") TodoStatus newStatus);
+}
@@ -0,0 +1,184 @@
+package com.sidpaw.todobackend.scheduler;
+
+import com.sidpaw.todobackend.entity.TodoItemEntity;
+import com.sidpaw.todobackend.event.TodoCreatedEvent;
+import com.sidpaw.todobackend.event.TodoUpdatedEvent;
+import com.sidpaw.todobackend.model.TodoStatus;
+import com.sidpaw.todobackend.service.TodoItemService;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.TaskScheduler;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.List;
+import java.util.concurrent.ScheduledFuture;
+import java.util.function.IntSupplier;
+
+/**
+ * Runs the past-due update ({@link TodoItemScheduler#updatePastDueItems()}, or
+ * {@link ShardedPastDueUpdater#updatePastDueItems()} when sharding is enabled) when the next NOT_DONE item becomes
+ * due instead of on a fixed rate. After each run the earliest pending due datetime is read with the index-backed
+ * MIN query of {@link TodoItemService#getNextDueDatetime(LocalDateTime)} and the next run is planned for it, no
+ * sooner than {@code min-interval} after the run and no later than {@code max-interval}. A committed create or
+ * patch that brings a sooner deadline moves the planned run forward. Runs never overlap: the next one is planned
+ * when a run ends.
+ * <p>
+ * Metrics: {@code todo.past-due.lag} for the time from an item becoming overdue to the end of the run that moved it,
+ * recorded for every item of a run up to {@code lag-sample-size} (earliest due first). An item created already
+ * overdue counts from its creation. {@code todo.past-due.wakeups} counts the runs moved forward by a new deadline.
+ */
+public class AdaptivePastDueScheduler {
+
+    private static final Logger logger = LoggerFactory.getLogger(AdaptivePastDueScheduler.class);
+
+    private final IntSupplier pastDueUpdate;
+    private final TodoItemService todoItemService;
+    private final TaskScheduler taskScheduler;
+    private final PastDueSchedulerProperties properties;
+    private final Timer lagTimer;
+    private final Counter wakeups;
+
+    // Guarded by this
+    private ScheduledFuture<?> plannedFuture;
+    private LocalDateTime plannedRun;
+    private LocalDateTime deadlineDuringRun;
+    private LocalDateTime lastRunEnd;
+    private boolean running;
+
+    public AdaptivePastDueScheduler(IntSupplier pastDueUpdate,
+                                    TodoItemService todoItemService,
+                                    TaskScheduler taskScheduler,
+                                    PastDueSchedulerProperties properties,
+                                    MeterRegistry meterRegistry) {
+        this.pastDueUpdate = pastDueUpdate;
+        this.todoItemService = todoItemService;
+        this.taskScheduler = taskScheduler;
+        this.properties = properties;
+        this.lagTimer = Timer.builder("todo.past-due.lag")
+                .description("Time from an item becoming overdue to its update to PAST_DUE")
+                .register(meterRegistry);
+        this.wakeups = Counter.builder("todo.past-due.wakeups")
+                .description("Past-due runs moved forward by a sooner deadline")
+                .register(meterRegistry);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public synchronized void start() {
+        plan(LocalDateTime.now());
+    }
+
+    @TransactionalEventListener
+    public void onCreated(TodoCreatedEvent event) {
+        onDeadline(event.item());
+    }
+
+    @TransactionalEventListener
+    public void onUpdated(TodoUpdatedEvent event) {
+        onDeadline(event.item());
+    }
+
+    /**
+     * Returns when the next run is planned, null while a run is in progress or before the first one is planned.
+     */
+    public synchronized LocalDateTime getPlannedRun() {
+        return plannedRun;
+    }
+
+    private void onDeadline(TodoItemEntity item) {
+        if (item.getStatus() == TodoStatus.NOT_DONE && item.getDueDatetime() != null) {
+            wakeBy(item.getDueDatetime());
+        }
+    }
+
+    /**
+     * Moves the next run forward to {@code due} if it is planned later. During a run the deadline is kept for the
+     * plan made at its end, which could otherwise miss an item committed after the run read the next due datetime.
+     */
+    synchronized void wakeBy(LocalDateTime due) {
+        if (running) {
+            deadlineDuringRun = earlier(deadlineDuringRun, due);
+        } else if (plannedRun != null) {
+            LocalDateTime runAt = runTimeFor(due);
+            if (runAt.isBefore(plannedRun)) {
+                schedule(runAt);
+                wakeups.increment();
+            }
+        }
+    }
+
+    /**
+     * Updates the overdue items and plans the next run.
+     */
+    void run() {
+        synchronized (this) {
+            if (running) {
+                return;
+            }
+            running = true;
+            plannedRun = null;
+            plannedFuture = null;
+        }
+        LocalDateTime nextDue = null;
+        try {
+            LocalDateTime start = LocalDateTime.now();
+            // Read before the update, which takes the items out of NOT_DONE
+            List<LocalDateTime> overdueSince = todoItemService.getOverdueSince(start, properties.getLagSampleSize());
+            int updated = pastDueUpdate.getAsInt();
+            if (updated > 0) {
+                LocalDateTime end = LocalDateTime.now();
+                overdueSince.forEach(since -> lagTimer.record(Duration.between(since, end)));
+            }
+            nextDue = todoItemService.getNextDueDatetime(start).orElse(null);
+        } catch (RuntimeException e) {
+            // Logged by the update; try again after the minimum interval
+            nextDue = LocalDateTime.now();
+        } finally {
+            synchronized (this) {
+                running = false;
+                lastRunEnd = LocalDateTime.now();
+                plan(deadlineDuringRun != null ? earlier(nextDue, deadlineDuringRun) : nextDue);
+                deadlineDuringRun = null;
+            }
+        }
+    }
+
+    /**
+     * Schedules the next run for {@code due} (null when nothing is due), within the configured interval range.
+     */
+    private void plan(LocalDateTime due) {
+        schedule(runTimeFor(due));
+    }
+
+    private LocalDateTime runTimeFor(LocalDateTime due) {
+        LocalDateTime latest = LocalDateTime.now().plus(properties.getMaxInterval());
+        LocalDateTime runAt = due == null || due.isAfter(latest) ? latest : due;
+        if (lastRunEnd != null && runAt.isBefore(lastRunEnd.plus(properties.getMinInterval()))) {
+            return lastRunEnd.plus(properties.getMinInterval());
+        }
+        return runAt;
+    }
+
+    private void schedule(LocalDateTime runAt) {
+        if (plannedFuture != null) {
+            plannedFuture.cancel(false);
+        }
+        plannedRun = runAt;
+        plannedFuture = taskScheduler.schedule(this::run, runAt.atZone(ZoneId.systemDefault()).toInstant());
+        logger.debug("Next past-due run at {}", runAt);
+    }
+
+    private static LocalDateTime earlier(LocalDateTime a, LocalDateTime b) {
+        if (a == null) {
+            return b;
+        }
+        return b == null || a.isBefore(b) ? a : b;
+    }
+}
@@ -0,0 +1,128 @@
+package com.sidpaw.todobackend.scheduler;
+
+import com.sidpaw.todobackend.entity.OutboxEventEntity;
+import com.sidpaw.todobackend.outbox.OutboxProperties;
+import com.sidpaw.todobackend.outbox.OutboxSink;
+import com.sidpaw.todobackend.repository.OutboxEventRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.vavr.control.Try;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.data.domain.Limit;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Drains the outbox in batches to the configured {@link OutboxSink}. Each batch is claimed in one short transaction,
+ * published (written and synced) outside any transaction, and deleted in a second short one, so no connection or row
+ * lock is held during the sink's I/O. If publishing fails the claim is released and the batch is retried on the next
+ * run; a claim left by a run that died expires after {@code claim-timeout-ms}.
+ */
+public class OutboxRelay {
+
+    private static final Logger logger = LoggerFactory.getLogger(OutboxRelay.class);
+
+    private final OutboxEventRepository outboxEventRepository;
+    private final OutboxSink outboxSink;
+    private final TransactionTemplate transactionTemplate;
+    private final OutboxProperties.Relay properties;
+    private final Counter relayedEvents;
+    private final Counter failedBatches;
+    private final Timer batchTimer;
+    private final AtomicLong lagSeconds = new AtomicLong();
+
+    public OutboxRelay(OutboxEventRepository outboxEventRepository,
+                       OutboxSink outboxSink,
+                       TransactionTemplate transactionTemplate,
+                       OutboxProperties properties,
+                       MeterRegistry meterRegistry) {
+        this.outboxEventRepository = outboxEventRepository;
+        this.outboxSink = outboxSink;
+        this.transactionTemplate = transactionTemplate;
+        this.properties = properties.getRelay();
+        this.relayedEvents = Counter.builder("todo.outbox.relayed")
+                .description("Outbox events published to the sink")
+                .register(meterRegistry);
+        this.failedBatches = Counter.builder("todo.outbox.relay.failures")
+                .description("Outbox batches that could not be published")
+                .register(meterRegistry);
+        this.batchTimer = Timer.builder("todo.outbox.relay.batch")
+                .description("Time to read, publish and delete one outbox batch")
+                .register(meterRegistry);
+        Gauge.builder("todo.outbox.lag.seconds", lagSeconds, AtomicLong::get)
+                .description("Age of the oldest outbox event not yet relayed")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Relays pending events until the outbox is empty or the per-run batch limit is reached.
+     *
+     * @return the number of events relayed
+     */
+    @Scheduled(fixedDelayString = "${todo.outbox.relay.interval-ms:1000}",
+            initialDelayString = "${todo.outbox.relay.interval-ms:1000}")
+    public int relayPendingEvents() {
+        int total = 0;
+        for (int batch = 0; batch < properties.getMaxBatchesPerRun(); batch++) {
+            int relayed = Try.of(() -> batchTimer.recordCallable(this::relayBatch))
+                    .onFailure(ex -> {
+                        failedBatches.increment();
+                        logger.error("Error relaying outbox events", ex);
+                    })
+                    .getOrElse(0);
+            total += relayed;
+            if (relayed < properties.getBatchSize()) {
+                break;
+            }
+        }
+        updateLag();
+        if (total > 0) {
+            logger.debug("Relayed {} outbox events", total);
+        }
+        return total;
+    }
+
+    long currentLagSeconds() {
+        return lagSeconds.get();
+    }
+
+    private int relayBatch() {
+        List<OutboxEventEntity> batch = transactionTemplate.execute(status -> claimBatch());
+        if (batch == null || batch.isEmpty()) {
+            return 0;
+        }
+        List<Long> ids = batch.stream().map(OutboxEventEntity::getId).toList();
+        Try.run(() -> outboxSink.publish(batch))
+                .onFailure(ex -> Try.run(() -> transactionTemplate.executeWithoutResult(
+                                status -> outboxEventRepository.claim(ids, null)))
+                        .onFailure(release -> logger.warn("Could not release the outbox claim, it will expire", release)))
+                .get();
+        transactionTemplate.executeWithoutResult(status -> outboxEventRepository.deleteAllByIdInBatch(ids));
+        relayedEvents.increment(batch.size());
+        return batch.size();
+    }
+
+    private List<OutboxEventEntity> claimBatch() {
+        LocalDateTime now = LocalDateTime.now();
+        List<OutboxEventEntity> batch = outboxEventRepository.findClaimable(now, Limit.of(properties.getBatchSize()));
+        if (!batch.isEmpty()) {
+            outboxEventRepository.claim(batch.stream().map(OutboxEventEntity::getId).toList(),
+                    now.plus(Duration.ofMillis(properties.getClaimTimeoutMs())));
+        }
+        return batch;
+    }
+
+    private void updateLag() {
+        lagSeconds.set(outboxEventRepository.findFirstByOrderByIdAsc()
+                .map(oldest -> Math.max(0, Duration.between(oldest.getCreatedAt(), LocalDateTime.now()).toSeconds()))
+                .orElse(0L));
+    }
+}
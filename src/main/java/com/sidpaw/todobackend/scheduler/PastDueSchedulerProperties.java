@@ -0,0 +1,57 @@
+package com.sidpaw.todobackend.scheduler;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * Settings for the timing of the past-due runs in {@code stored} mode.
+ */
+@Data
+@ConfigurationProperties(prefix = "todo.past-due.scheduler")
+public class PastDueSchedulerProperties {
+
+    /**
+     * Run the past-due update on its own. When off, it only runs when called, as in tests.
+     */
+    private boolean enabled = true;
+
+    /**
+     * Shortest time between the end of one run and the start of the next, however close the deadlines are.
+     */
+    private Duration minInterval = Duration.ofSeconds(1);
+
+    /**
+     * Longest time between runs, also when no NOT_DONE item has a due datetime.
+     */
+    private Duration maxInterval = Duration.ofMinutes(1);
+
+    /**
+     * Most items per run, earliest due first, whose time from becoming overdue to their update is recorded.
+     */
+    private int lagSampleSize = 1000;
+
+    private Sharding sharding = new Sharding();
+
+    /**
+     * Splitting of the update into id ranges updated in parallel ({@code jpa} engine).
+     */
+    @Data
+    public static class Sharding {
+        private boolean enabled = false;
+        /**
+         * Workers updating ranges at the same time, each with its own database connection. Capped at
+         * {@code todo.bulkhead.background.threads}.
+         */
+        private int threads = 2;
+        /**
+         * Ids per range...
+         */
+        private long rangeSize = 10000;
+        /**
+         * ...unless the overdue ids span more than this many ranges, which then grow to fit.
+         */
+        private int maxRanges = 256;
+    }
+}
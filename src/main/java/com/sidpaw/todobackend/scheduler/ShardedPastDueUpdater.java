@@ -0,0 +1,219 @@
+package com.sidpaw.todobackend.scheduler;
+
+import com.sidpaw.todobackend.entity.TodoItemEntity;
+import com.sidpaw.todobackend.event.PastDueItemsUpdatedEvent;
+import com.sidpaw.todobackend.exception.TodoSchedulerUpdateException;
+import com.sidpaw.todobackend.model.TodoStatus;
+import com.sidpaw.todobackend.repository.TodoItemRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.hibernate.Cache;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Past-due update for large tables with the {@code jpa} engine: instead of one statement over every overdue row,
+ * the ids of the overdue rows are split into ranges that are updated in parallel on a pool of
+ * {@code sharding.threads} workers, each range in its own short transaction. Each worker holds a database
+ * connection, so the workers are capped at the background share of the connection pool
+ * ({@code todo.bulkhead.background.threads}).
+ * <p>
+ * A range locks its overdue rows, records their status history with an INSERT ... SELECT and then updates them, all
+ * with the overdue predicate and its id bounds, so it costs three statements whatever its size and a patch committed
+ * meanwhile leaves no transition behind. It publishes its own bulk update event in its transaction,
+ * so the outbox row of a range commits or rolls back with the range: a run records one event per committed range.
+ * A range that fails is rolled back on its own; the others are kept, and the run then fails like the single
+ * statement does. Only one run is in progress at a time: a run started while another is still going is skipped.
+ * <p>
+ * Metrics: {@code todo.past-due.range} for the time to update one range and {@code todo.past-due.skipped} for runs
+ * skipped because the previous one was still going.
+ */
+public class ShardedPastDueUpdater {
+
+    private static final Logger logger = LoggerFactory.getLogger(ShardedPastDueUpdater.class);
+
+    private static final String OVERDUE = "status = :currentStatus AND deleted_datetime IS NULL "
+            + "AND due_datetime < :now";
+    // Served by idx_todo_items_status_due: the overdue rows are one range of the index, which also holds the id
+    static final String BOUNDS_SQL = "SELECT MIN(id) AS min_id, MAX(id) AS max_id FROM todo_items WHERE " + OVERDUE;
+    private static final String OVERDUE_IN_RANGE = OVERDUE + " AND id BETWEEN :fromId AND :toId";
+    // Sets nothing: only takes the row locks, without bringing the ids back
+    static final String LOCK_SQL = "UPDATE todo_items SET status = status WHERE " + OVERDUE_IN_RANGE;
+    static final String HISTORY_SQL = "INSERT INTO todo_status_history (todo_id, from_status, to_status, changed_at) "
+            + "SELECT id, status, :newStatus, :now FROM todo_items WHERE " + OVERDUE_IN_RANGE;
+    static final String UPDATE_SQL = "UPDATE todo_items SET status = :newStatus WHERE " + OVERDUE_IN_RANGE;
+
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final Cache cache;
+    private final ApplicationEventPublisher eventPublisher;
+    private final PastDueSchedulerProperties.Sharding properties;
+    private final int workerThreads;
+    private final ExecutorService workers;
+    private final ReentrantLock running = new ReentrantLock();
+    private final Timer rangeTimer;
+    private final Counter skippedRuns;
+
+    public ShardedPastDueUpdater(NamedParameterJdbcTemplate jdbcTemplate,
+                                 TransactionTemplate transactionTemplate,
+                                 Cache cache,
+                                 ApplicationEventPublisher eventPublisher,
+                                 PastDueSchedulerProperties properties,
+                                 int backgroundThreads,
+                                 MeterRegistry meterRegistry) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = transactionTemplate;
+        this.cache = cache;
+        this.eventPublisher = eventPublisher;
+        this.properties = properties.getSharding();
+        this.workerThreads = Math.max(1, Math.min(this.properties.getThreads(), backgroundThreads));
+        if (workerThreads < this.properties.getThreads()) {
+            logger.warn("Capping the past-due workers at {}, the background share of the connection pool",
+                    workerThreads);
+        }
+        AtomicInteger threads = new AtomicInteger();
+        this.workers = Executors.newFixedThreadPool(workerThreads, task -> {
+            Thread thread = new Thread(task, "todo-past-due-" + threads.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.rangeTimer = Timer.builder("todo.past-due.range")
+                .description("Time to update one id range of overdue todo items")
+                .register(meterRegistry);
+        this.skippedRuns = Counter.builder("todo.past-due.skipped")
+                .description("Past-due runs skipped because the previous run was still in progress")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Workers updating ranges at the same time, each holding a database connection.
+     */
+    public int getWorkerThreads() {
+        return workerThreads;
+    }
+
+    /**
+     * Moves the NOT_DONE items due before now to PAST_DUE, range by range.
+     *
+     * @return the number of items updated, 0 when the run was skipped
+     * @throws TodoSchedulerUpdateException if a range could not be updated
+     */
+    public int updatePastDueItems() {
+        if (!running.tryLock()) {
+            skippedRuns.increment();
+            logger.warn("Skipping past due items update: the previous run is still in progress");
+            return 0;
+        }
+        try {
+            LocalDateTime now = LocalDateTime.now();
+            List<long[]> ranges = ranges(now);
+            AtomicInteger updated = new AtomicInteger();
+            List<CompletableFuture<Void>> tasks = new ArrayList<>(ranges.size());
+            for (long[] range : ranges) {
+                tasks.add(CompletableFuture.runAsync(
+                        () -> updated.addAndGet(rangeTimer.record(() -> updateRange(now, range[0], range[1]))),
+                        workers));
+            }
+            Throwable failure = null;
+            for (CompletableFuture<Void> task : tasks) {
+                try {
+                    task.join();
+                } catch (CompletionException e) {
+                    failure = failure == null ? e.getCause() : failure;
+                }
+            }
+
+            int count = updated.get();
+            if (count > 0) {
+                evictCachedItems();
+                logger.info("Updated {} items to PAST_DUE status in {} ranges", count, ranges.size());
+            } else {
+                logger.debug("No items needed to be updated to PAST_DUE status");
+            }
+            if (failure != null) {
+                logger.error("Error updating past due items", failure);
+                throw new TodoSchedulerUpdateException("Failed to update past due items", failure);
+            }
+            return count;
+        } finally {
+            running.unlock();
+        }
+    }
+
+    /**
+     * Splits the ids of the overdue items into ranges of {@code range-size} ids, or larger ones when there would be
+     * more than {@code max-ranges}.
+     */
+    private List<long[]> ranges(LocalDateTime now) {
+        Map<String, Object> bounds = jdbcTemplate.queryForMap(BOUNDS_SQL, parameters(now));
+        if (bounds.get("min_id") == null) {
+            return List.of();
+        }
+        long minId = ((Number) bounds.get("min_id")).longValue();
+        long maxId = ((Number) bounds.get("max_id")).longValue();
+        long span = maxId - minId + 1;
+        long rangeSize = Math.max(properties.getRangeSize(), Math.ceilDiv(span, properties.getMaxRanges()));
+        List<long[]> ranges = new ArrayList<>();
+        for (long from = minId; from <= maxId; from += rangeSize) {
+            ranges.add(new long[]{from, Math.min(from + rangeSize - 1, maxId)});
+        }
+        return ranges;
+    }
+
+    private int updateRange(LocalDateTime now, long fromId, long toId) {
+        MapSqlParameterSource parameters = parameters(now)
+                .addValue("fromId", fromId)
+                .addValue("toId", toId);
+        Integer updated = transactionTemplate.execute(status -> {
+            jdbcTemplate.update(LOCK_SQL, parameters);
+            jdbcTemplate.update(HISTORY_SQL, parameters);
+            int count = jdbcTemplate.update(UPDATE_SQL, parameters);
+            if (count > 0) {
+                eventPublisher.publishEvent(new PastDueItemsUpdatedEvent(count, now));
+            }
+            return count;
+        });
+        if (updated == null || updated == 0) {
+            return 0;
+        }
+        evictCachedItems();
+        return updated;
+    }
+
+    private static MapSqlParameterSource parameters(LocalDateTime now) {
+        return new MapSqlParameterSource()
+                .addValue("now", Timestamp.valueOf(now))
+                .addValue("currentStatus", TodoStatus.NOT_DONE.name())
+                .addValue("newStatus", TodoStatus.PAST_DUE.name());
+    }
+
+    /**
+     * Drops the cached items and list query results after a range commits, and once more at the end of the run
+     * for readers that cached a row while its range was being updated.
+     */
+    private void evictCachedItems() {
+        cache.evictEntityData(TodoItemEntity.class);
+        cache.evictQueryRegion(TodoItemRepository.LIST_QUERY_CACHE_REGION);
+    }
+
+    public void close() {
+        workers.shutdownNow();
+    }
+}
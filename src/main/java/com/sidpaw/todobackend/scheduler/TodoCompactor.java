@@ -0,0 +1,102 @@
+package com.sidpaw.todobackend.scheduler;
+
+import com.sidpaw.todobackend.store.StorageProperties;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.vavr.control.Try;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Physically removes soft-deleted todo items once they have been deleted for longer than the retention. Only the
+ * item rows go: the status history is an append-only audit trail and keeps the rows of removed items. Rows go in small batches, each in its own transaction, oldest deletion first, so a run
+ * never holds many locks or a long transaction.
+ * <p>
+ * Plain SQL is used on purpose: the entity mapping hides deleted rows. The rows are already invisible to every
+ * query, so removing them does not touch the second-level cache or the list snapshots.
+ */
+public class TodoCompactor {
+
+    private static final Logger logger = LoggerFactory.getLogger(TodoCompactor.class);
+
+    static final String SELECT_DELETED_SQL = "SELECT id FROM todo_items WHERE deleted_datetime < :cutoff "
+            + "ORDER BY deleted_datetime FETCH FIRST :limit ROWS ONLY";
+    static final String DELETE_ITEMS_SQL = "DELETE FROM todo_items WHERE id IN (:ids) AND deleted_datetime IS NOT NULL";
+
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final StorageProperties.Compaction properties;
+    private final Counter removedItems;
+    private final Counter failedBatches;
+    private final Timer batchTimer;
+
+    public TodoCompactor(NamedParameterJdbcTemplate jdbcTemplate,
+                         TransactionTemplate transactionTemplate,
+                         StorageProperties properties,
+                         MeterRegistry meterRegistry) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = transactionTemplate;
+        this.properties = properties.getCompaction();
+        this.removedItems = Counter.builder("todo.storage.compaction.removed")
+                .description("Soft-deleted todo items physically removed")
+                .register(meterRegistry);
+        this.failedBatches = Counter.builder("todo.storage.compaction.failures")
+                .description("Compaction batches that failed")
+                .register(meterRegistry);
+        this.batchTimer = Timer.builder("todo.storage.compaction.batch")
+                .description("Time to remove one batch of soft-deleted todo items")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Removes items deleted before the retention window until none are left or the per-run batch limit is reached.
+     *
+     * @return the number of items removed
+     */
+    @Scheduled(fixedDelayString = "${todo.storage.compaction.interval-ms:60000}",
+            initialDelayString = "${todo.storage.compaction.interval-ms:60000}")
+    public int compact() {
+        LocalDateTime cutoff = LocalDateTime.now().minus(properties.getRetention());
+        int total = 0;
+        for (int batch = 0; batch < properties.getMaxBatchesPerRun(); batch++) {
+            int removed = Try.of(() -> batchTimer.recordCallable(() -> removeBatch(cutoff)))
+                    .onFailure(ex -> {
+                        failedBatches.increment();
+                        logger.error("Error removing deleted todo items", ex);
+                    })
+                    .getOrElse(0);
+            total += removed;
+            if (removed < properties.getBatchSize()) {
+                break;
+            }
+        }
+        if (total > 0) {
+            logger.info("Removed {} deleted todo items", total);
+        }
+        return total;
+    }
+
+    private int removeBatch(LocalDateTime cutoff) {
+        Integer removed = transactionTemplate.execute(status -> {
+            List<Long> ids = jdbcTemplate.queryForList(SELECT_DELETED_SQL, new MapSqlParameterSource()
+                    .addValue("cutoff", Timestamp.valueOf(cutoff))
+                    .addValue("limit", properties.getBatchSize()), Long.class);
+            if (ids.isEmpty()) {
+                return 0;
+            }
+            return jdbcTemplate.update(DELETE_ITEMS_SQL, new MapSqlParameterSource("ids", ids));
+        });
+        int count = removed != null ? removed : 0;
+        removedItems.increment(count);
+        return count;
+    }
+}
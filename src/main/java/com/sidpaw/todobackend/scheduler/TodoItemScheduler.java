@@ -1,35 +1,44 @@
 package com.sidpaw.todobackend.scheduler;
 
+import com.sidpaw.todobackend.event.PastDueItemsUpdatedEvent;
 import com.sidpaw.todobackend.exception.TodoSchedulerUpdateException;
 import com.sidpaw.todobackend.model.TodoStatus;
-import com.sidpaw.todobackend.repository.TodoItemRepository;
+import com.sidpaw.todobackend.store.TodoStore;
 import io.vavr.control.Try;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
-import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Component;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
 import java.util.Optional;
 
+/**
+ * Rewrites overdue NOT_DONE items to PAST_DUE. Not created when {@code todo.past-due.mode=virtual}, where
+ * PAST_DUE is derived at read time instead. {@link AdaptivePastDueScheduler} decides when it runs.
+ */
 @Component
+@ConditionalOnProperty(prefix = "todo.past-due", name = "mode", havingValue = "stored", matchIfMissing = true)
 public class TodoItemScheduler {
 
     private static final Logger logger = LoggerFactory.getLogger(TodoItemScheduler.class);
-    private final TodoItemRepository todoItemRepository;
+    private final TodoStore todoStore;
+    private final ApplicationEventPublisher eventPublisher;
 
-    public TodoItemScheduler(TodoItemRepository todoItemRepository) {
-        this.todoItemRepository = todoItemRepository;
+    public TodoItemScheduler(TodoStore todoStore, ApplicationEventPublisher eventPublisher) {
+        this.todoStore = todoStore;
+        this.eventPublisher = eventPublisher;
     }
 
-    @Scheduled(fixedRate = 60000) // Run every minute
-    @Transactional
+    @Transactional(timeoutString = "${todo.bulkhead.background.timeout-seconds:30}")
     public int updatePastDueItems() {
         LocalDateTime now = LocalDateTime.now();
         logger.debug("Starting past due items update check at {}", now);
 
-        return Try.of(() -> todoItemRepository.updatePastDueItems(
+        // The store records the status history of the items it moves, in this transaction
+        return Try.of(() -> todoStore.updatePastDueItems(
                         now,
                         TodoStatus.NOT_DONE,
                         TodoStatus.PAST_DUE
@@ -37,7 +46,10 @@ public class TodoItemScheduler {
                 .andThen(count -> Optional.of(count)
                         .filter(c -> c > 0)
                         .ifPresentOrElse(
-                                c -> logger.info("Updated {} items to PAST_DUE status", c),
+                                c -> {
+                                    logger.info("Updated {} items to PAST_DUE status", c);
+                                    eventPublisher.publishEvent(new PastDueItemsUpdatedEvent(c, now));
+                                },
                                 () -> logger.debug("No items needed to be updated to PAST_DUE status")
                         )
                 )
@@ -0,0 +1,18 @@
+package com.sidpaw.todobackend.serialization;
+
+import com.fasterxml.jackson.databind.module.SimpleModule;
+
+import java.time.LocalDateTime;
+
+/**
+ * Jackson module for the binary (CBOR/Smile) encodings: datetimes travel as epoch seconds instead of
+ * formatted strings. It has to be registered after the JSR-310 module so that it takes precedence.
+ */
+public class BinaryFormatsModule extends SimpleModule {
+
+    public BinaryFormatsModule() {
+        super("BinaryFormatsModule");
+        addSerializer(LocalDateTime.class, new EpochSecondsLocalDateTimeSerializer());
+        addDeserializer(LocalDateTime.class, new EpochSecondsLocalDateTimeDeserializer());
+    }
+}
@@ -0,0 +1,36 @@
+package com.sidpaw.todobackend.serialization;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.DeserializationContext;
+import com.fasterxml.jackson.databind.deser.std.StdDeserializer;
+
+import java.io.IOException;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeParseException;
+
+/**
+ * Reads a {@link LocalDateTime} written as epoch seconds (UTC wall-clock); ISO-8601 strings are accepted as well.
+ */
+public class EpochSecondsLocalDateTimeDeserializer extends StdDeserializer<LocalDateTime> {
+
+    public EpochSecondsLocalDateTimeDeserializer() {
+        super(LocalDateTime.class);
+    }
+
+    @Override
+    public LocalDateTime deserialize(JsonParser parser, DeserializationContext context) throws IOException {
+        if (parser.hasToken(JsonToken.VALUE_NUMBER_INT)) {
+            return LocalDateTime.ofEpochSecond(parser.getLongValue(), 0, ZoneOffset.UTC);
+        }
+        if (parser.hasToken(JsonToken.VALUE_STRING)) {
+            try {
+                return LocalDateTime.parse(parser.getText().trim());
+            } catch (DateTimeParseException ex) {
+                return (LocalDateTime) context.handleWeirdStringValue(LocalDateTime.class, parser.getText(), ex.getMessage());
+            }
+        }
+        return (LocalDateTime) context.handleUnexpectedToken(LocalDateTime.class, parser);
+    }
+}
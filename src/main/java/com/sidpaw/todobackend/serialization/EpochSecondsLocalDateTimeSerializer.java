@@ -0,0 +1,24 @@
+package com.sidpaw.todobackend.serialization;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.ser.std.StdSerializer;
+
+import java.io.IOException;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+
+/**
+ * Writes a {@link LocalDateTime} as epoch seconds, reading the wall-clock time as UTC.
+ */
+public class EpochSecondsLocalDateTimeSerializer extends StdSerializer<LocalDateTime> {
+
+    public EpochSecondsLocalDateTimeSerializer() {
+        super(LocalDateTime.class);
+    }
+
+    @Override
+    public void serialize(LocalDateTime value, JsonGenerator generator, SerializerProvider provider) throws IOException {
+        generator.writeNumber(value.toEpochSecond(ZoneOffset.UTC));
+    }
+}
@@ -0,0 +1,270 @@
+package com.sidpaw.todobackend.service;
+
+import com.sidpaw.todobackend.analytics.CompletionTime;
+import com.sidpaw.todobackend.analytics.LatencyHistogram;
+import com.sidpaw.todobackend.dto.CompletionAnalyticsDTO;
+import com.sidpaw.todobackend.dto.CompletionStatsDTO;
+import com.sidpaw.todobackend.entity.CompletionHistogramEntity;
+import com.sidpaw.todobackend.entity.TodoItemEntity;
+import com.sidpaw.todobackend.event.TodoItemsDeletedEvent;
+import com.sidpaw.todobackend.event.TodoItemsRestoredEvent;
+import com.sidpaw.todobackend.event.TodoUpdatedEvent;
+import com.sidpaw.todobackend.exception.InvalidQueryException;
+import com.sidpaw.todobackend.model.TodoStatus;
+import com.sidpaw.todobackend.repository.CompletionHistogramRepository;
+import com.sidpaw.todobackend.store.TodoStore;
+import io.vavr.control.Try;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+
+/**
+ * Maintains time-to-done ({@code doneDatetime - creationDatetime}) histograms per completion day.
+ * <p>
+ * Completions are keyed by item id: a DONE transition replaces the item's previous completion, reopening or deleting
+ * the item takes it back, so an item reopened and done again counts once, at its last completion, as in a rebuild.
+ * The index costs one entry per DONE item. Histograms are written to {@code todo_completion_histogram} periodically.
+ * <p>
+ * On startup the saved histograms are served while the index is rebuilt with one pass over the DONE items in the
+ * background; a backup restore triggers the same rebuild. A rebuild fills a new index, replays the changes committed
+ * meanwhile on it and swaps it in, so no live change is lost or counted twice. Queries merge the per-day histograms,
+ * so they never scan the todo table.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class CompletionAnalyticsService implements SmartInitializingSingleton {
+
+    static final int MAX_RANGE_DAYS = 366;
+
+    private final TodoStore todoStore;
+    private final CompletionHistogramRepository completionHistogramRepository;
+    private final TransactionTemplate transactionTemplate;
+
+    private final Object lock = new Object();
+    private final Object rebuildLock = new Object();
+    private final Set<LocalDate> dirtyDays = ConcurrentHashMap.newKeySet();
+
+    // Guarded by lock
+    private Completions completions = new Completions();
+    // Guarded by lock; not null while a rebuild is running
+    private List<Consumer<Completions>> replay;
+
+    @Override
+    public void afterSingletonsInstantiated() {
+        Try.run(this::loadPersisted)
+                .onFailure(ex -> log.error("Could not load the saved completion histograms", ex));
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        Thread.ofVirtual().name("completion-histogram-rebuild").start(() -> Try.run(this::rebuildFromTodoItems)
+                .andThen(this::persistDirtyHistograms)
+                .onFailure(ex -> log.error("Could not rebuild completion histograms, serving the saved ones", ex)));
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onUpdated(TodoUpdatedEvent event) {
+        if (!event.statusChanged()) {
+            return;
+        }
+        TodoItemEntity item = event.item();
+        if (item.getStatus() == TodoStatus.DONE) {
+            CompletionTime time = new CompletionTime(item.getId(), item.getCreationDatetime(), item.getDoneDatetime());
+            apply(target -> target.complete(time, dirtyDays));
+        } else if (event.previousStatus() == TodoStatus.DONE) {
+            apply(target -> target.remove(item.getId(), dirtyDays));
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onDeleted(TodoItemsDeletedEvent event) {
+        apply(target -> event.ids().forEach(id -> target.remove(id, dirtyDays)));
+    }
+
+    /**
+     * A restore replaces the items wholesale, so the histograms are rebuilt from what it brought back.
+     */
+    @EventListener
+    public void onItemsRestored(TodoItemsRestoredEvent event) {
+        Try.run(this::rebuildFromTodoItems)
+                .onFailure(ex -> log.error("Could not rebuild completion histograms after a restore", ex));
+    }
+
+    /**
+     * Returns per-day and merged completion statistics for completions on days in [from, to].
+     */
+    public CompletionAnalyticsDTO getCompletionAnalytics(LocalDate from, LocalDate to) {
+        if (from.isAfter(to)) {
+            throw new InvalidQueryException("from must not be after to");
+        }
+        if (ChronoUnit.DAYS.between(from, to) >= MAX_RANGE_DAYS) {
+            throw new InvalidQueryException("Date range must not exceed " + MAX_RANGE_DAYS + " days");
+        }
+
+        LatencyHistogram total = new LatencyHistogram();
+        List<CompletionStatsDTO> days = new ArrayList<>();
+        for (LocalDate day = from; !day.isAfter(to); day = day.plusDays(1)) {
+            LatencyHistogram snapshot;
+            synchronized (lock) {
+                LatencyHistogram histogram = completions.byDay.get(day);
+                snapshot = histogram != null ? histogram.copy() : null;
+            }
+            if (snapshot == null || snapshot.getTotalCount() == 0) {
+                continue;
+            }
+            total.merge(snapshot);
+            days.add(toStats(day, snapshot));
+        }
+        return new CompletionAnalyticsDTO(from, to, toStats(null, total), days);
+    }
+
+    /**
+     * Writes the histograms of days that changed since the last run.
+     */
+    @Scheduled(fixedDelayString = "${todo.analytics.persist-interval-ms:60000}",
+            initialDelayString = "${todo.analytics.persist-interval-ms:60000}")
+    public int persistDirtyHistograms() {
+        List<CompletionHistogramEntity> snapshots = new ArrayList<>();
+        for (LocalDate day : List.copyOf(dirtyDays)) {
+            dirtyDays.remove(day);
+            synchronized (lock) {
+                LatencyHistogram histogram = completions.byDay.get(day);
+                if (histogram != null) {
+                    snapshots.add(new CompletionHistogramEntity(day, histogram.toBytes(), LocalDateTime.now()));
+                }
+            }
+        }
+        if (snapshots.isEmpty()) {
+            return 0;
+        }
+        return Try.of(() -> completionHistogramRepository.saveAll(snapshots).size())
+                .onFailure(ex -> {
+                    snapshots.forEach(snapshot -> dirtyDays.add(snapshot.getDay()));
+                    log.error("Error persisting completion histograms", ex);
+                })
+                .getOrElse(0);
+    }
+
+    /**
+     * Recomputes the histograms with one pass over the DONE items and swaps them in. Changes committed during the
+     * pass are replayed on the new histograms first; applying one the pass already saw changes nothing.
+     */
+    public void rebuildFromTodoItems() {
+        synchronized (rebuildLock) {
+            synchronized (lock) {
+                replay = new ArrayList<>();
+            }
+            Completions rebuilt = new Completions();
+            Set<LocalDate> rebuiltDays = new HashSet<>();
+            try {
+                transactionTemplate.executeWithoutResult(status -> {
+                    try (Stream<CompletionTime> times = todoStore.streamCompletionTimes(TodoStatus.DONE)) {
+                        times.forEach(time -> rebuilt.complete(time, rebuiltDays));
+                    }
+                });
+            } catch (RuntimeException e) {
+                synchronized (lock) {
+                    replay = null;
+                }
+                throw e;
+            }
+            synchronized (lock) {
+                replay.forEach(change -> change.accept(rebuilt));
+                replay = null;
+                // Days left without completions are written empty, so their saved rows do not come back
+                completions.byDay.keySet().forEach(day -> rebuilt.byDay.putIfAbsent(day, new LatencyHistogram()));
+                completions = rebuilt;
+                dirtyDays.addAll(rebuilt.byDay.keySet());
+            }
+            log.info("Rebuilt completion histograms for {} days from todo items", rebuilt.byDay.size());
+        }
+    }
+
+    private void loadPersisted() {
+        List<CompletionHistogramEntity> persisted = completionHistogramRepository.findAll();
+        synchronized (lock) {
+            persisted.forEach(entity -> completions.byDay.put(entity.getDay(),
+                    LatencyHistogram.fromBytes(entity.getHistogram())));
+        }
+        log.info("Loaded completion histograms for {} days", persisted.size());
+    }
+
+    private void apply(Consumer<Completions> change) {
+        synchronized (lock) {
+            if (replay != null) {
+                replay.add(change);
+            }
+            change.accept(completions);
+        }
+    }
+
+    private static long latencySeconds(CompletionTime time) {
+        return Math.max(0, Duration.between(time.creationDatetime(), time.doneDatetime()).toSeconds());
+    }
+
+    private static CompletionStatsDTO toStats(LocalDate day, LatencyHistogram histogram) {
+        return new CompletionStatsDTO(
+                day,
+                histogram.getTotalCount(),
+                histogram.getMean(),
+                histogram.getMin(),
+                histogram.valueAtPercentile(50),
+                histogram.valueAtPercentile(90),
+                histogram.valueAtPercentile(95),
+                histogram.valueAtPercentile(99),
+                histogram.getMax());
+    }
+
+    /**
+     * Last completion of each DONE item and the per-day histograms of those completions.
+     */
+    private static final class Completions {
+
+        private final Map<Long, CompletionTime> byId = new HashMap<>();
+        private final Map<LocalDate, LatencyHistogram> byDay = new HashMap<>();
+
+        /**
+         * Makes {@code time} the only completion counted for its item.
+         */
+        void complete(CompletionTime time, Set<LocalDate> changedDays) {
+            remove(time.itemId(), changedDays);
+            if (time.creationDatetime() == null || time.doneDatetime() == null) {
+                return;
+            }
+            byId.put(time.itemId(), time);
+            LocalDate day = time.doneDatetime().toLocalDate();
+            byDay.computeIfAbsent(day, d -> new LatencyHistogram()).record(latencySeconds(time));
+            changedDays.add(day);
+        }
+
+        void remove(Long itemId, Set<LocalDate> changedDays) {
+            CompletionTime previous = byId.remove(itemId);
+            if (previous != null) {
+                LocalDate day = previous.doneDatetime().toLocalDate();
+                byDay.get(day).remove(latencySeconds(previous));
+                changedDays.add(day);
+            }
+        }
+    }
+}
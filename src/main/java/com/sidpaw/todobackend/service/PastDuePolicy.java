@@ -0,0 +1,47 @@
+package com.sidpaw.todobackend.service;
+
+import com.sidpaw.todobackend.entity.TodoItemEntity;
+import com.sidpaw.todobackend.model.PastDueMode;
+import com.sidpaw.todobackend.model.TodoStatus;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.util.Locale;
+
+/**
+ * Decides the status an item is reported with, according to {@code todo.past-due.mode}.
+ * <p>
+ * In {@code virtual} mode an item that is stored as NOT_DONE and whose due datetime has passed is PAST_DUE,
+ * exactly as if the scheduler had just run. Nothing is written when that happens, so the mode turns off the PAST_DUE
+ * status history rows, the bulk past-due outbox events and the {@code todo.past-due.lag} metric. In {@code stored}
+ * mode the stored status is used as is.
+ */
+@Component
+public class PastDuePolicy {
+
+    private final PastDueMode mode;
+
+    public PastDuePolicy(@Value("${todo.past-due.mode:stored}") String mode) {
+        this.mode = PastDueMode.valueOf(mode.trim().toUpperCase(Locale.ROOT));
+    }
+
+    public PastDueMode getMode() {
+        return mode;
+    }
+
+    public boolean isVirtual() {
+        return mode == PastDueMode.VIRTUAL;
+    }
+
+    public TodoStatus effectiveStatus(TodoItemEntity item) {
+        return effectiveStatus(item.getStatus(), item.getDueDatetime(), LocalDateTime.now());
+    }
+
+    public TodoStatus effectiveStatus(TodoStatus storedStatus, LocalDateTime dueDatetime, LocalDateTime now) {
+        if (isVirtual() && storedStatus == TodoStatus.NOT_DONE && dueDatetime != null && dueDatetime.isBefore(now)) {
+            return TodoStatus.PAST_DUE;
+        }
+        return storedStatus;
+    }
+}
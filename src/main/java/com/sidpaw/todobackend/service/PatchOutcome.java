@@ -0,0 +1,31 @@
+package com.sidpaw.todobackend.service;
+
+import com.sidpaw.todobackend.dto.TodoResponseDTO;
+
+/**
+ * Result of {@link TodoItemService#patchTodo}: the updated item, or the reason nothing was changed. Rejections are
+ * returned rather than thrown, so a flood of invalid patches does not pay for exceptions.
+ */
+public sealed interface PatchOutcome {
+
+    PatchOutcome NOT_FOUND = new NotFound();
+    PatchOutcome PAST_DUE = new PastDue();
+
+    record Updated(TodoResponseDTO item) implements PatchOutcome {
+    }
+
+    record NotFound() implements PatchOutcome {
+    }
+
+    /**
+     * The item is past due and can no longer be changed.
+     */
+    record PastDue() implements PatchOutcome {
+    }
+
+    /**
+     * The requested status does not exist or cannot be set by a patch.
+     */
+    record InvalidStatus(String message) implements PatchOutcome {
+    }
+}
@@ -0,0 +1,141 @@
+package com.sidpaw.todobackend.service;
+
+import com.sidpaw.todobackend.event.PastDueItemsUpdatedEvent;
+import com.sidpaw.todobackend.event.TodoCreatedEvent;
+import com.sidpaw.todobackend.event.TodoItemsDeletedEvent;
+import com.sidpaw.todobackend.event.TodoItemsRestoredEvent;
+import com.sidpaw.todobackend.event.TodoUpdatedEvent;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+/**
+ * Coalesces identical concurrent reads: the first caller for a key runs the query, callers arriving while it is
+ * in flight wait for and share its result (or its exception). Nothing is cached, the key is forgotten as soon as
+ * the query completes, so a caller never gets a result from a query that finished before it arrived.
+ * <p>
+ * A caller only joins a query that started after the last committed write ({@link #writeCommitted()}, called for
+ * every todo event once its transaction commits). A client that reads right after its own write therefore never
+ * gets the result of a query that started before the write and may not see it; it runs a new query instead.
+ * <p>
+ * Metric {@code todo.singleflight.calls} counts calls per {@code endpoint} with {@code outcome} {@code executed}
+ * or {@code coalesced}; {@code todo.singleflight.inflight} is the number of queries currently shared.
+ */
+@Component
+public class SingleFlight {
+
+    private record Flight(long writeVersion, CompletableFuture<Object> result) {
+    }
+
+    private final Map<String, Flight> inFlight = new ConcurrentHashMap<>();
+    private final AtomicLong writeVersion = new AtomicLong();
+    private final Map<String, Counter> executedCounters = new ConcurrentHashMap<>();
+    private final Map<String, Counter> coalescedCounters = new ConcurrentHashMap<>();
+    private final MeterRegistry meterRegistry;
+
+    public SingleFlight(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+        Gauge.builder("todo.singleflight.inflight", inFlight, Map::size)
+                .description("Read queries currently shared by concurrent identical requests")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Runs {@code loader} unless an identical call ({@code endpoint} and normalized {@code parameters}) is already
+     * in flight and started after the last committed write, in which case its result is returned instead. The
+     * result must not be mutated by callers.
+     */
+    @SuppressWarnings("unchecked")
+    public <T> T execute(String endpoint, String parameters, Supplier<T> loader) {
+        String key = endpoint + '?' + parameters;
+        // Read before the query runs: a write committed meanwhile makes the flight too old to join
+        long currentVersion = writeVersion.get();
+        Flight flight = new Flight(currentVersion, new CompletableFuture<>());
+        Flight existing = inFlight.compute(key, (ignored, current) ->
+                current != null && current.writeVersion() >= currentVersion ? current : flight);
+        if (existing != flight) {
+            counter(coalescedCounters, endpoint, "coalesced").increment();
+            return (T) join(existing.result());
+        }
+
+        counter(executedCounters, endpoint, "executed").increment();
+        try {
+            T result = loader.get();
+            flight.result().complete(result);
+            return result;
+        } catch (RuntimeException | Error e) {
+            flight.result().completeExceptionally(e);
+            throw e;
+        } finally {
+            inFlight.remove(key, flight);
+        }
+    }
+
+    /**
+     * Stops queries already in flight from being joined, so later callers see the write that just committed.
+     */
+    public void writeCommitted() {
+        writeVersion.incrementAndGet();
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onTodoCreated(TodoCreatedEvent event) {
+        writeCommitted();
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onTodoUpdated(TodoUpdatedEvent event) {
+        writeCommitted();
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onTodoItemsDeleted(TodoItemsDeletedEvent event) {
+        writeCommitted();
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onPastDueItemsUpdated(PastDueItemsUpdatedEvent event) {
+        writeCommitted();
+    }
+
+    @EventListener
+    public void onItemsRestored(TodoItemsRestoredEvent event) {
+        writeCommitted();
+    }
+
+    private static Object join(CompletableFuture<Object> flight) {
+        try {
+            return flight.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            if (e.getCause() instanceof Error cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+
+    private Counter counter(Map<String, Counter> counters, String endpoint, String outcome) {
+        return counters.computeIfAbsent(endpoint, name -> Counter.builder("todo.singleflight.calls")
+                .description("Read calls by whether they ran the query or shared an identical in-flight one")
+                .tag("endpoint", name)
+                .tag("outcome", outcome)
+                .register(meterRegistry));
+    }
+
+    int inFlightCount() {
+        return inFlight.size();
+    }
+}
@@ -1,23 +1,42 @@
 package com.sidpaw.todobackend.service;
 
 
+import com.sidpaw.todobackend.dto.TodoBatchDeleteResponseDTO;
+import com.sidpaw.todobackend.dto.TodoBatchResponseDTO;
+import com.sidpaw.todobackend.dto.TodoPageDTO;
 import com.sidpaw.todobackend.dto.TodoPatchDTO;
 import com.sidpaw.todobackend.dto.TodoRequestDTO;
 import com.sidpaw.todobackend.dto.TodoResponseDTO;
+import com.sidpaw.todobackend.dto.TodoStatusHistoryDTO;
 import com.sidpaw.todobackend.entity.TodoItemEntity;
-import com.sidpaw.todobackend.exception.InvalidStatusException;
+import com.sidpaw.todobackend.event.TodoCreatedEvent;
+import com.sidpaw.todobackend.event.TodoItemsDeletedEvent;
+import com.sidpaw.todobackend.event.TodoUpdatedEvent;
+import com.sidpaw.todobackend.exception.InvalidQueryException;
 import com.sidpaw.todobackend.mapper.TodoItemMapper;
+import com.sidpaw.todobackend.model.DueWindowCursor;
+import com.sidpaw.todobackend.model.PageCursor;
+import com.sidpaw.todobackend.model.TodoField;
+import com.sidpaw.todobackend.model.TodoSort;
 import com.sidpaw.todobackend.model.TodoStatus;
-import com.sidpaw.todobackend.repository.TodoItemRepository;
+import com.sidpaw.todobackend.repository.TodoStatusHistoryRepository;
+import com.sidpaw.todobackend.store.TodoStore;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 
 /**
  * Service class for managing todo items.
@@ -28,8 +47,22 @@ import java.util.Optional;
 @Transactional
 public class TodoItemService {
 
-    private final TodoItemRepository todoItemRepository;
+    // Lower bound of the due window holding every overdue item
+    private static final LocalDateTime EARLIEST_DUE = LocalDateTime.of(1970, 1, 1, 0, 0);
+
+    private final TodoStore todoStore;
+    private final TodoStatusHistoryRepository todoStatusHistoryRepository;
     private final TodoItemMapper todoItemMapper;
+    private final PastDuePolicy pastDuePolicy;
+    private final SingleFlight singleFlight;
+    private final ApplicationEventPublisher eventPublisher;
+
+    /**
+     * Part of a status list that one index range covers: items with {@code status} (any when null), optionally
+     * limited to the ones not due by {@code dueAfter} or due before {@code dueBefore}.
+     */
+    private record ListSegment(TodoStatus status, LocalDateTime dueAfter, LocalDateTime dueBefore) {
+    }
 
     /**
      * Creates a new todo item.
@@ -38,90 +71,371 @@ public class TodoItemService {
         log.info("Creating new todo item with description: {}", request.getDescription());
         
         TodoItemEntity todoItem = todoItemMapper.toEntity(request);
-        TodoItemEntity savedItem = todoItemRepository.save(todoItem);
+        TodoItemEntity savedItem = todoStore.save(todoItem);
+        eventPublisher.publishEvent(new TodoCreatedEvent(savedItem));
         
         log.info("Successfully created todo item with ID: {}", savedItem.getId());
         return todoItemMapper.toResponseDTO(savedItem);
     }
 
     /**
-     * Retrieves all todo items.
+     * Creates many todo items in one transaction. Used by the bulk import, one call per batch.
+     *
+     * @return the number of items created
      */
-    @Transactional(readOnly = true)
+    public int createTodoItems(List<TodoRequestDTO> requests) {
+        List<TodoItemEntity> savedItems = todoStore.insertAll(todoItemMapper.toEntityList(requests));
+        savedItems.forEach(item -> eventPublisher.publishEvent(new TodoCreatedEvent(item)));
+        return savedItems.size();
+    }
+
+    /**
+     * Retrieves all todo items. Concurrent identical calls share one query.
+     * <p>
+     * The coalesced reads only join a transaction that is already running: opening a read-only transaction up
+     * front would take a connection for every caller, including the ones that just wait for the shared result.
+     */
+    @Transactional(propagation = Propagation.SUPPORTS, readOnly = true)
     public List<TodoResponseDTO> getAllTodoItems() {
         log.info("Retrieving all todo items");
-        
-        List<TodoItemEntity> todoItems = todoItemRepository.findAllByOrderByCreationDatetimeDesc();
-        
-        log.info("Retrieved {} todo items", todoItems.size());
-        return todoItemMapper.toResponseDTOList(todoItems);
+
+        return singleFlight.execute("all", "", this::findAll);
     }
 
     /**
-     * Retrieves a todo item by ID.
+     * Retrieves all todo items, or the ones with {@code requestedStatus}, always with a query of its own. For callers
+     * that tag the result with a version read before the call (the list snapshots): a shared query may have started
+     * before that version and miss the change that produced it.
      */
-    @Transactional(readOnly = true)
+    @Transactional(propagation = Propagation.SUPPORTS, readOnly = true)
+    public List<TodoResponseDTO> listTodoItems(String requestedStatus) {
+        if (requestedStatus == null) {
+            return findAll();
+        }
+        return findByStatus(TodoStatus.from(requestedStatus)).stream()
+                .map(todoItemMapper::toResponseDTO)
+                .toList();
+    }
+
+    /**
+     * Retrieves a todo item by ID. Concurrent identical calls share one query.
+     */
+    @Transactional(propagation = Propagation.SUPPORTS, readOnly = true)
     public Optional<TodoResponseDTO> getTodoItemById(Long id) {
         log.info("Retrieving todo item with ID: {}", id);
-        
-        Optional<TodoItemEntity> todoItem = todoItemRepository.findById(id);
-        
-        return todoItem.map(todoItemMapper::toResponseDTO);
+
+        return singleFlight.execute("byId", String.valueOf(id),
+                () -> todoStore.findById(id).map(todoItemMapper::toResponseDTO));
     }
 
-    public Optional<TodoResponseDTO> patchTodo(Long id, TodoPatchDTO patchDTO) {
-        return todoItemRepository.findById(id)
-                .map(todo -> updateTodoFields(todo, patchDTO))
-                .map(todoItemRepository::save)
-                .map(todoItemMapper::toResponseDTO);
+    /**
+     * Retrieves the status transitions of a todo item, oldest first. Empty if the item does not exist.
+     */
+    @Transactional(readOnly = true)
+    public Optional<List<TodoStatusHistoryDTO>> getTodoItemHistory(Long id) {
+        log.info("Retrieving status history of todo item with ID: {}", id);
+
+        if (!todoStore.existsById(id)) {
+            return Optional.empty();
+        }
+        return Optional.of(todoItemMapper.toHistoryDTOList(todoStatusHistoryRepository.findByTodoIdOrderByIdAsc(id)));
     }
 
-    private TodoItemEntity updateTodoFields(TodoItemEntity todo, TodoPatchDTO patchDTO) {
-        // Prevent updates to past due items
-        if (todo.getStatus() == TodoStatus.PAST_DUE) {
-            throw new IllegalStateException("Cannot update a past due item");
+    /**
+     * Retrieves many todo items by ID in one go, keeping the requested order (duplicates are returned once)
+     * and reporting the IDs that do not exist.
+     */
+    @Transactional(readOnly = true)
+    public TodoBatchResponseDTO getTodoItemsByIds(List<Long> ids) {
+        log.info("Retrieving {} todo items by ID", ids.size());
+
+        List<Long> uniqueIds = List.copyOf(new LinkedHashSet<>(ids));
+        List<TodoItemEntity> found = todoStore.findAllByIdInOrder(uniqueIds);
+
+        List<TodoResponseDTO> items = new ArrayList<>(uniqueIds.size());
+        List<Long> missingIds = new ArrayList<>();
+        for (int i = 0; i < uniqueIds.size(); i++) {
+            TodoItemEntity item = found.get(i);
+            if (item != null) {
+                items.add(todoItemMapper.toResponseDTO(item));
+            } else {
+                missingIds.add(uniqueIds.get(i));
+            }
+        }
+
+        log.info("Retrieved {} todo items, {} IDs not found", items.size(), missingIds.size());
+        return new TodoBatchResponseDTO(items, missingIds);
+    }
+
+    /**
+     * Retrieves NOT_DONE items due in [dueFrom, dueTo), soonest first, one keyset page at a time. A cursor carries
+     * the window of the first page, which later pages keep in place of the one passed in.
+     */
+    @Transactional(readOnly = true)
+    public TodoPageDTO getTodoItemsDueBetween(LocalDateTime dueFrom, LocalDateTime dueTo, String cursor, int limit) {
+        DueWindowCursor window = cursor != null
+                ? DueWindowCursor.decode(cursor)
+                : new DueWindowCursor(dueFrom, dueTo, new PageCursor(dueFrom, -1L));
+        LocalDateTime from = window.dueFrom();
+        LocalDateTime to = window.dueTo();
+        if (!from.isBefore(to)) {
+            throw new InvalidQueryException("dueFrom must be before dueTo");
+        }
+        log.info("Retrieving todo items due between {} and {}", from, to);
+
+        PageCursor after = window.after();
+        // Items already due are PAST_DUE in virtual mode even though they are stored as NOT_DONE
+        LocalDateTime now = LocalDateTime.now();
+        LocalDateTime notDueBefore = pastDuePolicy.isVirtual() && from.isBefore(now) ? now : from;
+        if (!notDueBefore.isBefore(to)) {
+            return new TodoPageDTO(List.of(), null);
+        }
+        List<TodoItemEntity> page = todoStore.findDueWindow(TodoStatus.NOT_DONE, notDueBefore, to,
+                after.datetime(), after.id(), Limit.of(limit + 1));
+
+        boolean hasMore = page.size() > limit;
+        List<TodoItemEntity> items = hasMore ? page.subList(0, limit) : page;
+        String nextCursor = hasMore
+                ? new DueWindowCursor(from, to,
+                        new PageCursor(items.getLast().getDueDatetime(), items.getLast().getId())).encode()
+                : null;
+
+        return new TodoPageDTO(todoItemMapper.toResponseDTOList(items), nextCursor);
+    }
+
+    /**
+     * Retrieves the todo items, optionally filtered by status, in the given order, one keyset page at a time.
+     * Items without a due datetime come last, by id, when sorting by due datetime.
+     * <p>
+     * Every page is read from index ranges in index order. The virtual PAST_DUE list spans two ranges, whose
+     * pages are merged.
+     */
+    @Transactional(readOnly = true)
+    public TodoPageDTO getSortedTodoItems(String requestedStatus, TodoSort sort, String cursor, int limit) {
+        log.info("Retrieving todo items with status {} sorted by {}", requestedStatus, sort.getParameter());
+
+        TodoStatus status = requestedStatus != null ? TodoStatus.from(requestedStatus) : null;
+        List<ListSegment> segments = segments(status, LocalDateTime.now());
+        PageCursor after = cursor != null ? PageCursor.decode(cursor) : null;
+        if (after != null && after.datetime() == null && !sort.hasOptionalKey()) {
+            throw new InvalidQueryException("Invalid cursor: " + cursor);
+        }
+
+        List<TodoItemEntity> page = new ArrayList<>(limit + 1);
+        boolean inUndatedTail = after != null && after.datetime() == null;
+        if (!inUndatedTail) {
+            for (ListSegment segment : segments) {
+                page.addAll(todoStore.findSortedPage(segment.status(), segment.dueAfter(), segment.dueBefore(),
+                        sort, after, Limit.of(limit + 1)));
+            }
+            if (segments.size() > 1) {
+                page.sort(sort.comparator());
+            }
+        }
+        if (sort.hasOptionalKey()) {
+            long afterId = inUndatedTail ? after.id() : -1L;
+            for (ListSegment segment : segments) {
+                // Items due before a bound always have a due datetime
+                if (page.size() <= limit && segment.dueBefore() == null) {
+                    page.addAll(todoStore.findUndatedPage(segment.status(), afterId,
+                            Limit.of(limit + 1 - page.size())));
+                }
+            }
         }
 
-        Optional.ofNullable(patchDTO.getDescription())
+        boolean hasMore = page.size() > limit;
+        List<TodoItemEntity> items = hasMore ? page.subList(0, limit) : page;
+        String nextCursor = hasMore
+                ? new PageCursor(sort.keyOf(items.getLast()), items.getLast().getId()).encode()
+                : null;
+
+        return new TodoPageDTO(todoItemMapper.toResponseDTOList(items), nextCursor);
+    }
+
+    /**
+     * Returns when the overdue NOT_DONE items became overdue, for at most {@code limit} of them, earliest due first:
+     * their due datetime, or their creation datetime for the ones created already overdue.
+     */
+    @Transactional(readOnly = true)
+    public List<LocalDateTime> getOverdueSince(LocalDateTime now, int limit) {
+        return todoStore.findDueWindow(TodoStatus.NOT_DONE, EARLIEST_DUE, now, EARLIEST_DUE, -1L, Limit.of(limit))
+                .stream()
+                .map(item -> item.getCreationDatetime().isAfter(item.getDueDatetime())
+                        ? item.getCreationDatetime()
+                        : item.getDueDatetime())
+                .toList();
+    }
+
+    /**
+     * Returns the next moment after {@code now} at which a NOT_DONE item becomes due, if any.
+     */
+    @Transactional(readOnly = true)
+    public Optional<LocalDateTime> getNextDueDatetime(LocalDateTime now) {
+        return Optional.ofNullable(todoStore.findNextDueDatetime(now, TodoStatus.NOT_DONE));
+    }
+
+    /**
+     * Retrieves only the requested fields of the todo items, optionally filtered by status.
+     * Only the requested columns are selected from the database. Concurrent identical calls share one query.
+     */
+    @Transactional(propagation = Propagation.SUPPORTS, readOnly = true)
+    public List<Map<String, Object>> getTodoItemFields(String requestedStatus, Set<TodoField> fields) {
+        log.info("Retrieving fields {} of todo items with status: {}", fields, requestedStatus);
+
+        TodoStatus status = requestedStatus != null ? TodoStatus.from(requestedStatus) : null;
+
+        // fields is an EnumSet, so its order (the TodoField declaration order) is fixed and the key is canonical
+        return singleFlight.execute("fields", status + "&" + fields, () ->
+                todoStore.findProjected(fields, status, LocalDateTime.now(), pastDuePolicy.getMode())
+                        .stream()
+                        .map(tuple -> todoItemMapper.toFieldMap(tuple, fields))
+                        .toList());
+    }
+
+    /**
+     * Retrieves only the requested fields of a todo item by ID.
+     */
+    @Transactional(readOnly = true)
+    public Optional<Map<String, Object>> getTodoItemFieldsById(Long id, Set<TodoField> fields) {
+        log.info("Retrieving fields {} of todo item with ID: {}", fields, id);
+
+        return todoStore.findProjectedById(id, fields, pastDuePolicy.getMode())
+                .map(tuple -> todoItemMapper.toFieldMap(tuple, fields));
+    }
+
+    /**
+     * Applies a partial update. Every check runs before the item is touched, so a rejected patch leaves nothing to
+     * roll back.
+     */
+    public PatchOutcome patchTodo(Long id, TodoPatchDTO patchDTO) {
+        Optional<TodoItemEntity> found = todoStore.findById(id);
+        if (found.isEmpty()) {
+            return PatchOutcome.NOT_FOUND;
+        }
+        TodoItemEntity todo = found.get();
+        if (pastDuePolicy.effectiveStatus(todo) == TodoStatus.PAST_DUE) {
+            return PatchOutcome.PAST_DUE;
+        }
+
+        TodoStatus status = null;
+        if (patchDTO.getStatus() != null) {
+            status = TodoStatus.lookup(patchDTO.getStatus());
+            if (status == null) {
+                return new PatchOutcome.InvalidStatus("Invalid status: " + patchDTO.getStatus());
+            }
+            if (!TodoStatus.isUpdatableStatus(status)) {
+                return new PatchOutcome.InvalidStatus(String.format(
+                        "Invalid status value: '%s'. Valid values are: 'done', 'not done'", patchDTO.getStatus()));
+            }
+        }
+
+        TodoStatus previousStatus = todo.getStatus();
+        TodoItemEntity savedItem = todoStore.save(updateTodoFields(todo, patchDTO.getDescription(), status));
+        eventPublisher.publishEvent(new TodoUpdatedEvent(savedItem, previousStatus));
+        return new PatchOutcome.Updated(todoItemMapper.toResponseDTO(savedItem));
+    }
+
+    /**
+     * Deletes a todo item. Returns false if it does not exist (or was already deleted).
+     */
+    public boolean deleteTodoItem(Long id) {
+        log.info("Deleting todo item with ID: {}", id);
+
+        LocalDateTime now = LocalDateTime.now();
+        if (todoStore.markDeleted(List.of(id), now) == 0) {
+            return false;
+        }
+        eventPublisher.publishEvent(new TodoItemsDeletedEvent(List.of(id), now));
+        return true;
+    }
+
+    /**
+     * Deletes many todo items in one go, reporting the IDs that do not exist. Duplicates are handled once.
+     */
+    public TodoBatchDeleteResponseDTO deleteTodoItems(List<Long> ids) {
+        log.info("Deleting {} todo items by ID", ids.size());
+
+        List<Long> uniqueIds = List.copyOf(new LinkedHashSet<>(ids));
+        List<TodoItemEntity> found = todoStore.findAllByIdInOrder(uniqueIds);
+        List<Long> deletedIds = new ArrayList<>(uniqueIds.size());
+        List<Long> missingIds = new ArrayList<>();
+        for (int i = 0; i < uniqueIds.size(); i++) {
+            (found.get(i) != null ? deletedIds : missingIds).add(uniqueIds.get(i));
+        }
+
+        LocalDateTime now = LocalDateTime.now();
+        if (!deletedIds.isEmpty()) {
+            todoStore.markDeleted(deletedIds, now);
+            eventPublisher.publishEvent(new TodoItemsDeletedEvent(deletedIds, now));
+        }
+
+        log.info("Deleted {} todo items, {} IDs not found", deletedIds.size(), missingIds.size());
+        return new TodoBatchDeleteResponseDTO(deletedIds, missingIds);
+    }
+
+    private TodoItemEntity updateTodoFields(TodoItemEntity todo, String description, TodoStatus status) {
+        Optional.ofNullable(description)
                 .ifPresent(todo::setDescription);
-                
-        Optional.ofNullable(patchDTO.getStatus())
-                .ifPresent(statusStr -> {
-                    TodoStatus status = convertToTodoStatus(statusStr);
-                    todo.setStatus(status);
-                    
+
+        Optional.ofNullable(status)
+                .ifPresent(newStatus -> {
+                    todo.setStatus(newStatus);
+
                     // Set the done datetime when the item is marked as done
-                    if (status == TodoStatus.DONE) {
+                    if (newStatus == TodoStatus.DONE) {
                         todo.setDoneDatetime(LocalDateTime.now());
                     }
                 });
-        
-        return todo;
-    }
 
-    private TodoStatus convertToTodoStatus(String statusStr) {
-        // Call TodoStatus.from to convert string to enum using the existing utility method
-        TodoStatus requestedStatus = TodoStatus.from(statusStr.toLowerCase());
-        
-        // Verify that we can update to this status
-        if (!TodoStatus.isUpdatableStatus(requestedStatus)) {
-            throw new InvalidStatusException(
-                String.format("Invalid status value: '%s'. Valid values are: 'done', 'not done'", statusStr)
-            );
-        }
-        
-        return requestedStatus;
+        return todo;
     }
 
+    /**
+     * Retrieves the todo items with the given status. The status is normalized before coalescing, so
+     * "not done" and "NOT DONE" share one query.
+     */
+    @Transactional(propagation = Propagation.SUPPORTS, readOnly = true)
     public List<TodoResponseDTO> getTodoItemsByStatus(String requestedStatus) {
-        
+
         TodoStatus status = TodoStatus.from(requestedStatus);
-        
-        return (status.equals(TodoStatus.NOT_DONE)
-                ? todoItemRepository.findNotDoneItems(LocalDateTime.now(), TodoStatus.NOT_DONE)
-                : todoItemRepository.findByStatusOrderByCreationDatetimeDesc(status))
-                .stream()
+
+        return singleFlight.execute("byStatus", status.name(), () -> findByStatus(status).stream()
                 .map(todoItemMapper::toResponseDTO)
-                .toList();
+                .toList());
+    }
+
+    /**
+     * Same filtering as {@link #findByStatus(TodoStatus)}, as index ranges.
+     */
+    private List<ListSegment> segments(TodoStatus status, LocalDateTime now) {
+        if (status == null) {
+            return List.of(new ListSegment(null, null, null));
+        }
+        return switch (status) {
+            case NOT_DONE -> List.of(new ListSegment(TodoStatus.NOT_DONE, now, null));
+            case PAST_DUE -> pastDuePolicy.isVirtual()
+                    ? List.of(new ListSegment(TodoStatus.PAST_DUE, null, null),
+                            new ListSegment(TodoStatus.NOT_DONE, null, now))
+                    : List.of(new ListSegment(TodoStatus.PAST_DUE, null, null));
+            case DONE -> List.of(new ListSegment(TodoStatus.DONE, null, null));
+        };
+    }
+
+    private List<TodoResponseDTO> findAll() {
+        List<TodoItemEntity> todoItems = todoStore.findAllByOrderByCreationDatetimeDesc();
+
+        log.info("Retrieved {} todo items", todoItems.size());
+        return todoItemMapper.toResponseDTOList(todoItems);
+    }
+
+    private List<TodoItemEntity> findByStatus(TodoStatus status) {
+        LocalDateTime now = LocalDateTime.now();
+        return switch (status) {
+            case NOT_DONE -> todoStore.findNotDoneItems(now, TodoStatus.NOT_DONE);
+            case PAST_DUE -> pastDuePolicy.isVirtual()
+                    ? todoStore.findPastDueItems(now, TodoStatus.NOT_DONE, TodoStatus.PAST_DUE)
+                    : todoStore.findByStatusOrderByCreationDatetimeDesc(status);
+            case DONE -> todoStore.findByStatusOrderByCreationDatetimeDesc(status);
+        };
     }
 }
@@ -0,0 +1,150 @@
+package com.sidpaw.todobackend.snapshot;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sidpaw.todobackend.dto.TodoResponseDTO;
+import com.sidpaw.todobackend.event.PastDueItemsUpdatedEvent;
+import com.sidpaw.todobackend.event.TodoCreatedEvent;
+import com.sidpaw.todobackend.event.TodoItemsDeletedEvent;
+import com.sidpaw.todobackend.event.TodoUpdatedEvent;
+import com.sidpaw.todobackend.model.TodoStatus;
+import com.sidpaw.todobackend.service.TodoItemService;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.vavr.control.Try;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Keeps the JSON encoding of each list variant (all, not done, done, past due) so repeated list requests are
+ * answered without querying or serializing.
+ * <p>
+ * A snapshot is valid while the global change version it was built at is current. The version is bumped after
+ * every committed create, patch, delete and scheduler run, and by {@link #invalidate()} for writes that bypass those
+ * paths. Because a NOT_DONE item moves to another list when its due datetime passes, a snapshot also expires at
+ * the earliest future due datetime among NOT_DONE items at build time.
+ * <p>
+ * Metrics: {@code todo.snapshot.requests} per {@code variant} with {@code result} {@code hit}, {@code rebuild} or
+ * {@code oversized}, and {@code todo.snapshot.bytes} for the memory held.
+ */
+@Slf4j
+public class ResponseSnapshotCache {
+
+    private static final String ALL_VARIANT = "ALL";
+
+    private final TodoItemService todoItemService;
+    private final ObjectMapper objectMapper;
+    private final SnapshotProperties properties;
+    private final MeterRegistry meterRegistry;
+    private final AtomicLong version = new AtomicLong();
+    private final Map<String, Snapshot> snapshots = new ConcurrentHashMap<>();
+    private final Map<String, Counter> counters = new ConcurrentHashMap<>();
+
+    private record Snapshot(long version, LocalDateTime validUntil, byte[] json) {
+
+        boolean isValid(long currentVersion, LocalDateTime now) {
+            return version == currentVersion && (validUntil == null || now.isBefore(validUntil));
+        }
+    }
+
+    public ResponseSnapshotCache(TodoItemService todoItemService,
+                                 ObjectMapper objectMapper,
+                                 SnapshotProperties properties,
+                                 MeterRegistry meterRegistry) {
+        this.todoItemService = todoItemService;
+        this.objectMapper = objectMapper;
+        this.properties = properties;
+        this.meterRegistry = meterRegistry;
+        Gauge.builder("todo.snapshot.bytes", snapshots,
+                        values -> values.values().stream().mapToLong(snapshot -> snapshot.json().length).sum())
+                .description("Bytes held by the list response snapshots")
+                .baseUnit("bytes")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Returns the JSON encoding of the todo items list, optionally filtered by status.
+     */
+    public byte[] getList(String requestedStatus) {
+        if (!properties.isEnabled()) {
+            return serialize(load(requestedStatus));
+        }
+
+        String variant = requestedStatus != null ? TodoStatus.from(requestedStatus).name() : ALL_VARIANT;
+        LocalDateTime now = LocalDateTime.now();
+        Snapshot snapshot = snapshots.get(variant);
+        if (snapshot != null && snapshot.isValid(version.get(), now)) {
+            counter(variant, "hit").increment();
+            return snapshot.json();
+        }
+
+        // Read the version before querying: a change committed meanwhile makes this snapshot stale right away. The
+        // query is not coalesced, a shared one could have started before the change that moved the version
+        long buildVersion = version.get();
+        LocalDateTime validUntil = todoItemService.getNextDueDatetime(now).orElse(null);
+        byte[] json = serialize(todoItemService.listTodoItems(requestedStatus));
+
+        if (json.length > properties.getMaxEntrySize().toBytes()) {
+            counter(variant, "oversized").increment();
+            snapshots.remove(variant);
+            return json;
+        }
+        counter(variant, "rebuild").increment();
+        log.debug("Rebuilt {} list snapshot at version {} ({} bytes)", variant, buildVersion, json.length);
+        snapshots.merge(variant, new Snapshot(buildVersion, validUntil, json),
+                (current, rebuilt) -> current.version() > rebuilt.version() ? current : rebuilt);
+        return json;
+    }
+
+    /**
+     * Makes every snapshot stale. Called after the change commits, for writes that do not publish the todo events.
+     */
+    public void invalidate() {
+        version.incrementAndGet();
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onTodoCreated(TodoCreatedEvent event) {
+        invalidate();
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onTodoUpdated(TodoUpdatedEvent event) {
+        invalidate();
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onPastDueItemsUpdated(PastDueItemsUpdatedEvent event) {
+        invalidate();
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onTodoItemsDeleted(TodoItemsDeletedEvent event) {
+        invalidate();
+    }
+
+    private List<TodoResponseDTO> load(String requestedStatus) {
+        return requestedStatus != null
+                ? todoItemService.getTodoItemsByStatus(requestedStatus)
+                : todoItemService.getAllTodoItems();
+    }
+
+    private byte[] serialize(List<TodoResponseDTO> items) {
+        return Try.of(() -> objectMapper.writeValueAsBytes(items))
+                .getOrElseThrow(e -> new IllegalStateException("Could not serialize todo items", e));
+    }
+
+    private Counter counter(String variant, String result) {
+        return counters.computeIfAbsent(variant + ':' + result, key -> Counter.builder("todo.snapshot.requests")
+                .description("List requests by whether they were answered from a snapshot")
+                .tag("variant", variant)
+                .tag("result", result)
+                .register(meterRegistry));
+    }
+}
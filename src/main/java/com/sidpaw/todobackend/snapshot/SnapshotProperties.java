@@ -0,0 +1,21 @@
+package com.sidpaw.todobackend.snapshot;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.util.unit.DataSize;
+
+/**
+ * Settings for the pre-serialized list response snapshots.
+ */
+@Data
+@ConfigurationProperties(prefix = "todo.snapshot")
+public class SnapshotProperties {
+
+    private boolean enabled = true;
+
+    /**
+     * Largest encoded list kept in memory. Bigger lists are serialized per request. With one snapshot per list
+     * variant this bounds the cache at four times this size.
+     */
+    private DataSize maxEntrySize = DataSize.ofMegabytes(4);
+}
@@ -0,0 +1,295 @@
+package com.sidpaw.todobackend.store;
+
+import com.sidpaw.todobackend.analytics.CompletionTime;
+import com.sidpaw.todobackend.entity.TodoItemEntity;
+import com.sidpaw.todobackend.history.StatusHistoryRecorder;
+import com.sidpaw.todobackend.model.PageCursor;
+import com.sidpaw.todobackend.model.PastDueMode;
+import com.sidpaw.todobackend.model.TodoField;
+import com.sidpaw.todobackend.model.TodoSort;
+import com.sidpaw.todobackend.model.TodoStatus;
+import jakarta.persistence.Tuple;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.core.Ordered;
+import org.springframework.data.domain.Limit;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+
+/**
+ * Store of the {@code log} and {@code memory} engines, which write right away and cannot roll back: the writes made
+ * in a transaction are held back and applied to the engine once it commits, so the items never get a change whose
+ * outbox event and status history rows were rolled back. A rolled-back transaction leaves the engine untouched.
+ * <p>
+ * New items get their id from the engine when they are written, so the caller sees it before the commit. Lookups by
+ * id inside the transaction see its own pending writes; the list and page queries see committed items only. The
+ * writes are applied ahead of the other after-commit work, in the order they were made. Without a transaction
+ * writes go straight to the engine.
+ * <p>
+ * The engines keep no status history of their own: the past-due update records the transitions of the items it
+ * moves with the {@link StatusHistoryRecorder}.
+ */
+@Slf4j
+public class BufferedTodoStore implements TodoStore {
+
+    private final IdAllocatingTodoStore engine;
+    private final StatusHistoryRecorder statusHistoryRecorder;
+
+    public BufferedTodoStore(IdAllocatingTodoStore engine, StatusHistoryRecorder statusHistoryRecorder) {
+        this.engine = engine;
+        this.statusHistoryRecorder = statusHistoryRecorder;
+    }
+
+    public TodoStore getEngine() {
+        return engine;
+    }
+
+    @Override
+    public TodoItemEntity save(TodoItemEntity item) {
+        PendingWrites pending = pendingWrites();
+        if (pending == null) {
+            return engine.save(item);
+        }
+        if (item.getId() == null) {
+            item.setId(engine.allocateId());
+        }
+        TodoItemEntity written = copy(item);
+        pending.items.put(written.getId(), Optional.of(written));
+        pending.writes.add(target -> target.save(copy(written)));
+        return item;
+    }
+
+    @Override
+    public List<TodoItemEntity> insertAll(List<TodoItemEntity> items) {
+        PendingWrites pending = pendingWrites();
+        if (pending == null) {
+            return engine.insertAll(items);
+        }
+        List<TodoItemEntity> written = new ArrayList<>(items.size());
+        for (TodoItemEntity item : items) {
+            if (item.getId() == null) {
+                item.setId(engine.allocateId());
+            }
+            TodoItemEntity copy = copy(item);
+            pending.items.put(copy.getId(), Optional.of(copy));
+            written.add(copy);
+        }
+        pending.writes.add(target -> target.insertAll(written.stream().map(BufferedTodoStore::copy).toList()));
+        return items;
+    }
+
+    @Override
+    public Optional<TodoItemEntity> findById(Long id) {
+        PendingWrites pending = boundWrites();
+        if (pending != null && pending.items.containsKey(id)) {
+            return pending.items.get(id).map(BufferedTodoStore::copy);
+        }
+        return engine.findById(id);
+    }
+
+    @Override
+    public boolean existsById(Long id) {
+        PendingWrites pending = boundWrites();
+        if (pending != null && pending.items.containsKey(id)) {
+            return pending.items.get(id).isPresent();
+        }
+        return engine.existsById(id);
+    }
+
+    @Override
+    public List<TodoItemEntity> findAllByIdInOrder(List<Long> ids) {
+        List<TodoItemEntity> found = engine.findAllByIdInOrder(ids);
+        PendingWrites pending = boundWrites();
+        if (pending == null || pending.items.isEmpty()) {
+            return found;
+        }
+        List<TodoItemEntity> merged = new ArrayList<>(found);
+        for (int i = 0; i < ids.size(); i++) {
+            Optional<TodoItemEntity> written = pending.items.get(ids.get(i));
+            if (written != null) {
+                merged.set(i, written.map(BufferedTodoStore::copy).orElse(null));
+            }
+        }
+        return merged;
+    }
+
+    @Override
+    public List<TodoItemEntity> findAllByOrderByCreationDatetimeDesc() {
+        return engine.findAllByOrderByCreationDatetimeDesc();
+    }
+
+    @Override
+    public List<TodoItemEntity> findNotDoneItems(LocalDateTime now, TodoStatus status) {
+        return engine.findNotDoneItems(now, status);
+    }
+
+    @Override
+    public List<TodoItemEntity> findPastDueItems(LocalDateTime now, TodoStatus notDoneStatus, TodoStatus pastDueStatus) {
+        return engine.findPastDueItems(now, notDoneStatus, pastDueStatus);
+    }
+
+    @Override
+    public List<TodoItemEntity> findByStatusOrderByCreationDatetimeDesc(TodoStatus status) {
+        return engine.findByStatusOrderByCreationDatetimeDesc(status);
+    }
+
+    @Override
+    public List<TodoItemEntity> findDueWindow(TodoStatus status, LocalDateTime dueFrom, LocalDateTime dueTo,
+                                              LocalDateTime afterDue, Long afterId, Limit limit) {
+        return engine.findDueWindow(status, dueFrom, dueTo, afterDue, afterId, limit);
+    }
+
+    @Override
+    public List<TodoItemEntity> findSortedPage(TodoStatus status, LocalDateTime dueAfter, LocalDateTime dueBefore,
+                                               TodoSort sort, PageCursor after, Limit limit) {
+        return engine.findSortedPage(status, dueAfter, dueBefore, sort, after, limit);
+    }
+
+    @Override
+    public List<TodoItemEntity> findUndatedPage(TodoStatus status, long afterId, Limit limit) {
+        return engine.findUndatedPage(status, afterId, limit);
+    }
+
+    @Override
+    public LocalDateTime findNextDueDatetime(LocalDateTime now, TodoStatus status) {
+        return engine.findNextDueDatetime(now, status);
+    }
+
+    @Override
+    public List<Tuple> findProjected(Set<TodoField> fields, TodoStatus status, LocalDateTime now, PastDueMode mode) {
+        return engine.findProjected(fields, status, now, mode);
+    }
+
+    @Override
+    public Optional<Tuple> findProjectedById(Long id, Set<TodoField> fields, PastDueMode mode) {
+        return engine.findProjectedById(id, fields, mode);
+    }
+
+    @Override
+    public Stream<CompletionTime> streamCompletionTimes(TodoStatus status) {
+        return engine.streamCompletionTimes(status);
+    }
+
+    @Override
+    public int updatePastDueItems(LocalDateTime now, TodoStatus currentStatus, TodoStatus newStatus) {
+        // The items are in memory already, so listing the ones about to move costs no round trip
+        List<Long> ids = engine.findPastDueItems(now, currentStatus, newStatus).stream()
+                .filter(item -> item.getStatus() == currentStatus)
+                .map(TodoItemEntity::getId)
+                .toList();
+        statusHistoryRecorder.recordPastDueTransitions(ids, now);
+        write(target -> moveToStatus(target, ids, currentStatus, newStatus));
+        return ids.size();
+    }
+
+    @Override
+    public int markDeleted(Collection<Long> ids, LocalDateTime now) {
+        PendingWrites pending = pendingWrites();
+        if (pending == null) {
+            return engine.markDeleted(ids, now);
+        }
+        List<Long> deletedIds = List.copyOf(ids);
+        int deleted = 0;
+        for (Long id : deletedIds) {
+            if (existsById(id)) {
+                pending.items.put(id, Optional.empty());
+                deleted++;
+            }
+        }
+        pending.writes.add(target -> target.markDeleted(deletedIds, now));
+        return deleted;
+    }
+
+    @Override
+    public void deleteAll() {
+        // Not buffered; only used outside of request transactions
+        engine.deleteAll();
+    }
+
+    private void write(Consumer<TodoStore> write) {
+        PendingWrites pending = pendingWrites();
+        if (pending == null) {
+            write.accept(engine);
+        } else {
+            pending.writes.add(write);
+        }
+    }
+
+    // Moves the listed items, unless a write committed meanwhile took them out of the current status
+    private static void moveToStatus(TodoStore target, List<Long> ids, TodoStatus currentStatus,
+                                     TodoStatus newStatus) {
+        target.findAllByIdInOrder(ids).stream()
+                .filter(item -> item != null && item.getStatus() == currentStatus)
+                .forEach(item -> {
+                    item.setStatus(newStatus);
+                    target.save(item);
+                });
+    }
+
+    // The writes of the current transaction, if it has made any; reads do not start a buffer
+    private PendingWrites boundWrites() {
+        return TransactionSynchronizationManager.isSynchronizationActive()
+                ? (PendingWrites) TransactionSynchronizationManager.getResource(this)
+                : null;
+    }
+
+    private PendingWrites pendingWrites() {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            return null;
+        }
+        PendingWrites pending = (PendingWrites) TransactionSynchronizationManager.getResource(this);
+        if (pending == null) {
+            pending = new PendingWrites();
+            TransactionSynchronizationManager.bindResource(this, pending);
+            TransactionSynchronizationManager.registerSynchronization(pending);
+        }
+        return pending;
+    }
+
+    private static TodoItemEntity copy(TodoItemEntity item) {
+        return new TodoItemEntity(item.getId(), item.getDescription(), item.getStatus(), item.getCreationDatetime(),
+                item.getDueDatetime(), item.getDoneDatetime(), item.getDeletedDatetime());
+    }
+
+    private final class PendingWrites implements TransactionSynchronization {
+
+        private final List<Consumer<TodoStore>> writes = new ArrayList<>();
+        // Latest state written in the transaction per id, empty once deleted
+        private final Map<Long, Optional<TodoItemEntity>> items = new HashMap<>();
+
+        // Ahead of the after-commit listeners that read the items, such as the response snapshots
+        @Override
+        public int getOrder() {
+            return Ordered.HIGHEST_PRECEDENCE;
+        }
+
+        @Override
+        public void afterCommit() {
+            for (Consumer<TodoStore> write : writes) {
+                try {
+                    write.accept(engine);
+                } catch (RuntimeException e) {
+                    log.error("Could not apply a committed write to the todo store", e);
+                }
+            }
+        }
+
+        @Override
+        public void afterCompletion(int status) {
+            TransactionSynchronizationManager.unbindResourceIfPossible(BufferedTodoStore.this);
+            if (status == STATUS_ROLLED_BACK && !writes.isEmpty()) {
+                log.debug("Transaction rolled back, dropping {} todo store writes", writes.size());
+            }
+        }
+    }
+}
@@ -0,0 +1,598 @@
+package com.sidpaw.todobackend.store;
+
+import com.sidpaw.todobackend.analytics.CompletionTime;
+import com.sidpaw.todobackend.entity.TodoItemEntity;
+import com.sidpaw.todobackend.model.PageCursor;
+import com.sidpaw.todobackend.model.PastDueMode;
+import com.sidpaw.todobackend.model.TodoField;
+import com.sidpaw.todobackend.model.TodoSort;
+import com.sidpaw.todobackend.model.TodoStatus;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.persistence.Tuple;
+import org.springframework.data.domain.Limit;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.IntPredicate;
+import java.util.function.ToLongFunction;
+import java.util.stream.Stream;
+
+/**
+ * Keeps todo items in memory, one array per column, so a lookup by id touches no boxed keys or datetime objects:
+ * a {@link LongIntHashMap} maps the id to a slot and the columns are read at that slot. Datetimes are stored as
+ * epoch units (UTC) with {@link Long#MIN_VALUE} for null, so precision finer than the unit is dropped on save:
+ * seconds for the {@code memory} engine, microseconds like the database columns for the read model. The status is
+ * stored as its ordinal.
+ * <p>
+ * Each status has a list of slots ordered by creation datetime then id, which the newest-first queries read
+ * backwards and merge, without sorting. A deleted item is removed right away, the last slot moving into its place,
+ * so the columns stay dense. Items are lost on restart.
+ */
+public class ColumnarTodoStore implements IdAllocatingTodoStore {
+
+    private static final long NONE = Long.MIN_VALUE;
+    private static final TodoStatus[] STATUSES = TodoStatus.values();
+
+    private static final Comparator<TodoItemEntity> SOONEST_DUE_FIRST = Comparator
+            .comparing(TodoItemEntity::getDueDatetime)
+            .thenComparing(TodoItemEntity::getId);
+    private static final Comparator<TodoItemEntity> BY_ID = Comparator.comparing(TodoItemEntity::getId);
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final long nanosPerUnit;
+    private final long unitsPerSecond;
+    private final LongIntHashMap slotsById;
+    private final SlotList[] slotsByStatus = new SlotList[STATUSES.length];
+
+    private long[] ids;
+    private String[] descriptions;
+    private byte[] statuses;
+    private long[] createdAt;
+    private long[] dueAt;
+    private long[] doneAt;
+    private int size;
+    private long nextId = 1;
+
+    public ColumnarTodoStore(StorageProperties.Memory properties, MeterRegistry meterRegistry) {
+        this(properties.getInitialCapacity(), ChronoUnit.SECONDS);
+
+        Gauge.builder("todo.storage.memory.items", this, store -> store.size)
+                .description("Items in the in-memory todo store")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Creates a store without metrics that keeps datetimes to {@code precision}, a unit that divides a second.
+     */
+    public ColumnarTodoStore(int initialCapacity, ChronoUnit precision) {
+        Duration unit = precision.getDuration();
+        if (unit.compareTo(Duration.ofSeconds(1)) > 0 || Duration.ofSeconds(1).toNanos() % unit.toNanos() != 0) {
+            throw new IllegalArgumentException("Unsupported precision: " + precision);
+        }
+        this.nanosPerUnit = unit.toNanos();
+        this.unitsPerSecond = Duration.ofSeconds(1).toNanos() / nanosPerUnit;
+        int capacity = Math.max(16, initialCapacity);
+        this.slotsById = new LongIntHashMap(capacity);
+        allocate(capacity);
+        for (int i = 0; i < slotsByStatus.length; i++) {
+            slotsByStatus[i] = new SlotList(capacity / STATUSES.length);
+        }
+    }
+
+    /**
+     * Number of items stored.
+     */
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return size;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Number of items with {@code status}, the sum of their ids and the XOR of {@code rowChecksum} over them, read
+     * under one lock.
+     */
+    public long[] summarize(TodoStatus status, ToLongFunction<TodoItemEntity> rowChecksum) {
+        lock.readLock().lock();
+        try {
+            SlotList list = slotsByStatus[status.ordinal()];
+            long idSum = 0;
+            long checksum = 0;
+            for (int i = 0; i < list.size; i++) {
+                int slot = list.slots[i];
+                idSum += ids[slot];
+                checksum ^= rowChecksum.applyAsLong(materialize(slot));
+            }
+            return new long[]{list.size, idSum, checksum};
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Ids of the items with {@code status} due before {@code before}.
+     */
+    public List<Long> findIdsDueBefore(TodoStatus status, LocalDateTime before) {
+        long dueBefore = ceilUnit(before);
+        lock.readLock().lock();
+        try {
+            SlotList list = slotsByStatus[status.ordinal()];
+            List<Long> found = new ArrayList<>();
+            for (int i = 0; i < list.size; i++) {
+                int slot = list.slots[i];
+                if (dueAt[slot] != NONE && dueAt[slot] < dueBefore) {
+                    found.add(ids[slot]);
+                }
+            }
+            return found;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    @Override
+    public long allocateId() {
+        lock.writeLock().lock();
+        try {
+            return nextId++;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public TodoItemEntity save(TodoItemEntity item) {
+        Objects.requireNonNull(item.getDescription(), "description");
+        Objects.requireNonNull(item.getStatus(), "status");
+        Objects.requireNonNull(item.getCreationDatetime(), "creationDatetime");
+        lock.writeLock().lock();
+        try {
+            if (item.getId() == null) {
+                item.setId(nextId++);
+            } else {
+                nextId = Math.max(nextId, item.getId() + 1);
+            }
+            int slot = slotsById.get(item.getId());
+            if (slot == LongIntHashMap.MISSING) {
+                slot = size++;
+                ensureCapacity(size);
+                ids[slot] = item.getId();
+                slotsById.put(item.getId(), slot);
+            } else {
+                // Unlinked before the columns change, the list position depends on the creation datetime
+                slotsByStatus[statuses[slot]].remove(slot);
+            }
+            descriptions[slot] = item.getDescription();
+            statuses[slot] = (byte) item.getStatus().ordinal();
+            createdAt[slot] = toEpoch(item.getCreationDatetime());
+            dueAt[slot] = toEpoch(item.getDueDatetime());
+            doneAt[slot] = toEpoch(item.getDoneDatetime());
+            slotsByStatus[statuses[slot]].insert(slot);
+            return item;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public List<TodoItemEntity> insertAll(List<TodoItemEntity> items) {
+        // One write lock for the batch; save takes it again reentrantly
+        lock.writeLock().lock();
+        try {
+            items.forEach(this::save);
+            return items;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public Optional<TodoItemEntity> findById(Long id) {
+        lock.readLock().lock();
+        try {
+            int slot = slotsById.get(id);
+            return slot != LongIntHashMap.MISSING ? Optional.of(materialize(slot)) : Optional.empty();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    @Override
+    public boolean existsById(Long id) {
+        lock.readLock().lock();
+        try {
+            return slotsById.get(id) != LongIntHashMap.MISSING;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    @Override
+    public List<TodoItemEntity> findAllByIdInOrder(List<Long> ids) {
+        lock.readLock().lock();
+        try {
+            List<TodoItemEntity> items = new ArrayList<>(ids.size());
+            for (Long id : ids) {
+                int slot = slotsById.get(id);
+                items.add(slot != LongIntHashMap.MISSING ? materialize(slot) : null);
+            }
+            return items;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    @Override
+    public List<TodoItemEntity> findAllByOrderByCreationDatetimeDesc() {
+        return newestFirst(slot -> true, STATUSES);
+    }
+
+    @Override
+    public List<TodoItemEntity> findNotDoneItems(LocalDateTime now, TodoStatus status) {
+        long notDueAfter = floorUnit(now);
+        return newestFirst(slot -> dueAt[slot] == NONE || dueAt[slot] > notDueAfter, status);
+    }
+
+    @Override
+    public List<TodoItemEntity> findPastDueItems(LocalDateTime now, TodoStatus notDoneStatus, TodoStatus pastDueStatus) {
+        int notDone = notDoneStatus.ordinal();
+        long overdueBefore = ceilUnit(now);
+        return newestFirst(slot -> statuses[slot] != notDone || (dueAt[slot] != NONE && dueAt[slot] < overdueBefore),
+                notDoneStatus, pastDueStatus);
+    }
+
+    @Override
+    public List<TodoItemEntity> findByStatusOrderByCreationDatetimeDesc(TodoStatus status) {
+        return newestFirst(slot -> true, status);
+    }
+
+    @Override
+    public List<TodoItemEntity> findDueWindow(TodoStatus status, LocalDateTime dueFrom, LocalDateTime dueTo,
+                                              LocalDateTime afterDue, Long afterId, Limit limit) {
+        long from = ceilUnit(dueFrom);
+        long to = ceilUnit(dueTo);
+        long after = floorUnit(afterDue);
+        // Only a cursor in whole units can be equal to a stored due datetime
+        boolean tieBreak = afterDue.getNano() % nanosPerUnit == 0;
+        List<TodoItemEntity> items = newestFirst(slot -> {
+            long due = dueAt[slot];
+            return due != NONE && due >= from && due < to
+                    && (due > after || (tieBreak && due == after && ids[slot] > afterId));
+        }, status);
+        items.sort(SOONEST_DUE_FIRST);
+        return limit.isLimited() && items.size() > limit.max() ? items.subList(0, limit.max()) : items;
+    }
+
+    @Override
+    public List<TodoItemEntity> findSortedPage(TodoStatus status, LocalDateTime dueAfter, LocalDateTime dueBefore,
+                                               TodoSort sort, PageCursor after, Limit limit) {
+        long notDueBefore = dueAfter != null ? floorUnit(dueAfter) : NONE;
+        long dueBeforeUnit = dueBefore != null ? ceilUnit(dueBefore) : NONE;
+        boolean byDue = sort.hasOptionalKey();
+        // Cursors are built from returned items, so their keys are whole units like the stored ones
+        List<TodoItemEntity> items = newestFirst(slot -> {
+            long due = dueAt[slot];
+            return (!byDue || due != NONE)
+                    && (dueAfter == null || due == NONE || due > notDueBefore)
+                    && (dueBefore == null || (due != NONE && due < dueBeforeUnit));
+        }, status != null ? new TodoStatus[]{status} : STATUSES);
+        if (after != null) {
+            items.removeIf(item -> !sort.isAfter(item, after));
+        }
+        items.sort(sort.comparator());
+        return limit.isLimited() && items.size() > limit.max() ? items.subList(0, limit.max()) : items;
+    }
+
+    @Override
+    public List<TodoItemEntity> findUndatedPage(TodoStatus status, long afterId, Limit limit) {
+        List<TodoItemEntity> items = newestFirst(slot -> dueAt[slot] == NONE && ids[slot] > afterId,
+                status != null ? new TodoStatus[]{status} : STATUSES);
+        items.sort(BY_ID);
+        return limit.isLimited() && items.size() > limit.max() ? items.subList(0, limit.max()) : items;
+    }
+
+    @Override
+    public LocalDateTime findNextDueDatetime(LocalDateTime now, TodoStatus status) {
+        long after = floorUnit(now);
+        lock.readLock().lock();
+        try {
+            SlotList list = slotsByStatus[status.ordinal()];
+            long next = NONE;
+            for (int i = 0; i < list.size; i++) {
+                long due = dueAt[list.slots[i]];
+                if (due != NONE && due > after && (next == NONE || due < next)) {
+                    next = due;
+                }
+            }
+            return toDatetime(next);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    @Override
+    public List<Tuple> findProjected(Set<TodoField> fields, TodoStatus status, LocalDateTime now, PastDueMode mode) {
+        List<TodoItemEntity> items;
+        if (status == TodoStatus.NOT_DONE) {
+            items = findNotDoneItems(now, status);
+        } else if (status == TodoStatus.PAST_DUE && mode == PastDueMode.VIRTUAL) {
+            items = findPastDueItems(now, TodoStatus.NOT_DONE, status);
+        } else if (status != null) {
+            items = findByStatusOrderByCreationDatetimeDesc(status);
+        } else {
+            items = findAllByOrderByCreationDatetimeDesc();
+        }
+        return items.stream()
+                .<Tuple>map(item -> EntityTuple.of(item, fields, mode))
+                .toList();
+    }
+
+    @Override
+    public Optional<Tuple> findProjectedById(Long id, Set<TodoField> fields, PastDueMode mode) {
+        return findById(id).map(item -> EntityTuple.of(item, fields, mode));
+    }
+
+    @Override
+    public Stream<CompletionTime> streamCompletionTimes(TodoStatus status) {
+        lock.readLock().lock();
+        try {
+            SlotList list = slotsByStatus[status.ordinal()];
+            List<CompletionTime> times = new ArrayList<>(list.size);
+            for (int i = list.size - 1; i >= 0; i--) {
+                int slot = list.slots[i];
+                if (doneAt[slot] != NONE) {
+                    times.add(new CompletionTime(ids[slot], toDatetime(createdAt[slot]),
+                            toDatetime(doneAt[slot])));
+                }
+            }
+            return times.stream();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    @Override
+    public int updatePastDueItems(LocalDateTime now, TodoStatus currentStatus, TodoStatus newStatus) {
+        long overdueBefore = ceilUnit(now);
+        lock.writeLock().lock();
+        try {
+            SlotList current = slotsByStatus[currentStatus.ordinal()];
+            SlotList target = slotsByStatus[newStatus.ordinal()];
+            int[] moved = new int[current.size];
+            int movedCount = 0;
+            int kept = 0;
+            for (int i = 0; i < current.size; i++) {
+                int slot = current.slots[i];
+                if (dueAt[slot] != NONE && dueAt[slot] < overdueBefore) {
+                    moved[movedCount++] = slot;
+                } else {
+                    current.slots[kept++] = slot;
+                }
+            }
+            current.size = kept;
+            for (int i = 0; i < movedCount; i++) {
+                statuses[moved[i]] = (byte) newStatus.ordinal();
+                target.insert(moved[i]);
+            }
+            return movedCount;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public int markDeleted(Collection<Long> ids, LocalDateTime now) {
+        lock.writeLock().lock();
+        try {
+            int deleted = 0;
+            for (Long id : ids) {
+                int slot = slotsById.remove(id);
+                if (slot != LongIntHashMap.MISSING) {
+                    slotsByStatus[statuses[slot]].remove(slot);
+                    moveLastSlotTo(slot);
+                    deleted++;
+                }
+            }
+            return deleted;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public void deleteAll() {
+        lock.writeLock().lock();
+        try {
+            slotsById.clear();
+            for (SlotList list : slotsByStatus) {
+                list.size = 0;
+            }
+            Arrays.fill(descriptions, 0, size, null);
+            size = 0;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Reads the lists of the given statuses newest first, merging them on (creation datetime, id), and
+     * materializes the slots accepted by {@code filter}.
+     */
+    private List<TodoItemEntity> newestFirst(IntPredicate filter, TodoStatus... wanted) {
+        lock.readLock().lock();
+        try {
+            SlotList[] lists = new SlotList[wanted.length];
+            int[] positions = new int[wanted.length];
+            for (int i = 0; i < wanted.length; i++) {
+                lists[i] = slotsByStatus[wanted[i].ordinal()];
+                positions[i] = lists[i].size - 1;
+            }
+            List<TodoItemEntity> items = new ArrayList<>();
+            while (true) {
+                int newest = -1;
+                for (int i = 0; i < lists.length; i++) {
+                    if (positions[i] >= 0 && (newest < 0
+                            || compare(lists[i].slots[positions[i]], lists[newest].slots[positions[newest]]) > 0)) {
+                        newest = i;
+                    }
+                }
+                if (newest < 0) {
+                    return items;
+                }
+                int slot = lists[newest].slots[positions[newest]--];
+                if (filter.test(slot)) {
+                    items.add(materialize(slot));
+                }
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Orders slots by creation datetime, then id.
+     */
+    private int compare(int slot, int other) {
+        int byCreation = Long.compare(createdAt[slot], createdAt[other]);
+        return byCreation != 0 ? byCreation : Long.compare(ids[slot], ids[other]);
+    }
+
+    /**
+     * Fills the freed {@code slot} with the item in the last slot, which keeps its place in its status list.
+     */
+    private void moveLastSlotTo(int slot) {
+        int last = --size;
+        if (slot != last) {
+            SlotList list = slotsByStatus[statuses[last]];
+            int position = list.search(last);
+            ids[slot] = ids[last];
+            descriptions[slot] = descriptions[last];
+            statuses[slot] = statuses[last];
+            createdAt[slot] = createdAt[last];
+            dueAt[slot] = dueAt[last];
+            doneAt[slot] = doneAt[last];
+            list.slots[position] = slot;
+            slotsById.put(ids[slot], slot);
+        }
+        descriptions[last] = null;
+    }
+
+    private TodoItemEntity materialize(int slot) {
+        return new TodoItemEntity(ids[slot], descriptions[slot], STATUSES[statuses[slot]],
+                toDatetime(createdAt[slot]), toDatetime(dueAt[slot]), toDatetime(doneAt[slot]));
+    }
+
+    private void ensureCapacity(int required) {
+        if (required > ids.length) {
+            int capacity = Math.max(required, ids.length * 2);
+            ids = Arrays.copyOf(ids, capacity);
+            descriptions = Arrays.copyOf(descriptions, capacity);
+            statuses = Arrays.copyOf(statuses, capacity);
+            createdAt = Arrays.copyOf(createdAt, capacity);
+            dueAt = Arrays.copyOf(dueAt, capacity);
+            doneAt = Arrays.copyOf(doneAt, capacity);
+        }
+    }
+
+    private void allocate(int capacity) {
+        ids = new long[capacity];
+        descriptions = new String[capacity];
+        statuses = new byte[capacity];
+        createdAt = new long[capacity];
+        dueAt = new long[capacity];
+        doneAt = new long[capacity];
+    }
+
+    private long toEpoch(LocalDateTime value) {
+        return value != null ? floorUnit(value) : NONE;
+    }
+
+    private LocalDateTime toDatetime(long epoch) {
+        if (epoch == NONE) {
+            return null;
+        }
+        return LocalDateTime.ofEpochSecond(Math.floorDiv(epoch, unitsPerSecond),
+                (int) (Math.floorMod(epoch, unitsPerSecond) * nanosPerUnit), ZoneOffset.UTC);
+    }
+
+    // Stored values are whole units, so "stored <= t" is "stored <= floor(t)" and "stored < t" is "stored < ceil(t)"
+    private long floorUnit(LocalDateTime value) {
+        return value.toEpochSecond(ZoneOffset.UTC) * unitsPerSecond + value.getNano() / nanosPerUnit;
+    }
+
+    private long ceilUnit(LocalDateTime value) {
+        return floorUnit(value) + (value.getNano() % nanosPerUnit > 0 ? 1 : 0);
+    }
+
+    /**
+     * Slots of one status, kept sorted by {@link #compare(int, int)}. New items are usually the newest, so inserts
+     * mostly append.
+     */
+    private final class SlotList {
+
+        private int[] slots;
+        private int size;
+
+        private SlotList(int capacity) {
+            this.slots = new int[Math.max(16, capacity)];
+        }
+
+        void insert(int slot) {
+            int position = search(slot);
+            int insertAt = position >= 0 ? position : -position - 1;
+            if (size == slots.length) {
+                slots = Arrays.copyOf(slots, size * 2);
+            }
+            System.arraycopy(slots, insertAt, slots, insertAt + 1, size - insertAt);
+            slots[insertAt] = slot;
+            size++;
+        }
+
+        void remove(int slot) {
+            int position = search(slot);
+            if (position >= 0) {
+                System.arraycopy(slots, position + 1, slots, position, size - position - 1);
+                size--;
+            }
+        }
+
+        /**
+         * Binary search for {@code slot}; ids are unique, so a match is the slot itself.
+         */
+        private int search(int slot) {
+            if (size > 0 && compare(slots[size - 1], slot) < 0) {
+                return -size - 1;
+            }
+            int low = 0;
+            int high = size - 1;
+            while (low <= high) {
+                int middle = (low + high) >>> 1;
+                int order = compare(slots[middle], slot);
+                if (order < 0) {
+                    low = middle + 1;
+                } else if (order > 0) {
+                    high = middle - 1;
+                } else {
+                    return middle;
+                }
+            }
+            return -low - 1;
+        }
+    }
+}
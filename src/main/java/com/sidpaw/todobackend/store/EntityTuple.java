@@ -0,0 +1,101 @@
+package com.sidpaw.todobackend.store;
+
+import com.sidpaw.todobackend.entity.TodoItemEntity;
+import com.sidpaw.todobackend.model.PastDueMode;
+import com.sidpaw.todobackend.model.TodoField;
+import com.sidpaw.todobackend.model.TodoStatus;
+import com.sidpaw.todobackend.repository.TodoItemRepositoryCustom;
+import jakarta.persistence.Tuple;
+import jakarta.persistence.TupleElement;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Projection of a stored item shaped like the tuples of {@link TodoItemRepositoryCustom#findProjected}, for
+ * engines that load whole items: elements are aliased with {@link TodoField#getPropertyName()} and, in
+ * {@link PastDueMode#VIRTUAL} mode, the due datetime is added under
+ * {@link TodoItemRepositoryCustom#DUE_FOR_STATUS_ALIAS} when the status is requested.
+ */
+final class EntityTuple implements Tuple {
+
+    private record Element(String alias, Class<?> javaType, Object value) implements TupleElement<Object> {
+
+        @Override
+        public Class<?> getJavaType() {
+            return javaType;
+        }
+
+        @Override
+        public String getAlias() {
+            return alias;
+        }
+    }
+
+    private final List<Element> elements;
+
+    private EntityTuple(List<Element> elements) {
+        this.elements = elements;
+    }
+
+    static EntityTuple of(TodoItemEntity item, Set<TodoField> fields, PastDueMode mode) {
+        List<Element> elements = new ArrayList<>(fields.size() + 1);
+        for (TodoField field : fields) {
+            elements.add(switch (field) {
+                case ID -> new Element(field.getPropertyName(), Long.class, item.getId());
+                case DESCRIPTION -> new Element(field.getPropertyName(), String.class, item.getDescription());
+                case STATUS -> new Element(field.getPropertyName(), TodoStatus.class, item.getStatus());
+                case CREATION_DATETIME ->
+                        new Element(field.getPropertyName(), LocalDateTime.class, item.getCreationDatetime());
+                case DUE_DATETIME -> new Element(field.getPropertyName(), LocalDateTime.class, item.getDueDatetime());
+                case DONE_DATETIME -> new Element(field.getPropertyName(), LocalDateTime.class, item.getDoneDatetime());
+            });
+        }
+        if (mode == PastDueMode.VIRTUAL && fields.contains(TodoField.STATUS)) {
+            elements.add(new Element(TodoItemRepositoryCustom.DUE_FOR_STATUS_ALIAS, LocalDateTime.class,
+                    item.getDueDatetime()));
+        }
+        return new EntityTuple(elements);
+    }
+
+    @Override
+    public <X> X get(TupleElement<X> tupleElement) {
+        return tupleElement.getJavaType().cast(get(tupleElement.getAlias()));
+    }
+
+    @Override
+    public <X> X get(String alias, Class<X> type) {
+        return type.cast(get(alias));
+    }
+
+    @Override
+    public Object get(String alias) {
+        return elements.stream()
+                .filter(element -> element.alias().equals(alias))
+                .findFirst()
+                .map(Element::value)
+                .orElseThrow(() -> new IllegalArgumentException("Unknown tuple alias: " + alias));
+    }
+
+    @Override
+    public <X> X get(int i, Class<X> type) {
+        return type.cast(get(i));
+    }
+
+    @Override
+    public Object get(int i) {
+        return elements.get(i).value();
+    }
+
+    @Override
+    public Object[] toArray() {
+        return elements.stream().map(Element::value).toArray();
+    }
+
+    @Override
+    public List<TupleElement<?>> getElements() {
+        return List.copyOf(elements);
+    }
+}
@@ -0,0 +1,13 @@
+package com.sidpaw.todobackend.store;
+
+/**
+ * Engine that assigns item ids itself and can hand one out before the item is written, so a write held back until
+ * the transaction commits can already return its id.
+ */
+public interface IdAllocatingTodoStore extends TodoStore {
+
+    /**
+     * Reserves the next item id; an id reserved for a write that never happens is skipped.
+     */
+    long allocateId();
+}
@@ -0,0 +1,179 @@
+package com.sidpaw.todobackend.store;
+
+import com.sidpaw.todobackend.analytics.CompletionTime;
+import com.sidpaw.todobackend.entity.TodoItemEntity;
+import com.sidpaw.todobackend.model.PageCursor;
+import com.sidpaw.todobackend.model.PastDueMode;
+import com.sidpaw.todobackend.model.TodoField;
+import com.sidpaw.todobackend.model.TodoSort;
+import com.sidpaw.todobackend.model.TodoStatus;
+import com.sidpaw.todobackend.repository.TodoItemRepository;
+import com.sidpaw.todobackend.repository.TodoStatusHistoryRepository;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.Tuple;
+import org.hibernate.Cache;
+import org.springframework.data.domain.Limit;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Stream;
+
+/**
+ * Stores todo items in the relational database through {@link TodoItemRepository}. Entities and the list queries
+ * go through Hibernate's second-level cache when it is enabled.
+ */
+public class JpaTodoStore implements TodoStore {
+
+    private final TodoItemRepository todoItemRepository;
+    private final TodoStatusHistoryRepository historyRepository;
+    private final EntityManager entityManager;
+    private final Cache cache;
+
+    public JpaTodoStore(TodoItemRepository todoItemRepository,
+                        TodoStatusHistoryRepository historyRepository,
+                        EntityManager entityManager,
+                        Cache cache) {
+        this.todoItemRepository = todoItemRepository;
+        this.historyRepository = historyRepository;
+        this.entityManager = entityManager;
+        this.cache = cache;
+    }
+
+    @Override
+    public TodoItemEntity save(TodoItemEntity item) {
+        return todoItemRepository.save(item);
+    }
+
+    @Override
+    public List<TodoItemEntity> insertAll(List<TodoItemEntity> items) {
+        List<TodoItemEntity> saved = todoItemRepository.saveAll(items);
+        entityManager.flush();
+        entityManager.clear();
+        return saved;
+    }
+
+    @Override
+    public Optional<TodoItemEntity> findById(Long id) {
+        return todoItemRepository.findById(id);
+    }
+
+    @Override
+    public boolean existsById(Long id) {
+        return todoItemRepository.existsById(id);
+    }
+
+    @Override
+    public List<TodoItemEntity> findAllByIdInOrder(List<Long> ids) {
+        return todoItemRepository.findAllByIdInOrder(ids);
+    }
+
+    @Override
+    public List<TodoItemEntity> findAllByOrderByCreationDatetimeDesc() {
+        return todoItemRepository.findAllByOrderByCreationDatetimeDesc();
+    }
+
+    @Override
+    public List<TodoItemEntity> findNotDoneItems(LocalDateTime now, TodoStatus status) {
+        return todoItemRepository.findNotDoneItems(now, status);
+    }
+
+    @Override
+    public List<TodoItemEntity> findPastDueItems(LocalDateTime now, TodoStatus notDoneStatus, TodoStatus pastDueStatus) {
+        return todoItemRepository.findPastDueItems(now, notDoneStatus, pastDueStatus);
+    }
+
+    @Override
+    public List<TodoItemEntity> findByStatusOrderByCreationDatetimeDesc(TodoStatus status) {
+        return todoItemRepository.findByStatusOrderByCreationDatetimeDesc(status);
+    }
+
+    @Override
+    public List<TodoItemEntity> findDueWindow(TodoStatus status, LocalDateTime dueFrom, LocalDateTime dueTo,
+                                              LocalDateTime afterDue, Long afterId, Limit limit) {
+        return todoItemRepository.findDueWindow(status, dueFrom, dueTo, afterDue, afterId, limit);
+    }
+
+    @Override
+    public List<TodoItemEntity> findSortedPage(TodoStatus status, LocalDateTime dueAfter, LocalDateTime dueBefore,
+                                               TodoSort sort, PageCursor after, Limit limit) {
+        return todoItemRepository.findSortedPage(status, dueAfter, dueBefore, sort, after, limit);
+    }
+
+    @Override
+    public List<TodoItemEntity> findUndatedPage(TodoStatus status, long afterId, Limit limit) {
+        return todoItemRepository.findUndatedPage(status, afterId, limit);
+    }
+
+    @Override
+    public LocalDateTime findNextDueDatetime(LocalDateTime now, TodoStatus status) {
+        return todoItemRepository.findNextDueDatetime(now, status);
+    }
+
+    @Override
+    public List<Tuple> findProjected(Set<TodoField> fields, TodoStatus status, LocalDateTime now, PastDueMode mode) {
+        return todoItemRepository.findProjected(fields, status, now, mode);
+    }
+
+    @Override
+    public Optional<Tuple> findProjectedById(Long id, Set<TodoField> fields, PastDueMode mode) {
+        return todoItemRepository.findProjectedById(id, fields, mode);
+    }
+
+    @Override
+    public Stream<CompletionTime> streamCompletionTimes(TodoStatus status) {
+        return todoItemRepository.streamCompletionTimes(status);
+    }
+
+    @Override
+    public int updatePastDueItems(LocalDateTime now, TodoStatus currentStatus, TodoStatus newStatus) {
+        // Three set-based statements whatever the number of overdue rows. The lock keeps the rows the history
+        // insert selects from changing before the update moves them.
+        todoItemRepository.lockPastDueItems(now, currentStatus);
+        historyRepository.insertPastDueTransitions(now, currentStatus, newStatus);
+        int updated = todoItemRepository.updatePastDueItems(now, currentStatus, newStatus);
+        if (updated > 0) {
+            evictCachedItems();
+        }
+        return updated;
+    }
+
+    @Override
+    public int markDeleted(Collection<Long> ids, LocalDateTime now) {
+        int deleted = todoItemRepository.markDeleted(ids, now);
+        if (deleted > 0) {
+            evictCachedItems();
+        }
+        return deleted;
+    }
+
+    @Override
+    public void deleteAll() {
+        todoItemRepository.deleteAll();
+    }
+
+    /**
+     * Drops the cached items and list query results after a bulk update, now and again once the transaction
+     * completes: a reader in another transaction can cache the rows as they were before it until it commits.
+     */
+    private void evictCachedItems() {
+        evictRegions();
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    evictRegions();
+                }
+            });
+        }
+    }
+
+    private void evictRegions() {
+        cache.evictEntityData(TodoItemEntity.class);
+        cache.evictQueryRegion(TodoItemRepository.LIST_QUERY_CACHE_REGION);
+    }
+}
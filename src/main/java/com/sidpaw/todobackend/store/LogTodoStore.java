@@ -0,0 +1,719 @@
+package com.sidpaw.todobackend.store;
+
+import com.sidpaw.todobackend.analytics.CompletionTime;
+import com.sidpaw.todobackend.entity.TodoItemEntity;
+import com.sidpaw.todobackend.model.PageCursor;
+import com.sidpaw.todobackend.model.PastDueMode;
+import com.sidpaw.todobackend.model.TodoField;
+import com.sidpaw.todobackend.model.TodoSort;
+import com.sidpaw.todobackend.model.TodoStatus;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.persistence.Tuple;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.Limit;
+import org.springframework.scheduling.annotation.Scheduled;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Predicate;
+import java.util.stream.Stream;
+import java.util.zip.CRC32;
+
+/**
+ * Keeps todo items in an append-only record log mapped into memory, with an in-memory index from item id to the
+ * offset of its latest record. Every save appends a full record; the previous one becomes garbage.
+ * <p>
+ * Log layout: a header (magic, format version, generation, id floor) followed by records of
+ * {@code [payload length][CRC32 of the payload][payload]}. A payload either puts a whole item or is a tombstone
+ * holding only the id of a deleted item; compaction drops both the tombstone and the records it supersedes. The length is written last, so a record torn by a
+ * crash reads as the end of the log (length 0) or fails its CRC; recovery stops there and clears the rest.
+ * <p>
+ * {@link #maintain()} runs periodically: it compacts the log into a new generation when enough of it is garbage,
+ * otherwise it writes a checkpoint of the index. On startup the checkpoint is loaded and only the log tail written
+ * after it is replayed; without a valid checkpoint for the current generation the whole log is replayed.
+ */
+@Slf4j
+public class LogTodoStore implements IdAllocatingTodoStore, Closeable {
+
+    static final String LOG_FILE = "todos.log";
+    static final String CHECKPOINT_FILE = "todos.checkpoint";
+    private static final String COMPACT_FILE = "todos.log.compact";
+
+    private static final int MAGIC = 0x54444F4C;
+    private static final int CHECKPOINT_MAGIC = 0x54444F43;
+    private static final int FORMAT_VERSION = 1;
+    static final int HEADER_SIZE = 24;
+    private static final int GENERATION_OFFSET = 8;
+    private static final int ID_FLOOR_OFFSET = 16;
+    // Payload length and CRC32
+    private static final int RECORD_HEADER_SIZE = 8;
+    // Type and id
+    private static final int TOMBSTONE_PAYLOAD_SIZE = 1 + 8;
+    // Type, id, status, creation datetime, flags and description length
+    private static final int MIN_PAYLOAD_SIZE = 1 + 8 + 1 + 12 + 1 + 4;
+    private static final byte PUT = 1;
+    private static final byte DELETE = 2;
+    private static final byte HAS_DUE = 1;
+    private static final byte HAS_DONE = 2;
+    private static final TodoStatus[] STATUSES = TodoStatus.values();
+
+    private static final Comparator<TodoItemEntity> NEWEST_FIRST = Comparator
+            .comparing(TodoItemEntity::getCreationDatetime)
+            .thenComparing(TodoItemEntity::getId)
+            .reversed();
+    private static final Comparator<TodoItemEntity> SOONEST_DUE_FIRST = Comparator
+            .comparing(TodoItemEntity::getDueDatetime)
+            .thenComparing(TodoItemEntity::getId);
+    private static final Comparator<TodoItemEntity> BY_ID = Comparator.comparing(TodoItemEntity::getId);
+
+    private final Path directory;
+    private final Path logFile;
+    private final Path checkpointFile;
+    private final StorageProperties.Log properties;
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Map<Long, Integer> index = new HashMap<>();
+    private final Counter compactions;
+
+    private FileChannel channel;
+    private MappedByteBuffer buffer;
+    private long generation;
+    private long nextId;
+    private int writePosition;
+    private long liveBytes;
+    private volatile int checkpointPosition;
+
+    public LogTodoStore(StorageProperties.Log properties, MeterRegistry meterRegistry) {
+        this.properties = properties;
+        this.directory = Path.of(properties.getDirectory());
+        this.logFile = directory.resolve(LOG_FILE);
+        this.checkpointFile = directory.resolve(CHECKPOINT_FILE);
+        try {
+            open();
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not open the todo log in " + directory, e);
+        }
+
+        this.compactions = Counter.builder("todo.storage.log.compactions")
+                .description("Compactions of the todo record log")
+                .register(meterRegistry);
+        Gauge.builder("todo.storage.log.bytes", this, store -> store.writePosition)
+                .description("Bytes written to the current todo log generation")
+                .baseUnit("bytes")
+                .register(meterRegistry);
+        Gauge.builder("todo.storage.log.live.bytes", this, store -> store.liveBytes)
+                .description("Bytes of the todo log taken by the latest record of each item")
+                .baseUnit("bytes")
+                .register(meterRegistry);
+        Gauge.builder("todo.storage.log.items", index, Map::size)
+                .description("Items in the todo log index")
+                .register(meterRegistry);
+    }
+
+    @Override
+    public long allocateId() {
+        lock.writeLock().lock();
+        try {
+            return nextId++;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public TodoItemEntity save(TodoItemEntity item) {
+        Objects.requireNonNull(item.getDescription(), "description");
+        Objects.requireNonNull(item.getStatus(), "status");
+        Objects.requireNonNull(item.getCreationDatetime(), "creationDatetime");
+        lock.writeLock().lock();
+        try {
+            if (item.getId() == null) {
+                item.setId(nextId++);
+            }
+            put(item);
+            return item;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public List<TodoItemEntity> insertAll(List<TodoItemEntity> items) {
+        // One write lock for the batch; save takes it again reentrantly
+        lock.writeLock().lock();
+        try {
+            items.forEach(this::save);
+            return items;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public Optional<TodoItemEntity> findById(Long id) {
+        lock.readLock().lock();
+        try {
+            return Optional.ofNullable(index.get(id)).map(this::decode);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    @Override
+    public boolean existsById(Long id) {
+        lock.readLock().lock();
+        try {
+            return index.containsKey(id);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    @Override
+    public List<TodoItemEntity> findAllByIdInOrder(List<Long> ids) {
+        lock.readLock().lock();
+        try {
+            return ids.stream()
+                    .map(index::get)
+                    .map(offset -> offset != null ? decode(offset) : null)
+                    .toList();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    @Override
+    public List<TodoItemEntity> findAllByOrderByCreationDatetimeDesc() {
+        return scan(item -> true, NEWEST_FIRST);
+    }
+
+    @Override
+    public List<TodoItemEntity> findNotDoneItems(LocalDateTime now, TodoStatus status) {
+        return scan(item -> item.getStatus() == status && !isDue(item, now), NEWEST_FIRST);
+    }
+
+    @Override
+    public List<TodoItemEntity> findPastDueItems(LocalDateTime now, TodoStatus notDoneStatus, TodoStatus pastDueStatus) {
+        return scan(item -> item.getStatus() == pastDueStatus
+                || (item.getStatus() == notDoneStatus && isOverdue(item, now)), NEWEST_FIRST);
+    }
+
+    @Override
+    public List<TodoItemEntity> findByStatusOrderByCreationDatetimeDesc(TodoStatus status) {
+        return scan(item -> item.getStatus() == status, NEWEST_FIRST);
+    }
+
+    @Override
+    public List<TodoItemEntity> findDueWindow(TodoStatus status, LocalDateTime dueFrom, LocalDateTime dueTo,
+                                              LocalDateTime afterDue, Long afterId, Limit limit) {
+        List<TodoItemEntity> items = scan(item -> {
+            LocalDateTime due = item.getDueDatetime();
+            return item.getStatus() == status && due != null
+                    && !due.isBefore(dueFrom) && due.isBefore(dueTo)
+                    && (due.isAfter(afterDue) || (due.isEqual(afterDue) && item.getId() > afterId));
+        }, SOONEST_DUE_FIRST);
+        return limit.isLimited() && items.size() > limit.max() ? items.subList(0, limit.max()) : items;
+    }
+
+    @Override
+    public List<TodoItemEntity> findSortedPage(TodoStatus status, LocalDateTime dueAfter, LocalDateTime dueBefore,
+                                               TodoSort sort, PageCursor after, Limit limit) {
+        List<TodoItemEntity> items = scan(item -> (status == null || item.getStatus() == status)
+                && sort.keyOf(item) != null
+                && (dueAfter == null || item.getDueDatetime() == null || item.getDueDatetime().isAfter(dueAfter))
+                && (dueBefore == null || (item.getDueDatetime() != null && item.getDueDatetime().isBefore(dueBefore)))
+                && (after == null || sort.isAfter(item, after)), sort.comparator());
+        return limit.isLimited() && items.size() > limit.max() ? items.subList(0, limit.max()) : items;
+    }
+
+    @Override
+    public List<TodoItemEntity> findUndatedPage(TodoStatus status, long afterId, Limit limit) {
+        List<TodoItemEntity> items = scan(item -> (status == null || item.getStatus() == status)
+                && item.getDueDatetime() == null && item.getId() > afterId, BY_ID);
+        return limit.isLimited() && items.size() > limit.max() ? items.subList(0, limit.max()) : items;
+    }
+
+    @Override
+    public LocalDateTime findNextDueDatetime(LocalDateTime now, TodoStatus status) {
+        return scan(item -> item.getStatus() == status && item.getDueDatetime() != null
+                && item.getDueDatetime().isAfter(now), SOONEST_DUE_FIRST)
+                .stream()
+                .findFirst()
+                .map(TodoItemEntity::getDueDatetime)
+                .orElse(null);
+    }
+
+    @Override
+    public List<Tuple> findProjected(Set<TodoField> fields, TodoStatus status, LocalDateTime now, PastDueMode mode) {
+        Predicate<TodoItemEntity> filter;
+        if (status == TodoStatus.NOT_DONE) {
+            filter = item -> item.getStatus() == status && !isDue(item, now);
+        } else if (status == TodoStatus.PAST_DUE && mode == PastDueMode.VIRTUAL) {
+            filter = item -> item.getStatus() == status
+                    || (item.getStatus() == TodoStatus.NOT_DONE && isOverdue(item, now));
+        } else if (status != null) {
+            filter = item -> item.getStatus() == status;
+        } else {
+            filter = item -> true;
+        }
+        return scan(filter, NEWEST_FIRST).stream()
+                .<Tuple>map(item -> EntityTuple.of(item, fields, mode))
+                .toList();
+    }
+
+    @Override
+    public Optional<Tuple> findProjectedById(Long id, Set<TodoField> fields, PastDueMode mode) {
+        return findById(id).map(item -> EntityTuple.of(item, fields, mode));
+    }
+
+    @Override
+    public Stream<CompletionTime> streamCompletionTimes(TodoStatus status) {
+        return scan(item -> item.getStatus() == status && item.getDoneDatetime() != null, NEWEST_FIRST).stream()
+                .map(item -> new CompletionTime(item.getId(), item.getCreationDatetime(), item.getDoneDatetime()));
+    }
+
+    @Override
+    public int updatePastDueItems(LocalDateTime now, TodoStatus currentStatus, TodoStatus newStatus) {
+        lock.writeLock().lock();
+        try {
+            List<TodoItemEntity> overdue = new ArrayList<>();
+            for (int offset : index.values()) {
+                TodoItemEntity item = decode(offset);
+                if (item.getStatus() == currentStatus && isOverdue(item, now)) {
+                    overdue.add(item);
+                }
+            }
+            for (TodoItemEntity item : overdue) {
+                item.setStatus(newStatus);
+                put(item);
+            }
+            return overdue.size();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public int markDeleted(Collection<Long> ids, LocalDateTime now) {
+        lock.writeLock().lock();
+        try {
+            int deleted = 0;
+            for (Long id : ids) {
+                Integer previous = index.remove(id);
+                if (previous != null) {
+                    byte[] tombstone = ByteBuffer.allocate(TOMBSTONE_PAYLOAD_SIZE).put(DELETE).putLong(id).array();
+                    append(tombstone);
+                    liveBytes -= recordSize(previous);
+                    deleted++;
+                }
+            }
+            return deleted;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public void deleteAll() {
+        lock.writeLock().lock();
+        try {
+            clear(HEADER_SIZE, writePosition);
+            generation++;
+            buffer.putLong(GENERATION_OFFSET, generation);
+            buffer.putLong(ID_FLOOR_OFFSET, nextId);
+            buffer.force();
+            index.clear();
+            writePosition = HEADER_SIZE;
+            liveBytes = 0;
+            checkpoint();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Compacts the log when enough of it is garbage, otherwise checkpoints the index if the log has grown.
+     */
+    @Scheduled(fixedDelayString = "${todo.storage.log.maintenance-interval-ms:60000}",
+            initialDelayString = "${todo.storage.log.maintenance-interval-ms:60000}")
+    public void maintain() {
+        boolean grown;
+        // The positions are written under the write lock, so they are read under the read lock
+        lock.readLock().lock();
+        try {
+            grown = writePosition != checkpointPosition;
+        } finally {
+            lock.readLock().unlock();
+        }
+        if (needsCompaction()) {
+            compact();
+        } else if (grown) {
+            checkpoint();
+        }
+    }
+
+    boolean needsCompaction() {
+        lock.readLock().lock();
+        try {
+            long logBytes = writePosition - HEADER_SIZE;
+            long garbageBytes = logBytes - liveBytes;
+            return garbageBytes > 0
+                    && logBytes >= properties.getCompactionMinSize().toBytes()
+                    && garbageBytes >= logBytes * properties.getCompactionGarbageRatio();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Copies the latest record of every item into a new log generation and swaps it in atomically.
+     */
+    public void compact() {
+        lock.writeLock().lock();
+        try {
+            long started = System.nanoTime();
+            int previousSize = writePosition;
+            List<Integer> offsets = index.values().stream().sorted().toList();
+            Path compactFile = directory.resolve(COMPACT_FILE);
+            Map<Long, Integer> compacted = new HashMap<>(index.size() * 2);
+            int position = HEADER_SIZE;
+            try (FileChannel target = FileChannel.open(compactFile, StandardOpenOption.CREATE,
+                    StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+                MappedByteBuffer out = target.map(FileChannel.MapMode.READ_WRITE, 0,
+                        Math.max(initialMappedSize(), HEADER_SIZE + liveBytes));
+                writeHeader(out, generation + 1, nextId);
+                for (int offset : offsets) {
+                    int size = recordSize(offset);
+                    out.put(position, buffer, offset, size);
+                    compacted.put(idAt(offset), position);
+                    position += size;
+                }
+                out.force();
+            }
+            channel.close();
+            Files.move(compactFile, logFile, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            channel = FileChannel.open(logFile, StandardOpenOption.READ, StandardOpenOption.WRITE);
+            map(channel.size());
+
+            generation++;
+            index.clear();
+            index.putAll(compacted);
+            writePosition = position;
+            liveBytes = position - HEADER_SIZE;
+            checkpoint();
+            compactions.increment();
+            log.info("Compacted todo log from {} to {} bytes in {} ms", previousSize, position,
+                    (System.nanoTime() - started) / 1_000_000);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not compact the todo log", e);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Forces the log to disk and saves the index with the log position it covers.
+     */
+    public void checkpoint() {
+        lock.readLock().lock();
+        try {
+            buffer.force();
+            ByteBuffer out = ByteBuffer.allocate(4 + 8 + 4 + 8 + 4 + index.size() * 12 + 4);
+            out.putInt(CHECKPOINT_MAGIC).putLong(generation).putInt(writePosition).putLong(nextId).putInt(index.size());
+            index.forEach((id, offset) -> out.putLong(id).putInt(offset));
+            out.putInt(crc(out.array(), 0, out.position()));
+
+            Path temporary = directory.resolve(CHECKPOINT_FILE + ".tmp");
+            Files.write(temporary, out.array());
+            Files.move(temporary, checkpointFile, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            checkpointPosition = writePosition;
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not checkpoint the todo log", e);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        lock.writeLock().lock();
+        try {
+            if (channel.isOpen()) {
+                checkpoint();
+                channel.close();
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private void open() throws IOException {
+        Files.createDirectories(directory);
+        // Left over by a compaction interrupted before the swap; the current log is still complete
+        Files.deleteIfExists(directory.resolve(COMPACT_FILE));
+        channel = FileChannel.open(logFile, StandardOpenOption.CREATE, StandardOpenOption.READ,
+                StandardOpenOption.WRITE);
+        boolean created = channel.size() < HEADER_SIZE;
+        map(Math.max(initialMappedSize(), channel.size()));
+
+        if (created) {
+            writeHeader(buffer, 1, 1);
+        } else if (buffer.getInt(0) != MAGIC || buffer.getInt(4) != FORMAT_VERSION) {
+            throw new IllegalStateException(logFile + " is not a todo log of format version " + FORMAT_VERSION);
+        }
+        generation = buffer.getLong(GENERATION_OFFSET);
+        nextId = buffer.getLong(ID_FLOOR_OFFSET);
+
+        int replayFrom = loadCheckpoint();
+        int replayed = replay(replayFrom);
+        liveBytes = index.values().stream().mapToLong(this::recordSize).sum();
+        checkpointPosition = replayFrom;
+        log.info("Opened todo log {} with {} items, replayed {} records after offset {}",
+                logFile, index.size(), replayed, replayFrom);
+    }
+
+    /**
+     * Restores the index from the checkpoint and returns the log position it covers, or the start of the log when
+     * there is no usable checkpoint for this generation.
+     */
+    private int loadCheckpoint() throws IOException {
+        if (!Files.exists(checkpointFile)) {
+            return HEADER_SIZE;
+        }
+        ByteBuffer in = ByteBuffer.wrap(Files.readAllBytes(checkpointFile));
+        int minSize = 4 + 8 + 4 + 8 + 4 + 4;
+        if (in.capacity() < minSize
+                || in.getInt(in.capacity() - 4) != crc(in.array(), 0, in.capacity() - 4)
+                || in.getInt() != CHECKPOINT_MAGIC
+                || in.getLong() != generation) {
+            log.warn("Ignoring todo log checkpoint {}: invalid or from another generation", checkpointFile);
+            return HEADER_SIZE;
+        }
+        int position = in.getInt();
+        long checkpointNextId = in.getLong();
+        int count = in.getInt();
+        if (position < HEADER_SIZE || position > buffer.capacity() || in.capacity() != minSize + count * 12) {
+            log.warn("Ignoring todo log checkpoint {}: does not match the log", checkpointFile);
+            return HEADER_SIZE;
+        }
+        for (int i = 0; i < count; i++) {
+            index.put(in.getLong(), in.getInt());
+        }
+        nextId = Math.max(nextId, checkpointNextId);
+        return position;
+    }
+
+    /**
+     * Indexes the records from {@code position} to the end of the log and returns how many there were. A torn
+     * record ends the log: it and everything after it is cleared.
+     */
+    private int replay(int position) {
+        int replayed = 0;
+        while (position + RECORD_HEADER_SIZE <= buffer.capacity()) {
+            int length = buffer.getInt(position);
+            if (length == 0) {
+                break;
+            }
+            if (length < TOMBSTONE_PAYLOAD_SIZE
+                    || position + RECORD_HEADER_SIZE + (long) length > buffer.capacity()
+                    || buffer.getInt(position + 4) != crc(position + RECORD_HEADER_SIZE, length)) {
+                log.warn("Todo log {} has a torn record at offset {}, discarding the rest of the log",
+                        logFile, position);
+                clear(position, buffer.capacity());
+                buffer.force();
+                break;
+            }
+            long id = idAt(position);
+            if (buffer.get(position + RECORD_HEADER_SIZE) == DELETE) {
+                index.remove(id);
+            } else {
+                index.put(id, position);
+            }
+            nextId = Math.max(nextId, id + 1);
+            position += RECORD_HEADER_SIZE + length;
+            replayed++;
+        }
+        writePosition = position;
+        return replayed;
+    }
+
+    private void put(TodoItemEntity item) {
+        int offset = append(encode(item));
+        Integer previous = index.put(item.getId(), offset);
+        liveBytes += recordSize(offset) - (previous != null ? recordSize(previous) : 0);
+    }
+
+    /**
+     * Writes a record at the end of the log and returns its offset.
+     */
+    private int append(byte[] payload) {
+        int size = RECORD_HEADER_SIZE + payload.length;
+        ensureCapacity(size);
+        int offset = writePosition;
+        buffer.put(offset + RECORD_HEADER_SIZE, payload);
+        buffer.putInt(offset + 4, crc(payload, 0, payload.length));
+        // Written last: until the length is there the record reads as the end of the log
+        buffer.putInt(offset, payload.length);
+        if (properties.isSyncOnWrite()) {
+            buffer.force(offset, size);
+        }
+        writePosition += size;
+        return offset;
+    }
+
+    private List<TodoItemEntity> scan(Predicate<TodoItemEntity> filter, Comparator<TodoItemEntity> order) {
+        lock.readLock().lock();
+        try {
+            List<TodoItemEntity> items = new ArrayList<>();
+            for (int offset : index.values()) {
+                TodoItemEntity item = decode(offset);
+                if (filter.test(item)) {
+                    items.add(item);
+                }
+            }
+            items.sort(order);
+            return items;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private static boolean isDue(TodoItemEntity item, LocalDateTime now) {
+        return item.getDueDatetime() != null && !item.getDueDatetime().isAfter(now);
+    }
+
+    private static boolean isOverdue(TodoItemEntity item, LocalDateTime now) {
+        return item.getDueDatetime() != null && item.getDueDatetime().isBefore(now);
+    }
+
+    private static byte[] encode(TodoItemEntity item) {
+        byte[] description = item.getDescription().getBytes(StandardCharsets.UTF_8);
+        byte flags = (byte) ((item.getDueDatetime() != null ? HAS_DUE : 0)
+                | (item.getDoneDatetime() != null ? HAS_DONE : 0));
+        int size = MIN_PAYLOAD_SIZE + description.length
+                + (item.getDueDatetime() != null ? 12 : 0)
+                + (item.getDoneDatetime() != null ? 12 : 0);
+
+        ByteBuffer payload = ByteBuffer.allocate(size);
+        payload.put(PUT).putLong(item.getId()).put((byte) item.getStatus().ordinal());
+        putDatetime(payload, item.getCreationDatetime());
+        payload.put(flags);
+        if (item.getDueDatetime() != null) {
+            putDatetime(payload, item.getDueDatetime());
+        }
+        if (item.getDoneDatetime() != null) {
+            putDatetime(payload, item.getDoneDatetime());
+        }
+        payload.putInt(description.length).put(description);
+        return payload.array();
+    }
+
+    private TodoItemEntity decode(int offset) {
+        int position = offset + RECORD_HEADER_SIZE + 1;
+        long id = buffer.getLong(position);
+        TodoStatus status = STATUSES[buffer.get(position + 8)];
+        LocalDateTime creation = datetimeAt(position + 9);
+        byte flags = buffer.get(position + 21);
+        position += 22;
+        LocalDateTime due = null;
+        if ((flags & HAS_DUE) != 0) {
+            due = datetimeAt(position);
+            position += 12;
+        }
+        LocalDateTime done = null;
+        if ((flags & HAS_DONE) != 0) {
+            done = datetimeAt(position);
+            position += 12;
+        }
+        byte[] description = new byte[buffer.getInt(position)];
+        buffer.get(position + 4, description);
+        return new TodoItemEntity(id, new String(description, StandardCharsets.UTF_8), status, creation, due, done);
+    }
+
+    private static void putDatetime(ByteBuffer target, LocalDateTime value) {
+        target.putLong(value.toEpochSecond(ZoneOffset.UTC)).putInt(value.getNano());
+    }
+
+    private LocalDateTime datetimeAt(int position) {
+        return LocalDateTime.ofEpochSecond(buffer.getLong(position), buffer.getInt(position + 8), ZoneOffset.UTC);
+    }
+
+    private long idAt(int offset) {
+        return buffer.getLong(offset + RECORD_HEADER_SIZE + 1);
+    }
+
+    private int recordSize(int offset) {
+        return RECORD_HEADER_SIZE + buffer.getInt(offset);
+    }
+
+    private int crc(int offset, int length) {
+        CRC32 crc = new CRC32();
+        crc.update(buffer.slice(offset, length));
+        return (int) crc.getValue();
+    }
+
+    private static int crc(byte[] bytes, int offset, int length) {
+        CRC32 crc = new CRC32();
+        crc.update(bytes, offset, length);
+        return (int) crc.getValue();
+    }
+
+    private static void writeHeader(ByteBuffer target, long generation, long idFloor) {
+        target.putInt(0, MAGIC)
+                .putInt(4, FORMAT_VERSION)
+                .putLong(GENERATION_OFFSET, generation)
+                .putLong(ID_FLOOR_OFFSET, idFloor);
+    }
+
+    private void clear(int from, int to) {
+        byte[] zeros = new byte[8192];
+        for (int position = from; position < to; position += zeros.length) {
+            buffer.put(position, zeros, 0, Math.min(zeros.length, to - position));
+        }
+    }
+
+    private void ensureCapacity(int recordSize) {
+        long required = (long) writePosition + recordSize;
+        if (required > buffer.capacity()) {
+            map(Math.max(required, Math.min(2L * buffer.capacity(), Integer.MAX_VALUE)));
+        }
+    }
+
+    private void map(long size) {
+        if (size > Integer.MAX_VALUE) {
+            throw new IllegalStateException("The todo log cannot grow beyond 2GB, compact it first");
+        }
+        try {
+            buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, size);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not map the todo log", e);
+        }
+    }
+
+    private long initialMappedSize() {
+        return Math.max(HEADER_SIZE, properties.getInitialMappedSize().toBytes());
+    }
+}
@@ -0,0 +1,78 @@
+package com.sidpaw.todobackend.store;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.util.unit.DataSize;
+
+import java.time.Duration;
+
+/**
+ * Settings for the todo item storage engines.
+ */
+@Data
+@ConfigurationProperties(prefix = "todo.storage")
+public class StorageProperties {
+
+    /**
+     * {@code jpa} (relational database), {@code log} (memory-mapped record log) or {@code memory} (columnar
+     * arrays in memory, also selected by the {@code memory} profile).
+     */
+    private String engine = "jpa";
+
+    private Log log = new Log();
+
+    private Memory memory = new Memory();
+
+    private Compaction compaction = new Compaction();
+
+    @Data
+    public static class Log {
+        private String directory = "data/store";
+        /**
+         * Size of the first mapping of the log file; the mapping doubles whenever it is full.
+         */
+        private DataSize initialMappedSize = DataSize.ofMegabytes(16);
+        /**
+         * Force every append to disk. Without it an append survives a process crash but not a power loss.
+         */
+        private boolean syncOnWrite = false;
+        /**
+         * How often the log is checkpointed (and compacted when needed).
+         */
+        private long maintenanceIntervalMs = 60000;
+        /**
+         * Compact once this share of the log is taken by superseded records...
+         */
+        private double compactionGarbageRatio = 0.5;
+        /**
+         * ...and the log is at least this large.
+         */
+        private DataSize compactionMinSize = DataSize.ofMegabytes(1);
+    }
+
+    @Data
+    public static class Memory {
+        /**
+         * Items the columns are sized for up front; they double whenever they are full.
+         */
+        private int initialCapacity = 1024;
+    }
+
+    /**
+     * Physical removal of soft-deleted rows, {@code jpa} engine only.
+     */
+    @Data
+    public static class Compaction {
+        private boolean enabled = true;
+        private long intervalMs = 60000;
+        /**
+         * How long a deleted row is kept before it may be removed.
+         */
+        private Duration retention = Duration.ofMinutes(10);
+        private int batchSize = 500;
+        /**
+         * Upper bound on batches removed per run, so one run cannot monopolise the scheduler thread.
+         */
+        private int maxBatchesPerRun = 20;
+    }
+}
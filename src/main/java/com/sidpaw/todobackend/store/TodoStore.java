@@ -0,0 +1,120 @@
+package com.sidpaw.todobackend.store;
+
+import com.sidpaw.todobackend.analytics.CompletionTime;
+import com.sidpaw.todobackend.entity.TodoItemEntity;
+import com.sidpaw.todobackend.model.PageCursor;
+import com.sidpaw.todobackend.model.PastDueMode;
+import com.sidpaw.todobackend.model.TodoField;
+import com.sidpaw.todobackend.model.TodoSort;
+import com.sidpaw.todobackend.model.TodoStatus;
+import jakarta.persistence.Tuple;
+import org.springframework.data.domain.Limit;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Stream;
+
+/**
+ * Storage engine for todo items, selected with {@code todo.storage.engine}: {@code jpa} (default, the relational
+ * database through {@link com.sidpaw.todobackend.repository.TodoItemRepository}), {@code log} (an append-only,
+ * memory-mapped record log) or {@code memory} (primitive column arrays, see {@link ColumnarTodoStore}). The queries
+ * keep the names and semantics of the repository methods they mirror.
+ * <p>
+ * Entities returned by a store are detached copies for every engine but {@code jpa}: changes are only stored
+ * by passing the entity to {@link #save(TodoItemEntity)}.
+ */
+public interface TodoStore {
+
+    /**
+     * Inserts the item when it has no id yet (assigning one), replaces the stored item otherwise.
+     */
+    TodoItemEntity save(TodoItemEntity item);
+
+    /**
+     * Inserts new items in one go, assigning their ids. The {@code jpa} engine also flushes them and clears the
+     * persistence context, so importing in batches holds at most one batch of entities even when the persistence
+     * context spans the whole request (open-in-view).
+     */
+    List<TodoItemEntity> insertAll(List<TodoItemEntity> items);
+
+    Optional<TodoItemEntity> findById(Long id);
+
+    boolean existsById(Long id);
+
+    /**
+     * The result is aligned with {@code ids}; missing ids yield null.
+     */
+    List<TodoItemEntity> findAllByIdInOrder(List<Long> ids);
+
+    List<TodoItemEntity> findAllByOrderByCreationDatetimeDesc();
+
+    /**
+     * Items with {@code status} that have no due datetime or are due after {@code now}, newest first.
+     */
+    List<TodoItemEntity> findNotDoneItems(LocalDateTime now, TodoStatus status);
+
+    /**
+     * Items with {@code pastDueStatus} plus items with {@code notDoneStatus} due before {@code now}, newest first.
+     */
+    List<TodoItemEntity> findPastDueItems(LocalDateTime now, TodoStatus notDoneStatus, TodoStatus pastDueStatus);
+
+    List<TodoItemEntity> findByStatusOrderByCreationDatetimeDesc(TodoStatus status);
+
+    /**
+     * Items with {@code status} due in [dueFrom, dueTo) after the keyset position (afterDue, afterId),
+     * ordered by due datetime then id.
+     */
+    List<TodoItemEntity> findDueWindow(TodoStatus status, LocalDateTime dueFrom, LocalDateTime dueTo,
+                                       LocalDateTime afterDue, Long afterId, Limit limit);
+
+    /**
+     * See {@link com.sidpaw.todobackend.repository.TodoItemRepositoryCustom#findSortedPage}.
+     */
+    List<TodoItemEntity> findSortedPage(TodoStatus status, LocalDateTime dueAfter, LocalDateTime dueBefore,
+                                        TodoSort sort, PageCursor after, Limit limit);
+
+    /**
+     * See {@link com.sidpaw.todobackend.repository.TodoItemRepositoryCustom#findUndatedPage}.
+     */
+    List<TodoItemEntity> findUndatedPage(TodoStatus status, long afterId, Limit limit);
+
+    /**
+     * Earliest due datetime after {@code now} among items with {@code status}, null if there is none.
+     */
+    LocalDateTime findNextDueDatetime(LocalDateTime now, TodoStatus status);
+
+    /**
+     * See {@link com.sidpaw.todobackend.repository.TodoItemRepositoryCustom#findProjected}.
+     */
+    List<Tuple> findProjected(Set<TodoField> fields, TodoStatus status, LocalDateTime now, PastDueMode mode);
+
+    Optional<Tuple> findProjectedById(Long id, Set<TodoField> fields, PastDueMode mode);
+
+    /**
+     * Creation/completion times of items with {@code status} that have a done datetime. Must be closed,
+     * and consumed inside a transaction for the {@code jpa} engine.
+     */
+    Stream<CompletionTime> streamCompletionTimes(TodoStatus status);
+
+    /**
+     * Moves items with {@code currentStatus} due before {@code now} to {@code newStatus} and appends their
+     * transitions to {@code todo_status_history}, in the current transaction. The {@code jpa} engine locks the rows
+     * first, so a patch committed concurrently leaves no transition behind that never happened.
+     *
+     * @return the number of items changed
+     */
+    int updatePastDueItems(LocalDateTime now, TodoStatus currentStatus, TodoStatus newStatus);
+
+    /**
+     * Deletes the given items: no query returns them afterwards. The {@code jpa} engine only marks the rows with
+     * {@code now} and leaves their removal to the compactor; the other engines drop the items right away.
+     *
+     * @return the number of items that existed and were deleted
+     */
+    int markDeleted(Collection<Long> ids, LocalDateTime now);
+
+    void deleteAll();
+}
@@ -0,0 +1,174 @@
+package com.sidpaw.todobackend.analytics;
+
+import com.sidpaw.todobackend.dto.CompletionAnalyticsDTO;
+import com.sidpaw.todobackend.dto.TodoPatchDTO;
+import com.sidpaw.todobackend.dto.TodoRequestDTO;
+import com.sidpaw.todobackend.dto.TodoResponseDTO;
+import com.sidpaw.todobackend.entity.TodoItemEntity;
+import com.sidpaw.todobackend.model.TodoStatus;
+import com.sidpaw.todobackend.repository.CompletionHistogramRepository;
+import com.sidpaw.todobackend.repository.TodoItemRepository;
+import com.sidpaw.todobackend.service.CompletionAnalyticsService;
+import com.sidpaw.todobackend.service.TodoItemService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.jdbc.Sql;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest
+@ActiveProfiles("test")
+@Sql(scripts = "/cleanup.sql", executionPhase = Sql.ExecutionPhase.BEFORE_TEST_METHOD)
+class CompletionAnalyticsIntegrationTest {
+
+    private static final LocalDate PAST_DAY = LocalDate.of(2024, 3, 10);
+
+    @Autowired
+    private CompletionAnalyticsService completionAnalyticsService;
+
+    @Autowired
+    private TodoItemService todoItemService;
+
+    @Autowired
+    private TodoItemRepository todoItemRepository;
+
+    @Autowired
+    private CompletionHistogramRepository completionHistogramRepository;
+
+    @AfterEach
+    void tearDown() {
+        todoItemRepository.deleteAll();
+        completionAnalyticsService.rebuildFromTodoItems();
+        completionHistogramRepository.deleteAll();
+    }
+
+    @Test
+    void givenItemMarkedDone_WhenQueryingToday_ThenCompletionIsCounted() {
+        // Given
+        LocalDate today = LocalDate.now();
+        long before = completionAnalyticsService.getCompletionAnalytics(today, today).getTotal().getCount();
+        TodoResponseDTO item = todoItemService.createTodoItem(new TodoRequestDTO("Finish", null));
+
+        // When
+        todoItemService.patchTodo(item.getId(), status("done"));
+
+        // Then
+        CompletionAnalyticsDTO analytics = completionAnalyticsService.getCompletionAnalytics(today, today);
+        assertThat(analytics.getTotal().getCount()).isEqualTo(before + 1);
+        assertThat(analytics.getDays()).singleElement()
+                .satisfies(day -> assertThat(day.getDate()).isEqualTo(today));
+    }
+
+    @Test
+    void givenItemReopenedAndDoneAgain_WhenQueryingToday_ThenItCountsOnce() {
+        // Given
+        LocalDate today = LocalDate.now();
+        long before = completionAnalyticsService.getCompletionAnalytics(today, today).getTotal().getCount();
+        TodoResponseDTO item = todoItemService.createTodoItem(new TodoRequestDTO("Finish", null));
+
+        // When
+        todoItemService.patchTodo(item.getId(), status("done"));
+        todoItemService.patchTodo(item.getId(), status("not done"));
+        todoItemService.patchTodo(item.getId(), status("done"));
+
+        // Then
+        assertThat(completionAnalyticsService.getCompletionAnalytics(today, today).getTotal().getCount())
+                .isEqualTo(before + 1);
+    }
+
+    @Test
+    void givenDoneItem_WhenDeleted_ThenItsCompletionIsTakenBack() {
+        // Given
+        LocalDate today = LocalDate.now();
+        long before = completionAnalyticsService.getCompletionAnalytics(today, today).getTotal().getCount();
+        TodoResponseDTO item = todoItemService.createTodoItem(new TodoRequestDTO("Finish", null));
+        todoItemService.patchTodo(item.getId(), status("done"));
+
+        // When
+        todoItemService.deleteTodoItem(item.getId());
+
+        // Then
+        assertThat(completionAnalyticsService.getCompletionAnalytics(today, today).getTotal().getCount())
+                .isEqualTo(before);
+    }
+
+    @Test
+    void givenDoneItemsInTable_WhenRebuilding_ThenHistogramsMatchTheTable() {
+        // Given
+        saveDoneItem(PAST_DAY.atTime(9, 0), PAST_DAY.atTime(9, 1));
+        saveDoneItem(PAST_DAY.atTime(8, 0), PAST_DAY.atTime(10, 0));
+        saveDoneItem(PAST_DAY.minusDays(1).atTime(8, 0), PAST_DAY.atTime(8, 0));
+
+        // When
+        completionAnalyticsService.rebuildFromTodoItems();
+
+        // Then
+        CompletionAnalyticsDTO analytics = completionAnalyticsService.getCompletionAnalytics(PAST_DAY, PAST_DAY);
+        assertThat(analytics.getTotal().getCount()).isEqualTo(3);
+        assertThat(analytics.getTotal().getMinSeconds()).isEqualTo(60);
+        assertThat(analytics.getTotal().getMaxSeconds()).isEqualTo(86_400);
+        assertThat(analytics.getTotal().getP50Seconds()).isBetween(7_200L, 7_425L);
+    }
+
+    @Test
+    void givenRecordedCompletions_WhenPersisting_ThenOneRowPerChangedDayIsWritten() {
+        // Given
+        saveDoneItem(PAST_DAY.atTime(9, 0), PAST_DAY.atTime(9, 30));
+        saveDoneItem(PAST_DAY.plusDays(1).atTime(9, 0), PAST_DAY.plusDays(1).atTime(9, 30));
+        completionAnalyticsService.rebuildFromTodoItems();
+
+        // When
+        int written = completionAnalyticsService.persistDirtyHistograms();
+
+        // Then
+        assertThat(written).isEqualTo(2);
+        assertThat(completionHistogramRepository.findById(PAST_DAY))
+                .hasValueSatisfying(row -> assertThat(LatencyHistogram.fromBytes(row.getHistogram()).getMax())
+                        .isEqualTo(1_800));
+        assertThat(completionAnalyticsService.persistDirtyHistograms()).isZero();
+    }
+
+    @Test
+    void givenSavedHistogramsBehindTheTable_WhenRebuildingAfterStartup_ThenSavedOnesAreServedUntilReplaced() {
+        // Given
+        saveDoneItem(PAST_DAY.atTime(9, 0), PAST_DAY.atTime(9, 30));
+        completionAnalyticsService.rebuildFromTodoItems();
+        completionAnalyticsService.persistDirtyHistograms();
+        // Completed after the last write, before a crash
+        saveDoneItem(PAST_DAY.atTime(10, 0), PAST_DAY.atTime(12, 0));
+        completionAnalyticsService.afterSingletonsInstantiated();
+        long served = completionAnalyticsService.getCompletionAnalytics(PAST_DAY, PAST_DAY).getTotal().getCount();
+
+        // When
+        completionAnalyticsService.rebuildFromTodoItems();
+        completionAnalyticsService.persistDirtyHistograms();
+
+        // Then
+        assertThat(served).isEqualTo(1);
+        CompletionAnalyticsDTO analytics = completionAnalyticsService.getCompletionAnalytics(PAST_DAY, PAST_DAY);
+        assertThat(analytics.getTotal().getCount()).isEqualTo(2);
+        assertThat(completionHistogramRepository.findById(PAST_DAY))
+                .hasValueSatisfying(row -> assertThat(LatencyHistogram.fromBytes(row.getHistogram()).getTotalCount())
+                        .isEqualTo(2));
+    }
+
+    private static TodoPatchDTO status(String status) {
+        TodoPatchDTO patch = new TodoPatchDTO();
+        patch.setStatus(status);
+        return patch;
+    }
+
+    private void saveDoneItem(LocalDateTime created, LocalDateTime done) {
+        TodoItemEntity item = new TodoItemEntity("Done earlier", null);
+        item.setCreationDatetime(created);
+        item.setStatus(TodoStatus.DONE);
+        item.setDoneDatetime(done);
+        todoItemRepository.save(item);
+    }
+}
@@ -0,0 +1,146 @@
+package com.sidpaw.todobackend.analytics;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+import java.util.stream.LongStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.within;
+
+/**
+ * Unit tests for LatencyHistogram.
+ */
+class LatencyHistogramTest {
+
+    @Test
+    void givenSmallValues_WhenQueryingPercentiles_ThenValuesAreExact() {
+        // Given
+        LatencyHistogram histogram = new LatencyHistogram();
+        LongStream.rangeClosed(1, 20).forEach(histogram::record);
+
+        // When & Then
+        assertThat(histogram.getTotalCount()).isEqualTo(20);
+        assertThat(histogram.getMin()).isEqualTo(1);
+        assertThat(histogram.getMax()).isEqualTo(20);
+        assertThat(histogram.getMean()).isEqualTo(10.5);
+        assertThat(histogram.valueAtPercentile(50)).isEqualTo(10);
+        assertThat(histogram.valueAtPercentile(95)).isEqualTo(19);
+        assertThat(histogram.valueAtPercentile(100)).isEqualTo(20);
+    }
+
+    @Test
+    void givenLargeValues_WhenQueryingPercentiles_ThenRelativeErrorIsBounded() {
+        // Given
+        LatencyHistogram histogram = new LatencyHistogram();
+        long[] values = new Random(42).longs(10_000, 0, 90L * 24 * 3600).sorted().toArray();
+        for (long value : values) {
+            histogram.record(value);
+        }
+
+        // When & Then
+        for (double percentile : new double[]{50, 90, 99}) {
+            long exact = values[(int) Math.ceil(percentile / 100 * values.length) - 1];
+            assertThat((double) histogram.valueAtPercentile(percentile))
+                    .isCloseTo(exact, within(exact / 32.0 + 1));
+        }
+    }
+
+    @Test
+    void givenBucketBoundaries_WhenIndexing_ThenBucketsAreContiguous() {
+        // When & Then
+        for (int index = 0; index < 1_800; index++) {
+            long low = LatencyHistogram.lowestValueOf(index);
+            assertThat(LatencyHistogram.indexOf(low)).isEqualTo(index);
+            assertThat(LatencyHistogram.indexOf(LatencyHistogram.highestValueOf(index))).isEqualTo(index);
+            assertThat(LatencyHistogram.lowestValueOf(index + 1)).isEqualTo(LatencyHistogram.highestValueOf(index) + 1);
+        }
+    }
+
+    @Test
+    void givenTwoHistograms_WhenMerged_ThenEqualsRecordingAllValuesInOne() {
+        // Given
+        LatencyHistogram first = new LatencyHistogram();
+        LatencyHistogram second = new LatencyHistogram();
+        LatencyHistogram combined = new LatencyHistogram();
+        new Random(7).longs(1_000, 0, 1_000_000).forEach(value -> {
+            (value % 2 == 0 ? first : second).record(value);
+            combined.record(value);
+        });
+
+        // When
+        first.merge(second);
+
+        // Then
+        assertThat(first.getTotalCount()).isEqualTo(combined.getTotalCount());
+        assertThat(first.getMin()).isEqualTo(combined.getMin());
+        assertThat(first.getMax()).isEqualTo(combined.getMax());
+        assertThat(first.getMean()).isEqualTo(combined.getMean());
+        assertThat(first.valueAtPercentile(75)).isEqualTo(combined.valueAtPercentile(75));
+        assertThat(first.toBytes()).isEqualTo(combined.toBytes());
+    }
+
+    @Test
+    void givenHistogram_WhenSerializedAndRead_ThenStatisticsArePreserved() {
+        // Given
+        LatencyHistogram histogram = new LatencyHistogram();
+        LongStream.of(0, 5, 600, 3_600, 86_400, 86_400).forEach(histogram::record);
+
+        // When
+        LatencyHistogram restored = LatencyHistogram.fromBytes(histogram.toBytes());
+
+        // Then
+        assertThat(restored.getTotalCount()).isEqualTo(6);
+        assertThat(restored.getMin()).isZero();
+        assertThat(restored.getMax()).isEqualTo(86_400);
+        assertThat(restored.valueAtPercentile(50)).isEqualTo(histogram.valueAtPercentile(50));
+        assertThat(restored.toBytes()).isEqualTo(histogram.toBytes());
+    }
+
+    @Test
+    void givenEmptyHistogram_WhenQueried_ThenReturnsZeros() {
+        // Given
+        LatencyHistogram histogram = new LatencyHistogram();
+
+        // When & Then
+        assertThat(histogram.getMin()).isZero();
+        assertThat(histogram.getMean()).isZero();
+        assertThat(histogram.valueAtPercentile(99)).isZero();
+    }
+
+    @Test
+    void givenRecordedValues_WhenRemovingTheExtremes_ThenStatisticsCoverTheRemainingOnes() {
+        // Given
+        LatencyHistogram histogram = new LatencyHistogram();
+        LongStream.of(5, 10, 20, 1_000).forEach(histogram::record);
+
+        // When
+        histogram.remove(5);
+        histogram.remove(1_000);
+
+        // Then
+        assertThat(histogram.getTotalCount()).isEqualTo(2);
+        assertThat(histogram.getMean()).isEqualTo(15);
+        assertThat(histogram.getMin()).isEqualTo(10);
+        assertThat(histogram.getMax()).isEqualTo(20);
+    }
+
+    @Test
+    void givenValueNotRecorded_WhenRemoving_ThenThrowsException() {
+        // Given
+        LatencyHistogram histogram = new LatencyHistogram();
+        histogram.record(5);
+
+        // When & Then
+        assertThatThrownBy(() -> histogram.remove(6))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void givenNegativeValue_WhenRecording_ThenThrowsException() {
+        // When & Then
+        assertThatThrownBy(() -> new LatencyHistogram().record(-1))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+}
@@ -0,0 +1,145 @@
+package com.sidpaw.todobackend.backup;
+
+import com.sidpaw.todobackend.dto.TodoPatchDTO;
+import com.sidpaw.todobackend.dto.TodoRequestDTO;
+import com.sidpaw.todobackend.dto.TodoResponseDTO;
+import com.sidpaw.todobackend.service.CompletionAnalyticsService;
+import com.sidpaw.todobackend.service.TodoItemService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.actuate.endpoint.InvalidEndpointRequestException;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.jdbc.Sql;
+import org.springframework.util.FileSystemUtils;
+
+import java.io.RandomAccessFile;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Backup and restore with a batch size of 2, so a restore spans several insert batches.
+ */
+@SpringBootTest(properties = {
+        "todo.backup.directory=" + TodoBackupIntegrationTest.DIRECTORY,
+        "todo.backup.batch-size=2"
+})
+@ActiveProfiles("test")
+@Sql(scripts = "/cleanup.sql", executionPhase = Sql.ExecutionPhase.BEFORE_TEST_METHOD)
+class TodoBackupIntegrationTest {
+
+    static final String DIRECTORY = "build/test-backups";
+
+    private static final String INDEX_COUNT_SQL = "SELECT COUNT(*) FROM INFORMATION_SCHEMA.INDEXES "
+            + "WHERE TABLE_NAME = 'TODO_ITEMS' AND INDEX_NAME LIKE 'IDX_TODO_ITEMS_%'";
+
+    @Autowired
+    private TodoBackupService todoBackupService;
+
+    @Autowired
+    private TodoBackupEndpoint todoBackupEndpoint;
+
+    @Autowired
+    private TodoItemService todoItemService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private CompletionAnalyticsService completionAnalyticsService;
+
+    @BeforeEach
+    void setUp() {
+        FileSystemUtils.deleteRecursively(Path.of(DIRECTORY).toFile());
+    }
+
+    @Test
+    void givenSnapshot_WhenRestoring_ThenLiveItemsComeBackWithTheirIdsAndIndexes() throws Exception {
+        // Given
+        LocalDateTime due = LocalDateTime.of(2030, 1, 1, 10, 0, 0, 123_456_000);
+        todoItemService.createTodoItem(new TodoRequestDTO("Plain", null));
+        TodoResponseDTO dueItem = todoItemService.createTodoItem(new TodoRequestDTO("Due – ünïcode", due));
+        TodoResponseDTO doneItem = todoItemService.createTodoItem(new TodoRequestDTO("Done", null));
+        TodoPatchDTO done = new TodoPatchDTO();
+        done.setStatus("done");
+        todoItemService.patchTodo(doneItem.getId(), done);
+        TodoResponseDTO deletedItem = todoItemService.createTodoItem(new TodoRequestDTO("Deleted", null));
+        todoItemService.deleteTodoItem(deletedItem.getId());
+        List<TodoResponseDTO> before = todoItemService.getAllTodoItems();
+
+        // When
+        BackupReport backup = todoBackupService.backup("all.tsnap");
+        todoItemService.createTodoItem(new TodoRequestDTO("Created after the backup", null));
+        BackupReport restore = todoBackupService.restore("all.tsnap");
+
+        // Then
+        assertThat(backup.rows()).isEqualTo(3);
+        assertThat(restore.rows()).isEqualTo(3);
+        assertThat(restore.bytes()).isEqualTo(backup.bytes());
+        assertThat(todoItemService.getAllTodoItems()).usingRecursiveFieldByFieldElementComparator()
+                .containsExactlyInAnyOrderElementsOf(before);
+        assertThat(todoItemService.getTodoItemById(dueItem.getId())).get()
+                .extracting(TodoResponseDTO::getDueDatetime).isEqualTo(due);
+        assertThat(jdbcTemplate.queryForObject(INDEX_COUNT_SQL, Long.class)).isEqualTo(4);
+        assertThat(todoItemService.createTodoItem(new TodoRequestDTO("Next", null)).getId())
+                .isGreaterThan(deletedItem.getId());
+        assertThat(todoBackupService.listSnapshots()).containsExactly("all.tsnap");
+    }
+
+    @Test
+    void givenCompletionsAfterTheBackup_WhenRestoring_ThenAnalyticsMatchTheRestoredItems() throws Exception {
+        // Given
+        TodoPatchDTO done = new TodoPatchDTO();
+        done.setStatus("done");
+        TodoResponseDTO doneBefore = todoItemService.createTodoItem(new TodoRequestDTO("Done before", null));
+        todoItemService.patchTodo(doneBefore.getId(), done);
+        todoBackupService.backup("analytics.tsnap");
+        TodoResponseDTO doneAfter = todoItemService.createTodoItem(new TodoRequestDTO("Done after", null));
+        todoItemService.patchTodo(doneAfter.getId(), done);
+
+        // When
+        todoBackupService.restore("analytics.tsnap");
+
+        // Then
+        LocalDate today = LocalDate.now();
+        assertThat(completionAnalyticsService.getCompletionAnalytics(today, today).getTotal().getCount())
+                .isEqualTo(1);
+    }
+
+    @Test
+    void givenCorruptedSnapshot_WhenRestoring_ThenRestoreFailsAndItemsAreUntouched() throws Exception {
+        // Given
+        todoItemService.createTodoItem(new TodoRequestDTO("Kept", null));
+        todoBackupService.backup("corrupted.tsnap");
+        try (RandomAccessFile file = new RandomAccessFile(Path.of(DIRECTORY, "corrupted.tsnap").toFile(), "rw")) {
+            file.seek(TodoSnapshotFile.HEADER_SIZE + 20);
+            file.write(file.read() ^ 0xFF);
+        }
+        todoItemService.createTodoItem(new TodoRequestDTO("Also kept", null));
+
+        // When & Then
+        assertThatThrownBy(() -> todoBackupService.restore("corrupted.tsnap"))
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessageContaining("checksum");
+        assertThat(todoItemService.getAllTodoItems()).hasSize(2);
+        assertThat(jdbcTemplate.queryForObject(INDEX_COUNT_SQL, Long.class)).isEqualTo(4);
+    }
+
+    @Test
+    void givenNameOutsideTheDirectory_WhenRunningEndpoint_ThenRequestIsRejected() {
+        // When & Then
+        assertThatThrownBy(() -> todoBackupEndpoint.run("restore", "../application.properties"))
+                .isInstanceOf(InvalidEndpointRequestException.class)
+                .hasMessageContaining("Invalid snapshot name");
+        assertThatThrownBy(() -> todoBackupEndpoint.run("restore", "missing.tsnap"))
+                .isInstanceOf(InvalidEndpointRequestException.class)
+                .hasMessageContaining("No such snapshot");
+    }
+}
@@ -0,0 +1,74 @@
+package com.sidpaw.todobackend.benchmark;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.sidpaw.todobackend.dto.TodoResponseDTO;
+import com.sidpaw.todobackend.serialization.BinaryFormatsModule;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Compares payload size and serialization CPU of a large todo list in JSON, CBOR and Smile.
+ * Run with {@code ./gradlew benchmark --tests "*ResponseEncodingBenchmark"}.
+ */
+@Tag("benchmark")
+class ResponseEncodingBenchmark {
+
+    private static final int ITEMS = 10_000;
+    private static final int WARMUP_ROUNDS = 20;
+    private static final int MEASURED_ROUNDS = 50;
+
+    @Test
+    void compareEncodings() throws Exception {
+        List<TodoResponseDTO> items = sampleItems();
+        Map<String, ObjectMapper> mappers = Map.of(
+                "json", jsonMapper(),
+                "cbor", binaryMapper(new ObjectMapper(new CBORFactory())),
+                "smile", binaryMapper(new ObjectMapper(new SmileFactory())));
+
+        System.out.printf("%-6s %12s %14s%n", "format", "bytes", "us/serialize");
+        for (String format : List.of("json", "cbor", "smile")) {
+            ObjectMapper mapper = mappers.get(format);
+            int size = mapper.writeValueAsBytes(items).length;
+            for (int i = 0; i < WARMUP_ROUNDS; i++) {
+                mapper.writeValueAsBytes(items);
+            }
+            long start = System.nanoTime();
+            for (int i = 0; i < MEASURED_ROUNDS; i++) {
+                mapper.writeValueAsBytes(items);
+            }
+            long micros = (System.nanoTime() - start) / MEASURED_ROUNDS / 1_000;
+            System.out.printf("%-6s %12d %14d%n", format, size, micros);
+            assertThat(size).isPositive();
+        }
+    }
+
+    private static ObjectMapper jsonMapper() {
+        return new ObjectMapper().registerModule(new JavaTimeModule());
+    }
+
+    private static ObjectMapper binaryMapper(ObjectMapper mapper) {
+        return mapper.registerModule(new JavaTimeModule()).registerModule(new BinaryFormatsModule());
+    }
+
+    private static List<TodoResponseDTO> sampleItems() {
+        LocalDateTime base = LocalDateTime.of(2025, 1, 1, 9, 0);
+        List<TodoResponseDTO> items = new ArrayList<>(ITEMS);
+        for (int i = 0; i < ITEMS; i++) {
+            items.add(new TodoResponseDTO((long) i, "Benchmark task number " + i,
+                    i % 3 == 0 ? "done" : "not done",
+                    base.plusMinutes(i), base.plusDays(7).plusMinutes(i),
+                    i % 3 == 0 ? base.plusDays(1).plusMinutes(i) : null));
+        }
+        return items;
+    }
+}
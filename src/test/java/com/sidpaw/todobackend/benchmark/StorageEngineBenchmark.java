@@ -0,0 +1,92 @@
+package com.sidpaw.todobackend.benchmark;
+
+import com.sidpaw.todobackend.entity.TodoItemEntity;
+import com.sidpaw.todobackend.model.TodoStatus;
+import com.sidpaw.todobackend.repository.TodoItemRepository;
+import com.sidpaw.todobackend.store.ColumnarTodoStore;
+import com.sidpaw.todobackend.store.LogTodoStore;
+import com.sidpaw.todobackend.store.StorageProperties;
+import com.sidpaw.todobackend.store.TodoStore;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Compares the JPA, log and in-memory columnar storage engines on inserts, lookups by id and status lists.
+ * Run with {@code ./gradlew benchmark --tests "*StorageEngineBenchmark"}.
+ */
+@Tag("benchmark")
+@SpringBootTest
+@ActiveProfiles("test")
+class StorageEngineBenchmark {
+
+    private static final int ITEMS = 10_000;
+    private static final int LOOKUPS = 50_000;
+    private static final int LIST_ROUNDS = 20;
+
+    @Autowired
+    private TodoItemRepository todoItemRepository;
+
+    // The default engine, with the second-level cache as configured
+    @Autowired
+    private TodoStore jpaTodoStore;
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void compareEngines() throws Exception {
+        StorageProperties.Log logProperties = new StorageProperties.Log();
+        logProperties.setDirectory(directory.toString());
+
+        todoItemRepository.deleteAll();
+        try (LogTodoStore logStore = new LogTodoStore(logProperties, new SimpleMeterRegistry())) {
+            System.out.printf("%-6s %14s %14s %14s%n", "engine", "ns/insert", "ns/findById", "us/list");
+            run("jpa", jpaTodoStore);
+            run("log", logStore);
+            run("memory", new ColumnarTodoStore(new StorageProperties.Memory(), new SimpleMeterRegistry()));
+        }
+        todoItemRepository.deleteAll();
+    }
+
+    private static void run(String engine, TodoStore store) {
+        LocalDateTime base = LocalDateTime.of(2025, 1, 1, 9, 0);
+        List<Long> ids = new ArrayList<>(ITEMS);
+
+        long start = System.nanoTime();
+        for (int i = 0; i < ITEMS; i++) {
+            TodoItemEntity item = new TodoItemEntity(null, "Benchmark task number " + i,
+                    i % 3 == 0 ? TodoStatus.DONE : TodoStatus.NOT_DONE,
+                    base.plusMinutes(i), base.plusDays(7).plusMinutes(i), null);
+            ids.add(store.save(item).getId());
+        }
+        long insertNanos = (System.nanoTime() - start) / ITEMS;
+
+        Random random = new Random(42);
+        start = System.nanoTime();
+        for (int i = 0; i < LOOKUPS; i++) {
+            assertThat(store.findById(ids.get(random.nextInt(ids.size())))).isPresent();
+        }
+        long lookupNanos = (System.nanoTime() - start) / LOOKUPS;
+
+        start = System.nanoTime();
+        for (int i = 0; i < LIST_ROUNDS; i++) {
+            assertThat(store.findByStatusOrderByCreationDatetimeDesc(TodoStatus.DONE)).isNotEmpty();
+        }
+        long listMicros = (System.nanoTime() - start) / LIST_ROUNDS / 1_000;
+
+        System.out.printf("%-6s %14d %14d %14d%n", engine, insertNanos, lookupNanos, listMicros);
+    }
+}
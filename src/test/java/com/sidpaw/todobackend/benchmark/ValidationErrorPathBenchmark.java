@@ -0,0 +1,140 @@
+package com.sidpaw.todobackend.benchmark;
+
+import com.sidpaw.todobackend.dto.TodoPatchDTO;
+import com.sidpaw.todobackend.entity.TodoItemEntity;
+import com.sidpaw.todobackend.exception.InvalidStatusException;
+import com.sidpaw.todobackend.model.TodoStatus;
+import com.sidpaw.todobackend.service.PatchOutcome;
+import com.sidpaw.todobackend.service.TodoItemService;
+import com.sidpaw.todobackend.store.TodoStore;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.function.IntSupplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Measures the rejection paths hit by a flood of invalid requests, from all cores at once: status parsing (the
+ * lookup table against the previous stream-and-throw implementation) and PATCH requests rejected for an unknown
+ * status or a past due item. Uses the in-memory engine so storage does not dominate.
+ * Run with {@code ./gradlew benchmark --tests "*ValidationErrorPathBenchmark"}.
+ */
+@Tag("benchmark")
+@SpringBootTest(properties = "todo.storage.engine=memory")
+@ActiveProfiles("test")
+class ValidationErrorPathBenchmark {
+
+    private static final int THREADS = Runtime.getRuntime().availableProcessors();
+    private static final int PARSE_CALLS = 2_000_000;
+    private static final int PATCH_CALLS = 50_000;
+
+    @Autowired
+    private TodoItemService todoItemService;
+
+    @Autowired
+    private TodoStore todoStore;
+
+    @Test
+    void measureErrorPaths() throws Exception {
+        LocalDateTime now = LocalDateTime.now();
+        long openId = todoStore.save(new TodoItemEntity("Open", now.plusDays(1))).getId();
+        long pastDueId = todoStore.save(new TodoItemEntity(null, "Past due", TodoStatus.PAST_DUE,
+                now.minusDays(2), now.minusDays(1), null)).getId();
+        TodoPatchDTO unknownStatus = new TodoPatchDTO();
+        unknownStatus.setStatus("in progress");
+        TodoPatchDTO description = new TodoPatchDTO();
+        description.setDescription("Too late");
+
+        Map<String, IntSupplier> parsePaths = new LinkedHashMap<>();
+        parsePaths.put("previous from (stack trace)", () -> throwsOnParse(() -> previousFrom("in progress")));
+        parsePaths.put("from (no stack trace)", () -> throwsOnParse(() -> TodoStatus.from("in progress")));
+        parsePaths.put("lookup", () -> TodoStatus.lookup("in progress") == null ? 1 : 0);
+
+        Map<String, IntSupplier> patchPaths = new LinkedHashMap<>();
+        patchPaths.put("patch unknown status", () -> rejected(todoItemService.patchTodo(openId, unknownStatus)));
+        patchPaths.put("patch past due item", () -> rejected(todoItemService.patchTodo(pastDueId, description)));
+
+        System.out.printf("%d threads%n%-28s %12s %14s%n", THREADS, "path", "ns/call", "calls/s");
+        run(parsePaths, PARSE_CALLS);
+        run(patchPaths, PATCH_CALLS);
+        todoStore.deleteAll();
+    }
+
+    private static void run(Map<String, IntSupplier> paths, int callsPerThread) throws Exception {
+        for (Map.Entry<String, IntSupplier> path : paths.entrySet()) {
+            // First pass warms up, second is measured
+            callConcurrently(path.getValue(), callsPerThread / 4);
+            long nanos = callConcurrently(path.getValue(), callsPerThread);
+            long calls = (long) THREADS * callsPerThread;
+            System.out.printf("%-28s %12d %14d%n", path.getKey(),
+                    nanos * THREADS / calls, calls * 1_000_000_000L / nanos);
+        }
+    }
+
+    /**
+     * Runs {@code call} on every thread at once and returns the elapsed wall time; every call must return 1.
+     */
+    private static long callConcurrently(IntSupplier call, int callsPerThread) throws Exception {
+        ExecutorService pool = Executors.newFixedThreadPool(THREADS);
+        try {
+            CountDownLatch start = new CountDownLatch(1);
+            List<Future<Long>> results = new ArrayList<>(THREADS);
+            for (int t = 0; t < THREADS; t++) {
+                results.add(pool.submit(() -> {
+                    start.await();
+                    long sum = 0;
+                    for (int i = 0; i < callsPerThread; i++) {
+                        sum += call.getAsInt();
+                    }
+                    return sum;
+                }));
+            }
+            long begin = System.nanoTime();
+            start.countDown();
+            long sum = 0;
+            for (Future<Long> result : results) {
+                sum += result.get();
+            }
+            long elapsed = System.nanoTime() - begin;
+            assertThat(sum).isEqualTo((long) THREADS * callsPerThread);
+            return elapsed;
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+
+    private static int throwsOnParse(Runnable parse) {
+        try {
+            parse.run();
+            return 0;
+        } catch (InvalidStatusException | IllegalArgumentException e) {
+            return 1;
+        }
+    }
+
+    private static int rejected(PatchOutcome outcome) {
+        return outcome instanceof PatchOutcome.Updated ? 0 : 1;
+    }
+
+    // TodoStatus.from before the lookup table: a stream per call and an exception with a full stack trace
+    private static TodoStatus previousFrom(String value) {
+        return Arrays.stream(TodoStatus.values())
+                .filter(s -> s.getDisplayName().equalsIgnoreCase(value))
+                .findFirst()
+                .orElseThrow(() -> new IllegalArgumentException("Invalid status: " + value));
+    }
+}
@@ -0,0 +1,114 @@
+package com.sidpaw.todobackend.bulkhead;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.web.method.HandlerMethod;
+
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Unit tests for BulkheadInterceptor.
+ */
+class BulkheadInterceptorTest {
+
+    private Bulkhead readBulkhead;
+    private Bulkhead writeBulkhead;
+    private Bulkhead streamingBulkhead;
+    private BulkheadInterceptor interceptor;
+
+    @BeforeEach
+    void setUp() {
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        readBulkhead = new Bulkhead("read", 1, 0, Duration.ZERO, meterRegistry);
+        writeBulkhead = new Bulkhead("write", 1, 0, Duration.ZERO, meterRegistry);
+        streamingBulkhead = new Bulkhead("streaming", 1, 0, Duration.ZERO, meterRegistry);
+        interceptor = new BulkheadInterceptor(readBulkhead, writeBulkhead, streamingBulkhead, new ObjectMapper());
+    }
+
+    @Test
+    void givenWritesSaturated_WhenReading_ThenReadIsStillAdmitted() throws Exception {
+        // Given
+        assertThat(interceptor.preHandle(request("POST"), new MockHttpServletResponse(), null)).isTrue();
+
+        // When & Then
+        assertThat(interceptor.preHandle(request("GET"), new MockHttpServletResponse(), null)).isTrue();
+        assertThat(writeBulkhead.activeCount()).isEqualTo(1);
+        assertThat(readBulkhead.activeCount()).isEqualTo(1);
+    }
+
+    @Test
+    void givenReadsSaturated_WhenReading_ThenRejectsWithServiceUnavailable() throws Exception {
+        // Given
+        assertThat(interceptor.preHandle(request("GET"), new MockHttpServletResponse(), null)).isTrue();
+
+        // When
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        boolean allowed = interceptor.preHandle(request("GET"), response, null);
+
+        // Then
+        assertThat(allowed).isFalse();
+        assertThat(response.getStatus()).isEqualTo(503);
+        assertThat(response.getHeader("Retry-After")).isEqualTo("1");
+        assertThat(response.getContentAsString()).contains("Service Unavailable");
+    }
+
+    @Test
+    void givenCompletedRequest_WhenAfterCompletion_ThenPermitIsReleased() throws Exception {
+        // Given
+        MockHttpServletRequest request = request("PATCH");
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        assertThat(interceptor.preHandle(request, response, null)).isTrue();
+
+        // When
+        interceptor.afterCompletion(request, response, null, null);
+
+        // Then
+        assertThat(writeBulkhead.activeCount()).isZero();
+        assertThat(interceptor.preHandle(request("PATCH"), new MockHttpServletResponse(), null)).isTrue();
+    }
+
+    @Test
+    void givenRejectedRequest_WhenAfterCompletion_ThenNothingIsReleased() throws Exception {
+        // Given
+        assertThat(interceptor.preHandle(request("GET"), new MockHttpServletResponse(), null)).isTrue();
+        MockHttpServletRequest rejected = request("GET");
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        assertThat(interceptor.preHandle(rejected, response, null)).isFalse();
+
+        // When
+        interceptor.afterCompletion(rejected, response, null, null);
+
+        // Then
+        assertThat(readBulkhead.activeCount()).isEqualTo(1);
+    }
+
+    @Test
+    void givenExportInProgress_WhenReading_ThenReadIsStillAdmitted() throws Exception {
+        // Given
+        HandlerMethod export = new HandlerMethod(new StreamingHandler(), "export");
+        assertThat(interceptor.preHandle(request("GET"), new MockHttpServletResponse(), export)).isTrue();
+
+        // When & Then
+        assertThat(interceptor.preHandle(request("GET"), new MockHttpServletResponse(), null)).isTrue();
+        assertThat(streamingBulkhead.activeCount()).isEqualTo(1);
+        assertThat(readBulkhead.activeCount()).isEqualTo(1);
+        assertThat(interceptor.preHandle(request("GET"), new MockHttpServletResponse(), export)).isFalse();
+    }
+
+    private static MockHttpServletRequest request(String method) {
+        return new MockHttpServletRequest(method, "/api/todos/1");
+    }
+
+    static class StreamingHandler {
+
+        @StreamingOperation
+        public void export() {
+        }
+    }
+}
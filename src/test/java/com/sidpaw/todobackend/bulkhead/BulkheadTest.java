@@ -0,0 +1,93 @@
+package com.sidpaw.todobackend.bulkhead;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Unit tests for Bulkhead.
+ */
+class BulkheadTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    @Test
+    void givenFreePermits_WhenAcquiring_ThenSucceedsUpToMaxConcurrent() {
+        // Given
+        Bulkhead bulkhead = new Bulkhead("read", 2, 0, Duration.ZERO, meterRegistry);
+
+        // When & Then
+        assertThat(bulkhead.tryAcquire()).isTrue();
+        assertThat(bulkhead.tryAcquire()).isTrue();
+        assertThat(bulkhead.tryAcquire()).isFalse();
+        assertThat(bulkhead.activeCount()).isEqualTo(2);
+        assertThat(rejected("read", "queue_full")).isEqualTo(1.0);
+    }
+
+    @Test
+    void givenNoFreePermit_WhenWaitExceedsTimeout_ThenRejectsWithTimeout() {
+        // Given
+        Bulkhead bulkhead = new Bulkhead("write", 1, 1, Duration.ofMillis(20), meterRegistry);
+        assertThat(bulkhead.tryAcquire()).isTrue();
+
+        // When
+        boolean acquired = bulkhead.tryAcquire();
+
+        // Then
+        assertThat(acquired).isFalse();
+        assertThat(bulkhead.queuedCount()).isZero();
+        assertThat(rejected("write", "timeout")).isEqualTo(1.0);
+    }
+
+    @Test
+    void givenWaitingCaller_WhenPermitIsReleased_ThenWaiterGetsIt() throws Exception {
+        // Given
+        Bulkhead bulkhead = new Bulkhead("read", 1, 1, Duration.ofSeconds(5), meterRegistry);
+        assertThat(bulkhead.tryAcquire()).isTrue();
+        CompletableFuture<Boolean> waiter = CompletableFuture.supplyAsync(bulkhead::tryAcquire);
+        awaitQueued(bulkhead, 1);
+
+        // When
+        bulkhead.release();
+
+        // Then
+        assertThat(waiter.get(2, TimeUnit.SECONDS)).isTrue();
+        assertThat(meterRegistry.get("todo.bulkhead.queued").tag("pool", "read").gauge().value()).isZero();
+    }
+
+    @Test
+    void givenFullQueue_WhenAnotherCallerArrives_ThenRejectedImmediately() throws Exception {
+        // Given
+        Bulkhead bulkhead = new Bulkhead("read", 1, 1, Duration.ofSeconds(5), meterRegistry);
+        assertThat(bulkhead.tryAcquire()).isTrue();
+        CompletableFuture.runAsync(bulkhead::tryAcquire);
+        awaitQueued(bulkhead, 1);
+
+        // When
+        long start = System.nanoTime();
+        boolean acquired = bulkhead.tryAcquire();
+
+        // Then
+        assertThat(acquired).isFalse();
+        assertThat(Duration.ofNanos(System.nanoTime() - start)).isLessThan(Duration.ofSeconds(1));
+        assertThat(rejected("read", "queue_full")).isEqualTo(1.0);
+        bulkhead.release();
+    }
+
+    private static void awaitQueued(Bulkhead bulkhead, int expected) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(2);
+        while (bulkhead.queuedCount() != expected && System.nanoTime() < deadline) {
+            Thread.sleep(5);
+        }
+        assertThat(bulkhead.queuedCount()).isEqualTo(expected);
+    }
+
+    private double rejected(String pool, String reason) {
+        return meterRegistry.get("todo.bulkhead.rejected").tag("pool", pool).tag("reason", reason).counter().count();
+    }
+}
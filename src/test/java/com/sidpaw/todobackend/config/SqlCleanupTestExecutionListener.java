@@ -0,0 +1,46 @@
+package com.sidpaw.todobackend.config;
+
+import com.sidpaw.todobackend.readmodel.TodoReadModel;
+import com.sidpaw.todobackend.snapshot.ResponseSnapshotCache;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.springframework.context.ApplicationContext;
+import org.springframework.core.annotation.AnnotatedElementUtils;
+import org.springframework.test.context.TestContext;
+import org.springframework.test.context.TestContextAnnotationUtils;
+import org.springframework.test.context.jdbc.Sql;
+import org.springframework.test.context.jdbc.SqlScriptsTestExecutionListener;
+import org.springframework.test.context.support.AbstractTestExecutionListener;
+
+/**
+ * Brings the in-memory state back in line with the database once the {@code @Sql} scripts of a test have run. The
+ * scripts write around Hibernate and the services, so the second-level cache, the list snapshots and the read model
+ * would otherwise keep serving the rows they removed. Registered in {@code META-INF/spring.factories}.
+ */
+public class SqlCleanupTestExecutionListener extends AbstractTestExecutionListener {
+
+    // Right after the listener that runs the scripts
+    private static final int ORDER = new SqlScriptsTestExecutionListener().getOrder() + 1;
+
+    @Override
+    public int getOrder() {
+        return ORDER;
+    }
+
+    @Override
+    public void beforeTestMethod(TestContext testContext) {
+        if (!usesSqlScripts(testContext)) {
+            return;
+        }
+        ApplicationContext context = testContext.getApplicationContext();
+        context.getBeanProvider(EntityManagerFactory.class)
+                .ifAvailable(factory -> factory.unwrap(SessionFactory.class).getCache().evictAllRegions());
+        context.getBeanProvider(ResponseSnapshotCache.class).ifAvailable(ResponseSnapshotCache::invalidate);
+        context.getBeanProvider(TodoReadModel.class).ifAvailable(TodoReadModel::reload);
+    }
+
+    private static boolean usesSqlScripts(TestContext testContext) {
+        return TestContextAnnotationUtils.hasAnnotation(testContext.getTestClass(), Sql.class)
+                || AnnotatedElementUtils.hasAnnotation(testContext.getTestMethod(), Sql.class);
+    }
+}
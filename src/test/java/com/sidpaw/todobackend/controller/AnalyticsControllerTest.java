@@ -0,0 +1,89 @@
+package com.sidpaw.todobackend.controller;
+
+import com.sidpaw.todobackend.dto.CompletionAnalyticsDTO;
+import com.sidpaw.todobackend.dto.CompletionStatsDTO;
+import com.sidpaw.todobackend.exception.InvalidQueryException;
+import com.sidpaw.todobackend.service.CompletionAnalyticsService;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Test class for AnalyticsController using @WebMvcTest.
+ */
+@WebMvcTest(AnalyticsController.class)
+@Import(AnalyticsControllerTest.TestConfig.class)
+class AnalyticsControllerTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private CompletionAnalyticsService completionAnalyticsService;
+
+    @Test
+    void givenDateRange_WhenGetCompletionAnalytics_ThenReturnsStatistics() throws Exception {
+        // Given
+        LocalDate day = LocalDate.of(2025, 9, 23);
+        CompletionStatsDTO stats = new CompletionStatsDTO(day, 2, 90.0, 60, 60, 120, 120, 120, 120);
+        when(completionAnalyticsService.getCompletionAnalytics(eq(day), eq(day)))
+                .thenReturn(new CompletionAnalyticsDTO(day, day,
+                        new CompletionStatsDTO(null, 2, 90.0, 60, 60, 120, 120, 120, 120), List.of(stats)));
+
+        // When & Then
+        mockMvc.perform(get("/api/analytics/completion").param("from", "2025-09-23").param("to", "2025-09-23"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.total.count").value(2))
+                .andExpect(jsonPath("$.days[0].date").value("2025-09-23"))
+                .andExpect(jsonPath("$.days[0].p90Seconds").value(120));
+    }
+
+    @Test
+    void givenNoRange_WhenGetCompletionAnalytics_ThenDefaultsToLast30Days() throws Exception {
+        // Given
+        LocalDate today = LocalDate.now();
+        when(completionAnalyticsService.getCompletionAnalytics(eq(today.minusDays(29)), eq(today)))
+                .thenReturn(new CompletionAnalyticsDTO(today.minusDays(29), today,
+                        new CompletionStatsDTO(), List.of()));
+
+        // When & Then
+        mockMvc.perform(get("/api/analytics/completion"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.days.length()").value(0));
+    }
+
+    @Test
+    void givenInvalidRange_WhenGetCompletionAnalytics_ThenReturnsBadRequest() throws Exception {
+        // Given
+        when(completionAnalyticsService.getCompletionAnalytics(eq(LocalDate.of(2025, 9, 23)), eq(LocalDate.of(2025, 9, 1))))
+                .thenThrow(new InvalidQueryException("from must not be after to"));
+
+        // When & Then
+        mockMvc.perform(get("/api/analytics/completion").param("from", "2025-09-23").param("to", "2025-09-01"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.error").value("Invalid Query"));
+    }
+
+    @TestConfiguration
+    static class TestConfig {
+
+        @Bean
+        public CompletionAnalyticsService completionAnalyticsService() {
+            return Mockito.mock(CompletionAnalyticsService.class);
+        }
+    }
+}
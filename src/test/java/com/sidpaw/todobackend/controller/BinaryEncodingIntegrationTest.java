@@ -0,0 +1,110 @@
+package com.sidpaw.todobackend.controller;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import com.sidpaw.todobackend.dto.TodoRequestDTO;
+import com.sidpaw.todobackend.dto.TodoResponseDTO;
+import com.sidpaw.todobackend.repository.TodoItemRepository;
+import com.sidpaw.todobackend.service.TodoItemService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Integration tests for the CBOR and Smile encodings of the todo API.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class BinaryEncodingIntegrationTest {
+
+    private static final MediaType SMILE = MediaType.parseMediaType("application/x-jackson-smile");
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private TodoItemService todoItemService;
+
+    @Autowired
+    private TodoItemRepository todoItemRepository;
+
+    private final ObjectMapper cborReader = new ObjectMapper(new CBORFactory());
+    private final ObjectMapper smileReader = new ObjectMapper(new SmileFactory());
+
+    private TodoResponseDTO created;
+
+    @BeforeEach
+    void setUp() {
+        todoItemRepository.deleteAll();
+        created = todoItemService.createTodoItem(
+                new TodoRequestDTO("Binary task", LocalDateTime.of(2030, 1, 1, 12, 0)));
+    }
+
+    @Test
+    void givenCborAccept_WhenGetAllTodoItems_ThenReturnsCborWithEpochDates() throws Exception {
+        // When
+        byte[] body = mockMvc.perform(get("/api/todos").accept(MediaType.APPLICATION_CBOR))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(MediaType.APPLICATION_CBOR))
+                .andReturn().getResponse().getContentAsByteArray();
+
+        // Then
+        JsonNode items = cborReader.readTree(body);
+        assertThat(items).hasSize(1);
+        assertThat(items.get(0).get("description").asText()).isEqualTo("Binary task");
+        assertThat(items.get(0).get("dueDatetime").asLong())
+                .isEqualTo(LocalDateTime.of(2030, 1, 1, 12, 0).toEpochSecond(ZoneOffset.UTC));
+    }
+
+    @Test
+    void givenSmileAccept_WhenGetTodoItemById_ThenReturnsSmile() throws Exception {
+        // When
+        byte[] body = mockMvc.perform(get("/api/todos/" + created.getId()).accept(SMILE))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(SMILE))
+                .andReturn().getResponse().getContentAsByteArray();
+
+        // Then
+        JsonNode item = smileReader.readTree(body);
+        assertThat(item.get("id").asLong()).isEqualTo(created.getId());
+        assertThat(item.get("creationDatetime").isIntegralNumber()).isTrue();
+    }
+
+    @Test
+    void givenCborRequestBody_WhenCreateTodoItem_ThenAcceptsEpochDueDate() throws Exception {
+        // Given
+        LocalDateTime due = LocalDateTime.of(2031, 6, 1, 8, 30);
+        byte[] request = cborReader.writeValueAsBytes(Map.of(
+                "description", "From CBOR",
+                "dueDatetime", due.toEpochSecond(ZoneOffset.UTC)));
+
+        // When
+        byte[] body = mockMvc.perform(post("/api/todos")
+                        .contentType(MediaType.APPLICATION_CBOR)
+                        .accept(MediaType.APPLICATION_JSON)
+                        .content(request))
+                .andExpect(status().isCreated())
+                .andReturn().getResponse().getContentAsByteArray();
+
+        // Then
+        assertThat(new ObjectMapper().readTree(body).get("dueDatetime").asText()).isEqualTo("2031-06-01T08:30:00");
+    }
+}
@@ -2,13 +2,28 @@ package com.sidpaw.todobackend.controller;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.sidpaw.todobackend.dto.TodoBatchDeleteResponseDTO;
+import com.sidpaw.todobackend.dto.TodoBatchResponseDTO;
+import com.sidpaw.todobackend.dto.TodoImportErrorDTO;
+import com.sidpaw.todobackend.dto.TodoImportReportDTO;
+import com.sidpaw.todobackend.dto.TodoPageDTO;
 import com.sidpaw.todobackend.dto.TodoPatchDTO;
 import com.sidpaw.todobackend.dto.TodoRequestDTO;
 import com.sidpaw.todobackend.dto.TodoResponseDTO;
+import com.sidpaw.todobackend.dto.TodoStatusHistoryDTO;
 import com.sidpaw.todobackend.entity.TodoItemEntity;
 import com.sidpaw.todobackend.exception.InvalidStatusException;
+import com.sidpaw.todobackend.export.TodoExporter;
+import com.sidpaw.todobackend.importer.TodoImporter;
+import com.sidpaw.todobackend.model.RecordFormat;
+import com.sidpaw.todobackend.model.TodoField;
+import com.sidpaw.todobackend.model.TodoSort;
 import com.sidpaw.todobackend.model.TodoStatus;
+import com.sidpaw.todobackend.service.PatchOutcome;
 import com.sidpaw.todobackend.service.TodoItemService;
+import com.sidpaw.todobackend.snapshot.ResponseSnapshotCache;
+import com.sidpaw.todobackend.snapshot.SnapshotProperties;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.mockito.Mockito;
@@ -23,12 +38,18 @@ import org.springframework.test.web.servlet.MvcResult;
 
 import java.time.LocalDateTime;
 import java.util.Arrays;
+import java.util.EnumSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.stream.Collectors;
+import java.util.stream.LongStream;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
 import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
 import static org.mockito.Mockito.when;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
@@ -50,6 +71,9 @@ class TodoControllerTest {
     @Autowired
     private TodoItemService todoItemService;
 
+    @Autowired
+    private TodoImporter todoImporter;
+
     private TodoRequestDTO validRequest;
     private TodoResponseDTO expectedResponse;
 
@@ -208,7 +232,7 @@ class TodoControllerTest {
         );
 
         when(todoItemService.patchTodo(eq(1L), any(TodoPatchDTO.class)))
-                .thenReturn(Optional.of(patchedResponse));
+                .thenReturn(new PatchOutcome.Updated(patchedResponse));
 
         // When & Then
         mockMvc.perform(patch("/api/todos/1")
@@ -237,7 +261,7 @@ class TodoControllerTest {
         );
 
         when(todoItemService.patchTodo(eq(1L), any(TodoPatchDTO.class)))
-                .thenReturn(Optional.of(patchedResponse));
+                .thenReturn(new PatchOutcome.Updated(patchedResponse));
 
         // When & Then
         mockMvc.perform(patch("/api/todos/1")
@@ -262,7 +286,7 @@ class TodoControllerTest {
         patchDTO.setStatus("past due");
 
         when(todoItemService.patchTodo(eq(1L), any(TodoPatchDTO.class)))
-                .thenThrow(new InvalidStatusException("Status can only be set to 'done' or 'not done'"));
+                .thenReturn(new PatchOutcome.InvalidStatus("Status can only be set to 'done' or 'not done'"));
 
         // When & Then
         mockMvc.perform(patch("/api/todos/1")
@@ -273,6 +297,19 @@ class TodoControllerTest {
                 .andExpect(jsonPath("$.message").value("Status can only be set to 'done' or 'not done'"));
     }
 
+    @Test
+    void givenPastDueItem_WhenPatchTodoItem_ThenReturnsBadRequest() throws Exception {
+        // Given
+        when(todoItemService.patchTodo(eq(1L), any(TodoPatchDTO.class)))
+                .thenReturn(PatchOutcome.PAST_DUE);
+
+        // When & Then
+        mockMvc.perform(patch("/api/todos/1")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"description\": \"Too late\"}"))
+                .andExpect(status().isBadRequest());
+    }
+
     @Test
     void givenInvalidTodoId_WhenPatchTodoItem_ThenReturnsBadRequest() throws Exception {
         // Given
@@ -293,7 +330,7 @@ class TodoControllerTest {
         patchDTO.setDescription("Updated description");
 
         when(todoItemService.patchTodo(eq(999L), any(TodoPatchDTO.class)))
-                .thenReturn(Optional.empty());
+                .thenReturn(PatchOutcome.NOT_FOUND);
 
         // When & Then
         mockMvc.perform(patch("/api/todos/999")
@@ -323,7 +360,7 @@ class TodoControllerTest {
         patchDTO.setStatus("invalid status");
 
         when(todoItemService.patchTodo(eq(1L), any(TodoPatchDTO.class)))
-                .thenThrow(new InvalidStatusException("Status can only be set to 'done' or 'not done'"));
+                .thenReturn(new PatchOutcome.InvalidStatus("Status can only be set to 'done' or 'not done'"));
 
         // When & Then
         mockMvc.perform(patch("/api/todos/1")
@@ -340,7 +377,7 @@ class TodoControllerTest {
         TodoPatchDTO patchDTO = new TodoPatchDTO();
 
         when(todoItemService.patchTodo(eq(1L), any(TodoPatchDTO.class)))
-                .thenReturn(Optional.of(expectedResponse));
+                .thenReturn(new PatchOutcome.Updated(expectedResponse));
 
         // When & Then
         mockMvc.perform(patch("/api/todos/1")
@@ -429,6 +466,278 @@ class TodoControllerTest {
             .containsExactlyInAnyOrder("done", "not done");
     }
 
+    @Test
+    void givenFieldsParameter_WhenGetTodoItems_ThenReturnsOnlyRequestedFields() throws Exception {
+        // Given
+        when(todoItemService.getTodoItemFields(null, EnumSet.of(TodoField.ID, TodoField.STATUS)))
+                .thenReturn(List.of(Map.of("id", 1L, "status", "done")));
+
+        // When & Then
+        mockMvc.perform(get("/api/todos").param("fields", "id,status"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(1))
+                .andExpect(jsonPath("$[0].id").value(1L))
+                .andExpect(jsonPath("$[0].status").value("done"))
+                .andExpect(jsonPath("$[0].description").doesNotExist());
+    }
+
+    @Test
+    void givenFieldsAndStatusParameters_WhenGetTodoItems_ThenPassesStatusFilter() throws Exception {
+        // Given
+        when(todoItemService.getTodoItemFields("done", EnumSet.of(TodoField.DESCRIPTION)))
+                .thenReturn(List.of(Map.of("description", "Task 1")));
+
+        // When & Then
+        mockMvc.perform(get("/api/todos").param("status", "done").param("fields", "description"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].description").value("Task 1"));
+    }
+
+    @Test
+    void givenUnknownField_WhenGetTodoItems_ThenReturnsBadRequest() throws Exception {
+        // When & Then
+        mockMvc.perform(get("/api/todos").param("fields", "id,owner"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.error").value("Invalid Fields"))
+                .andExpect(jsonPath("$.message").value("Invalid field: owner"));
+    }
+
+    @Test
+    void givenFieldsParameter_WhenGetTodoItemById_ThenReturnsOnlyRequestedFields() throws Exception {
+        // Given
+        when(todoItemService.getTodoItemFieldsById(1L, EnumSet.of(TodoField.DESCRIPTION)))
+                .thenReturn(Optional.of(Map.of("description", "Task 1")));
+        when(todoItemService.getTodoItemFieldsById(999L, EnumSet.of(TodoField.DESCRIPTION)))
+                .thenReturn(Optional.empty());
+
+        // When & Then
+        mockMvc.perform(get("/api/todos/1").param("fields", "description"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.description").value("Task 1"))
+                .andExpect(jsonPath("$.id").doesNotExist());
+        mockMvc.perform(get("/api/todos/999").param("fields", "description"))
+                .andExpect(status().isNotFound());
+    }
+
+    @Test
+    void givenIdsParameter_WhenGetTodoItems_ThenReturnsItemsAndMissingIds() throws Exception {
+        // Given
+        when(todoItemService.getTodoItemsByIds(List.of(1L, 999L)))
+                .thenReturn(new TodoBatchResponseDTO(List.of(expectedResponse), List.of(999L)));
+
+        // When & Then
+        mockMvc.perform(get("/api/todos").param("ids", "1,999"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.items.length()").value(1))
+                .andExpect(jsonPath("$.items[0].id").value(1L))
+                .andExpect(jsonPath("$.missingIds[0]").value(999L));
+    }
+
+    @Test
+    void givenTooManyIds_WhenGetTodoItems_ThenReturnsBadRequest() throws Exception {
+        // Given
+        String ids = LongStream.rangeClosed(1, 1001).mapToObj(Long::toString).collect(Collectors.joining(","));
+
+        // When & Then
+        mockMvc.perform(get("/api/todos").param("ids", ids))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void givenEmptyIdInList_WhenGetTodoItems_ThenReturnsBadRequest() throws Exception {
+        // When & Then
+        mockMvc.perform(get("/api/todos").param("ids", "1,,2"))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void givenIdsBody_WhenLookupTodoItems_ThenReturnsItems() throws Exception {
+        // Given
+        when(todoItemService.getTodoItemsByIds(List.of(1L)))
+                .thenReturn(new TodoBatchResponseDTO(List.of(expectedResponse), List.of()));
+
+        // When & Then
+        mockMvc.perform(post("/api/todos/lookup")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"ids\": [1]}"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.items[0].id").value(1L))
+                .andExpect(jsonPath("$.missingIds.length()").value(0));
+    }
+
+    @Test
+    void givenEmptyIdsBody_WhenLookupTodoItems_ThenReturnsBadRequest() throws Exception {
+        // When & Then
+        mockMvc.perform(post("/api/todos/lookup")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"ids\": []}"))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void givenDueWindow_WhenGetDueTodoItems_ThenReturnsPage() throws Exception {
+        // Given
+        LocalDateTime from = LocalDateTime.of(2025, 10, 1, 0, 0);
+        when(todoItemService.getTodoItemsDueBetween(from, from.plusHours(6), null, 50))
+                .thenReturn(new TodoPageDTO(List.of(expectedResponse), "next"));
+
+        // When & Then
+        mockMvc.perform(get("/api/todos/due")
+                        .param("dueFrom", "2025-10-01T00:00:00")
+                        .param("hours", "6")
+                        .param("limit", "50"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.items[0].id").value(1L))
+                .andExpect(jsonPath("$.nextCursor").value("next"));
+    }
+
+    @Test
+    void givenDueTo_WhenGetDueTodoItems_ThenUsesExplicitWindowEnd() throws Exception {
+        // Given
+        when(todoItemService.getTodoItemsDueBetween(any(LocalDateTime.class),
+                eq(LocalDateTime.of(2099, 1, 1, 0, 0)), isNull(), anyInt()))
+                .thenReturn(new TodoPageDTO(List.of(), null));
+
+        // When & Then
+        mockMvc.perform(get("/api/todos/due").param("dueTo", "2099-01-01T00:00:00"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.items.length()").value(0));
+    }
+
+    @Test
+    void givenNoWindowEnd_WhenGetDueTodoItems_ThenReturnsBadRequest() throws Exception {
+        // When & Then
+        mockMvc.perform(get("/api/todos/due"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.error").value("Invalid Query"));
+    }
+
+    @Test
+    void givenSortParameter_WhenGetTodoItems_ThenReturnsSortedPage() throws Exception {
+        // Given
+        when(todoItemService.getSortedTodoItems("not done", TodoSort.DUE_ASC, "abc", 20))
+                .thenReturn(new TodoPageDTO(List.of(expectedResponse), "next"));
+
+        // When & Then
+        mockMvc.perform(get("/api/todos")
+                        .param("sort", "due")
+                        .param("status", "not done")
+                        .param("cursor", "abc")
+                        .param("limit", "20"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.items[0].id").value(1L))
+                .andExpect(jsonPath("$.nextCursor").value("next"));
+    }
+
+    @Test
+    void givenUnsupportedSort_WhenGetTodoItems_ThenReturnsBadRequest() throws Exception {
+        // When & Then
+        mockMvc.perform(get("/api/todos").param("sort", "description"))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void givenExistingTodoId_WhenGetTodoItemHistory_ThenReturnsTransitions() throws Exception {
+        // Given
+        when(todoItemService.getTodoItemHistory(eq(1L)))
+                .thenReturn(Optional.of(List.of(
+                        new TodoStatusHistoryDTO(null, "not done", LocalDateTime.of(2025, 9, 23, 10, 0)),
+                        new TodoStatusHistoryDTO("not done", "done", LocalDateTime.of(2025, 9, 24, 10, 0)))));
+
+        // When & Then
+        mockMvc.perform(get("/api/todos/1/history"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(2))
+                .andExpect(jsonPath("$[0].fromStatus").doesNotExist())
+                .andExpect(jsonPath("$[1].fromStatus").value("not done"))
+                .andExpect(jsonPath("$[1].toStatus").value("done"))
+                .andExpect(jsonPath("$[1].changedAt").value("2025-09-24T10:00:00"));
+    }
+
+    @Test
+    void givenNonExistingTodoId_WhenGetTodoItemHistory_ThenReturnsNotFound() throws Exception {
+        // Given
+        when(todoItemService.getTodoItemHistory(eq(999L)))
+                .thenReturn(Optional.empty());
+
+        // When & Then
+        mockMvc.perform(get("/api/todos/999/history"))
+                .andExpect(status().isNotFound());
+    }
+
+    @Test
+    void givenExistingTodoId_WhenDeleteTodoItem_ThenReturnsNoContent() throws Exception {
+        // Given
+        when(todoItemService.deleteTodoItem(1L)).thenReturn(true);
+
+        // When & Then
+        mockMvc.perform(delete("/api/todos/1"))
+                .andExpect(status().isNoContent());
+    }
+
+    @Test
+    void givenNonExistingTodoId_WhenDeleteTodoItem_ThenReturnsNotFound() throws Exception {
+        // Given
+        when(todoItemService.deleteTodoItem(999L)).thenReturn(false);
+
+        // When & Then
+        mockMvc.perform(delete("/api/todos/999"))
+                .andExpect(status().isNotFound());
+    }
+
+    @Test
+    void givenIdsBody_WhenDeleteTodoItems_ThenReportsDeletedAndMissing() throws Exception {
+        // Given
+        when(todoItemService.deleteTodoItems(List.of(1L, 2L)))
+                .thenReturn(new TodoBatchDeleteResponseDTO(List.of(1L), List.of(2L)));
+
+        // When & Then
+        mockMvc.perform(post("/api/todos/delete")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"ids\": [1, 2]}"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.deletedIds[0]").value(1L))
+                .andExpect(jsonPath("$.missingIds[0]").value(2L));
+    }
+
+    @Test
+    void givenCsvUpload_WhenImportTodoItems_ThenReturnsReport() throws Exception {
+        // Given
+        when(todoImporter.importTodoItems(any(), eq(RecordFormat.CSV))).thenReturn(new TodoImportReportDTO(
+                1, 1, true, List.of(new TodoImportErrorDTO(3, "Description cannot be blank"))));
+
+        // When & Then
+        mockMvc.perform(post("/api/todos/import")
+                        .contentType("text/csv")
+                        .content("description,dueDatetime\nWrite report,\n,\n"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.imported").value(1))
+                .andExpect(jsonPath("$.rejected").value(1))
+                .andExpect(jsonPath("$.completed").value(true))
+                .andExpect(jsonPath("$.errors[0].line").value(3));
+    }
+
+    @Test
+    void givenJsonArrayUpload_WhenImportTodoItems_ThenReturnsUnsupportedMediaType() throws Exception {
+        // When & Then
+        mockMvc.perform(post("/api/todos/import")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("[]"))
+                .andExpect(status().isUnsupportedMediaType());
+    }
+
+    @Test
+    void givenAcceptEncodingValues_WhenCheckingForGzip_ThenOnlyCodingsWithPositiveQualityCount() {
+        // When & Then
+        assertThat(TodoController.acceptsGzip("gzip")).isTrue();
+        assertThat(TodoController.acceptsGzip("br, GZIP;q=0.5")).isTrue();
+        assertThat(TodoController.acceptsGzip("deflate, *")).isTrue();
+        assertThat(TodoController.acceptsGzip("gzip;q=0")).isFalse();
+        assertThat(TodoController.acceptsGzip("x-gzip-foo")).isFalse();
+        assertThat(TodoController.acceptsGzip("*, gzip;q=0")).isFalse();
+        assertThat(TodoController.acceptsGzip(null)).isFalse();
+    }
+
     /**
      * Test configuration that provides a mock TodoItemService bean.
      * This replaces the deprecated @MockBean approach with a modern @TestConfiguration.
@@ -440,5 +749,23 @@ class TodoControllerTest {
         public TodoItemService todoItemService() {
             return Mockito.mock(TodoItemService.class);
         }
+
+        @Bean
+        public TodoImporter todoImporter() {
+            return Mockito.mock(TodoImporter.class);
+        }
+
+        @Bean
+        public TodoExporter todoExporter() {
+            return Mockito.mock(TodoExporter.class);
+        }
+
+        // Snapshots disabled: every request serializes what the mocked service returns
+        @Bean
+        public ResponseSnapshotCache responseSnapshotCache(TodoItemService todoItemService, ObjectMapper objectMapper) {
+            SnapshotProperties properties = new SnapshotProperties();
+            properties.setEnabled(false);
+            return new ResponseSnapshotCache(todoItemService, objectMapper, properties, new SimpleMeterRegistry());
+        }
     }
 }
@@ -0,0 +1,179 @@
+package com.sidpaw.todobackend.export;
+
+import com.sidpaw.todobackend.dto.TodoPatchDTO;
+import com.sidpaw.todobackend.dto.TodoRequestDTO;
+import com.sidpaw.todobackend.model.RecordFormat;
+import com.sidpaw.todobackend.model.TodoSort;
+import com.sidpaw.todobackend.service.TodoItemService;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.Session;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.orm.jpa.EntityManagerHolder;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.jdbc.Sql;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.zip.GZIPInputStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Export with a page size of 2, so every export below spans several keyset pages.
+ */
+@SpringBootTest(properties = "todo.export.page-size=2")
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+@Sql(scripts = "/cleanup.sql", executionPhase = Sql.ExecutionPhase.BEFORE_TEST_METHOD)
+class TodoExportIntegrationTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private TodoItemService todoItemService;
+
+    @Autowired
+    private TodoExporter todoExporter;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private final LocalDateTime now = LocalDateTime.now();
+
+    @BeforeEach
+    void setUp() {
+        for (int i = 1; i <= 5; i++) {
+            todoItemService.createTodoItem(new TodoRequestDTO("Task " + i, now.plusDays(6 - i)));
+        }
+    }
+
+    @Test
+    void givenItems_WhenExportingNdjson_ThenEveryItemIsALineInSortOrder() throws Exception {
+        // When
+        MvcResult result = mockMvc.perform(get("/api/todos/export").param("sort", "due"))
+                .andExpect(status().isOk())
+                .andExpect(content().contentTypeCompatibleWith("application/x-ndjson"))
+                .andExpect(header().string(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"todos.ndjson\""))
+                .andReturn();
+
+        // Then
+        String[] lines = result.getResponse().getContentAsString(StandardCharsets.UTF_8).split("\n");
+        assertThat(lines).hasSize(5);
+        assertThat(lines[0]).contains("\"description\":\"Task 5\"");
+        assertThat(lines[4]).contains("\"description\":\"Task 1\"");
+    }
+
+    @Test
+    void givenStatusFilter_WhenExportingCsv_ThenOnlyMatchingItemsAreWritten() throws Exception {
+        // Given
+        Long doneId = todoItemService.getAllTodoItems().getFirst().getId();
+        TodoPatchDTO done = new TodoPatchDTO();
+        done.setStatus("done");
+        todoItemService.patchTodo(doneId, done);
+
+        // When
+        MvcResult result = mockMvc.perform(get("/api/todos/export")
+                        .param("format", "csv")
+                        .param("status", "not done"))
+                .andExpect(status().isOk())
+                .andExpect(content().contentTypeCompatibleWith("text/csv"))
+                .andReturn();
+
+        // Then
+        String[] lines = result.getResponse().getContentAsString(StandardCharsets.UTF_8).split("\n");
+        assertThat(lines[0]).isEqualTo("id,description,status,creationDatetime,dueDatetime,doneDatetime");
+        assertThat(lines).hasSize(5);
+        assertThat(lines).noneMatch(line -> line.startsWith(doneId + ","));
+    }
+
+    @Test
+    void givenGzipAccepted_WhenExporting_ThenBodyIsCompressed() throws Exception {
+        // When
+        MvcResult result = mockMvc.perform(get("/api/todos/export").header(HttpHeaders.ACCEPT_ENCODING, "gzip"))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.CONTENT_ENCODING, "gzip"))
+                .andReturn();
+
+        // Then
+        try (GZIPInputStream in = new GZIPInputStream(
+                new ByteArrayInputStream(result.getResponse().getContentAsByteArray()))) {
+            String body = new String(in.readAllBytes(), StandardCharsets.UTF_8);
+            assertThat(body.lines()).hasSize(5);
+        }
+    }
+
+    @Test
+    void givenGzipRefusedOrOnlyLookalikeCodings_WhenExporting_ThenBodyIsNotCompressed() throws Exception {
+        for (String acceptEncoding : List.of("gzip;q=0", "x-gzip-foo, br", "*;q=1, gzip;q=0.0")) {
+            // When & Then
+            mockMvc.perform(get("/api/todos/export").header(HttpHeaders.ACCEPT_ENCODING, acceptEncoding))
+                    .andExpect(status().isOk())
+                    .andExpect(header().doesNotExist(HttpHeaders.CONTENT_ENCODING));
+        }
+    }
+
+    @Test
+    void givenRequestWidePersistenceContext_WhenExporting_ThenNoPageStaysManaged() throws Exception {
+        // Given: the persistence context open-in-view binds for the whole request
+        EntityManager requestEntityManager = entityManagerFactory.createEntityManager();
+        TransactionSynchronizationManager.bindResource(entityManagerFactory,
+                new EntityManagerHolder(requestEntityManager));
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try {
+            // When
+            long written = todoExporter.exportList(null, TodoSort.from("due"), RecordFormat.NDJSON, () -> out);
+
+            // Then
+            assertThat(written).isEqualTo(5);
+            assertThat(requestEntityManager.unwrap(Session.class).getStatistics().getEntityCount()).isZero();
+        } finally {
+            TransactionSynchronizationManager.unbindResource(entityManagerFactory);
+            requestEntityManager.close();
+        }
+    }
+
+    @Test
+    void givenDueWindow_WhenExporting_ThenOnlyItemsDueInTheWindowAreWritten() throws Exception {
+        // When
+        MvcResult result = mockMvc.perform(get("/api/todos/export").param("hours", "60"))
+                .andExpect(status().isOk())
+                .andReturn();
+
+        // Then
+        assertThat(result.getResponse().getContentAsString(StandardCharsets.UTF_8).lines()).hasSize(2);
+    }
+
+    @Test
+    void givenDueWindowWithStatus_WhenExporting_ThenReturnsBadRequest() throws Exception {
+        // When & Then
+        mockMvc.perform(get("/api/todos/export").param("hours", "24").param("status", "done"))
+                .andExpect(status().isBadRequest())
+                .andExpect(header().doesNotExist(HttpHeaders.CONTENT_DISPOSITION));
+    }
+
+    @Test
+    void givenInvalidStatus_WhenExporting_ThenReturnsBadRequestBeforeWriting() throws Exception {
+        // When & Then
+        mockMvc.perform(get("/api/todos/export").param("status", "someday"))
+                .andExpect(status().isBadRequest())
+                .andExpect(content().contentTypeCompatibleWith("application/json"))
+                .andExpect(header().doesNotExist(HttpHeaders.CONTENT_DISPOSITION));
+    }
+}
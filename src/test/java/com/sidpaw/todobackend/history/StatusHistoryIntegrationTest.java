@@ -0,0 +1,177 @@
+package com.sidpaw.todobackend.history;
+
+import com.sidpaw.todobackend.dto.TodoPatchDTO;
+import com.sidpaw.todobackend.dto.TodoRequestDTO;
+import com.sidpaw.todobackend.dto.TodoResponseDTO;
+import com.sidpaw.todobackend.dto.TodoStatusHistoryDTO;
+import com.sidpaw.todobackend.scheduler.TodoItemScheduler;
+import com.sidpaw.todobackend.service.TodoItemService;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.jdbc.Sql;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.tuple;
+
+// The tests run the past-due update themselves
+@SpringBootTest(properties = "todo.past-due.scheduler.enabled=false")
+@ActiveProfiles("test")
+@Sql(scripts = "/cleanup.sql", executionPhase = Sql.ExecutionPhase.BEFORE_TEST_METHOD)
+class StatusHistoryIntegrationTest {
+
+    @Autowired
+    private TodoItemService todoItemService;
+
+    @Autowired
+    private TodoItemScheduler todoItemScheduler;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Test
+    void givenStatusChanges_WhenReadingHistory_ThenEveryTransitionIsListedInOrder() {
+        // Given
+        TodoResponseDTO item = create("Toggle me", LocalDateTime.now().plusDays(1));
+
+        // When
+        patchStatus(item.getId(), "done");
+        patchDescription(item.getId(), "Toggle me again");
+        patchStatus(item.getId(), "not done");
+
+        // Then
+        assertThat(history(item.getId()))
+                .extracting(TodoStatusHistoryDTO::getFromStatus, TodoStatusHistoryDTO::getToStatus)
+                .containsExactly(
+                        tuple(null, "not done"),
+                        tuple("not done", "done"),
+                        tuple("done", "not done"));
+    }
+
+    @Test
+    void givenOverdueItems_WhenSchedulerRuns_ThenBulkTransitionIsRecordedPerItem() {
+        // Given
+        TodoResponseDTO overdue1 = create("Overdue 1", LocalDateTime.now().minusHours(2));
+        TodoResponseDTO overdue2 = create("Overdue 2", LocalDateTime.now().minusHours(1));
+        TodoResponseDTO future = create("Future", LocalDateTime.now().plusDays(1));
+
+        // When
+        todoItemScheduler.updatePastDueItems();
+
+        // Then
+        for (Long id : List.of(overdue1.getId(), overdue2.getId())) {
+            assertThat(history(id))
+                    .extracting(TodoStatusHistoryDTO::getFromStatus, TodoStatusHistoryDTO::getToStatus)
+                    .containsExactly(tuple(null, "not done"), tuple("not done", "past due"));
+        }
+        assertThat(history(future.getId())).hasSize(1);
+    }
+
+    @Test
+    void givenOverdueItemPatchedDoneConcurrently_WhenSchedulerRuns_ThenNoPastDueTransitionIsRecordedForIt()
+            throws Exception {
+        // Given
+        TodoResponseDTO patched = create("Patched meanwhile", LocalDateTime.now().minusHours(1));
+        TodoResponseDTO overdue = create("Overdue", LocalDateTime.now().minusHours(1));
+        CountDownLatch patchWritten = new CountDownLatch(1);
+        CompletableFuture<Void> patch = CompletableFuture.runAsync(() ->
+                transactionTemplate.executeWithoutResult(status -> {
+                    patchStatus(patched.getId(), "done");
+                    entityManager.flush();
+                    patchWritten.countDown();
+                    // Commits while the scheduler waits for the row lock
+                    sleep(300);
+                }));
+        patchWritten.await();
+
+        // When
+        int updated = todoItemScheduler.updatePastDueItems();
+        patch.get(5, TimeUnit.SECONDS);
+
+        // Then
+        assertThat(updated).isEqualTo(1);
+        assertThat(history(patched.getId()))
+                .extracting(TodoStatusHistoryDTO::getFromStatus, TodoStatusHistoryDTO::getToStatus)
+                .containsExactly(tuple(null, "not done"), tuple("not done", "done"));
+        assertThat(history(overdue.getId())).hasSize(2);
+    }
+
+    @Test
+    void givenSeveralChangesInOneTransaction_WhenCommitted_ThenAllAreRecorded() {
+        // Given
+        TodoResponseDTO first = create("First", null);
+        TodoResponseDTO second = create("Second", null);
+
+        // When
+        transactionTemplate.executeWithoutResult(status -> {
+            patchStatus(first.getId(), "done");
+            patchStatus(second.getId(), "done");
+        });
+
+        // Then
+        assertThat(history(first.getId())).hasSize(2);
+        assertThat(history(second.getId())).hasSize(2);
+    }
+
+    @Test
+    void givenRolledBackChange_WhenReadingHistory_ThenTransitionIsNotRecorded() {
+        // Given
+        TodoResponseDTO item = create("Rolled back", null);
+
+        // When
+        assertThatThrownBy(() -> transactionTemplate.executeWithoutResult(status -> {
+            patchStatus(item.getId(), "done");
+            throw new IllegalStateException("abort");
+        })).isInstanceOf(IllegalStateException.class);
+
+        // Then
+        assertThat(history(item.getId())).hasSize(1);
+    }
+
+    @Test
+    void givenUnknownItem_WhenReadingHistory_ThenReturnsEmpty() {
+        // When & Then
+        assertThat(todoItemService.getTodoItemHistory(Long.MAX_VALUE)).isEmpty();
+    }
+
+    private TodoResponseDTO create(String description, LocalDateTime due) {
+        return todoItemService.createTodoItem(new TodoRequestDTO(description, due));
+    }
+
+    private void patchStatus(Long id, String status) {
+        TodoPatchDTO patch = new TodoPatchDTO();
+        patch.setStatus(status);
+        todoItemService.patchTodo(id, patch);
+    }
+
+    private void patchDescription(Long id, String description) {
+        TodoPatchDTO patch = new TodoPatchDTO();
+        patch.setDescription(description);
+        todoItemService.patchTodo(id, patch);
+    }
+
+    private List<TodoStatusHistoryDTO> history(Long id) {
+        return todoItemService.getTodoItemHistory(id).orElseThrow();
+    }
+
+    private static void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
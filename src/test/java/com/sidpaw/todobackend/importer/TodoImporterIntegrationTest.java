@@ -0,0 +1,135 @@
+package com.sidpaw.todobackend.importer;
+
+import com.sidpaw.todobackend.dto.TodoImportErrorDTO;
+import com.sidpaw.todobackend.dto.TodoImportReportDTO;
+import com.sidpaw.todobackend.dto.TodoResponseDTO;
+import com.sidpaw.todobackend.model.RecordFormat;
+import com.sidpaw.todobackend.service.TodoItemService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.jdbc.Sql;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest(properties = {
+        "todo.import.batch-size=2",
+        "todo.import.max-errors=3",
+        "todo.import.max-line-length=200"
+})
+@ActiveProfiles("test")
+@Sql(scripts = "/cleanup.sql", executionPhase = Sql.ExecutionPhase.BEFORE_TEST_METHOD)
+class TodoImporterIntegrationTest {
+
+    @Autowired
+    private TodoImporter todoImporter;
+
+    @Autowired
+    private TodoItemService todoItemService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    void givenNdjsonWithInvalidLines_WhenImporting_ThenValidRecordsAreStoredAndErrorsReported() {
+        // Given
+        String upload = """
+                {"description": "First", "dueDatetime": "2030-01-01T10:00:00"}
+                {"description": ""}
+
+                {"description": "Second"}
+                {"description": "Broken"
+                {"description": "Third"}\r
+                {"description": "Late", "dueDatetime": "tomorrow"}
+                {"description": "%s"}
+                """.formatted("x".repeat(300));
+
+        // When
+        TodoImportReportDTO report = importUpload(upload, RecordFormat.NDJSON);
+
+        // Then
+        assertThat(report.getImported()).isEqualTo(3);
+        assertThat(report.getRejected()).isEqualTo(4);
+        assertThat(report.isCompleted()).isTrue();
+        assertThat(report.getErrors()).extracting(TodoImportErrorDTO::getLine).containsExactly(2L, 5L, 7L);
+        assertThat(report.getErrors().getFirst().getMessage()).isEqualTo("Description cannot be blank");
+        assertThat(todoItemService.getAllTodoItems()).extracting(TodoResponseDTO::getDescription)
+                .containsExactlyInAnyOrder("First", "Second", "Third");
+        assertThat(todoItemService.getAllTodoItems()).filteredOn(item -> item.getDescription().equals("First"))
+                .extracting(TodoResponseDTO::getDueDatetime)
+                .containsExactly(LocalDateTime.of(2030, 1, 1, 10, 0));
+        // Every imported item is created like a single one, with its history
+        assertThat(jdbcTemplate.queryForObject("SELECT COUNT(*) FROM todo_status_history", Long.class))
+                .isEqualTo(3);
+    }
+
+    @Test
+    void givenCsvWithHeader_WhenImporting_ThenRowsAreStoredAndInvalidRowsReported() {
+        // Given
+        String upload = """
+                dueDatetime,description
+                2030-01-01T10:00:00,"Pay rent, gas"
+                ,Call mom
+                next week,Plan trip
+                2030-02-01T09:30:00,
+                """;
+
+        // When
+        TodoImportReportDTO report = importUpload(upload, RecordFormat.CSV);
+
+        // Then
+        assertThat(report.getImported()).isEqualTo(2);
+        assertThat(report.getRejected()).isEqualTo(2);
+        assertThat(report.isCompleted()).isTrue();
+        assertThat(report.getErrors()).extracting(TodoImportErrorDTO::getLine).containsExactly(4L, 5L);
+        assertThat(report.getErrors().getFirst().getMessage()).isEqualTo("Invalid dueDatetime: next week");
+        assertThat(todoItemService.getAllTodoItems()).extracting(TodoResponseDTO::getDescription)
+                .containsExactlyInAnyOrder("Pay rent, gas", "Call mom");
+    }
+
+    @Test
+    void givenCsvWithUnterminatedQuote_WhenImporting_ThenImportStopsAndKeepsEarlierRows() {
+        // Given
+        String upload = """
+                description
+                One
+                Two
+                Three
+                "Unterminated
+                """;
+
+        // When
+        TodoImportReportDTO report = importUpload(upload, RecordFormat.CSV);
+
+        // Then
+        assertThat(report.isCompleted()).isFalse();
+        assertThat(report.getImported()).isEqualTo(3);
+        assertThat(report.getErrors()).hasSize(1);
+        assertThat(report.getErrors().getFirst().getMessage()).startsWith("Could not read the upload");
+        assertThat(todoItemService.getAllTodoItems()).hasSize(3);
+    }
+
+    @Test
+    void givenMoreErrorsThanListed_WhenImporting_ThenAllAreCountedAndFirstOnesListed() {
+        // Given
+        String upload = "{\"description\": \" \"}\n".repeat(5) + "{\"description\": \"Valid\"}\n";
+
+        // When
+        TodoImportReportDTO report = importUpload(upload, RecordFormat.NDJSON);
+
+        // Then
+        assertThat(report.getRejected()).isEqualTo(5);
+        assertThat(report.getImported()).isEqualTo(1);
+        assertThat(report.getErrors()).extracting(TodoImportErrorDTO::getLine).containsExactly(1L, 2L, 3L);
+    }
+
+    private TodoImportReportDTO importUpload(String upload, RecordFormat format) {
+        return todoImporter.importTodoItems(new ByteArrayInputStream(upload.getBytes(StandardCharsets.UTF_8)), format);
+    }
+}
@@ -4,7 +4,11 @@ import com.sidpaw.todobackend.dto.TodoPatchDTO;
 import com.sidpaw.todobackend.dto.TodoRequestDTO;
 import com.sidpaw.todobackend.dto.TodoResponseDTO;
 import com.sidpaw.todobackend.entity.TodoItemEntity;
+import com.sidpaw.todobackend.model.TodoField;
 import com.sidpaw.todobackend.model.TodoStatus;
+import com.sidpaw.todobackend.repository.TodoItemRepositoryCustom;
+import com.sidpaw.todobackend.service.PastDuePolicy;
+import jakarta.persistence.Tuple;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.mapstruct.factory.Mappers;
@@ -12,7 +16,9 @@ import org.mapstruct.factory.Mappers;
 import java.time.LocalDateTime;
 import java.util.Arrays;
 import java.util.Collections;
+import java.util.EnumSet;
 import java.util.List;
+import java.util.Map;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.ArgumentMatchers.any;
@@ -228,4 +234,67 @@ class TodoItemMapperTest {
         assertThat(result.getStatus()).isNull();
         assertThat(result.getDoneDatetime()).isEqualTo(LocalDateTime.of(2025, 10, 1, 15, 30));
     }
+
+    @Test
+    void givenProjectedTuple_WhenToFieldMap_ThenMapsOnlyRequestedFields() {
+        // Given
+        Tuple tuple = mock(Tuple.class);
+        when(tuple.get("id")).thenReturn(1L);
+        when(tuple.get("status")).thenReturn(TodoStatus.PAST_DUE);
+        when(tuple.get("creationDatetime")).thenReturn(LocalDateTime.of(2025, 9, 23, 10, 0, 5, 123_456_789));
+        when(tuple.get("doneDatetime")).thenReturn(null);
+
+        // When
+        Map<String, Object> result = mapper.toFieldMap(tuple,
+                EnumSet.of(TodoField.ID, TodoField.STATUS, TodoField.CREATION_DATETIME, TodoField.DONE_DATETIME));
+
+        // Then
+        assertThat(result).containsOnlyKeys("id", "status", "creationDatetime", "doneDatetime");
+        assertThat(result.keySet()).containsExactly("id", "status", "creationDatetime", "doneDatetime");
+        assertThat(result.get("status")).isEqualTo("past due");
+        assertThat(result.get("creationDatetime")).isEqualTo(LocalDateTime.of(2025, 9, 23, 10, 0, 5));
+        assertThat(result.get("doneDatetime")).isNull();
+    }
+
+    @Test
+    void givenOverdueNotDoneEntityInVirtualMode_WhenToResponseDTO_ThenStatusIsPastDue() {
+        // Given
+        mapper.pastDuePolicy = new PastDuePolicy("virtual");
+        entity.setDueDatetime(LocalDateTime.now().minusMinutes(1));
+
+        // When
+        TodoResponseDTO result = mapper.toResponseDTO(entity);
+
+        // Then
+        assertThat(result.getStatus()).isEqualTo("past due");
+    }
+
+    @Test
+    void givenOverdueNotDoneEntityInStoredMode_WhenToResponseDTO_ThenStatusIsStoredStatus() {
+        // Given
+        mapper.pastDuePolicy = new PastDuePolicy("stored");
+        entity.setDueDatetime(LocalDateTime.now().minusMinutes(1));
+
+        // When
+        TodoResponseDTO result = mapper.toResponseDTO(entity);
+
+        // Then
+        assertThat(result.getStatus()).isEqualTo("not done");
+    }
+
+    @Test
+    void givenOverdueProjectedTupleInVirtualMode_WhenToFieldMap_ThenStatusIsPastDue() {
+        // Given
+        mapper.pastDuePolicy = new PastDuePolicy("virtual");
+        Tuple tuple = mock(Tuple.class);
+        when(tuple.get("status")).thenReturn(TodoStatus.NOT_DONE);
+        when(tuple.get(TodoItemRepositoryCustom.DUE_FOR_STATUS_ALIAS, LocalDateTime.class))
+                .thenReturn(LocalDateTime.now().minusMinutes(1));
+
+        // When
+        Map<String, Object> result = mapper.toFieldMap(tuple, EnumSet.of(TodoField.STATUS));
+
+        // Then
+        assertThat(result).containsExactly(Map.entry("status", "past due"));
+    }
 }
@@ -0,0 +1,50 @@
+package com.sidpaw.todobackend.model;
+
+import com.sidpaw.todobackend.exception.InvalidQueryException;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import java.time.LocalDateTime;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Unit tests for DueWindowCursor.
+ */
+class DueWindowCursorTest {
+
+    @Test
+    void givenCursor_WhenEncodedAndDecoded_ThenRoundTripsWithTheWindow() {
+        // Given
+        LocalDateTime from = LocalDateTime.of(2025, 10, 1, 8, 30, 15, 500);
+        DueWindowCursor cursor = new DueWindowCursor(from, from.plusHours(6),
+                new PageCursor(from.plusHours(1), 42L));
+
+        // When
+        DueWindowCursor decoded = DueWindowCursor.decode(cursor.encode());
+
+        // Then
+        assertThat(decoded).isEqualTo(cursor);
+    }
+
+    @Test
+    void givenSortedListCursor_WhenDecodedAsDueWindowCursor_ThenThrowsException() {
+        // Given
+        String cursor = new PageCursor(LocalDateTime.of(2025, 10, 1, 8, 0), 42L).encode();
+
+        // When & Then
+        assertThatThrownBy(() -> DueWindowCursor.decode(cursor))
+                .isInstanceOf(InvalidQueryException.class)
+                .hasMessageStartingWith("Invalid cursor");
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {"not base64!", "bm8tc2VwYXJhdG9y", "MjAyNS0xMC0wMXxhYmM"})
+    void givenMalformedCursor_WhenDecode_ThenThrowsException(String cursor) {
+        assertThatThrownBy(() -> DueWindowCursor.decode(cursor))
+                .isInstanceOf(InvalidQueryException.class)
+                .hasMessageStartingWith("Invalid cursor");
+    }
+}
@@ -0,0 +1,49 @@
+package com.sidpaw.todobackend.model;
+
+import com.sidpaw.todobackend.exception.InvalidQueryException;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import java.time.LocalDateTime;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Unit tests for PageCursor.
+ */
+class PageCursorTest {
+
+    @Test
+    void givenCursor_WhenEncodedAndDecoded_ThenRoundTrips() {
+        // Given
+        PageCursor cursor = new PageCursor(LocalDateTime.of(2025, 10, 1, 8, 30, 15, 500), 42L);
+
+        // When
+        PageCursor decoded = PageCursor.decode(cursor.encode());
+
+        // Then
+        assertThat(decoded).isEqualTo(cursor);
+    }
+
+    @Test
+    void givenCursorWithoutSortKey_WhenEncodedAndDecoded_ThenRoundTrips() {
+        // Given
+        PageCursor cursor = new PageCursor(null, 7L);
+
+        // When
+        PageCursor decoded = PageCursor.decode(cursor.encode());
+
+        // Then
+        assertThat(decoded).isEqualTo(cursor);
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {"not base64!", "bm8tc2VwYXJhdG9y", "MjAyNS0xMC0wMXxhYmM"})
+    void givenMalformedCursor_WhenDecode_ThenThrowsException(String cursor) {
+        assertThatThrownBy(() -> PageCursor.decode(cursor))
+                .isInstanceOf(InvalidQueryException.class)
+                .hasMessageStartingWith("Invalid cursor");
+    }
+}
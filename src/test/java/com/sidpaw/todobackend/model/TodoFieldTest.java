@@ -0,0 +1,46 @@
+package com.sidpaw.todobackend.model;
+
+import com.sidpaw.todobackend.exception.InvalidFieldsException;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.NullAndEmptySource;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Unit tests for TodoField enum.
+ */
+class TodoFieldTest {
+
+    @Test
+    void givenFieldList_WhenParseList_ThenReturnsFieldsInDeclarationOrder() {
+        // When & Then
+        assertThat(TodoField.parseList("status, ID,description"))
+                .containsExactly(TodoField.ID, TodoField.DESCRIPTION, TodoField.STATUS);
+    }
+
+    @Test
+    void givenDuplicateFields_WhenParseList_ThenReturnsEachFieldOnce() {
+        // When & Then
+        assertThat(TodoField.parseList("dueDatetime,dueDatetime,"))
+                .containsExactly(TodoField.DUE_DATETIME);
+    }
+
+    @Test
+    void givenUnknownField_WhenParseList_ThenThrowsException() {
+        assertThatThrownBy(() -> TodoField.parseList("id,owner"))
+                .isInstanceOf(InvalidFieldsException.class)
+                .hasMessage("Invalid field: owner");
+    }
+
+    @ParameterizedTest
+    @NullAndEmptySource
+    @ValueSource(strings = {" ", ",,"})
+    void givenNoFields_WhenParseList_ThenThrowsException(String value) {
+        assertThatThrownBy(() -> TodoField.parseList(value))
+                .isInstanceOf(InvalidFieldsException.class)
+                .hasMessage("At least one field must be requested");
+    }
+}
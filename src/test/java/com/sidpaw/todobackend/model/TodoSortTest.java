@@ -0,0 +1,54 @@
+package com.sidpaw.todobackend.model;
+
+import com.sidpaw.todobackend.entity.TodoItemEntity;
+import com.sidpaw.todobackend.exception.InvalidQueryException;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import java.time.LocalDateTime;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Unit tests for TodoSort enum.
+ */
+class TodoSortTest {
+
+    private static final LocalDateTime DUE = LocalDateTime.of(2025, 10, 1, 12, 0);
+
+    @Test
+    void givenSupportedParameters_WhenFrom_ThenReturnsMatchingSort() {
+        // When & Then
+        assertThat(TodoSort.from("due")).isEqualTo(TodoSort.DUE_ASC);
+        assertThat(TodoSort.from(" -Due ")).isEqualTo(TodoSort.DUE_DESC);
+        assertThat(TodoSort.from("created")).isEqualTo(TodoSort.CREATED_ASC);
+        assertThat(TodoSort.from("-created")).isEqualTo(TodoSort.CREATED_DESC);
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {"status", "description", "due,created", "+due", ""})
+    void givenUnsupportedParameter_WhenFrom_ThenThrowsException(String sort) {
+        assertThatThrownBy(() -> TodoSort.from(sort))
+                .isInstanceOf(InvalidQueryException.class)
+                .hasMessageContaining("Supported: created, -created, due, -due");
+    }
+
+    @Test
+    void givenDescendingSort_WhenComparingWithCursor_ThenTiesAreBrokenByDescendingId() {
+        // Given
+        PageCursor cursor = new PageCursor(DUE, 5L);
+
+        // When & Then
+        assertThat(TodoSort.DUE_DESC.isAfter(item(4L, DUE), cursor)).isTrue();
+        assertThat(TodoSort.DUE_DESC.isAfter(item(6L, DUE), cursor)).isFalse();
+        assertThat(TodoSort.DUE_DESC.isAfter(item(9L, DUE.minusSeconds(1)), cursor)).isTrue();
+        assertThat(TodoSort.DUE_ASC.isAfter(item(6L, DUE), cursor)).isTrue();
+        assertThat(TodoSort.DUE_ASC.isAfter(item(5L, DUE), cursor)).isFalse();
+    }
+
+    private static TodoItemEntity item(long id, LocalDateTime due) {
+        return new TodoItemEntity(id, "Item " + id, TodoStatus.NOT_DONE, DUE.minusDays(1), due, null);
+    }
+}
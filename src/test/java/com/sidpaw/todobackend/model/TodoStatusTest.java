@@ -1,8 +1,13 @@
 package com.sidpaw.todobackend.model;
 
+import com.sidpaw.todobackend.exception.InvalidStatusException;
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.NullAndEmptySource;
+import org.junit.jupiter.params.provider.ValueSource;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
 
 /**
  * Unit tests for TodoStatus enum.
@@ -46,4 +51,28 @@ class TodoStatusTest {
         assertThat(TodoStatus.DONE.toString()).isEqualTo("done");
         assertThat(TodoStatus.PAST_DUE.toString()).isEqualTo("past due");
     }
+
+    @Test
+    void givenDisplayNamesInAnyCase_WhenLookup_ThenReturnsStatus() {
+        // When & Then
+        assertThat(TodoStatus.lookup("not done")).isEqualTo(TodoStatus.NOT_DONE);
+        assertThat(TodoStatus.lookup("DONE")).isEqualTo(TodoStatus.DONE);
+        assertThat(TodoStatus.lookup("Past Due")).isEqualTo(TodoStatus.PAST_DUE);
+    }
+
+    @ParameterizedTest
+    @NullAndEmptySource
+    @ValueSource(strings = {"past_due", "not  done", "done ", "in progress", "a status name longer than any other"})
+    void givenUnknownValue_WhenLookup_ThenReturnsNull(String value) {
+        // When & Then
+        assertThat(TodoStatus.lookup(value)).isNull();
+    }
+
+    @Test
+    void givenUnknownValue_WhenFrom_ThenThrowsExceptionWithoutStackTrace() {
+        assertThatThrownBy(() -> TodoStatus.from("in progress"))
+                .isInstanceOf(InvalidStatusException.class)
+                .hasMessage("Invalid status: in progress")
+                .satisfies(ex -> assertThat(ex.getStackTrace()).isEmpty());
+    }
 }
@@ -0,0 +1,52 @@
+package com.sidpaw.todobackend.outbox;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sidpaw.todobackend.entity.OutboxEventEntity;
+import com.sidpaw.todobackend.model.OutboxEventType;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class NdjsonFileOutboxSinkTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    void givenEvents_WhenPublish_ThenAppendsOneJsonLinePerEvent() throws Exception {
+        // Given
+        Path file = tempDir.resolve("nested/events.ndjson");
+        NdjsonFileOutboxSink sink = new NdjsonFileOutboxSink(file, objectMapper);
+
+        // When
+        sink.publish(List.of(event(1L, OutboxEventType.TODO_CREATED, 10L, "{\"description\":\"a\"}")));
+        sink.publish(List.of(event(2L, OutboxEventType.TODO_PAST_DUE_BULK_UPDATED, null, "{\"count\":3}")));
+
+        // Then
+        List<String> lines = Files.readAllLines(file);
+        assertThat(lines).hasSize(2);
+
+        JsonNode first = objectMapper.readTree(lines.get(0));
+        assertThat(first.get("id").asLong()).isEqualTo(1L);
+        assertThat(first.get("type").asText()).isEqualTo("TODO_CREATED");
+        assertThat(first.get("todoId").asLong()).isEqualTo(10L);
+        assertThat(first.get("payload").get("description").asText()).isEqualTo("a");
+
+        JsonNode second = objectMapper.readTree(lines.get(1));
+        assertThat(second.get("todoId").isNull()).isTrue();
+        assertThat(second.get("payload").get("count").asInt()).isEqualTo(3);
+    }
+
+    private OutboxEventEntity event(Long id, OutboxEventType type, Long todoId, String payload) {
+        return new OutboxEventEntity(id, type, todoId, payload, LocalDateTime.of(2025, 1, 1, 12, 0));
+    }
+}
@@ -0,0 +1,162 @@
+package com.sidpaw.todobackend.outbox;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sidpaw.todobackend.dto.TodoPatchDTO;
+import com.sidpaw.todobackend.dto.TodoRequestDTO;
+import com.sidpaw.todobackend.dto.TodoResponseDTO;
+import com.sidpaw.todobackend.entity.OutboxEventEntity;
+import com.sidpaw.todobackend.model.OutboxEventType;
+import com.sidpaw.todobackend.repository.OutboxEventRepository;
+import com.sidpaw.todobackend.scheduler.OutboxRelay;
+import com.sidpaw.todobackend.scheduler.TodoItemScheduler;
+import com.sidpaw.todobackend.service.TodoItemService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.Limit;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.jdbc.Sql;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest(properties = {
+        "todo.outbox.relay.enabled=true",
+        "todo.outbox.relay.interval-ms=3600000",
+        "todo.outbox.file=build/test-outbox/outbox-integration.ndjson"
+})
+@ActiveProfiles("test")
+@Sql(scripts = "/cleanup.sql", executionPhase = Sql.ExecutionPhase.BEFORE_TEST_METHOD)
+class OutboxIntegrationTest {
+
+    @Autowired
+    private TodoItemService todoItemService;
+
+    @Autowired
+    private TodoItemScheduler todoItemScheduler;
+
+    @Autowired
+    private OutboxEventRepository outboxEventRepository;
+
+    @Autowired
+    private OutboxRelay outboxRelay;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Value("${todo.outbox.file}")
+    private Path outboxFile;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        Files.deleteIfExists(outboxFile);
+    }
+
+    @Test
+    void givenTodoChanges_WhenCommitted_ThenOutboxRecordsEachChange() {
+        // Given
+        TodoResponseDTO created = todoItemService.createTodoItem(
+                new TodoRequestDTO("Write report", LocalDateTime.now().plusDays(1)));
+        TodoPatchDTO done = new TodoPatchDTO();
+        done.setStatus("done");
+        TodoPatchDTO description = new TodoPatchDTO();
+        description.setDescription("Write the report");
+
+        // When
+        todoItemService.patchTodo(created.getId(), done);
+        todoItemService.patchTodo(created.getId(), description);
+        todoItemService.createTodoItem(new TodoRequestDTO("Overdue", LocalDateTime.now().minusHours(1)));
+        todoItemScheduler.updatePastDueItems();
+
+        // Then
+        assertThat(outboxEventRepository.findByOrderByIdAsc(Limit.of(10)))
+                .extracting(OutboxEventEntity::getEventType)
+                .containsExactly(
+                        OutboxEventType.TODO_CREATED,
+                        OutboxEventType.TODO_STATUS_CHANGED,
+                        OutboxEventType.TODO_CREATED,
+                        OutboxEventType.TODO_PAST_DUE_BULK_UPDATED);
+    }
+
+    @Test
+    void givenPendingEvents_WhenRelayRuns_ThenEventsAreWrittenToFileAndRemoved() throws Exception {
+        // Given
+        TodoResponseDTO created = todoItemService.createTodoItem(
+                new TodoRequestDTO("Relay me", LocalDateTime.now().plusDays(1)));
+        TodoPatchDTO done = new TodoPatchDTO();
+        done.setStatus("done");
+        todoItemService.patchTodo(created.getId(), done);
+
+        // When
+        int relayed = outboxRelay.relayPendingEvents();
+
+        // Then
+        assertThat(relayed).isEqualTo(2);
+        assertThat(outboxEventRepository.count()).isZero();
+
+        List<String> lines = Files.readAllLines(outboxFile);
+        assertThat(lines).hasSize(2);
+        JsonNode statusChange = objectMapper.readTree(lines.get(1));
+        assertThat(statusChange.get("type").asText()).isEqualTo("TODO_STATUS_CHANGED");
+        assertThat(statusChange.get("todoId").asLong()).isEqualTo(created.getId());
+        assertThat(statusChange.get("payload").get("previousStatus").asText()).isEqualTo("NOT_DONE");
+        assertThat(statusChange.get("payload").get("status").asText()).isEqualTo("DONE");
+    }
+
+    @Test
+    void givenBatchClaimedByAnotherRun_WhenRelayRuns_ThenItIsSkippedUntilTheClaimExpires() {
+        // Given
+        todoItemService.createTodoItem(new TodoRequestDTO("Claimed", LocalDateTime.now().plusDays(1)));
+        List<Long> ids = outboxEventRepository.findAll().stream().map(OutboxEventEntity::getId).toList();
+        transactionTemplate.executeWithoutResult(status ->
+                outboxEventRepository.claim(ids, LocalDateTime.now().plusHours(1)));
+        int whileClaimed = outboxRelay.relayPendingEvents();
+        transactionTemplate.executeWithoutResult(status ->
+                outboxEventRepository.claim(ids, LocalDateTime.now().minusSeconds(1)));
+
+        // When
+        int afterExpiry = outboxRelay.relayPendingEvents();
+
+        // Then
+        assertThat(whileClaimed).isZero();
+        assertThat(afterExpiry).isEqualTo(1);
+        assertThat(outboxEventRepository.count()).isZero();
+    }
+
+    @Test
+    void givenBatchDelete_WhenCommitted_ThenOneDeletedEventPerItemIsRecorded() {
+        // Given
+        TodoResponseDTO first = todoItemService.createTodoItem(new TodoRequestDTO("First", null));
+        TodoResponseDTO second = todoItemService.createTodoItem(new TodoRequestDTO("Second", null));
+
+        // When
+        todoItemService.deleteTodoItems(List.of(first.getId(), second.getId()));
+
+        // Then
+        assertThat(outboxEventRepository.findByOrderByIdAsc(Limit.of(10)))
+                .filteredOn(event -> event.getEventType() == OutboxEventType.TODO_DELETED)
+                .extracting(OutboxEventEntity::getTodoId)
+                .containsExactly(first.getId(), second.getId());
+    }
+
+    @Test
+    void givenEmptyOutbox_WhenRelayRuns_ThenNothingIsWritten() {
+        // When
+        int relayed = outboxRelay.relayPendingEvents();
+
+        // Then
+        assertThat(relayed).isZero();
+        assertThat(Files.exists(outboxFile)).isFalse();
+    }
+}
@@ -0,0 +1,218 @@
+package com.sidpaw.todobackend.ratelimit;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.web.servlet.HandlerMapping;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Unit tests for RateLimitInterceptor.
+ */
+class RateLimitInterceptorTest {
+
+    private RateLimitProperties properties;
+    private SimpleMeterRegistry meterRegistry;
+    private RateLimitInterceptor interceptor;
+
+    @BeforeEach
+    void setUp() {
+        properties = new RateLimitProperties();
+        properties.setRead(new RateLimitProperties.Budget(1, 2));
+        properties.setWrite(new RateLimitProperties.Budget(1, 1));
+        properties.setMaxConcurrentPerEndpoint(1);
+        meterRegistry = new SimpleMeterRegistry();
+        interceptor = new RateLimitInterceptor(properties, new ClientRateLimiter(properties),
+                new ObjectMapper(), meterRegistry);
+    }
+
+    @Test
+    void givenClientOverReadBudget_WhenPreHandle_ThenRejectsWithRetryAfter() throws Exception {
+        // Given
+        allowAndComplete(request("GET", "client-a"));
+        allowAndComplete(request("GET", "client-a"));
+
+        // When
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        boolean allowed = interceptor.preHandle(request("GET", "client-a"), response, null);
+
+        // Then
+        assertThat(allowed).isFalse();
+        assertThat(response.getStatus()).isEqualTo(429);
+        assertThat(response.getHeader("Retry-After")).isEqualTo("1");
+        assertThat(response.getContentAsString()).contains("Too Many Requests");
+        assertThat(rejected("rate", "read")).isEqualTo(1.0);
+    }
+
+    @Test
+    void givenClientOverWriteBudget_WhenReading_ThenReadBudgetIsSeparate() throws Exception {
+        // Given
+        allowAndComplete(request("POST", "client-a"));
+        assertThat(interceptor.preHandle(request("POST", "client-a"), new MockHttpServletResponse(), null)).isFalse();
+
+        // When & Then
+        allowAndComplete(request("GET", "client-a"));
+        assertThat(rejected("rate", "write")).isEqualTo(1.0);
+    }
+
+    @Test
+    void givenDifferentClients_WhenPreHandle_ThenBudgetsAreIndependent() throws Exception {
+        // Given
+        allowAndComplete(request("POST", "client-a"));
+
+        // When & Then
+        allowAndComplete(request("POST", "client-b"));
+    }
+
+    @Test
+    void givenClientIdHeader_WhenPreHandle_ThenTheRemoteAddressStillPicksTheBudget() throws Exception {
+        // Given
+        MockHttpServletRequest first = request("POST", "10.0.0.1");
+        first.addHeader("X-Client-Id", "first");
+        allowAndComplete(first);
+
+        // When
+        MockHttpServletRequest second = request("POST", "10.0.0.1");
+        second.addHeader("X-Client-Id", "second");
+
+        // Then
+        assertThat(interceptor.preHandle(second, new MockHttpServletResponse(), null)).isFalse();
+    }
+
+    @Test
+    void givenAuthenticatedPrincipal_WhenPreHandleFromAnotherAddress_ThenTheBudgetFollowsThePrincipal()
+            throws Exception {
+        // Given
+        MockHttpServletRequest first = request("POST", "10.0.0.1");
+        first.setUserPrincipal(() -> "alice");
+        allowAndComplete(first);
+
+        // When
+        MockHttpServletRequest second = request("POST", "10.0.0.2");
+        second.setUserPrincipal(() -> "alice");
+
+        // Then
+        assertThat(interceptor.preHandle(second, new MockHttpServletResponse(), null)).isFalse();
+    }
+
+    @Test
+    void givenUnmatchedUris_WhenPreHandle_ThenTheyShareOneEndpointCap() throws Exception {
+        // Given
+        MockHttpServletRequest inFlight = new MockHttpServletRequest("GET", "/api/todos/unknown-1");
+        inFlight.setRemoteAddr("client-a");
+        assertThat(interceptor.preHandle(inFlight, new MockHttpServletResponse(), null)).isTrue();
+
+        // When
+        MockHttpServletRequest other = new MockHttpServletRequest("POST", "/api/todos/unknown-2");
+        other.setRemoteAddr("client-b");
+        boolean allowed = interceptor.preHandle(other, new MockHttpServletResponse(), null);
+
+        // Then
+        assertThat(allowed).isFalse();
+        assertThat(rejected("concurrency", "any")).isEqualTo(1.0);
+    }
+
+    @Test
+    void givenEndpointAtConcurrencyLimit_WhenPreHandle_ThenRejectsUntilPermitReleased() throws Exception {
+        // Given
+        MockHttpServletRequest inFlight = request("GET", "client-a");
+        assertThat(interceptor.preHandle(inFlight, new MockHttpServletResponse(), null)).isTrue();
+
+        // When
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        boolean allowed = interceptor.preHandle(request("GET", "client-b"), response, null);
+
+        // Then
+        assertThat(allowed).isFalse();
+        assertThat(response.getStatus()).isEqualTo(429);
+        assertThat(response.getHeader("Retry-After")).isEqualTo("1");
+        assertThat(rejected("concurrency", "any")).isEqualTo(1.0);
+
+        interceptor.afterCompletion(inFlight, new MockHttpServletResponse(), null, null);
+        allowAndComplete(request("GET", "client-c"));
+    }
+
+    @Test
+    void givenRejectedRequest_WhenAfterCompletion_ThenNoPermitIsReleased() throws Exception {
+        // Given
+        MockHttpServletRequest inFlight = request("GET", "client-a");
+        interceptor.preHandle(inFlight, new MockHttpServletResponse(), null);
+        MockHttpServletRequest rejected = request("GET", "client-b");
+        interceptor.preHandle(rejected, new MockHttpServletResponse(), null);
+
+        // When
+        interceptor.afterCompletion(rejected, new MockHttpServletResponse(), null, null);
+
+        // Then
+        assertThat(interceptor.preHandle(request("GET", "client-c"), new MockHttpServletResponse(), null)).isFalse();
+    }
+
+    @Test
+    void givenEndpointAtConcurrencyLimit_WhenPreHandle_ThenRejectedRequestCostsNoToken() throws Exception {
+        // Given
+        MockHttpServletRequest inFlight = request("POST", "client-a");
+        assertThat(interceptor.preHandle(inFlight, new MockHttpServletResponse(), null)).isTrue();
+        interceptor.preHandle(request("POST", "client-b"), new MockHttpServletResponse(), null);
+
+        // When
+        interceptor.afterCompletion(inFlight, new MockHttpServletResponse(), null, null);
+
+        // Then
+        allowAndComplete(request("POST", "client-b"));
+        assertThat(rejected("concurrency", "any")).isEqualTo(1.0);
+    }
+
+    @Test
+    void givenTrackedClientLimit_WhenNewClientArrives_ThenTheLeastRecentlySeenClientIsEvicted() {
+        // Given
+        properties.setMaxTrackedClients(2);
+        properties.setRead(new RateLimitProperties.Budget(1, 1));
+        ClientRateLimiter limiter = new ClientRateLimiter(properties);
+        limiter.tryAcquire("a", false);
+        limiter.tryAcquire("b", false);
+
+        // When
+        long newcomer = limiter.tryAcquire("c", false);
+
+        // Then
+        assertThat(newcomer).isZero();
+        assertThat(limiter.trackedClients()).isEqualTo(2);
+        assertThat(limiter.tryAcquire("b", false)).isPositive();
+        assertThat(limiter.tryAcquire("a", false)).isZero();
+    }
+
+    @Test
+    void givenIdleClients_WhenPruning_ThenTheyAreDropped() {
+        // Given
+        properties.setRead(new RateLimitProperties.Budget(1_000_000_000, 1));
+        ClientRateLimiter limiter = new ClientRateLimiter(properties);
+        limiter.tryAcquire("a", false);
+        limiter.tryAcquire("b", false);
+
+        // When
+        limiter.pruneIdleClients();
+
+        // Then
+        assertThat(limiter.trackedClients()).isZero();
+    }
+
+    private void allowAndComplete(MockHttpServletRequest request) throws Exception {
+        assertThat(interceptor.preHandle(request, new MockHttpServletResponse(), null)).isTrue();
+        interceptor.afterCompletion(request, new MockHttpServletResponse(), null, null);
+    }
+
+    private double rejected(String reason, String kind) {
+        return meterRegistry.get("todo.ratelimit.rejected").tag("reason", reason).tag("kind", kind).counter().count();
+    }
+
+    private static MockHttpServletRequest request(String method, String remoteAddress) {
+        MockHttpServletRequest request = new MockHttpServletRequest(method, "/api/todos");
+        request.setAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE, "/api/todos");
+        request.setRemoteAddr(remoteAddress);
+        return request;
+    }
+}
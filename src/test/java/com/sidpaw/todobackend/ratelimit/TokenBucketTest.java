@@ -0,0 +1,65 @@
+package com.sidpaw.todobackend.ratelimit;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Unit tests for TokenBucket.
+ */
+class TokenBucketTest {
+
+    private final AtomicLong clock = new AtomicLong(0);
+
+    @Test
+    void givenFullBucket_WhenAcquiringBurst_ThenAllowsBurstAndRejectsNext() {
+        // Given
+        TokenBucket bucket = new TokenBucket(10, 3, clock::get);
+
+        // When & Then
+        assertThat(bucket.tryAcquire()).isZero();
+        assertThat(bucket.tryAcquire()).isZero();
+        assertThat(bucket.tryAcquire()).isZero();
+        assertThat(bucket.tryAcquire()).isEqualTo(TimeUnit.MILLISECONDS.toNanos(100));
+    }
+
+    @Test
+    void givenEmptyBucket_WhenTimePasses_ThenTokensAreRefilled() {
+        // Given
+        TokenBucket bucket = new TokenBucket(10, 1, clock::get);
+        assertThat(bucket.tryAcquire()).isZero();
+        assertThat(bucket.tryAcquire()).isPositive();
+
+        // When
+        clock.addAndGet(TimeUnit.MILLISECONDS.toNanos(100));
+
+        // Then
+        assertThat(bucket.tryAcquire()).isZero();
+    }
+
+    @Test
+    void givenUsedBucket_WhenRefilled_ThenIsIdle() {
+        // Given
+        TokenBucket bucket = new TokenBucket(10, 2, clock::get);
+        bucket.tryAcquire();
+        assertThat(bucket.isIdle()).isFalse();
+
+        // When
+        clock.addAndGet(TimeUnit.MILLISECONDS.toNanos(100));
+
+        // Then
+        assertThat(bucket.isIdle()).isTrue();
+    }
+
+    @Test
+    void givenInvalidSettings_WhenCreatingBucket_ThenThrowsException() {
+        assertThatThrownBy(() -> new TokenBucket(0, 1))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> new TokenBucket(1, 0))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+}
@@ -0,0 +1,148 @@
+package com.sidpaw.todobackend.readmodel;
+
+import com.sidpaw.todobackend.dto.TodoPatchDTO;
+import com.sidpaw.todobackend.dto.TodoRequestDTO;
+import com.sidpaw.todobackend.dto.TodoResponseDTO;
+import com.sidpaw.todobackend.model.TodoStatus;
+import com.sidpaw.todobackend.scheduler.TodoItemScheduler;
+import com.sidpaw.todobackend.service.TodoItemService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.jdbc.Sql;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Reads served by the read model. The cleanup script bypasses it, so it is reloaded before each test.
+ */
+@SpringBootTest(properties = {
+        "todo.read-model.enabled=true",
+        // The tests run the past-due update themselves
+        "todo.past-due.scheduler.enabled=false"
+})
+@ActiveProfiles("test")
+@Sql(scripts = "/cleanup.sql", executionPhase = Sql.ExecutionPhase.BEFORE_TEST_METHOD)
+class TodoReadModelIntegrationTest {
+
+    private static final String INSERT_AROUND_SQL = "INSERT INTO todo_items (description, status, creation_datetime) "
+            + "VALUES ('Written around the application', 'NOT_DONE', CURRENT_TIMESTAMP)";
+
+    @Autowired
+    private TodoReadModel todoReadModel;
+
+    @Autowired
+    private TodoItemService todoItemService;
+
+    @Autowired
+    private TodoItemScheduler todoItemScheduler;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @BeforeEach
+    void setUp() {
+        assertThat(todoReadModel.reload()).isTrue();
+    }
+
+    @Test
+    void givenServiceWrites_WhenReading_ThenReadModelServesThemAndNotRowsWrittenAroundIt() {
+        // Given
+        TodoResponseDTO kept = todoItemService.createTodoItem(new TodoRequestDTO("Kept", null));
+        TodoResponseDTO done = todoItemService.createTodoItem(new TodoRequestDTO("Done", null));
+        TodoPatchDTO patch = new TodoPatchDTO();
+        patch.setStatus("done");
+        todoItemService.patchTodo(done.getId(), patch);
+        TodoResponseDTO deleted = todoItemService.createTodoItem(new TodoRequestDTO("Deleted", null));
+        todoItemService.deleteTodoItem(deleted.getId());
+        jdbcTemplate.update(INSERT_AROUND_SQL);
+
+        // When
+        List<TodoResponseDTO> items = todoItemService.getAllTodoItems();
+
+        // Then
+        assertThat(items).extracting(TodoResponseDTO::getId).containsExactly(done.getId(), kept.getId());
+        assertThat(todoItemService.getTodoItemById(done.getId())).get()
+                .extracting(TodoResponseDTO::getStatus).isEqualTo(TodoStatus.DONE.getDisplayName());
+        assertThat(todoItemService.getTodoItemById(deleted.getId())).isEmpty();
+    }
+
+    @Test
+    void givenRowWrittenAroundTheApplication_WhenChecking_ThenReadModelIsReloaded() {
+        // Given
+        todoItemService.createTodoItem(new TodoRequestDTO("Created", null));
+        assertThat(todoReadModel.check()).isEqualTo(TodoReadModel.CheckResult.CONSISTENT);
+        jdbcTemplate.update(INSERT_AROUND_SQL);
+
+        // When
+        TodoReadModel.CheckResult result = todoReadModel.check();
+
+        // Then
+        assertThat(result).isEqualTo(TodoReadModel.CheckResult.RELOADED);
+        assertThat(todoReadModel.isReady()).isTrue();
+        assertThat(todoItemService.getAllTodoItems()).hasSize(2);
+        assertThat(todoReadModel.check()).isEqualTo(TodoReadModel.CheckResult.CONSISTENT);
+    }
+
+    @Test
+    void givenDescriptionChangedAroundTheApplication_WhenChecking_ThenChecksumDiffersAndReadModelIsReloaded() {
+        // Given
+        TodoResponseDTO created = todoItemService.createTodoItem(
+                new TodoRequestDTO("Created", LocalDateTime.now().plusDays(1).withNano(123_456_000)));
+        assertThat(todoReadModel.check()).isEqualTo(TodoReadModel.CheckResult.CONSISTENT);
+        jdbcTemplate.update("UPDATE todo_items SET description = 'Changed' WHERE id = ?", created.getId());
+
+        // When
+        TodoReadModel.CheckResult result = todoReadModel.check();
+
+        // Then
+        assertThat(result).isEqualTo(TodoReadModel.CheckResult.RELOADED);
+        assertThat(todoItemService.getTodoItemById(created.getId())).get()
+                .extracting(TodoResponseDTO::getDescription).isEqualTo("Changed");
+    }
+
+    @Test
+    void givenRowChangedBeforeAServiceWrite_WhenWriteCommits_ThenReadModelHoldsTheCommittedRow() {
+        // Given
+        TodoResponseDTO created = todoItemService.createTodoItem(new TodoRequestDTO("Created", null));
+        jdbcTemplate.update("UPDATE todo_items SET description = 'Changed' WHERE id = ?", created.getId());
+        TodoPatchDTO patch = new TodoPatchDTO();
+        patch.setStatus("done");
+
+        // When
+        todoItemService.patchTodo(created.getId(), patch);
+
+        // Then
+        String committed = jdbcTemplate.queryForObject("SELECT description FROM todo_items WHERE id = ?",
+                String.class, created.getId());
+        assertThat(todoItemService.getTodoItemById(created.getId())).get()
+                .extracting(TodoResponseDTO::getDescription, TodoResponseDTO::getStatus)
+                .containsExactly(committed, TodoStatus.DONE.getDisplayName());
+        assertThat(todoReadModel.check()).isEqualTo(TodoReadModel.CheckResult.CONSISTENT);
+    }
+
+    @Test
+    void givenOverdueItem_WhenPastDueRunCompletes_ThenReadModelShowsItPastDue() {
+        // Given
+        LocalDateTime now = LocalDateTime.now();
+        TodoResponseDTO overdue = todoItemService.createTodoItem(new TodoRequestDTO("Overdue", now.minusHours(1)));
+        TodoResponseDTO future = todoItemService.createTodoItem(new TodoRequestDTO("Future", now.plusDays(1)));
+
+        // When
+        int updated = todoItemScheduler.updatePastDueItems();
+
+        // Then
+        assertThat(updated).isEqualTo(1);
+        assertThat(todoItemService.getTodoItemById(overdue.getId())).get()
+                .extracting(TodoResponseDTO::getStatus).isEqualTo(TodoStatus.PAST_DUE.getDisplayName());
+        assertThat(todoItemService.getTodoItemById(future.getId())).get()
+                .extracting(TodoResponseDTO::getStatus).isEqualTo(TodoStatus.NOT_DONE.getDisplayName());
+        assertThat(todoReadModel.check()).isEqualTo(TodoReadModel.CheckResult.CONSISTENT);
+    }
+}
@@ -0,0 +1,93 @@
+package com.sidpaw.todobackend.repository;
+
+import com.sidpaw.todobackend.entity.TodoItemEntity;
+import com.sidpaw.todobackend.model.TodoStatus;
+import com.sidpaw.todobackend.store.TodoStore;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Integration tests for the second-level and query cache of todo items.
+ */
+// A background past-due run would evict the region and skew the counted hits and misses
+@SpringBootTest(properties = "todo.past-due.scheduler.enabled=false")
+@ActiveProfiles("test")
+class SecondLevelCacheIntegrationTest {
+
+    @Autowired
+    private TodoStore todoStore;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @BeforeEach
+    void setUp() {
+        todoStore.deleteAll();
+    }
+
+    @Test
+    void givenCachedItem_WhenLoadingAgain_ThenServedFromTheEntityRegion() {
+        // Given
+        Long id = todoStore.save(new TodoItemEntity("Cached task", LocalDateTime.now().plusDays(1))).getId();
+        todoStore.findById(id);
+        double hitsBefore = requests(TodoItemEntity.CACHE_REGION, "hit");
+
+        // When
+        todoStore.findById(id);
+
+        // Then
+        assertThat(requests(TodoItemEntity.CACHE_REGION, "hit")).isGreaterThan(hitsBefore);
+        assertThat(meterRegistry.get("todo.cache.hit.ratio").tag("region", TodoItemEntity.CACHE_REGION)
+                .gauge().value()).isPositive();
+    }
+
+    @Test
+    void givenCachedStatusList_WhenSameQueryRunsAgain_ThenServedFromTheQueryRegion() {
+        // Given
+        todoStore.save(new TodoItemEntity("Listed task", null));
+        todoStore.findByStatusOrderByCreationDatetimeDesc(TodoStatus.NOT_DONE);
+        double hitsBefore = requests(TodoItemRepository.LIST_QUERY_CACHE_REGION, "hit");
+
+        // When
+        todoStore.findByStatusOrderByCreationDatetimeDesc(TodoStatus.NOT_DONE);
+
+        // Then
+        assertThat(requests(TodoItemRepository.LIST_QUERY_CACHE_REGION, "hit")).isGreaterThan(hitsBefore);
+    }
+
+    @Test
+    void givenCachedItemAndList_WhenBulkPastDueUpdateRuns_ThenNeitherIsServedStale() {
+        // Given
+        Long id = todoStore.save(new TodoItemEntity("Overdue task", LocalDateTime.now().minusMinutes(1))).getId();
+        assertThat(todoStore.findById(id)).get().extracting(TodoItemEntity::getStatus).isEqualTo(TodoStatus.NOT_DONE);
+        assertThat(todoStore.findByStatusOrderByCreationDatetimeDesc(TodoStatus.PAST_DUE)).isEmpty();
+
+        // When
+        Integer updated = transactionTemplate.execute(status ->
+                todoStore.updatePastDueItems(LocalDateTime.now(), TodoStatus.NOT_DONE, TodoStatus.PAST_DUE));
+
+        // Then
+        assertThat(updated).isEqualTo(1);
+        assertThat(todoStore.findById(id)).get().extracting(TodoItemEntity::getStatus).isEqualTo(TodoStatus.PAST_DUE);
+        assertThat(todoStore.findByStatusOrderByCreationDatetimeDesc(TodoStatus.PAST_DUE))
+                .extracting(TodoItemEntity::getId)
+                .containsExactly(id);
+    }
+
+    private double requests(String region, String result) {
+        return meterRegistry.get("todo.cache.requests").tag("region", region).tag("result", result)
+                .functionCounter().count();
+    }
+}
@@ -1,15 +1,20 @@
 package com.sidpaw.todobackend.repository;
 
 import com.sidpaw.todobackend.entity.TodoItemEntity;
+import com.sidpaw.todobackend.model.PastDueMode;
+import com.sidpaw.todobackend.model.TodoField;
 import com.sidpaw.todobackend.model.TodoStatus;
+import jakarta.persistence.Tuple;
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.data.domain.Limit;
 import org.springframework.test.context.ActiveProfiles;
 
 import java.time.LocalDateTime;
+import java.util.EnumSet;
 import java.util.List;
 import java.util.Optional;
 
@@ -242,6 +247,157 @@ class TodoItemRepositoryTest {
             .containsExactly("Newer task", "Older task");
     }
 
+    @Test
+    void givenMultipleTodoItems_WhenFindProjected_ThenReturnsOnlyRequestedColumnsInOrder() {
+        // Given
+        todoItemRepository.saveAll(List.of(todoItem1, todoItem2, todoItem3));
+
+        // When
+        List<Tuple> result = todoItemRepository.findProjected(
+                EnumSet.of(TodoField.ID, TodoField.DESCRIPTION), null, LocalDateTime.now(), PastDueMode.STORED);
+
+        // Then
+        assertThat(result).hasSize(3);
+        assertThat(result.getFirst().getElements()).hasSize(2);
+        assertThat(result).extracting(tuple -> tuple.get("description"))
+                .containsExactly("First task", "Second task", "Third task");
+    }
+
+    @Test
+    void givenMixedItems_WhenFindProjectedByStatus_ThenAppliesListFilters() {
+        // Given
+        LocalDateTime now = LocalDateTime.of(2025, 10, 1, 0, 0);
+        TodoItemEntity pastDue = createTodoItem("Past due", TodoStatus.NOT_DONE, now.minusDays(1));
+        todoItemRepository.saveAll(List.of(todoItem1, todoItem2, todoItem3, pastDue));
+
+        // When
+        List<Tuple> notDone = todoItemRepository.findProjected(EnumSet.of(TodoField.DESCRIPTION), TodoStatus.NOT_DONE, now, PastDueMode.STORED);
+        List<Tuple> done = todoItemRepository.findProjected(EnumSet.of(TodoField.STATUS), TodoStatus.DONE, now, PastDueMode.STORED);
+
+        // Then
+        assertThat(notDone).extracting(tuple -> tuple.get("description"))
+                .containsExactly("First task", "Third task");
+        assertThat(done).extracting(tuple -> tuple.get("status"))
+                .containsExactly(TodoStatus.DONE);
+    }
+
+    @Test
+    void givenOverdueItem_WhenFindProjectedPastDueInVirtualMode_ThenMatchesStoredAndOverdueItems() {
+        // Given
+        LocalDateTime now = LocalDateTime.of(2025, 10, 1, 0, 0);
+        TodoItemEntity overdue = createTodoItem("Overdue", TodoStatus.NOT_DONE, now.minusDays(1));
+        TodoItemEntity storedPastDue = createTodoItem("Stored past due", TodoStatus.PAST_DUE, now.minusDays(2));
+        todoItemRepository.saveAll(List.of(todoItem1, todoItem2, overdue, storedPastDue));
+
+        // When
+        List<Tuple> virtual = todoItemRepository.findProjected(
+                EnumSet.of(TodoField.DESCRIPTION, TodoField.STATUS), TodoStatus.PAST_DUE, now, PastDueMode.VIRTUAL);
+        List<Tuple> stored = todoItemRepository.findProjected(
+                EnumSet.of(TodoField.DESCRIPTION), TodoStatus.PAST_DUE, now, PastDueMode.STORED);
+
+        // Then
+        assertThat(virtual).extracting(tuple -> tuple.get("description"))
+                .containsExactlyInAnyOrder("Overdue", "Stored past due");
+        assertThat(virtual).extracting(tuple -> tuple.get(TodoItemRepositoryCustom.DUE_FOR_STATUS_ALIAS))
+                .containsExactlyInAnyOrder(now.minusDays(1), now.minusDays(2));
+        assertThat(stored).extracting(tuple -> tuple.get("description"))
+                .containsExactly("Stored past due");
+    }
+
+    @Test
+    void givenOverdueAndStoredPastDueItems_WhenFindPastDueItems_ThenReturnsBothNewestFirst() {
+        // Given
+        LocalDateTime now = LocalDateTime.of(2025, 10, 1, 0, 0);
+        TodoItemEntity storedPastDue = createTodoItem("Stored past due", TodoStatus.PAST_DUE, now.minusDays(2));
+        TodoItemEntity overdue = createTodoItem("Overdue", TodoStatus.NOT_DONE, now.minusDays(1));
+        overdue.setCreationDatetime(storedPastDue.getCreationDatetime().plusMinutes(1));
+        TodoItemEntity future = createTodoItem("Future", TodoStatus.NOT_DONE, now.plusDays(1));
+        todoItemRepository.saveAll(List.of(storedPastDue, overdue, future));
+
+        // When
+        List<TodoItemEntity> result = todoItemRepository.findPastDueItems(now, TodoStatus.NOT_DONE, TodoStatus.PAST_DUE);
+
+        // Then
+        assertThat(result).extracting(TodoItemEntity::getDescription)
+                .containsExactly("Overdue", "Stored past due");
+    }
+
+    @Test
+    void givenExistingTodoItem_WhenFindProjectedById_ThenReturnsRequestedColumns() {
+        // Given
+        TodoItemEntity saved = todoItemRepository.save(todoItem2);
+
+        // When
+        Optional<Tuple> result = todoItemRepository.findProjectedById(saved.getId(), EnumSet.of(TodoField.DONE_DATETIME), PastDueMode.STORED);
+        Optional<Tuple> missing = todoItemRepository.findProjectedById(999L, EnumSet.of(TodoField.ID), PastDueMode.STORED);
+
+        // Then
+        assertThat(result).isPresent();
+        assertThat(result.get().get("doneDatetime")).isEqualTo(LocalDateTime.of(2025, 9, 24, 16, 30));
+        assertThat(missing).isEmpty();
+    }
+
+    @Test
+    void givenExistingAndMissingIds_WhenFindAllByIdInOrder_ThenResultIsAlignedWithIds() {
+        // Given
+        List<TodoItemEntity> saved = todoItemRepository.saveAll(List.of(todoItem1, todoItem2));
+        Long firstId = saved.get(0).getId();
+        Long secondId = saved.get(1).getId();
+
+        // When
+        List<TodoItemEntity> result = todoItemRepository.findAllByIdInOrder(List.of(secondId, 999L, firstId));
+
+        // Then
+        assertThat(result).hasSize(3);
+        assertThat(result.get(0).getDescription()).isEqualTo("Second task");
+        assertThat(result.get(1)).isNull();
+        assertThat(result.get(2).getDescription()).isEqualTo("First task");
+    }
+
+    @Test
+    void givenItemsAroundWindow_WhenFindDueWindow_ThenReturnsNotDoneItemsInWindowByDueDate() {
+        // Given
+        LocalDateTime from = LocalDateTime.of(2025, 10, 1, 0, 0);
+        LocalDateTime to = from.plusHours(24);
+        todoItemRepository.saveAll(List.of(
+                createTodoItem("Before window", TodoStatus.NOT_DONE, from.minusMinutes(1)),
+                createTodoItem("Late in window", TodoStatus.NOT_DONE, from.plusHours(20)),
+                createTodoItem("At window start", TodoStatus.NOT_DONE, from),
+                createTodoItem("Done in window", TodoStatus.DONE, from.plusHours(1)),
+                createTodoItem("At window end", TodoStatus.NOT_DONE, to),
+                createTodoItem("No due date", TodoStatus.NOT_DONE, null)));
+
+        // When
+        List<TodoItemEntity> result = todoItemRepository.findDueWindow(
+                TodoStatus.NOT_DONE, from, to, from, -1L, Limit.of(10));
+
+        // Then
+        assertThat(result)
+                .extracting(TodoItemEntity::getDescription)
+                .containsExactly("At window start", "Late in window");
+    }
+
+    @Test
+    void givenItemsWithSameDueDate_WhenFindDueWindowAfterKeyset_ThenContinuesById() {
+        // Given
+        LocalDateTime from = LocalDateTime.of(2025, 10, 1, 0, 0);
+        LocalDateTime due = from.plusHours(1);
+        List<TodoItemEntity> saved = todoItemRepository.saveAll(List.of(
+                createTodoItem("First", TodoStatus.NOT_DONE, due),
+                createTodoItem("Second", TodoStatus.NOT_DONE, due),
+                createTodoItem("Third", TodoStatus.NOT_DONE, due.plusMinutes(1))));
+
+        // When
+        List<TodoItemEntity> firstPage = todoItemRepository.findDueWindow(
+                TodoStatus.NOT_DONE, from, from.plusDays(1), from, -1L, Limit.of(1));
+        List<TodoItemEntity> nextPage = todoItemRepository.findDueWindow(
+                TodoStatus.NOT_DONE, from, from.plusDays(1), due, saved.get(0).getId(), Limit.of(5));
+
+        // Then
+        assertThat(firstPage).extracting(TodoItemEntity::getDescription).containsExactly("First");
+        assertThat(nextPage).extracting(TodoItemEntity::getDescription).containsExactly("Second", "Third");
+    }
+
     private TodoItemEntity createTodoItem(String description, TodoStatus status, LocalDateTime dueDate) {
         TodoItemEntity item = new TodoItemEntity();
         item.setDescription(description);
@@ -0,0 +1,156 @@
+package com.sidpaw.todobackend.scheduler;
+
+import com.sidpaw.todobackend.entity.TodoItemEntity;
+import com.sidpaw.todobackend.event.TodoCreatedEvent;
+import com.sidpaw.todobackend.model.TodoStatus;
+import com.sidpaw.todobackend.service.TodoItemService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.scheduling.TaskScheduler;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class AdaptivePastDueSchedulerTest {
+
+    private final TodoItemScheduler todoItemScheduler = mock();
+    private final TodoItemService todoItemService = mock();
+    private final TaskScheduler taskScheduler = mock();
+    private final ScheduledFuture<?> future = mock();
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private AdaptivePastDueScheduler scheduler;
+
+    @BeforeEach
+    void setUp() {
+        PastDueSchedulerProperties properties = new PastDueSchedulerProperties();
+        properties.setMinInterval(Duration.ofSeconds(1));
+        properties.setMaxInterval(Duration.ofMinutes(1));
+        doReturn(future).when(taskScheduler).schedule(any(Runnable.class), any(Instant.class));
+        scheduler = new AdaptivePastDueScheduler(todoItemScheduler::updatePastDueItems, todoItemService,
+                taskScheduler, properties, meterRegistry);
+    }
+
+    @Test
+    void givenItemDueSoon_WhenRunCompletes_ThenNextRunIsPlannedAtItsDueDatetime() {
+        // Given
+        LocalDateTime due = LocalDateTime.now().plusSeconds(10);
+        when(todoItemService.getNextDueDatetime(any())).thenReturn(Optional.of(due));
+
+        // When
+        scheduler.run();
+
+        // Then
+        assertThat(scheduler.getPlannedRun()).isEqualTo(due);
+        verify(taskScheduler).schedule(any(Runnable.class), any(Instant.class));
+    }
+
+    @Test
+    void givenNothingDue_WhenRunCompletes_ThenNextRunIsPlannedAfterTheMaximumInterval() {
+        // Given
+        when(todoItemService.getNextDueDatetime(any())).thenReturn(Optional.empty());
+
+        // When
+        scheduler.run();
+
+        // Then
+        assertThat(scheduler.getPlannedRun())
+                .isCloseTo(LocalDateTime.now().plusMinutes(1), within(1, ChronoUnit.SECONDS));
+    }
+
+    @Test
+    void givenItemAlreadyDue_WhenRunCompletes_ThenNextRunWaitsForTheMinimumInterval() {
+        // Given
+        when(todoItemService.getNextDueDatetime(any())).thenReturn(Optional.of(LocalDateTime.now()));
+
+        // When
+        scheduler.run();
+
+        // Then
+        assertThat(scheduler.getPlannedRun()).isAfter(LocalDateTime.now().plusMillis(500));
+    }
+
+    @Test
+    void givenSoonerDeadline_WhenItemIsCreated_ThenPlannedRunMovesForward() {
+        // Given
+        when(todoItemService.getNextDueDatetime(any())).thenReturn(Optional.empty());
+        scheduler.run();
+        LocalDateTime due = LocalDateTime.now().plusSeconds(5);
+
+        // When
+        scheduler.onCreated(new TodoCreatedEvent(item(TodoStatus.NOT_DONE, due)));
+
+        // Then
+        assertThat(scheduler.getPlannedRun()).isEqualTo(due);
+        verify(future).cancel(false);
+        assertThat(meterRegistry.get("todo.past-due.wakeups").counter().count()).isEqualTo(1);
+    }
+
+    @Test
+    void givenLaterDeadline_WhenItemIsCreated_ThenPlannedRunIsKept() {
+        // Given
+        LocalDateTime planned = LocalDateTime.now().plusSeconds(5);
+        when(todoItemService.getNextDueDatetime(any())).thenReturn(Optional.of(planned));
+        scheduler.run();
+
+        // When
+        scheduler.onCreated(new TodoCreatedEvent(item(TodoStatus.NOT_DONE, planned.plusSeconds(1))));
+        scheduler.onCreated(new TodoCreatedEvent(item(TodoStatus.DONE, planned.minusSeconds(1))));
+
+        // Then
+        assertThat(scheduler.getPlannedRun()).isEqualTo(planned);
+        assertThat(meterRegistry.get("todo.past-due.wakeups").counter().count()).isZero();
+    }
+
+    @Test
+    void givenOverdueItems_WhenRunUpdatesThem_ThenLagIsRecordedForEachItem() {
+        // Given
+        LocalDateTime now = LocalDateTime.now();
+        when(todoItemService.getNextDueDatetime(any())).thenReturn(Optional.empty());
+        when(todoItemService.getOverdueSince(any(), eq(1000)))
+                .thenReturn(List.of(now.minusSeconds(4), now.minusSeconds(2)));
+        when(todoItemScheduler.updatePastDueItems()).thenReturn(2);
+
+        // When
+        scheduler.run();
+
+        // Then
+        assertThat(meterRegistry.get("todo.past-due.lag").timer().count()).isEqualTo(2);
+        assertThat(meterRegistry.get("todo.past-due.lag").timer().totalTime(TimeUnit.SECONDS))
+                .isGreaterThanOrEqualTo(6);
+    }
+
+    @Test
+    void givenNothingUpdated_WhenRunCompletes_ThenNoLagIsRecorded() {
+        // Given
+        when(todoItemService.getNextDueDatetime(any())).thenReturn(Optional.empty());
+        when(todoItemService.getOverdueSince(any(), anyInt())).thenReturn(List.of(LocalDateTime.now()));
+        when(todoItemScheduler.updatePastDueItems()).thenReturn(0);
+
+        // When
+        scheduler.run();
+
+        // Then
+        assertThat(meterRegistry.get("todo.past-due.lag").timer().count()).isZero();
+    }
+
+    private static TodoItemEntity item(TodoStatus status, LocalDateTime due) {
+        return new TodoItemEntity(1L, "Item", status, LocalDateTime.now(), due, null);
+    }
+}
@@ -0,0 +1,92 @@
+package com.sidpaw.todobackend.scheduler;
+
+import com.sidpaw.todobackend.dto.TodoPatchDTO;
+import com.sidpaw.todobackend.dto.TodoRequestDTO;
+import com.sidpaw.todobackend.service.TodoItemService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.jdbc.Sql;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Sharded past-due update with ranges of 2 ids on 2 workers, so one run spans several ranges.
+ */
+// The tests run the update themselves and read the outbox rows it writes
+@SpringBootTest(properties = {
+        "todo.past-due.scheduler.enabled=false",
+        "todo.outbox.relay.enabled=false",
+        "todo.past-due.scheduler.sharding.enabled=true",
+        "todo.past-due.scheduler.sharding.threads=2",
+        "todo.past-due.scheduler.sharding.range-size=2"
+})
+@ActiveProfiles("test")
+@Sql(scripts = "/cleanup.sql", executionPhase = Sql.ExecutionPhase.BEFORE_TEST_METHOD)
+class ShardedPastDueUpdaterIntegrationTest {
+
+    @Autowired
+    private ShardedPastDueUpdater shardedPastDueUpdater;
+
+    @Autowired
+    private TodoItemService todoItemService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    void givenOverdueItemsAcrossRanges_WhenUpdating_ThenAllAreUpdatedWithHistoryAndAnEventPerRange() {
+        // Given
+        LocalDateTime now = LocalDateTime.now();
+        List<Long> overdue = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            overdue.add(create("Overdue " + i, now.minusHours(1)));
+            create("Future " + i, now.plusDays(1));
+        }
+        Long done = create("Done", now.minusHours(1));
+        TodoPatchDTO patch = new TodoPatchDTO();
+        patch.setStatus("done");
+        todoItemService.patchTodo(done, patch);
+        Long deleted = create("Deleted", now.minusHours(1));
+        todoItemService.deleteTodoItem(deleted);
+
+        // When
+        int updated = shardedPastDueUpdater.updatePastDueItems();
+
+        // Then
+        assertThat(updated).isEqualTo(5);
+        assertThat(jdbcTemplate.queryForList("SELECT id FROM todo_items WHERE status = 'PAST_DUE' ORDER BY id",
+                Long.class)).containsExactlyElementsOf(overdue);
+        assertThat(jdbcTemplate.queryForList("SELECT todo_id FROM todo_status_history WHERE to_status = 'PAST_DUE' "
+                + "ORDER BY todo_id", Long.class)).containsExactlyElementsOf(overdue);
+        // Ranges of 2 ids over every other id: each range holds one overdue item
+        assertThat(jdbcTemplate.queryForList("SELECT payload FROM todo_outbox "
+                + "WHERE event_type = 'TODO_PAST_DUE_BULK_UPDATED'", String.class))
+                .hasSize(5)
+                .allSatisfy(payload -> assertThat(payload).contains("\"count\":1"));
+    }
+
+    @Test
+    void givenNoOverdueItems_WhenUpdating_ThenNothingIsUpdated() {
+        // Given
+        create("Future", LocalDateTime.now().plusDays(1));
+
+        // When
+        int updated = shardedPastDueUpdater.updatePastDueItems();
+
+        // Then
+        assertThat(updated).isZero();
+        assertThat(jdbcTemplate.queryForObject("SELECT COUNT(*) FROM todo_outbox "
+                + "WHERE event_type = 'TODO_PAST_DUE_BULK_UPDATED'", Long.class)).isZero();
+    }
+
+    private Long create(String description, LocalDateTime due) {
+        return todoItemService.createTodoItem(new TodoRequestDTO(description, due)).getId();
+    }
+}
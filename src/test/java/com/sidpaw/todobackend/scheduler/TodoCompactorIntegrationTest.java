@@ -0,0 +1,77 @@
+package com.sidpaw.todobackend.scheduler;
+
+import com.sidpaw.todobackend.dto.TodoRequestDTO;
+import com.sidpaw.todobackend.dto.TodoResponseDTO;
+import com.sidpaw.todobackend.service.TodoItemService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.jdbc.Sql;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest(properties = {
+        "todo.storage.compaction.retention=10m",
+        "todo.storage.compaction.batch-size=2"
+})
+@ActiveProfiles("test")
+@Sql(scripts = "/cleanup.sql", executionPhase = Sql.ExecutionPhase.BEFORE_TEST_METHOD)
+class TodoCompactorIntegrationTest {
+
+    @Autowired
+    private TodoItemService todoItemService;
+
+    @Autowired
+    private TodoCompactor todoCompactor;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    void givenItemsDeletedBeforeRetention_WhenCompacting_ThenRowsAreRemovedAndHistoryIsKept() {
+        // Given
+        List<Long> expired = List.of(create("Expired 1"), create("Expired 2"), create("Expired 3"));
+        Long recent = create("Recently deleted");
+        Long live = create("Live");
+        expired.forEach(id -> markDeleted(id, LocalDateTime.now().minusHours(1)));
+        markDeleted(recent, LocalDateTime.now().minusMinutes(1));
+
+        // When
+        int removed = todoCompactor.compact();
+
+        // Then
+        assertThat(removed).isEqualTo(3);
+        assertThat(jdbcTemplate.queryForList("SELECT id FROM todo_items ORDER BY id", Long.class))
+                .containsExactly(recent, live);
+        assertThat(jdbcTemplate.queryForList("SELECT DISTINCT todo_id FROM todo_status_history ORDER BY todo_id",
+                Long.class)).containsExactly(expired.get(0), expired.get(1), expired.get(2), recent, live);
+    }
+
+    @Test
+    void givenNothingDeleted_WhenCompacting_ThenNothingIsRemoved() {
+        // Given
+        Long live = create("Live");
+
+        // When
+        int removed = todoCompactor.compact();
+
+        // Then
+        assertThat(removed).isZero();
+        assertThat(todoItemService.getTodoItemById(live)).isPresent();
+    }
+
+    private Long create(String description) {
+        TodoResponseDTO item = todoItemService.createTodoItem(new TodoRequestDTO(description, null));
+        return item.getId();
+    }
+
+    private void markDeleted(Long id, LocalDateTime deletedAt) {
+        jdbcTemplate.update("UPDATE todo_items SET deleted_datetime = ? WHERE id = ?", Timestamp.valueOf(deletedAt), id);
+    }
+}
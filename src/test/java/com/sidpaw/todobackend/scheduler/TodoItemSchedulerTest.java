@@ -1,14 +1,17 @@
 package com.sidpaw.todobackend.scheduler;
 
 import com.sidpaw.todobackend.entity.TodoItemEntity;
+import com.sidpaw.todobackend.event.PastDueItemsUpdatedEvent;
 import com.sidpaw.todobackend.exception.TodoSchedulerUpdateException;
 import com.sidpaw.todobackend.model.TodoStatus;
 import com.sidpaw.todobackend.repository.TodoItemRepository;
+import com.sidpaw.todobackend.store.TodoStore;
 import jakarta.persistence.EntityManager;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
@@ -204,19 +207,50 @@ class TodoItemSchedulerTest {
     }
 
     @Test
-    void givenRepositoryFailure_whenUpdatingPastDueItems_thenThrowsTodoSchedulerUpdateException() {
+    void givenStoreFailure_whenUpdatingPastDueItems_thenThrowsTodoSchedulerUpdateException() {
         // Given
-        TodoItemRepository mockRepo = mock();
+        TodoStore mockStore = mock();
         doThrow(new DataAccessException("Dummy database error") {})
-            .when(mockRepo)
+            .when(mockStore)
             .updatePastDueItems(any(), any(), any());
         
-        TodoItemScheduler schedulerWithMockRepo = new TodoItemScheduler(mockRepo);
+        TodoItemScheduler schedulerWithMockStore = new TodoItemScheduler(mockStore, mock(ApplicationEventPublisher.class));
 
         // When/Then
-        assertThatThrownBy(schedulerWithMockRepo::updatePastDueItems)
+        assertThatThrownBy(schedulerWithMockStore::updatePastDueItems)
             .isInstanceOf(TodoSchedulerUpdateException.class)
             .hasMessage("Failed to update past due items")
             .hasCauseInstanceOf(DataAccessException.class);
     }
-}
\ No newline at end of file
+
+    @Test
+    void givenItemsUpdated_whenUpdatingPastDueItems_thenPublishesBulkUpdateEvent() {
+        // Given
+        TodoStore mockStore = mock();
+        ApplicationEventPublisher mockPublisher = mock();
+        when(mockStore.updatePastDueItems(any(), any(), any())).thenReturn(3);
+        TodoItemScheduler schedulerWithMockStore = new TodoItemScheduler(mockStore, mockPublisher);
+
+        // When
+        schedulerWithMockStore.updatePastDueItems();
+
+        // Then
+        verify(mockPublisher).publishEvent(argThat((Object event) ->
+                event instanceof PastDueItemsUpdatedEvent updated && updated.count() == 3));
+    }
+
+    @Test
+    void givenNoItemsUpdated_whenUpdatingPastDueItems_thenPublishesNoEvent() {
+        // Given
+        TodoStore mockStore = mock();
+        ApplicationEventPublisher mockPublisher = mock();
+        when(mockStore.updatePastDueItems(any(), any(), any())).thenReturn(0);
+        TodoItemScheduler schedulerWithMockStore = new TodoItemScheduler(mockStore, mockPublisher);
+
+        // When
+        schedulerWithMockStore.updatePastDueItems();
+
+        // Then
+        verifyNoInteractions(mockPublisher);
+    }
+}
@@ -0,0 +1,87 @@
+package com.sidpaw.todobackend.serialization;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.exc.InvalidFormatException;
+import com.fasterxml.jackson.databind.exc.MismatchedInputException;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.sidpaw.todobackend.dto.TodoRequestDTO;
+import com.sidpaw.todobackend.dto.TodoResponseDTO;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Unit tests for BinaryFormatsModule.
+ */
+class BinaryFormatsModuleTest {
+
+    private ObjectMapper cborMapper;
+
+    @BeforeEach
+    void setUp() {
+        cborMapper = new ObjectMapper(new CBORFactory());
+        cborMapper.registerModule(new JavaTimeModule());
+        cborMapper.registerModule(new BinaryFormatsModule());
+    }
+
+    @Test
+    void givenResponseDTO_WhenWrittenAsCbor_ThenDatetimesAreEpochSeconds() throws Exception {
+        // Given
+        LocalDateTime created = LocalDateTime.of(2025, 9, 23, 10, 0);
+        TodoResponseDTO dto = new TodoResponseDTO(1L, "Task", "not done", created, null, null);
+
+        // When
+        JsonNode node = cborMapper.readTree(cborMapper.writeValueAsBytes(dto));
+
+        // Then
+        assertThat(node.get("creationDatetime").isIntegralNumber()).isTrue();
+        assertThat(node.get("creationDatetime").asLong()).isEqualTo(created.toEpochSecond(ZoneOffset.UTC));
+        assertThat(node.get("dueDatetime").isNull()).isTrue();
+    }
+
+    @Test
+    void givenEpochSeconds_WhenReadFromCbor_ThenRestoresDatetime() throws Exception {
+        // Given
+        LocalDateTime due = LocalDateTime.of(2025, 12, 31, 23, 59, 59);
+        byte[] body = cborMapper.writeValueAsBytes(Map.of(
+                "description", "Task",
+                "dueDatetime", due.toEpochSecond(ZoneOffset.UTC)));
+
+        // When
+        TodoRequestDTO request = cborMapper.readValue(body, TodoRequestDTO.class);
+
+        // Then
+        assertThat(request.getDueDatetime()).isEqualTo(due);
+    }
+
+    @Test
+    void givenIsoString_WhenReadFromCbor_ThenParsesDatetime() throws Exception {
+        // Given
+        byte[] body = cborMapper.writeValueAsBytes(Map.of("description", "Task", "dueDatetime", "2025-12-31T23:59:59"));
+
+        // When
+        TodoRequestDTO request = cborMapper.readValue(body, TodoRequestDTO.class);
+
+        // Then
+        assertThat(request.getDueDatetime()).isEqualTo(LocalDateTime.of(2025, 12, 31, 23, 59, 59));
+    }
+
+    @Test
+    void givenInvalidValues_WhenReadFromCbor_ThenFails() throws Exception {
+        byte[] badString = cborMapper.writeValueAsBytes(Map.of("dueDatetime", "tomorrow"));
+        byte[] badToken = cborMapper.writeValueAsBytes(Map.of("dueDatetime", true));
+
+        assertThatThrownBy(() -> cborMapper.readValue(badString, TodoRequestDTO.class))
+                .isInstanceOf(InvalidFormatException.class);
+        assertThatThrownBy(() -> cborMapper.readValue(badToken, TodoRequestDTO.class))
+                .isInstanceOf(MismatchedInputException.class);
+    }
+}
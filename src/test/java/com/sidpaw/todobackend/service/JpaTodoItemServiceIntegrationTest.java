@@ -0,0 +1,21 @@
+package com.sidpaw.todobackend.service;
+
+import com.sidpaw.todobackend.store.JpaTodoStore;
+import com.sidpaw.todobackend.store.TodoStore;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest
+class JpaTodoItemServiceIntegrationTest extends TodoItemServiceIntegrationTest {
+
+    @Autowired
+    private TodoStore todoStore;
+
+    @Test
+    void givenDefaultConfiguration_WhenStarting_ThenJpaEngineIsUsed() {
+        assertThat(todoStore).isInstanceOf(JpaTodoStore.class);
+    }
+}
@@ -0,0 +1,127 @@
+package com.sidpaw.todobackend.service;
+
+import com.sidpaw.todobackend.dto.TodoPatchDTO;
+import com.sidpaw.todobackend.dto.TodoRequestDTO;
+import com.sidpaw.todobackend.dto.TodoResponseDTO;
+import com.sidpaw.todobackend.dto.TodoStatusHistoryDTO;
+import com.sidpaw.todobackend.entity.TodoItemEntity;
+import com.sidpaw.todobackend.scheduler.TodoItemScheduler;
+import com.sidpaw.todobackend.store.BufferedTodoStore;
+import com.sidpaw.todobackend.store.LogTodoStore;
+import com.sidpaw.todobackend.store.TodoStore;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.tuple;
+
+@SpringBootTest(properties = {
+        "todo.storage.engine=log",
+        "todo.storage.log.directory=build/test-store/service"
+})
+// The store applies writes when a transaction commits, so each call commits on its own instead of in a test
+// transaction that is rolled back
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class LogTodoItemServiceIntegrationTest extends TodoItemServiceIntegrationTest {
+
+    @Autowired
+    private TodoStore todoStore;
+
+    @Autowired
+    private TodoItemService todoItemService;
+
+    @Autowired
+    private TodoItemScheduler todoItemScheduler;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Test
+    void givenLogEngine_WhenCreatingAndPatching_ThenItemsAreStoredInTheLog() {
+        // Given
+        assertThat(todoStore).isInstanceOf(BufferedTodoStore.class)
+                .extracting(store -> ((BufferedTodoStore) store).getEngine())
+                .isInstanceOf(LogTodoStore.class);
+        TodoResponseDTO created = todoItemService.createTodoItem(
+                new TodoRequestDTO("Logged task", LocalDateTime.now().plusDays(1)));
+
+        // When
+        TodoPatchDTO patch = new TodoPatchDTO();
+        patch.setStatus("done");
+        todoItemService.patchTodo(created.getId(), patch);
+
+        // Then
+        assertThat(todoItemService.getTodoItemById(created.getId()))
+                .get()
+                .extracting(TodoResponseDTO::getStatus)
+                .isEqualTo("done");
+        assertThat(todoItemService.getTodoItemsByStatus("done"))
+                .extracting(TodoResponseDTO::getDescription)
+                .containsExactly("Logged task");
+    }
+
+    @Test
+    void givenLogEngine_WhenSchedulerMovesOverdueItems_ThenPastDueTransitionIsRecorded() {
+        // Given
+        TodoResponseDTO overdue = todoItemService.createTodoItem(
+                new TodoRequestDTO("Overdue in the log", LocalDateTime.now().minusHours(1)));
+
+        // When
+        todoItemScheduler.updatePastDueItems();
+
+        // Then
+        assertThat(todoItemService.getTodoItemHistory(overdue.getId()).orElseThrow())
+                .extracting(TodoStatusHistoryDTO::getFromStatus, TodoStatusHistoryDTO::getToStatus)
+                .containsExactly(tuple(null, "not done"), tuple("not done", "past due"));
+    }
+
+    @Test
+    void givenLogEngine_WhenWritingInATransaction_ThenTheEngineGetsTheWriteOnlyOnCommit() {
+        // Given
+        TodoStore engine = ((BufferedTodoStore) todoStore).getEngine();
+
+        // When
+        TodoResponseDTO created = transactionTemplate.execute(status -> {
+            TodoResponseDTO item = todoItemService.createTodoItem(new TodoRequestDTO("Held back", null));
+            assertThat(engine.findById(item.getId())).isEmpty();
+            assertThat(todoStore.findById(item.getId())).isPresent();
+            return item;
+        });
+
+        // Then
+        assertThat(engine.findById(created.getId())).get()
+                .extracting(TodoItemEntity::getDescription)
+                .isEqualTo("Held back");
+    }
+
+    @Test
+    void givenLogEngine_WhenTransactionRollsBack_ThenStoreWritesAreDropped() {
+        // Given
+        TodoResponseDTO existing = todoItemService.createTodoItem(new TodoRequestDTO("Kept as is", null));
+        TodoPatchDTO patch = new TodoPatchDTO();
+        patch.setStatus("done");
+
+        // When
+        assertThatThrownBy(() -> transactionTemplate.executeWithoutResult(status -> {
+            todoItemService.patchTodo(existing.getId(), patch);
+            todoItemService.createTodoItem(new TodoRequestDTO("Rolled back", null));
+            throw new IllegalStateException("abort");
+        })).isInstanceOf(IllegalStateException.class);
+
+        // Then
+        assertThat(todoItemService.getTodoItemById(existing.getId()))
+                .get()
+                .extracting(TodoResponseDTO::getStatus)
+                .isEqualTo("not done");
+        assertThat(todoItemService.getAllTodoItems())
+                .extracting(TodoResponseDTO::getDescription)
+                .doesNotContain("Rolled back");
+    }
+}
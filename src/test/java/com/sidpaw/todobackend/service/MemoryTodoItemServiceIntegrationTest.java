@@ -0,0 +1,56 @@
+package com.sidpaw.todobackend.service;
+
+import com.sidpaw.todobackend.dto.TodoPatchDTO;
+import com.sidpaw.todobackend.dto.TodoRequestDTO;
+import com.sidpaw.todobackend.dto.TodoResponseDTO;
+import com.sidpaw.todobackend.store.BufferedTodoStore;
+import com.sidpaw.todobackend.store.ColumnarTodoStore;
+import com.sidpaw.todobackend.store.TodoStore;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest
+@ActiveProfiles({"test", "memory"})
+// The store applies writes when a transaction commits, so each call commits on its own instead of in a test
+// transaction that is rolled back
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class MemoryTodoItemServiceIntegrationTest extends TodoItemServiceIntegrationTest {
+
+    @Autowired
+    private TodoStore todoStore;
+
+    @Autowired
+    private TodoItemService todoItemService;
+
+    @Test
+    void givenMemoryProfile_WhenCreatingAndPatching_ThenItemsAreStoredInTheColumns() {
+        // Given
+        assertThat(todoStore).isInstanceOf(BufferedTodoStore.class)
+                .extracting(store -> ((BufferedTodoStore) store).getEngine())
+                .isInstanceOf(ColumnarTodoStore.class);
+        TodoResponseDTO created = todoItemService.createTodoItem(
+                new TodoRequestDTO("Columnar task", LocalDateTime.now().plusDays(1)));
+
+        // When
+        TodoPatchDTO patch = new TodoPatchDTO();
+        patch.setStatus("done");
+        todoItemService.patchTodo(created.getId(), patch);
+
+        // Then
+        assertThat(todoItemService.getTodoItemById(created.getId()))
+                .get()
+                .extracting(TodoResponseDTO::getStatus)
+                .isEqualTo("done");
+        assertThat(todoItemService.getTodoItemsByStatus("done"))
+                .extracting(TodoResponseDTO::getDescription)
+                .containsExactly("Columnar task");
+    }
+}
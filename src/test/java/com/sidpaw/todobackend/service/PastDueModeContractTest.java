@@ -0,0 +1,191 @@
+package com.sidpaw.todobackend.service;
+
+import com.sidpaw.todobackend.dto.TodoPatchDTO;
+import com.sidpaw.todobackend.dto.TodoResponseDTO;
+import com.sidpaw.todobackend.entity.TodoItemEntity;
+import com.sidpaw.todobackend.model.TodoField;
+import com.sidpaw.todobackend.model.TodoSort;
+import com.sidpaw.todobackend.model.TodoStatus;
+import com.sidpaw.todobackend.repository.TodoItemRepository;
+import com.sidpaw.todobackend.scheduler.TodoItemScheduler;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.context.jdbc.Sql;
+
+import java.time.LocalDateTime;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
+
+/**
+ * Behaviour every {@code todo.past-due.mode} must share: after the mode has "settled" (the scheduler ran in
+ * stored mode, nothing to do in virtual mode) the API reports exactly the same statuses and results.
+ */
+// The stored mode settles by running the update itself
+@TestPropertySource(properties = "todo.past-due.scheduler.enabled=false")
+@ActiveProfiles("test")
+@Sql(scripts = "/cleanup.sql", executionPhase = Sql.ExecutionPhase.BEFORE_TEST_METHOD)
+abstract class PastDueModeContractTest {
+
+    @Autowired
+    protected TodoItemService todoItemService;
+
+    @Autowired
+    protected TodoItemRepository todoItemRepository;
+
+    @Autowired
+    protected ObjectProvider<TodoItemScheduler> todoItemScheduler;
+
+    @Autowired
+    protected JdbcTemplate jdbcTemplate;
+
+    private TodoItemEntity overdue;
+    private TodoItemEntity future;
+    private TodoItemEntity noDueDate;
+    private TodoItemEntity done;
+
+    @BeforeEach
+    void setUp() {
+        LocalDateTime now = LocalDateTime.now();
+        overdue = save("Overdue", TodoStatus.NOT_DONE, now.minusHours(3), now.minusHours(1), null);
+        future = save("Future", TodoStatus.NOT_DONE, now.minusHours(2), now.plusDays(1), null);
+        noDueDate = save("No due date", TodoStatus.NOT_DONE, now.minusHours(1), null, null);
+        done = save("Done", TodoStatus.DONE, now.minusHours(4), now.minusHours(1), now.minusHours(2));
+        settle();
+    }
+
+    /**
+     * Brings stored statuses up to date the way the mode does in production.
+     */
+    protected void settle() {
+        todoItemScheduler.ifAvailable(TodoItemScheduler::updatePastDueItems);
+    }
+
+    @Test
+    void givenMixedItems_WhenListingAll_ThenStatusesAndOrderMatch() {
+        // When
+        List<TodoResponseDTO> items = todoItemService.getAllTodoItems();
+
+        // Then
+        assertThat(items)
+                .extracting(TodoResponseDTO::getDescription, TodoResponseDTO::getStatus)
+                .containsExactly(
+                        tuple("No due date", "not done"),
+                        tuple("Future", "not done"),
+                        tuple("Overdue", "past due"),
+                        tuple("Done", "done"));
+    }
+
+    @Test
+    void givenMixedItems_WhenFilteringByStatus_ThenEachStatusReturnsTheSameItems() {
+        // When & Then
+        assertThat(todoItemService.getTodoItemsByStatus("past due"))
+                .extracting(TodoResponseDTO::getDescription).containsExactly("Overdue");
+        assertThat(todoItemService.getTodoItemsByStatus("not done"))
+                .extracting(TodoResponseDTO::getDescription).containsExactly("No due date", "Future");
+        assertThat(todoItemService.getTodoItemsByStatus("done"))
+                .extracting(TodoResponseDTO::getDescription).containsExactly("Done");
+    }
+
+    @Test
+    void givenOverdueItem_WhenFetchingByIdOrIds_ThenItIsPastDue() {
+        // When & Then
+        assertThat(todoItemService.getTodoItemById(overdue.getId()))
+                .hasValueSatisfying(item -> assertThat(item.getStatus()).isEqualTo("past due"));
+        assertThat(todoItemService.getTodoItemsByIds(List.of(overdue.getId(), future.getId())).getItems())
+                .extracting(TodoResponseDTO::getStatus)
+                .containsExactly("past due", "not done");
+    }
+
+    @Test
+    void givenOverdueItem_WhenSelectingFields_ThenProjectedStatusIsPastDue() {
+        // When & Then
+        assertThat(todoItemService.getTodoItemFields("past due", EnumSet.of(TodoField.ID, TodoField.STATUS)))
+                .containsExactly(Map.of("id", overdue.getId(), "status", "past due"));
+        assertThat(todoItemService.getTodoItemFields(null, EnumSet.of(TodoField.STATUS)))
+                .extracting(fields -> fields.get("status"))
+                .containsExactly("not done", "not done", "past due", "done");
+        assertThat(todoItemService.getTodoItemFieldsById(overdue.getId(), EnumSet.of(TodoField.STATUS)))
+                .contains(Map.of("status", "past due"));
+    }
+
+    @Test
+    void givenOverdueItem_WhenPatching_ThenUpdateIsRejected() {
+        // Given
+        TodoPatchDTO patch = new TodoPatchDTO();
+        patch.setDescription("Too late");
+
+        // When & Then
+        assertThat(todoItemService.patchTodo(overdue.getId(), patch)).isEqualTo(PatchOutcome.PAST_DUE);
+        assertThat(todoItemService.patchTodo(future.getId(), patch))
+                .isInstanceOfSatisfying(PatchOutcome.Updated.class,
+                        updated -> assertThat(updated.item().getDescription()).isEqualTo("Too late"));
+    }
+
+    @Test
+    void givenDueWindowStartingInThePast_WhenQuerying_ThenOverdueItemsAreExcluded() {
+        // When
+        LocalDateTime now = LocalDateTime.now();
+        List<TodoResponseDTO> items = todoItemService
+                .getTodoItemsDueBetween(now.minusDays(1), now.plusDays(2), null, 10)
+                .getItems();
+
+        // Then
+        assertThat(items).extracting(TodoResponseDTO::getDescription).containsExactly("Future");
+    }
+
+    @Test
+    void givenPastDueItemsStoredEitherWay_WhenSortingByDue_ThenBothAreMergedInDueOrder() {
+        // Given
+        LocalDateTime now = LocalDateTime.now();
+        save("Stored past due", TodoStatus.PAST_DUE, now.minusHours(5), now.minusHours(2), null);
+
+        // When
+        List<TodoResponseDTO> pastDue = todoItemService.getSortedTodoItems("past due", TodoSort.DUE_ASC, null, 10)
+                .getItems();
+        List<TodoResponseDTO> notDone = todoItemService.getSortedTodoItems("not done", TodoSort.DUE_ASC, null, 10)
+                .getItems();
+
+        // Then
+        assertThat(pastDue)
+                .extracting(TodoResponseDTO::getDescription, TodoResponseDTO::getStatus)
+                .containsExactly(tuple("Stored past due", "past due"), tuple("Overdue", "past due"));
+        assertThat(notDone).extracting(TodoResponseDTO::getDescription).containsExactly("Future", "No due date");
+    }
+
+    @Test
+    void givenDoneItemPastItsDueDate_WhenReopened_ThenItBecomesPastDue() {
+        // Given
+        TodoPatchDTO reopen = new TodoPatchDTO();
+        reopen.setStatus("not done");
+
+        // When
+        todoItemService.patchTodo(done.getId(), reopen);
+        settle();
+
+        // Then
+        assertThat(todoItemService.getTodoItemById(done.getId()))
+                .hasValueSatisfying(item -> assertThat(item.getStatus()).isEqualTo("past due"));
+        assertThat(todoItemService.getTodoItemsByStatus("past due"))
+                .extracting(TodoResponseDTO::getDescription).containsExactly("Overdue", "Done");
+    }
+
+    private TodoItemEntity save(String description, TodoStatus status, LocalDateTime created,
+                                LocalDateTime due, LocalDateTime doneAt) {
+        TodoItemEntity item = new TodoItemEntity();
+        item.setDescription(description);
+        item.setStatus(status);
+        item.setCreationDatetime(created);
+        item.setDueDatetime(due);
+        item.setDoneDatetime(doneAt);
+        return todoItemRepository.save(item);
+    }
+}
@@ -0,0 +1,138 @@
+package com.sidpaw.todobackend.service;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Unit tests for SingleFlight.
+ */
+class SingleFlightTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final SingleFlight singleFlight = new SingleFlight(meterRegistry);
+
+    @Test
+    void givenQueryInFlight_WhenIdenticalCallArrives_ThenSharesTheResult() throws Exception {
+        // Given
+        CountDownLatch release = new CountDownLatch(1);
+        AtomicInteger executions = new AtomicInteger();
+        CompletableFuture<List<String>> leader = CompletableFuture.supplyAsync(() ->
+                singleFlight.execute("byStatus", "DONE", () -> {
+                    executions.incrementAndGet();
+                    await(release);
+                    return List.of("a");
+                }));
+        awaitInFlight(1);
+
+        // When
+        CompletableFuture<List<String>> follower = CompletableFuture.supplyAsync(() ->
+                singleFlight.execute("byStatus", "DONE", () -> {
+                    executions.incrementAndGet();
+                    return List.of("b");
+                }));
+        awaitCalls("coalesced", 1.0);
+        release.countDown();
+
+        // Then
+        assertThat(follower.get(2, TimeUnit.SECONDS)).isSameAs(leader.get(2, TimeUnit.SECONDS));
+        assertThat(executions).hasValue(1);
+        assertThat(calls("executed")).isEqualTo(1.0);
+        assertThat(singleFlight.inFlightCount()).isZero();
+    }
+
+    @Test
+    void givenQueryStartedBeforeACommittedWrite_WhenIdenticalCallArrives_ThenRunsItsOwnQuery() throws Exception {
+        // Given
+        CountDownLatch release = new CountDownLatch(1);
+        CompletableFuture<String> stale = CompletableFuture.supplyAsync(() ->
+                singleFlight.execute("byId", "1", () -> {
+                    await(release);
+                    return "before write";
+                }));
+        awaitInFlight(1);
+        singleFlight.writeCommitted();
+
+        // When
+        String fresh = singleFlight.execute("byId", "1", () -> "after write");
+        release.countDown();
+
+        // Then
+        assertThat(fresh).isEqualTo("after write");
+        assertThat(stale.get(2, TimeUnit.SECONDS)).isEqualTo("before write");
+        assertThat(calls("coalesced")).isZero();
+        assertThat(calls("executed")).isEqualTo(2.0);
+    }
+
+    @Test
+    void givenDifferentParameters_WhenCalled_ThenQueriesAreNotShared() {
+        // When
+        String done = singleFlight.execute("byStatus", "DONE", () -> "done");
+        String notDone = singleFlight.execute("byStatus", "NOT_DONE", () -> "not done");
+
+        // Then
+        assertThat(done).isEqualTo("done");
+        assertThat(notDone).isEqualTo("not done");
+        assertThat(calls("executed")).isEqualTo(2.0);
+    }
+
+    @Test
+    void givenCompletedQuery_WhenCalledAgain_ThenRunsANewQuery() {
+        // Given
+        AtomicInteger executions = new AtomicInteger();
+        singleFlight.execute("all", "", executions::incrementAndGet);
+
+        // When
+        int result = singleFlight.execute("all", "", executions::incrementAndGet);
+
+        // Then
+        assertThat(result).isEqualTo(2);
+    }
+
+    @Test
+    void givenFailingQuery_WhenCalled_ThenExceptionPropagatesAndKeyIsReleased() {
+        // When & Then
+        assertThatThrownBy(() -> singleFlight.execute("byId", "1", () -> {
+            throw new IllegalStateException("boom");
+        })).isInstanceOf(IllegalStateException.class);
+        assertThat(singleFlight.inFlightCount()).isZero();
+        assertThat(singleFlight.execute("byId", "1", () -> "ok")).isEqualTo("ok");
+    }
+
+    private void awaitInFlight(int expected) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(2);
+        while (singleFlight.inFlightCount() != expected && System.nanoTime() < deadline) {
+            Thread.sleep(5);
+        }
+        assertThat(singleFlight.inFlightCount()).isEqualTo(expected);
+    }
+
+    private void awaitCalls(String outcome, double expected) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(2);
+        while (calls(outcome) != expected && System.nanoTime() < deadline) {
+            Thread.sleep(5);
+        }
+        assertThat(calls(outcome)).isEqualTo(expected);
+    }
+
+    private double calls(String outcome) {
+        var counter = meterRegistry.find("todo.singleflight.calls").tag("outcome", outcome).counter();
+        return counter != null ? counter.count() : 0.0;
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(2, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
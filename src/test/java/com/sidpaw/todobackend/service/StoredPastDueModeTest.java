@@ -0,0 +1,27 @@
+package com.sidpaw.todobackend.service;
+
+import com.sidpaw.todobackend.model.TodoStatus;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest(properties = "todo.past-due.mode=stored")
+class StoredPastDueModeTest extends PastDueModeContractTest {
+
+    @Test
+    void givenStoredMode_WhenSchedulerRuns_ThenOverdueRowsAreRewritten() {
+        // When & Then
+        assertThat(todoItemScheduler.getIfAvailable()).isNotNull();
+        assertThat(todoItemRepository.findByStatusOrderByCreationDatetimeDesc(TodoStatus.PAST_DUE))
+                .hasSize(1);
+    }
+
+    @Test
+    void givenStoredMode_WhenSchedulerRuns_ThenTheTransitionIsInTheHistory() {
+        // When & Then
+        assertThat(jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM todo_status_history WHERE to_status = 'PAST_DUE'", Integer.class))
+                .isEqualTo(1);
+    }
+}
@@ -1,18 +1,19 @@
 package com.sidpaw.todobackend.service;
 
+import com.sidpaw.todobackend.dto.TodoBatchDeleteResponseDTO;
+import com.sidpaw.todobackend.dto.TodoPageDTO;
 import com.sidpaw.todobackend.dto.TodoResponseDTO;
 import com.sidpaw.todobackend.entity.TodoItemEntity;
 import com.sidpaw.todobackend.exception.InvalidStatusException;
+import com.sidpaw.todobackend.model.TodoSort;
 import com.sidpaw.todobackend.model.TodoStatus;
-import com.sidpaw.todobackend.repository.TodoItemRepository;
-import jakarta.persistence.EntityManager;
+import com.sidpaw.todobackend.store.TodoStore;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.NullAndEmptySource;
 import org.junit.jupiter.params.provider.ValueSource;
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
@@ -21,24 +22,21 @@ import java.util.List;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
 
-@SpringBootTest
+/**
+ * Service tests shared by every {@code todo.storage.engine}; each engine runs them through a subclass.
+ */
 @Transactional
-class TodoItemServiceIntegrationTest {
+abstract class TodoItemServiceIntegrationTest {
 
     @Autowired
-    private TodoItemRepository todoItemRepository;
+    private TodoStore todoStore;
 
     @Autowired
     private TodoItemService todoItemService;
 
-    @Autowired
-    private EntityManager entityManager;
-
     @BeforeEach
     void setUp() {
-        todoItemRepository.deleteAll();
-        entityManager.flush();
-        entityManager.clear();
+        todoStore.deleteAll();
     }
 
     @Test
@@ -59,10 +57,6 @@ class TodoItemServiceIntegrationTest {
         createAndSaveTodoItem("No due date", TodoStatus.NOT_DONE, null);
         createAndSaveTodoItem("Done item", TodoStatus.DONE, null);
 
-        // Ensure all items are persisted
-        entityManager.flush();
-        entityManager.clear();
-
         // When
         List<TodoResponseDTO> result = todoItemService.getTodoItemsByStatus("not done");
 
@@ -80,10 +74,6 @@ class TodoItemServiceIntegrationTest {
         createAndSaveTodoItem("Done 2", TodoStatus.DONE, LocalDateTime.now().minusDays(1));
         createAndSaveTodoItem("Not done", TodoStatus.NOT_DONE, null);
 
-        // Ensure all items are persisted
-        entityManager.flush();
-        entityManager.clear();
-
         // When
         List<TodoResponseDTO> result = todoItemService.getTodoItemsByStatus("done");
 
@@ -99,8 +89,6 @@ class TodoItemServiceIntegrationTest {
     void givenValidStatusInDifferentCases_WhenGetTodoItems_ThenAcceptsAllFormats(String status) {
         // Given
         createAndSaveTodoItem("Test item", TodoStatus.DONE, null);
-        entityManager.flush();
-        entityManager.clear();
 
         // When & Then
         List<TodoResponseDTO> result = todoItemService.getTodoItemsByStatus(status);
@@ -116,12 +104,87 @@ class TodoItemServiceIntegrationTest {
                 .hasMessageContaining("Invalid status");
     }
 
+    @Test
+    void givenExistingItem_WhenDeleted_ThenNoLongerReturned() {
+        // Given
+        TodoItemEntity deleted = createAndSaveTodoItem("Deleted", TodoStatus.NOT_DONE, null);
+        createAndSaveTodoItem("Kept", TodoStatus.NOT_DONE, null);
+
+        // When
+        boolean result = todoItemService.deleteTodoItem(deleted.getId());
+
+        // Then
+        assertThat(result).isTrue();
+        assertThat(todoItemService.getTodoItemById(deleted.getId())).isEmpty();
+        assertThat(todoItemService.getAllTodoItems()).extracting(TodoResponseDTO::getDescription)
+                .containsExactly("Kept");
+        assertThat(todoItemService.getTodoItemsByStatus("not done")).extracting(TodoResponseDTO::getDescription)
+                .containsExactly("Kept");
+        assertThat(todoItemService.deleteTodoItem(deleted.getId())).isFalse();
+    }
+
+    @Test
+    void givenExistingAndMissingIds_WhenBulkDeleting_ThenReportsBoth() {
+        // Given
+        TodoItemEntity first = createAndSaveTodoItem("First", TodoStatus.DONE, null);
+        TodoItemEntity second = createAndSaveTodoItem("Second", TodoStatus.NOT_DONE, null);
+
+        // When
+        TodoBatchDeleteResponseDTO result = todoItemService.deleteTodoItems(
+                List.of(second.getId(), -1L, first.getId(), second.getId()));
+
+        // Then
+        assertThat(result.getDeletedIds()).containsExactly(second.getId(), first.getId());
+        assertThat(result.getMissingIds()).containsExactly(-1L);
+        assertThat(todoItemService.getAllTodoItems()).isEmpty();
+    }
+
+    @Test
+    void givenDatedAndUndatedItems_WhenPagingSortedByDue_ThenSoonestFirstAndUndatedLast() {
+        // Given
+        LocalDateTime now = LocalDateTime.now();
+        createAndSaveTodoItem("Past due", TodoStatus.NOT_DONE, now.minusDays(1));
+        createAndSaveTodoItem("Later", TodoStatus.NOT_DONE, now.plusDays(2));
+        createAndSaveTodoItem("Undated 1", TodoStatus.NOT_DONE, null);
+        createAndSaveTodoItem("Sooner", TodoStatus.NOT_DONE, now.plusDays(1));
+        createAndSaveTodoItem("Undated 2", TodoStatus.NOT_DONE, null);
+        createAndSaveTodoItem("Done", TodoStatus.DONE, now.plusHours(1));
+
+        // When
+        TodoPageDTO first = todoItemService.getSortedTodoItems("not done", TodoSort.DUE_ASC, null, 2);
+        TodoPageDTO second = todoItemService.getSortedTodoItems("not done", TodoSort.DUE_ASC, first.getNextCursor(), 2);
+
+        // Then
+        assertThat(first.getItems()).extracting(TodoResponseDTO::getDescription).containsExactly("Sooner", "Later");
+        assertThat(first.getNextCursor()).isNotNull();
+        assertThat(second.getItems()).extracting(TodoResponseDTO::getDescription)
+                .containsExactly("Undated 1", "Undated 2");
+        assertThat(second.getNextCursor()).isNull();
+    }
+
+    @Test
+    void givenItems_WhenPagingSortedByCreationDescending_ThenNewestFirstAcrossPages() {
+        // Given
+        createAndSaveTodoItem("Oldest", TodoStatus.DONE, null);
+        createAndSaveTodoItem("Middle", TodoStatus.NOT_DONE, LocalDateTime.now().plusDays(1));
+        createAndSaveTodoItem("Newest", TodoStatus.NOT_DONE, null);
+
+        // When
+        TodoPageDTO first = todoItemService.getSortedTodoItems(null, TodoSort.CREATED_DESC, null, 2);
+        TodoPageDTO second = todoItemService.getSortedTodoItems(null, TodoSort.CREATED_DESC, first.getNextCursor(), 2);
+
+        // Then
+        assertThat(first.getItems()).extracting(TodoResponseDTO::getDescription).containsExactly("Newest", "Middle");
+        assertThat(second.getItems()).extracting(TodoResponseDTO::getDescription).containsExactly("Oldest");
+        assertThat(second.getNextCursor()).isNull();
+    }
+
     private TodoItemEntity createAndSaveTodoItem(String description, TodoStatus status, LocalDateTime dueDate) {
         TodoItemEntity item = new TodoItemEntity();
         item.setDescription(description);
         item.setStatus(status);
         item.setDueDatetime(dueDate);
         item.setCreationDatetime(LocalDateTime.now());
-        return todoItemRepository.save(item);
+        return todoStore.save(item);
     }
 }
\ No newline at end of file
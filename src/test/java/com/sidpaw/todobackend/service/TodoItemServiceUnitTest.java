@@ -1,13 +1,29 @@
 package com.sidpaw.todobackend.service;
 
+import com.sidpaw.todobackend.dto.TodoBatchDeleteResponseDTO;
+import com.sidpaw.todobackend.dto.TodoBatchResponseDTO;
+import com.sidpaw.todobackend.dto.TodoPageDTO;
 import com.sidpaw.todobackend.dto.TodoPatchDTO;
 import com.sidpaw.todobackend.dto.TodoRequestDTO;
 import com.sidpaw.todobackend.dto.TodoResponseDTO;
+import com.sidpaw.todobackend.dto.TodoStatusHistoryDTO;
 import com.sidpaw.todobackend.entity.TodoItemEntity;
+import com.sidpaw.todobackend.entity.TodoStatusHistoryEntity;
+import com.sidpaw.todobackend.event.TodoCreatedEvent;
+import com.sidpaw.todobackend.event.TodoItemsDeletedEvent;
+import com.sidpaw.todobackend.event.TodoUpdatedEvent;
+import com.sidpaw.todobackend.exception.InvalidQueryException;
 import com.sidpaw.todobackend.exception.InvalidStatusException;
 import com.sidpaw.todobackend.mapper.TodoItemMapper;
+import com.sidpaw.todobackend.model.DueWindowCursor;
+import com.sidpaw.todobackend.model.PageCursor;
+import com.sidpaw.todobackend.model.PastDueMode;
+import com.sidpaw.todobackend.model.TodoField;
 import com.sidpaw.todobackend.model.TodoStatus;
-import com.sidpaw.todobackend.repository.TodoItemRepository;
+import com.sidpaw.todobackend.repository.TodoStatusHistoryRepository;
+import com.sidpaw.todobackend.store.TodoStore;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.persistence.Tuple;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -16,16 +32,24 @@ import org.junit.jupiter.params.provider.NullAndEmptySource;
 import org.junit.jupiter.params.provider.ValueSource;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Limit;
 
 import java.time.LocalDateTime;
+import java.util.Arrays;
 import java.util.Collections;
+import java.util.EnumSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.argThat;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
 
@@ -33,11 +57,23 @@ import static org.mockito.Mockito.*;
 class TodoItemServiceUnitTest {
 
     @Mock
-    private TodoItemRepository todoItemRepository;
+    private TodoStore todoStore;
+
+    @Mock
+    private TodoStatusHistoryRepository todoStatusHistoryRepository;
 
     @Mock
     private TodoItemMapper todoItemMapper;
 
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    @Spy
+    private PastDuePolicy pastDuePolicy = new PastDuePolicy("stored");
+
+    @Spy
+    private SingleFlight singleFlight = new SingleFlight(new SimpleMeterRegistry());
+
     @InjectMocks
     private TodoItemService todoItemService;
 
@@ -100,7 +136,7 @@ class TodoItemServiceUnitTest {
         expectedResponseDTO.setDueDatetime(request.getDueDatetime());
 
         when(todoItemMapper.toEntity(any(TodoRequestDTO.class))).thenReturn(entity);
-        when(todoItemRepository.save(any(TodoItemEntity.class))).thenReturn(entity);
+        when(todoStore.save(any(TodoItemEntity.class))).thenReturn(entity);
         when(todoItemMapper.toResponseDTO(any(TodoItemEntity.class))).thenReturn(expectedResponseDTO);
 
         // When
@@ -111,6 +147,7 @@ class TodoItemServiceUnitTest {
         assertThat(result.getDescription()).isEqualTo("Test todo");
         assertThat(result.getStatus()).isEqualTo("not done");
         assertThat(result.getDueDatetime()).isEqualTo(request.getDueDatetime());
+        verify(eventPublisher).publishEvent(new TodoCreatedEvent(entity));
     }
 
     @Test
@@ -119,7 +156,7 @@ class TodoItemServiceUnitTest {
         List<TodoItemEntity> entities = Collections.singletonList(todoEntity);
         List<TodoResponseDTO> expectedResponses = Collections.singletonList(expectedResponse);
 
-        when(todoItemRepository.findAllByOrderByCreationDatetimeDesc()).thenReturn(entities);
+        when(todoStore.findAllByOrderByCreationDatetimeDesc()).thenReturn(entities);
         when(todoItemMapper.toResponseDTOList(entities)).thenReturn(expectedResponses);
 
         // When
@@ -130,7 +167,7 @@ class TodoItemServiceUnitTest {
         assertThat(result).hasSize(1);
         assertThat(result.getFirst().getId()).isEqualTo(1L);
 
-        verify(todoItemRepository).findAllByOrderByCreationDatetimeDesc();
+        verify(todoStore).findAllByOrderByCreationDatetimeDesc();
         verify(todoItemMapper).toResponseDTOList(entities);
     }
 
@@ -140,7 +177,7 @@ class TodoItemServiceUnitTest {
         List<TodoItemEntity> entities = List.of();
         List<TodoResponseDTO> expectedResponses = List.of();
 
-        when(todoItemRepository.findAllByOrderByCreationDatetimeDesc()).thenReturn(entities);
+        when(todoStore.findAllByOrderByCreationDatetimeDesc()).thenReturn(entities);
         when(todoItemMapper.toResponseDTOList(entities)).thenReturn(expectedResponses);
 
         // When
@@ -150,14 +187,45 @@ class TodoItemServiceUnitTest {
         assertThat(result).isNotNull();
         assertThat(result).isEmpty();
 
-        verify(todoItemRepository).findAllByOrderByCreationDatetimeDesc();
+        verify(todoStore).findAllByOrderByCreationDatetimeDesc();
         verify(todoItemMapper).toResponseDTOList(entities);
     }
 
+    @Test
+    void givenExistingTodoId_WhenGetTodoItemHistory_ThenReturnsMappedTransitions() {
+        // Given
+        List<TodoStatusHistoryEntity> rows = List.of(new TodoStatusHistoryEntity(
+                1L, 1L, null, TodoStatus.NOT_DONE, LocalDateTime.of(2025, 9, 23, 10, 0)));
+        List<TodoStatusHistoryDTO> dtos = List.of(new TodoStatusHistoryDTO(
+                null, "not done", LocalDateTime.of(2025, 9, 23, 10, 0)));
+        when(todoStore.existsById(1L)).thenReturn(true);
+        when(todoStatusHistoryRepository.findByTodoIdOrderByIdAsc(1L)).thenReturn(rows);
+        when(todoItemMapper.toHistoryDTOList(rows)).thenReturn(dtos);
+
+        // When
+        Optional<List<TodoStatusHistoryDTO>> result = todoItemService.getTodoItemHistory(1L);
+
+        // Then
+        assertThat(result).contains(dtos);
+    }
+
+    @Test
+    void givenNonExistingTodoId_WhenGetTodoItemHistory_ThenReturnsEmpty() {
+        // Given
+        when(todoStore.existsById(999L)).thenReturn(false);
+
+        // When
+        Optional<List<TodoStatusHistoryDTO>> result = todoItemService.getTodoItemHistory(999L);
+
+        // Then
+        assertThat(result).isEmpty();
+        verifyNoInteractions(todoStatusHistoryRepository);
+    }
+
     @Test
     void givenExistingTodoId_WhenGetTodoItemById_ThenReturnsTodo() {
         // Given
-        when(todoItemRepository.findById(eq(1L))).thenReturn(Optional.of(todoEntity));
+        when(todoStore.findById(eq(1L))).thenReturn(Optional.of(todoEntity));
         when(todoItemMapper.toResponseDTO(todoEntity)).thenReturn(expectedResponse);
 
         // When
@@ -168,14 +236,14 @@ class TodoItemServiceUnitTest {
         assertThat(result.get().getId()).isEqualTo(1L);
         assertThat(result.get().getDescription()).isEqualTo("Complete project documentation");
 
-        verify(todoItemRepository).findById(1L);
+        verify(todoStore).findById(1L);
         verify(todoItemMapper).toResponseDTO(todoEntity);
     }
 
     @Test
     void givenNonExistingTodoId_WhenGetTodoItemById_ThenReturnsEmpty() {
         // Given
-        when(todoItemRepository.findById(eq(999L))).thenReturn(Optional.empty());
+        when(todoStore.findById(eq(999L))).thenReturn(Optional.empty());
 
         // When
         Optional<TodoResponseDTO> result = todoItemService.getTodoItemById(999L);
@@ -183,7 +251,7 @@ class TodoItemServiceUnitTest {
         // Then
         assertThat(result).isEmpty();
 
-        verify(todoItemRepository).findById(999L);
+        verify(todoStore).findById(999L);
         verify(todoItemMapper, never()).toResponseDTO(any());
     }
 
@@ -199,7 +267,7 @@ class TodoItemServiceUnitTest {
 
         //Then
         verify(todoItemMapper).toEntity(validRequest);
-        verify(todoItemRepository, never()).save(any());
+        verify(todoStore, never()).save(any());
     }
 
     @Test
@@ -208,16 +276,16 @@ class TodoItemServiceUnitTest {
         TodoPatchDTO patchDTO = new TodoPatchDTO();
         patchDTO.setDescription("Updated description");
 
-        when(todoItemRepository.findById(1L)).thenReturn(Optional.of(existingTodo));
-        when(todoItemRepository.save(any(TodoItemEntity.class))).thenAnswer(i -> i.getArgument(0));
+        when(todoStore.findById(1L)).thenReturn(Optional.of(existingTodo));
+        when(todoStore.save(any(TodoItemEntity.class))).thenAnswer(i -> i.getArgument(0));
         when(todoItemMapper.toResponseDTO(any(TodoItemEntity.class))).thenReturn(responseDTO);
 
         // When
-        Optional<TodoResponseDTO> result = todoItemService.patchTodo(1L, patchDTO);
+        PatchOutcome result = todoItemService.patchTodo(1L, patchDTO);
 
         // Then
-        assertThat(result).isPresent();
-        verify(todoItemRepository).save(argThat(saved ->
+        assertThat(result).isEqualTo(new PatchOutcome.Updated(responseDTO));
+        verify(todoStore).save(argThat(saved ->
                 "Updated description".equals(saved.getDescription()) &&
                         TodoStatus.NOT_DONE.equals(saved.getStatus())
         ));
@@ -229,51 +297,72 @@ class TodoItemServiceUnitTest {
         TodoPatchDTO patchDTO = new TodoPatchDTO();
         patchDTO.setStatus("done");
 
-        when(todoItemRepository.findById(1L)).thenReturn(Optional.of(existingTodo));
-        when(todoItemRepository.save(any(TodoItemEntity.class))).thenAnswer(i -> i.getArgument(0));
+        when(todoStore.findById(1L)).thenReturn(Optional.of(existingTodo));
+        when(todoStore.save(any(TodoItemEntity.class))).thenAnswer(i -> i.getArgument(0));
         when(todoItemMapper.toResponseDTO(any(TodoItemEntity.class))).thenReturn(responseDTO);
 
         // When
-        Optional<TodoResponseDTO> result = todoItemService.patchTodo(1L, patchDTO);
+        PatchOutcome result = todoItemService.patchTodo(1L, patchDTO);
 
         // Then
-        assertThat(result).isPresent();
-        verify(todoItemRepository).save(argThat(saved ->
+        assertThat(result).isEqualTo(new PatchOutcome.Updated(responseDTO));
+        verify(todoStore).save(argThat(saved ->
                 "Original description".equals(saved.getDescription()) &&
                         TodoStatus.DONE.equals(saved.getStatus())
         ));
+        verify(eventPublisher).publishEvent(new TodoUpdatedEvent(existingTodo, TodoStatus.NOT_DONE));
     }
 
     @Test
-    void givenExistingTodo_whenPatchWithInvalidStatus_thenThrowException() {
+    void givenExistingTodo_whenPatchWithNonUpdatableStatus_thenReturnsInvalidStatus() {
         // Arrange
         TodoPatchDTO patchDTO = new TodoPatchDTO();
         patchDTO.setStatus("past due");
 
-        when(todoItemRepository.findById(1L)).thenReturn(Optional.of(existingTodo));
+        when(todoStore.findById(1L)).thenReturn(Optional.of(existingTodo));
+
+        // Act
+        PatchOutcome result = todoItemService.patchTodo(1L, patchDTO);
+
+        // Assert
+        assertThat(result).isInstanceOfSatisfying(PatchOutcome.InvalidStatus.class, invalid ->
+                assertThat(invalid.message()).contains("Valid values are: 'done', 'not done'"));
+        verify(todoStore, never()).save(any());
+    }
+
+    @Test
+    void givenExistingTodo_whenPatchWithUnknownStatusAndDescription_thenNothingIsChanged() {
+        // Given
+        TodoPatchDTO patchDTO = new TodoPatchDTO();
+        patchDTO.setDescription("Should not be applied");
+        patchDTO.setStatus("in progress");
 
-        // Act & Assert
-        assertThatThrownBy(() -> todoItemService.patchTodo(1L, patchDTO))
-            .isInstanceOf(InvalidStatusException.class)
-            .hasMessageContaining("Valid values are: 'done', 'not done'");
+        when(todoStore.findById(1L)).thenReturn(Optional.of(existingTodo));
 
-        verify(todoItemRepository, never()).save(any());
+        // When
+        PatchOutcome result = todoItemService.patchTodo(1L, patchDTO);
+
+        // Then
+        assertThat(result).isEqualTo(new PatchOutcome.InvalidStatus("Invalid status: in progress"));
+        assertThat(existingTodo.getDescription()).isEqualTo("Original description");
+        verify(todoStore, never()).save(any());
+        verifyNoInteractions(eventPublisher);
     }
 
     @Test
-    void givenNonExistentId_whenPatchTodo_thenReturnEmpty() {
+    void givenNonExistentId_whenPatchTodo_thenReturnsNotFound() {
         // Given
         TodoPatchDTO patchDTO = new TodoPatchDTO();
         patchDTO.setDescription("New description");
 
-        when(todoItemRepository.findById(999L)).thenReturn(Optional.empty());
+        when(todoStore.findById(999L)).thenReturn(Optional.empty());
 
         // When
-        Optional<TodoResponseDTO> result = todoItemService.patchTodo(999L, patchDTO);
+        PatchOutcome result = todoItemService.patchTodo(999L, patchDTO);
 
         // Then
-        assertThat(result).isEmpty();
-        verify(todoItemRepository, never()).save(any());
+        assertThat(result).isEqualTo(PatchOutcome.NOT_FOUND);
+        verify(todoStore, never()).save(any());
     }
 
     @Test
@@ -281,16 +370,16 @@ class TodoItemServiceUnitTest {
         // Given
         TodoPatchDTO patchDTO = new TodoPatchDTO();
 
-        when(todoItemRepository.findById(1L)).thenReturn(Optional.of(existingTodo));
-        when(todoItemRepository.save(any(TodoItemEntity.class))).thenAnswer(i -> i.getArgument(0));
+        when(todoStore.findById(1L)).thenReturn(Optional.of(existingTodo));
+        when(todoStore.save(any(TodoItemEntity.class))).thenAnswer(i -> i.getArgument(0));
         when(todoItemMapper.toResponseDTO(any(TodoItemEntity.class))).thenReturn(responseDTO);
 
         // When
-        Optional<TodoResponseDTO> result = todoItemService.patchTodo(1L, patchDTO);
+        PatchOutcome result = todoItemService.patchTodo(1L, patchDTO);
 
         // Then
-        assertThat(result).isPresent();
-        verify(todoItemRepository).save(argThat(saved ->
+        assertThat(result).isEqualTo(new PatchOutcome.Updated(responseDTO));
+        verify(todoStore).save(argThat(saved ->
                 "Original description".equals(saved.getDescription()) &&
                         TodoStatus.NOT_DONE.equals(saved.getStatus())
         ));
@@ -304,7 +393,7 @@ class TodoItemServiceUnitTest {
     }
 
     @Test
-    void givenPastDueItem_whenPatchTodo_thenThrowsException() {
+    void givenPastDueItem_whenPatchTodo_thenReturnsPastDue() {
         // Given
         TodoPatchDTO patchDTO = new TodoPatchDTO();
         patchDTO.setDescription("Updated description");
@@ -314,13 +403,227 @@ class TodoItemServiceUnitTest {
         pastDueItem.setDescription("Past due item");
         pastDueItem.setStatus(TodoStatus.PAST_DUE);
 
-        when(todoItemRepository.findById(1L)).thenReturn(Optional.of(pastDueItem));
+        when(todoStore.findById(1L)).thenReturn(Optional.of(pastDueItem));
+
+        // When
+        PatchOutcome result = todoItemService.patchTodo(1L, patchDTO);
+
+        // Then
+        assertThat(result).isEqualTo(PatchOutcome.PAST_DUE);
+        verify(todoStore, never()).save(any());
+    }
+
+    @Test
+    void givenFieldsAndStatus_WhenGetTodoItemFields_ThenQueriesProjectionAndMapsFields() {
+        // Given
+        Set<TodoField> fields = EnumSet.of(TodoField.ID, TodoField.DESCRIPTION);
+        Tuple tuple = mock(Tuple.class);
+        when(todoStore.findProjected(eq(fields), eq(TodoStatus.DONE), any(LocalDateTime.class), eq(PastDueMode.STORED)))
+                .thenReturn(List.of(tuple));
+        when(todoItemMapper.toFieldMap(tuple, fields)).thenReturn(Map.of("id", 1L, "description", "Task"));
+
+        // When
+        List<Map<String, Object>> result = todoItemService.getTodoItemFields("done", fields);
+
+        // Then
+        assertThat(result).containsExactly(Map.of("id", 1L, "description", "Task"));
+    }
+
+    @Test
+    void givenNoStatus_WhenGetTodoItemFields_ThenQueriesAllItems() {
+        // Given
+        Set<TodoField> fields = EnumSet.of(TodoField.ID);
+        when(todoStore.findProjected(eq(fields), eq(null), any(LocalDateTime.class), eq(PastDueMode.STORED))).thenReturn(List.of());
+
+        // When
+        List<Map<String, Object>> result = todoItemService.getTodoItemFields(null, fields);
+
+        // Then
+        assertThat(result).isEmpty();
+    }
+
+    @Test
+    void givenExistingId_WhenGetTodoItemFieldsById_ThenMapsFields() {
+        // Given
+        Set<TodoField> fields = EnumSet.of(TodoField.STATUS);
+        Tuple tuple = mock(Tuple.class);
+        when(todoStore.findProjectedById(1L, fields, PastDueMode.STORED)).thenReturn(Optional.of(tuple));
+        when(todoItemMapper.toFieldMap(tuple, fields)).thenReturn(Map.of("status", "done"));
+
+        // When
+        Optional<Map<String, Object>> result = todoItemService.getTodoItemFieldsById(1L, fields);
+
+        // Then
+        assertThat(result).contains(Map.of("status", "done"));
+    }
+
+    @Test
+    void givenIdsWithMissingAndDuplicates_WhenGetTodoItemsByIds_ThenKeepsOrderAndReportsMissing() {
+        // Given
+        TodoItemEntity second = new TodoItemEntity();
+        second.setId(3L);
+        TodoResponseDTO secondResponse = new TodoResponseDTO();
+        secondResponse.setId(3L);
+
+        when(todoStore.findAllByIdInOrder(List.of(3L, 2L, 1L)))
+                .thenReturn(Arrays.asList(second, null, todoEntity));
+        when(todoItemMapper.toResponseDTO(second)).thenReturn(secondResponse);
+        when(todoItemMapper.toResponseDTO(todoEntity)).thenReturn(expectedResponse);
+
+        // When
+        TodoBatchResponseDTO result = todoItemService.getTodoItemsByIds(List.of(3L, 2L, 3L, 1L));
+
+        // Then
+        assertThat(result.getItems()).extracting(TodoResponseDTO::getId).containsExactly(3L, 1L);
+        assertThat(result.getMissingIds()).containsExactly(2L);
+    }
+
+    @Test
+    void givenMoreItemsThanLimit_WhenGetTodoItemsDueBetween_ThenReturnsPageWithNextCursor() {
+        // Given
+        LocalDateTime from = LocalDateTime.of(2025, 10, 1, 0, 0);
+        LocalDateTime to = from.plusHours(12);
+        TodoItemEntity first = dueItem(1L, from.plusHours(1));
+        TodoItemEntity second = dueItem(2L, from.plusHours(2));
+        when(todoStore.findDueWindow(TodoStatus.NOT_DONE, from, to, from, -1L, Limit.of(2)))
+                .thenReturn(List.of(first, second));
+        when(todoItemMapper.toResponseDTOList(List.of(first))).thenReturn(List.of(expectedResponse));
+
+        // When
+        TodoPageDTO page = todoItemService.getTodoItemsDueBetween(from, to, null, 1);
+
+        // Then
+        assertThat(page.getItems()).containsExactly(expectedResponse);
+        assertThat(DueWindowCursor.decode(page.getNextCursor()))
+                .isEqualTo(new DueWindowCursor(from, to, new PageCursor(from.plusHours(1), 1L)));
+    }
+
+    @Test
+    void givenCursorOnLastPage_WhenGetTodoItemsDueBetween_ThenContinuesAfterCursorWithoutNextCursor() {
+        // Given
+        LocalDateTime from = LocalDateTime.of(2025, 10, 1, 0, 0);
+        LocalDateTime to = from.plusHours(12);
+        DueWindowCursor cursor = new DueWindowCursor(from, to, new PageCursor(from.plusHours(1), 1L));
+        when(todoStore.findDueWindow(TodoStatus.NOT_DONE, from, to, from.plusHours(1), 1L, Limit.of(11)))
+                .thenReturn(List.of());
+        when(todoItemMapper.toResponseDTOList(List.of())).thenReturn(List.of());
+
+        // When
+        TodoPageDTO page = todoItemService.getTodoItemsDueBetween(from, to, cursor.encode(), 10);
+
+        // Then
+        assertThat(page.getItems()).isEmpty();
+        assertThat(page.getNextCursor()).isNull();
+    }
+
+    @Test
+    void givenCursorFromEarlierWindow_WhenGetTodoItemsDueBetween_ThenKeepsTheWindowOfTheCursor() {
+        // Given
+        LocalDateTime from = LocalDateTime.of(2025, 10, 1, 0, 0);
+        LocalDateTime to = from.plusHours(12);
+        DueWindowCursor cursor = new DueWindowCursor(from, to, new PageCursor(from.plusHours(1), 1L));
+        when(todoStore.findDueWindow(TodoStatus.NOT_DONE, from, to, from.plusHours(1), 1L, Limit.of(11)))
+                .thenReturn(List.of());
+        when(todoItemMapper.toResponseDTOList(List.of())).thenReturn(List.of());
+
+        // When
+        todoItemService.getTodoItemsDueBetween(from.plusMinutes(5), to.plusMinutes(5), cursor.encode(), 10);
+
+        // Then
+        verify(todoStore).findDueWindow(TodoStatus.NOT_DONE, from, to, from.plusHours(1), 1L, Limit.of(11));
+    }
+
+    @Test
+    void givenItemCreatedAlreadyOverdue_WhenGetOverdueSince_ThenItCountsFromItsCreation() {
+        // Given
+        LocalDateTime now = LocalDateTime.of(2025, 10, 1, 12, 0);
+        TodoItemEntity becameDue = dueItem(1L, now.minusHours(2));
+        becameDue.setCreationDatetime(now.minusDays(1));
+        TodoItemEntity createdOverdue = dueItem(2L, now.minusHours(1));
+        createdOverdue.setCreationDatetime(now.minusMinutes(5));
+        when(todoStore.findDueWindow(eq(TodoStatus.NOT_DONE), any(LocalDateTime.class), eq(now),
+                any(LocalDateTime.class), eq(-1L), eq(Limit.of(100))))
+                .thenReturn(List.of(becameDue, createdOverdue));
 
-        // When & Then
-        assertThatThrownBy(() -> todoItemService.patchTodo(1L, patchDTO))
-                .isInstanceOf(IllegalStateException.class)
-                .hasMessage("Cannot update a past due item");
+        // When
+        List<LocalDateTime> overdueSince = todoItemService.getOverdueSince(now, 100);
+
+        // Then
+        assertThat(overdueSince).containsExactly(now.minusHours(2), now.minusMinutes(5));
+    }
+
+    @Test
+    void givenEmptyWindow_WhenGetTodoItemsDueBetween_ThenThrowsException() {
+        LocalDateTime now = LocalDateTime.now();
+        assertThatThrownBy(() -> todoItemService.getTodoItemsDueBetween(now, now, null, 10))
+                .isInstanceOf(InvalidQueryException.class)
+                .hasMessage("dueFrom must be before dueTo");
+    }
+
+    @Test
+    void givenExistingId_WhenDeleteTodoItem_ThenMarksDeletedAndPublishesEvent() {
+        // Given
+        when(todoStore.markDeleted(eq(List.of(1L)), any(LocalDateTime.class))).thenReturn(1);
+
+        // When
+        boolean result = todoItemService.deleteTodoItem(1L);
+
+        // Then
+        assertThat(result).isTrue();
+        verify(eventPublisher).publishEvent(argThat((Object event) ->
+                event instanceof TodoItemsDeletedEvent deleted && deleted.ids().equals(List.of(1L))));
+    }
+
+    @Test
+    void givenMissingId_WhenDeleteTodoItem_ThenReturnsFalseWithoutEvent() {
+        // Given
+        when(todoStore.markDeleted(eq(List.of(99L)), any(LocalDateTime.class))).thenReturn(0);
+
+        // When
+        boolean result = todoItemService.deleteTodoItem(99L);
+
+        // Then
+        assertThat(result).isFalse();
+        verifyNoInteractions(eventPublisher);
+    }
+
+    @Test
+    void givenIdsWithMissingAndDuplicates_WhenDeleteTodoItems_ThenDeletesExistingAndReportsMissing() {
+        // Given
+        TodoItemEntity second = new TodoItemEntity();
+        second.setId(3L);
+        when(todoStore.findAllByIdInOrder(List.of(3L, 2L, 1L)))
+                .thenReturn(Arrays.asList(second, null, todoEntity));
+
+        // When
+        TodoBatchDeleteResponseDTO result = todoItemService.deleteTodoItems(List.of(3L, 2L, 3L, 1L));
+
+        // Then
+        assertThat(result.getDeletedIds()).containsExactly(3L, 1L);
+        assertThat(result.getMissingIds()).containsExactly(2L);
+        verify(todoStore).markDeleted(eq(List.of(3L, 1L)), any(LocalDateTime.class));
+    }
+
+    @Test
+    void givenOnlyMissingIds_WhenDeleteTodoItems_ThenNothingIsMarked() {
+        // Given
+        when(todoStore.findAllByIdInOrder(List.of(5L))).thenReturn(Collections.singletonList(null));
+
+        // When
+        TodoBatchDeleteResponseDTO result = todoItemService.deleteTodoItems(List.of(5L));
+
+        // Then
+        assertThat(result.getDeletedIds()).isEmpty();
+        assertThat(result.getMissingIds()).containsExactly(5L);
+        verify(todoStore, never()).markDeleted(any(), any());
+        verifyNoInteractions(eventPublisher);
+    }
 
-        verify(todoItemRepository, never()).save(any());
+    private static TodoItemEntity dueItem(Long id, LocalDateTime due) {
+        TodoItemEntity item = new TodoItemEntity();
+        item.setId(id);
+        item.setStatus(TodoStatus.NOT_DONE);
+        item.setDueDatetime(due);
+        return item;
     }
-}
\ No newline at end of file
+}
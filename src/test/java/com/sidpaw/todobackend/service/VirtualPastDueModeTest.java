@@ -0,0 +1,35 @@
+package com.sidpaw.todobackend.service;
+
+import com.sidpaw.todobackend.dto.TodoResponseDTO;
+import com.sidpaw.todobackend.model.TodoStatus;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest(properties = "todo.past-due.mode=virtual")
+class VirtualPastDueModeTest extends PastDueModeContractTest {
+
+    @Test
+    void givenVirtualMode_WhenReading_ThenNoRowIsRewrittenAndNoSchedulerExists() {
+        // When & Then
+        assertThat(todoItemScheduler.getIfAvailable()).isNull();
+        assertThat(todoItemRepository.findByStatusOrderByCreationDatetimeDesc(TodoStatus.PAST_DUE)).isEmpty();
+    }
+
+    @Test
+    void givenOverdueItem_WhenReadAsPastDue_ThenNoHistoryOrOutboxEventIsWritten() {
+        // When
+        List<TodoResponseDTO> pastDue = todoItemService.getTodoItemsByStatus("past due");
+
+        // Then
+        assertThat(pastDue).hasSize(1);
+        assertThat(jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM todo_status_history WHERE to_status = 'PAST_DUE'", Integer.class)).isZero();
+        assertThat(jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM todo_outbox WHERE event_type = 'TODO_PAST_DUE_BULK_UPDATED'", Integer.class))
+                .isZero();
+    }
+}
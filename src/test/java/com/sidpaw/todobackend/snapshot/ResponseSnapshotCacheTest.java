@@ -0,0 +1,125 @@
+package com.sidpaw.todobackend.snapshot;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.sidpaw.todobackend.dto.TodoResponseDTO;
+import com.sidpaw.todobackend.event.TodoCreatedEvent;
+import com.sidpaw.todobackend.service.TodoItemService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.util.unit.DataSize;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Unit tests for ResponseSnapshotCache.
+ */
+class ResponseSnapshotCacheTest {
+
+    private final TodoResponseDTO item = new TodoResponseDTO(1L, "Task", "done",
+            LocalDateTime.of(2025, 9, 23, 10, 0), null, LocalDateTime.of(2025, 9, 24, 10, 0));
+
+    private TodoItemService todoItemService;
+    private SnapshotProperties properties;
+    private SimpleMeterRegistry meterRegistry;
+    private ResponseSnapshotCache cache;
+
+    @BeforeEach
+    void setUp() {
+        todoItemService = mock(TodoItemService.class);
+        when(todoItemService.getNextDueDatetime(any())).thenReturn(Optional.empty());
+        when(todoItemService.listTodoItems("done")).thenReturn(List.of(item));
+        properties = new SnapshotProperties();
+        meterRegistry = new SimpleMeterRegistry();
+        cache = new ResponseSnapshotCache(todoItemService, new ObjectMapper().registerModule(new JavaTimeModule()),
+                properties, meterRegistry);
+    }
+
+    @Test
+    void givenSnapshot_WhenRequestedAgain_ThenServedWithoutQuerying() {
+        // Given
+        byte[] first = cache.getList("done");
+
+        // When
+        byte[] second = cache.getList("DONE");
+
+        // Then
+        assertThat(second).isSameAs(first);
+        assertThat(new String(second)).contains("\"description\":\"Task\"");
+        verify(todoItemService, times(1)).listTodoItems(any());
+        assertThat(requests("DONE", "rebuild")).isEqualTo(1.0);
+        assertThat(requests("DONE", "hit")).isEqualTo(1.0);
+        assertThat(meterRegistry.get("todo.snapshot.bytes").gauge().value()).isEqualTo(first.length);
+    }
+
+    @Test
+    void givenCommittedChange_WhenRequested_ThenSnapshotIsRebuilt() {
+        // Given
+        cache.getList("done");
+
+        // When
+        cache.onTodoCreated(new TodoCreatedEvent(null));
+        cache.getList("done");
+
+        // Then
+        verify(todoItemService, times(2)).listTodoItems("done");
+        assertThat(requests("DONE", "rebuild")).isEqualTo(2.0);
+    }
+
+    @Test
+    void givenItemBecameDue_WhenRequested_ThenSnapshotHasExpired() {
+        // Given
+        when(todoItemService.getNextDueDatetime(any())).thenReturn(Optional.of(LocalDateTime.now().minusSeconds(1)));
+        cache.getList("done");
+
+        // When
+        cache.getList("done");
+
+        // Then
+        verify(todoItemService, times(2)).listTodoItems("done");
+    }
+
+    @Test
+    void givenListLargerThanMaxEntrySize_WhenRequested_ThenItIsNotKept() {
+        // Given
+        properties.setMaxEntrySize(DataSize.ofBytes(10));
+
+        // When
+        cache.getList("done");
+        cache.getList("done");
+
+        // Then
+        verify(todoItemService, times(2)).listTodoItems("done");
+        assertThat(requests("DONE", "oversized")).isEqualTo(2.0);
+        assertThat(meterRegistry.get("todo.snapshot.bytes").gauge().value()).isZero();
+    }
+
+    @Test
+    void givenSnapshotsDisabled_WhenRequested_ThenAlwaysQueries() {
+        // Given
+        properties.setEnabled(false);
+        when(todoItemService.getAllTodoItems()).thenReturn(List.of(item));
+
+        // When
+        cache.getList(null);
+        cache.getList(null);
+
+        // Then
+        verify(todoItemService, times(2)).getAllTodoItems();
+    }
+
+    private double requests(String variant, String result) {
+        return meterRegistry.get("todo.snapshot.requests").tag("variant", variant).tag("result", result)
+                .counter().count();
+    }
+}
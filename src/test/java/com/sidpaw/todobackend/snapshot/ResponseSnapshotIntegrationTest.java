@@ -0,0 +1,90 @@
+package com.sidpaw.todobackend.snapshot;
+
+import com.sidpaw.todobackend.dto.TodoPatchDTO;
+import com.sidpaw.todobackend.dto.TodoRequestDTO;
+import com.sidpaw.todobackend.dto.TodoResponseDTO;
+import com.sidpaw.todobackend.repository.TodoItemRepository;
+import com.sidpaw.todobackend.service.TodoItemService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.time.LocalDateTime;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Integration tests for the list snapshots, checking that committed changes are visible on the next request.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class ResponseSnapshotIntegrationTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private TodoItemService todoItemService;
+
+    @Autowired
+    private TodoItemRepository todoItemRepository;
+
+    @Autowired
+    private ResponseSnapshotCache responseSnapshotCache;
+
+    @BeforeEach
+    void setUp() {
+        todoItemRepository.deleteAll();
+        responseSnapshotCache.invalidate();
+    }
+
+    @Test
+    void givenCachedList_WhenItemIsCreated_ThenNextListIncludesIt() throws Exception {
+        // Given
+        mockMvc.perform(get("/api/todos"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(0));
+
+        // When
+        todoItemService.createTodoItem(new TodoRequestDTO("Snapshot task", LocalDateTime.now().plusDays(1)));
+
+        // Then
+        mockMvc.perform(get("/api/todos"))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(MediaType.APPLICATION_JSON))
+                .andExpect(jsonPath("$.length()").value(1))
+                .andExpect(jsonPath("$[0].description").value("Snapshot task"));
+    }
+
+    @Test
+    void givenCachedStatusLists_WhenItemIsPatched_ThenItMovesBetweenLists() throws Exception {
+        // Given
+        TodoResponseDTO created = todoItemService.createTodoItem(
+                new TodoRequestDTO("Patched task", LocalDateTime.now().plusDays(1)));
+        mockMvc.perform(get("/api/todos").param("status", "not done"))
+                .andExpect(jsonPath("$.length()").value(1));
+        mockMvc.perform(get("/api/todos").param("status", "done"))
+                .andExpect(jsonPath("$.length()").value(0));
+
+        // When
+        TodoPatchDTO patch = new TodoPatchDTO();
+        patch.setStatus("done");
+        todoItemService.patchTodo(created.getId(), patch);
+
+        // Then
+        mockMvc.perform(get("/api/todos").param("status", "not done"))
+                .andExpect(jsonPath("$.length()").value(0));
+        mockMvc.perform(get("/api/todos").param("status", "done"))
+                .andExpect(jsonPath("$.length()").value(1))
+                .andExpect(jsonPath("$[0].status").value("done"));
+    }
+}
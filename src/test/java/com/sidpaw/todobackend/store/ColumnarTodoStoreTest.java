@@ -0,0 +1,201 @@
+package com.sidpaw.todobackend.store;
+
+import com.sidpaw.todobackend.analytics.CompletionTime;
+import com.sidpaw.todobackend.entity.TodoItemEntity;
+import com.sidpaw.todobackend.model.TodoStatus;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.Limit;
+
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Unit tests for ColumnarTodoStore.
+ */
+class ColumnarTodoStoreTest {
+
+    private static final LocalDateTime NOW = LocalDateTime.of(2025, 10, 1, 12, 0);
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final ColumnarTodoStore store = new ColumnarTodoStore(new StorageProperties.Memory(), meterRegistry);
+
+    @Test
+    void givenSavedItems_WhenQuerying_ThenFiltersAndOrdersLikeTheRepository() {
+        // Given
+        TodoItemEntity overdue = store.save(item("Overdue", TodoStatus.NOT_DONE, NOW.minusHours(3), NOW.minusHours(1)));
+        TodoItemEntity future = store.save(item("Future", TodoStatus.NOT_DONE, NOW.minusHours(2), NOW.plusHours(1)));
+        TodoItemEntity done = store.save(item("Done", TodoStatus.DONE, NOW.minusHours(1), null));
+
+        // When & Then
+        assertThat(store.findAllByOrderByCreationDatetimeDesc()).extracting(TodoItemEntity::getId)
+                .containsExactly(done.getId(), future.getId(), overdue.getId());
+        assertThat(store.findNotDoneItems(NOW, TodoStatus.NOT_DONE)).extracting(TodoItemEntity::getId)
+                .containsExactly(future.getId());
+        assertThat(store.findPastDueItems(NOW, TodoStatus.NOT_DONE, TodoStatus.PAST_DUE))
+                .extracting(TodoItemEntity::getId)
+                .containsExactly(overdue.getId());
+        assertThat(store.findDueWindow(TodoStatus.NOT_DONE, NOW.minusDays(1), NOW.plusDays(1),
+                NOW.minusHours(1), overdue.getId(), Limit.of(10)))
+                .extracting(TodoItemEntity::getId)
+                .containsExactly(future.getId());
+        assertThat(store.findNextDueDatetime(NOW, TodoStatus.NOT_DONE)).isEqualTo(NOW.plusHours(1));
+        assertThat(store.findAllByIdInOrder(List.of(done.getId(), 99L, overdue.getId())))
+                .extracting(item -> item != null ? item.getDescription() : null)
+                .containsExactly("Done", null, "Overdue");
+    }
+
+    @Test
+    void givenSubSecondDatetimes_WhenSaving_ThenTheyAreTruncatedToSeconds() {
+        // Given
+        TodoItemEntity saved = store.save(item("Precise", TodoStatus.NOT_DONE,
+                NOW.withNano(999_000_000), NOW.plusHours(1).withNano(500_000_000)));
+
+        // When
+        TodoItemEntity found = store.findById(saved.getId()).orElseThrow();
+
+        // Then
+        assertThat(found.getCreationDatetime()).isEqualTo(NOW);
+        assertThat(found.getDueDatetime()).isEqualTo(NOW.plusHours(1));
+        assertThat(store.findNotDoneItems(NOW.plusHours(1).withNano(1), TodoStatus.NOT_DONE)).isEmpty();
+        assertThat(store.findPastDueItems(NOW.plusHours(1), TodoStatus.NOT_DONE, TodoStatus.PAST_DUE)).isEmpty();
+    }
+
+    @Test
+    void givenMicrosecondPrecision_WhenSaving_ThenDatetimesKeepMicrosecondsAndQueriesCompareThem() {
+        // Given
+        ColumnarTodoStore precise = new ColumnarTodoStore(16, ChronoUnit.MICROS);
+        LocalDateTime due = NOW.withNano(123_456_789);
+        TodoItemEntity saved = precise.save(item("Precise", TodoStatus.NOT_DONE, NOW.withNano(1_000), due));
+
+        // When
+        TodoItemEntity found = precise.findById(saved.getId()).orElseThrow();
+
+        // Then
+        assertThat(found.getCreationDatetime()).isEqualTo(NOW.withNano(1_000));
+        assertThat(found.getDueDatetime()).isEqualTo(NOW.withNano(123_456_000));
+        assertThat(precise.findNotDoneItems(NOW.withNano(123_455_000), TodoStatus.NOT_DONE)).hasSize(1);
+        assertThat(precise.findNotDoneItems(NOW.withNano(123_456_000), TodoStatus.NOT_DONE)).isEmpty();
+        assertThat(precise.summarize(TodoStatus.NOT_DONE, item -> 5)).containsExactly(1, saved.getId(), 5);
+    }
+
+    @Test
+    void givenStatusChange_WhenSaving_ThenItemMovesToTheOtherStatusList() {
+        // Given
+        TodoItemEntity item = store.save(item("Task", TodoStatus.NOT_DONE, NOW.minusHours(1), null));
+        store.save(item("Other", TodoStatus.DONE, NOW.minusHours(2), null));
+
+        // When
+        item.setStatus(TodoStatus.DONE);
+        item.setDoneDatetime(NOW);
+        store.save(item);
+
+        // Then
+        assertThat(store.findByStatusOrderByCreationDatetimeDesc(TodoStatus.NOT_DONE)).isEmpty();
+        assertThat(store.findByStatusOrderByCreationDatetimeDesc(TodoStatus.DONE))
+                .extracting(TodoItemEntity::getDescription)
+                .containsExactly("Task", "Other");
+        assertThat(store.streamCompletionTimes(TodoStatus.DONE))
+                .containsExactly(new CompletionTime(item.getId(), NOW.minusHours(1), NOW));
+    }
+
+    @Test
+    void givenOverdueItems_WhenUpdatingPastDue_ThenOnlyTheyMoveAndKeepCreationOrder() {
+        // Given
+        TodoItemEntity first = store.save(item("First", TodoStatus.NOT_DONE, NOW.minusHours(3), NOW.minusMinutes(5)));
+        store.save(item("Pending", TodoStatus.NOT_DONE, NOW.minusHours(2), NOW.plusHours(1)));
+        TodoItemEntity third = store.save(item("Third", TodoStatus.NOT_DONE, NOW.minusHours(1), NOW.minusMinutes(1)));
+
+        // When
+        int updated = store.updatePastDueItems(NOW, TodoStatus.NOT_DONE, TodoStatus.PAST_DUE);
+
+        // Then
+        assertThat(updated).isEqualTo(2);
+        assertThat(store.findByStatusOrderByCreationDatetimeDesc(TodoStatus.PAST_DUE))
+                .extracting(TodoItemEntity::getId)
+                .containsExactly(third.getId(), first.getId());
+        assertThat(store.findByStatusOrderByCreationDatetimeDesc(TodoStatus.NOT_DONE))
+                .extracting(TodoItemEntity::getDescription)
+                .containsExactly("Pending");
+    }
+
+    @Test
+    void givenItemsOfSeveralStatuses_WhenFindingIdsDueBefore_ThenOnlyOverdueItemsOfThatStatusAreFound() {
+        // Given
+        TodoItemEntity overdue = store.save(item("Overdue", TodoStatus.NOT_DONE, NOW.minusHours(3), NOW.minusHours(1)));
+        store.save(item("Pending", TodoStatus.NOT_DONE, NOW.minusHours(2), NOW.plusHours(1)));
+        store.save(item("Undated", TodoStatus.NOT_DONE, NOW.minusHours(2), null));
+        store.save(item("Done", TodoStatus.DONE, NOW.minusHours(1), NOW.minusHours(1)));
+
+        // When
+        List<Long> found = store.findIdsDueBefore(TodoStatus.NOT_DONE, NOW);
+
+        // Then
+        assertThat(found).containsExactly(overdue.getId());
+    }
+
+    @Test
+    void givenMoreItemsThanTheInitialCapacity_WhenSaving_ThenColumnsGrow() {
+        // Given
+        int count = 5_000;
+
+        // When
+        IntStream.range(0, count).forEach(i ->
+                store.save(item("Task " + i, TodoStatus.NOT_DONE, NOW.plusSeconds(i % 100), null)));
+
+        // Then
+        assertThat(store.findById((long) count)).get()
+                .extracting(TodoItemEntity::getDescription)
+                .isEqualTo("Task " + (count - 1));
+        assertThat(store.findAllByOrderByCreationDatetimeDesc()).hasSize(count)
+                .isSortedAccordingTo((a, b) -> b.getCreationDatetime().compareTo(a.getCreationDatetime()));
+        assertThat(meterRegistry.get("todo.storage.memory.items").gauge().value()).isEqualTo(count);
+    }
+
+    @Test
+    void givenItems_WhenDeletingOne_ThenLastSlotMovesIntoItsPlace() {
+        // Given
+        TodoItemEntity first = store.save(item("First", TodoStatus.NOT_DONE, NOW.minusHours(3), null));
+        store.save(item("Second", TodoStatus.DONE, NOW.minusHours(2), null));
+        TodoItemEntity last = store.save(item("Last", TodoStatus.NOT_DONE, NOW.minusHours(1), null));
+
+        // When
+        int deleted = store.markDeleted(List.of(first.getId(), 99L), NOW);
+
+        // Then
+        assertThat(deleted).isEqualTo(1);
+        assertThat(store.existsById(first.getId())).isFalse();
+        assertThat(store.findById(last.getId())).get().extracting(TodoItemEntity::getDescription).isEqualTo("Last");
+        assertThat(store.findAllByOrderByCreationDatetimeDesc()).extracting(TodoItemEntity::getDescription)
+                .containsExactly("Last", "Second");
+        last.setStatus(TodoStatus.DONE);
+        store.save(last);
+        assertThat(store.findByStatusOrderByCreationDatetimeDesc(TodoStatus.DONE))
+                .extracting(TodoItemEntity::getDescription)
+                .containsExactly("Last", "Second");
+        assertThat(meterRegistry.get("todo.storage.memory.items").gauge().value()).isEqualTo(2);
+    }
+
+    @Test
+    void givenItems_WhenDeletingAll_ThenStoreIsEmptyAndIdsAreNotReused() {
+        // Given
+        long lastId = store.save(item("Deleted", TodoStatus.NOT_DONE, NOW, null)).getId();
+
+        // When
+        store.deleteAll();
+
+        // Then
+        assertThat(store.existsById(lastId)).isFalse();
+        assertThat(store.findAllByOrderByCreationDatetimeDesc()).isEmpty();
+        assertThat(store.save(item("New", TodoStatus.NOT_DONE, NOW, null)).getId()).isGreaterThan(lastId);
+    }
+
+    private static TodoItemEntity item(String description, TodoStatus status, LocalDateTime created,
+                                       LocalDateTime due) {
+        return new TodoItemEntity(null, description, status, created, due, null);
+    }
+}
@@ -0,0 +1,275 @@
+package com.sidpaw.todobackend.store;
+
+import com.sidpaw.todobackend.entity.TodoItemEntity;
+import com.sidpaw.todobackend.model.PastDueMode;
+import com.sidpaw.todobackend.model.TodoField;
+import com.sidpaw.todobackend.model.TodoStatus;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.persistence.Tuple;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.data.domain.Limit;
+import org.springframework.util.unit.DataSize;
+
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.time.LocalDateTime;
+import java.util.EnumSet;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Unit tests for LogTodoStore.
+ */
+class LogTodoStoreTest {
+
+    private static final LocalDateTime NOW = LocalDateTime.of(2025, 10, 1, 12, 0);
+
+    @TempDir
+    Path directory;
+
+    private StorageProperties.Log properties;
+
+    @BeforeEach
+    void setUp() {
+        properties = new StorageProperties.Log();
+        properties.setDirectory(directory.toString());
+        properties.setInitialMappedSize(DataSize.ofKilobytes(4));
+        properties.setCompactionMinSize(DataSize.ofBytes(0));
+    }
+
+    @Test
+    void givenSavedItems_WhenQuerying_ThenFiltersAndOrdersLikeTheRepository() throws IOException {
+        try (LogTodoStore store = open()) {
+            // Given
+            TodoItemEntity overdue = store.save(item("Overdue", TodoStatus.NOT_DONE, NOW.minusHours(3), NOW.minusHours(1)));
+            TodoItemEntity future = store.save(item("Future", TodoStatus.NOT_DONE, NOW.minusHours(2), NOW.plusHours(1)));
+            TodoItemEntity done = store.save(item("Done", TodoStatus.DONE, NOW.minusHours(1), null));
+
+            // When & Then
+            assertThat(store.findAllByOrderByCreationDatetimeDesc()).extracting(TodoItemEntity::getId)
+                    .containsExactly(done.getId(), future.getId(), overdue.getId());
+            assertThat(store.findNotDoneItems(NOW, TodoStatus.NOT_DONE)).extracting(TodoItemEntity::getId)
+                    .containsExactly(future.getId());
+            assertThat(store.findPastDueItems(NOW, TodoStatus.NOT_DONE, TodoStatus.PAST_DUE))
+                    .extracting(TodoItemEntity::getId)
+                    .containsExactly(overdue.getId());
+            assertThat(store.findDueWindow(TodoStatus.NOT_DONE, NOW.minusDays(1), NOW.plusDays(1),
+                    NOW.minusDays(1), -1L, Limit.of(1)))
+                    .extracting(TodoItemEntity::getId)
+                    .containsExactly(overdue.getId());
+            assertThat(store.findNextDueDatetime(NOW, TodoStatus.NOT_DONE)).isEqualTo(NOW.plusHours(1));
+            assertThat(store.findAllByIdInOrder(List.of(done.getId(), 99L, overdue.getId())))
+                    .extracting(item -> item != null ? item.getDescription() : null)
+                    .containsExactly("Done", null, "Overdue");
+        }
+    }
+
+    @Test
+    void givenVirtualMode_WhenProjectingStatus_ThenDueDatetimeIsIncluded() throws IOException {
+        try (LogTodoStore store = open()) {
+            // Given
+            store.save(item("Overdue", TodoStatus.NOT_DONE, NOW.minusHours(3), NOW.minusHours(1)));
+
+            // When
+            List<Tuple> tuples = store.findProjected(EnumSet.of(TodoField.DESCRIPTION, TodoField.STATUS),
+                    TodoStatus.PAST_DUE, NOW, PastDueMode.VIRTUAL);
+
+            // Then
+            assertThat(tuples).hasSize(1);
+            assertThat(tuples.getFirst().get("description")).isEqualTo("Overdue");
+            assertThat(tuples.getFirst().get("status")).isEqualTo(TodoStatus.NOT_DONE);
+            assertThat(tuples.getFirst().get("dueForStatus", LocalDateTime.class)).isEqualTo(NOW.minusHours(1));
+        }
+    }
+
+    @Test
+    void givenReopenedLog_WhenReading_ThenLatestVersionOfEachItemIsRecovered() throws IOException {
+        // Given
+        long id;
+        try (LogTodoStore store = open()) {
+            TodoItemEntity item = store.save(item("Task", TodoStatus.NOT_DONE, NOW, NOW.plusDays(1)));
+            id = item.getId();
+            item.setStatus(TodoStatus.DONE);
+            item.setDoneDatetime(NOW.plusHours(1));
+            store.save(item);
+        }
+
+        // When
+        try (LogTodoStore store = open()) {
+
+            // Then
+            assertThat(store.findById(id)).get()
+                    .extracting(TodoItemEntity::getStatus, TodoItemEntity::getDoneDatetime)
+                    .containsExactly(TodoStatus.DONE, NOW.plusHours(1));
+            assertThat(store.save(item("Next", TodoStatus.NOT_DONE, NOW, null)).getId()).isEqualTo(id + 1);
+        }
+    }
+
+    @Test
+    void givenRecordsAfterCheckpoint_WhenReopening_ThenTailIsReplayed() throws IOException {
+        // Given
+        try (LogTodoStore store = open()) {
+            store.save(item("Before checkpoint", TodoStatus.NOT_DONE, NOW, null));
+            store.checkpoint();
+            store.save(item("After checkpoint", TodoStatus.NOT_DONE, NOW.plusMinutes(1), null));
+            // Simulates a crash: the log is complete but the checkpoint is not rewritten on close
+            Files.copy(directory.resolve(LogTodoStore.CHECKPOINT_FILE), directory.resolve("saved"));
+        }
+        Files.move(directory.resolve("saved"), directory.resolve(LogTodoStore.CHECKPOINT_FILE),
+                StandardCopyOption.REPLACE_EXISTING);
+
+        // When
+        try (LogTodoStore store = open()) {
+
+            // Then
+            assertThat(store.findAllByOrderByCreationDatetimeDesc()).extracting(TodoItemEntity::getDescription)
+                    .containsExactly("After checkpoint", "Before checkpoint");
+        }
+    }
+
+    @Test
+    void givenTornRecordAtTheEnd_WhenReopening_ThenItIsDiscardedAndLogStaysWritable() throws IOException {
+        // Given
+        try (LogTodoStore store = open()) {
+            store.save(item("Complete", TodoStatus.NOT_DONE, NOW, null));
+        }
+        Files.delete(directory.resolve(LogTodoStore.CHECKPOINT_FILE));
+        try (LogTodoStore store = open()) {
+            store.save(item("Torn", TodoStatus.NOT_DONE, NOW, null));
+        }
+        Files.delete(directory.resolve(LogTodoStore.CHECKPOINT_FILE));
+        corruptLastRecord(directory.resolve(LogTodoStore.LOG_FILE));
+
+        // When
+        try (LogTodoStore store = open()) {
+            store.save(item("Written after recovery", TodoStatus.NOT_DONE, NOW.plusMinutes(1), null));
+
+            // Then
+            assertThat(store.findAllByOrderByCreationDatetimeDesc()).extracting(TodoItemEntity::getDescription)
+                    .containsExactly("Written after recovery", "Complete");
+        }
+    }
+
+    @Test
+    void givenMostlyGarbage_WhenCompacting_ThenLogShrinksAndItemsSurvive() throws IOException {
+        try (LogTodoStore store = open()) {
+            // Given
+            TodoItemEntity item = store.save(item("Rewritten", TodoStatus.NOT_DONE, NOW, null));
+            for (int i = 0; i < 100; i++) {
+                item.setDescription("Rewritten " + i);
+                store.save(item);
+            }
+            assertThat(store.needsCompaction()).isTrue();
+
+            // When
+            store.maintain();
+
+            // Then
+            assertThat(store.needsCompaction()).isFalse();
+            assertThat(store.findById(item.getId())).get()
+                    .extracting(TodoItemEntity::getDescription)
+                    .isEqualTo("Rewritten 99");
+        }
+        try (LogTodoStore store = open()) {
+            assertThat(store.findAllByOrderByCreationDatetimeDesc()).extracting(TodoItemEntity::getDescription)
+                    .containsExactly("Rewritten 99");
+        }
+    }
+
+    @Test
+    void givenOverdueItems_WhenUpdatingPastDue_ThenOnlyThoseMove() throws IOException {
+        try (LogTodoStore store = open()) {
+            // Given
+            store.save(item("Overdue", TodoStatus.NOT_DONE, NOW.minusHours(2), NOW.minusHours(1)));
+            store.save(item("Future", TodoStatus.NOT_DONE, NOW.minusHours(2), NOW.plusHours(1)));
+
+            // When
+            int updated = store.updatePastDueItems(NOW, TodoStatus.NOT_DONE, TodoStatus.PAST_DUE);
+
+            // Then
+            assertThat(updated).isEqualTo(1);
+            assertThat(store.findByStatusOrderByCreationDatetimeDesc(TodoStatus.PAST_DUE))
+                    .extracting(TodoItemEntity::getDescription)
+                    .containsExactly("Overdue");
+        }
+    }
+
+    @Test
+    void givenDeletedItems_WhenReopening_ThenStoreIsEmptyAndIdsAreNotReused() throws IOException {
+        // Given
+        long lastId;
+        try (LogTodoStore store = open()) {
+            lastId = store.save(item("Deleted", TodoStatus.NOT_DONE, NOW, null)).getId();
+            store.deleteAll();
+        }
+
+        // When
+        try (LogTodoStore store = open()) {
+
+            // Then
+            assertThat(store.findAllByOrderByCreationDatetimeDesc()).isEmpty();
+            assertThat(store.save(item("New", TodoStatus.NOT_DONE, NOW, null)).getId()).isGreaterThan(lastId);
+        }
+    }
+
+    @Test
+    void givenTombstoneAfterCheckpoint_WhenReopening_ThenItemStaysDeleted() throws IOException {
+        // Given
+        long deletedId;
+        try (LogTodoStore store = open()) {
+            deletedId = store.save(item("Deleted", TodoStatus.NOT_DONE, NOW, null)).getId();
+            store.save(item("Kept", TodoStatus.NOT_DONE, NOW.plusMinutes(1), null));
+            store.checkpoint();
+            assertThat(store.markDeleted(List.of(deletedId, 99L), NOW)).isEqualTo(1);
+            Files.copy(directory.resolve(LogTodoStore.CHECKPOINT_FILE), directory.resolve("saved"));
+        }
+        Files.move(directory.resolve("saved"), directory.resolve(LogTodoStore.CHECKPOINT_FILE),
+                StandardCopyOption.REPLACE_EXISTING);
+
+        // When
+        try (LogTodoStore store = open()) {
+
+            // Then
+            assertThat(store.existsById(deletedId)).isFalse();
+            assertThat(store.findAllByOrderByCreationDatetimeDesc()).extracting(TodoItemEntity::getDescription)
+                    .containsExactly("Kept");
+            assertThat(store.needsCompaction()).isTrue();
+        }
+    }
+
+    private LogTodoStore open() {
+        return new LogTodoStore(properties, new SimpleMeterRegistry());
+    }
+
+    private static TodoItemEntity item(String description, TodoStatus status, LocalDateTime created,
+                                       LocalDateTime due) {
+        return new TodoItemEntity(null, description, status, created, due, null);
+    }
+
+    // Flips a byte in the payload of the last record, which makes its CRC check fail
+    private static void corruptLastRecord(Path logFile) throws IOException {
+        try (RandomAccessFile file = new RandomAccessFile(logFile.toFile(), "rw")) {
+            long position = LogTodoStore.HEADER_SIZE;
+            long last = position;
+            while (position + 8 <= file.length()) {
+                file.seek(position);
+                int length = file.readInt();
+                if (length == 0) {
+                    break;
+                }
+                last = position;
+                position += 8 + length;
+            }
+            file.seek(last + 8 + 12);
+            int value = file.read();
+            file.seek(last + 8 + 12);
+            file.write(value ^ 0xFF);
+        }
+    }
+}
@@ -0,0 +1,86 @@
+package com.sidpaw.todobackend.store;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Unit tests for LongIntHashMap.
+ */
+class LongIntHashMapTest {
+
+    @Test
+    void givenManyKeys_WhenPuttingPastTheInitialSize_ThenAllAreFound() {
+        // Given
+        LongIntHashMap map = new LongIntHashMap(4);
+
+        // When
+        for (int i = 0; i < 10_000; i++) {
+            map.put(i * 31L - 5_000, i);
+        }
+
+        // Then
+        assertThat(map.size()).isEqualTo(10_000);
+        for (int i = 0; i < 10_000; i++) {
+            assertThat(map.get(i * 31L - 5_000)).isEqualTo(i);
+        }
+        assertThat(map.get(1L)).isEqualTo(LongIntHashMap.MISSING);
+    }
+
+    @Test
+    void givenExistingKey_WhenPuttingAgain_ThenValueIsReplaced() {
+        // Given
+        LongIntHashMap map = new LongIntHashMap(16);
+        map.put(7L, 1);
+
+        // When
+        map.put(7L, 2);
+
+        // Then
+        assertThat(map.get(7L)).isEqualTo(2);
+        assertThat(map.size()).isEqualTo(1);
+    }
+
+    @Test
+    void givenCollidingKeys_WhenRemovingSome_ThenTheOthersAreStillFound() {
+        // Given
+        LongIntHashMap map = new LongIntHashMap(4);
+        for (int i = 0; i < 1_000; i++) {
+            map.put(i, i);
+        }
+
+        // When
+        for (int i = 0; i < 1_000; i += 2) {
+            assertThat(map.remove(i)).isEqualTo(i);
+        }
+
+        // Then
+        assertThat(map.size()).isEqualTo(500);
+        for (int i = 0; i < 1_000; i++) {
+            assertThat(map.get(i)).isEqualTo(i % 2 == 0 ? LongIntHashMap.MISSING : i);
+        }
+        assertThat(map.remove(0)).isEqualTo(LongIntHashMap.MISSING);
+    }
+
+    @Test
+    void givenEntries_WhenClearing_ThenNothingIsFound() {
+        // Given
+        LongIntHashMap map = new LongIntHashMap(16);
+        map.put(1L, 0);
+
+        // When
+        map.clear();
+
+        // Then
+        assertThat(map.get(1L)).isEqualTo(LongIntHashMap.MISSING);
+        assertThat(map.size()).isZero();
+    }
+
+    @Test
+    void givenReservedKey_WhenPutting_ThenRejected() {
+        LongIntHashMap map = new LongIntHashMap(16);
+
+        assertThatThrownBy(() -> map.put(Long.MIN_VALUE, 0)).isInstanceOf(IllegalArgumentException.class);
+    }
+}
@@ -1 +1,4 @@
-DELETE FROM todo_items;
\ No newline at end of file
+DELETE FROM todo_items;
+DELETE FROM todo_outbox;
+DELETE FROM todo_status_history;
+DELETE FROM todo_completion_histogram;
\ No newline at end of file